@@ -0,0 +1,59 @@
+package bench;
+
+import model.Burst;
+import model.Process;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+BenchWorkloads
+Cargas sinteticas para los benchmarks JMH. Siempre con semilla fija para
+que dos corridas midan exactamente lo mismo.
+
+processes(): n procesos con llegadas escalonadas, rafagas CPU/IO alternadas,
+             prioridad 1..10 y 2..16 paginas.
+toFileLines(): las mismas cargas en el formato de procesos.txt.
+*/
+
+public class BenchWorkloads {
+
+  public static final long SEED = 42L;
+
+  public static List<Process> processes(int n, long seed) {
+    Random rand = new Random(seed);
+    List<Process> list = new ArrayList<>(n);
+    int arrival = 0;
+    for (int i = 0; i < n; i++) {
+      List<Burst> bursts = new ArrayList<>();
+      int cpuBursts = 1 + rand.nextInt(3);
+      for (int b = 0; b < cpuBursts; b++) {
+        if (b > 0) {
+          bursts.add(new Burst(Burst.BurstType.IO, 1 + rand.nextInt(5)));
+        }
+        bursts.add(new Burst(Burst.BurstType.CPU, 1 + rand.nextInt(20)));
+      }
+      list.add(new Process("P" + (i + 1), arrival, bursts, 1 + rand.nextInt(10), 2 + rand.nextInt(15)));
+      arrival += rand.nextInt(4);
+    }
+    return list;
+  }
+
+  public static List<String> toFileLines(List<Process> processes) {
+    List<String> lines = new ArrayList<>(processes.size() + 1);
+    lines.add("# PID LLEGADA RAFAGAS PRIORIDAD PAGINAS");
+    for (Process p : processes) {
+      StringBuilder bursts = new StringBuilder();
+      for (Burst b : p.getBursts()) {
+        if (bursts.length() > 0) {
+          bursts.append(',');
+        }
+        bursts.append(b.isCPU() ? "CPU(" : "IO(").append(b.getDuration()).append(')');
+      }
+      lines.add(String.format("%s %d %s %d %d",
+          p.getPid(), p.getArrivalTime(), bursts, p.getPriority(), p.getRequiredPages()));
+    }
+    return lines;
+  }
+}
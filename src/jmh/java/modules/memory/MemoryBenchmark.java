@@ -0,0 +1,110 @@
+package modules.memory;
+
+import model.Burst;
+import model.Config;
+import model.Process;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+MemoryBenchmark
+Costo de las operaciones de memoria con todos los marcos ocupados.
+Esta en el paquete modules.memory para llegar a selectVictimFrame().
+
+loadPageHit:   acceso a una pagina residente.
+loadPageFault: fallo con memoria llena (victima + reemplazo).
+selectVictim:  solo la eleccion de la victima.
+
+Los marcos se llenan con un solo proceso de 'frames' paginas; los fallos
+piden paginas fuera de ese rango. Para Optimal se registra una cadena de
+referencias que recorre las paginas residentes.
+Con frames=1048576 el llenado inicial puede tardar segun la politica;
+se puede acotar con -p frames=8,1024,65536.
+*/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+
+  @Param({"FIFO", "LRU", "NRU", "OPTIMAL"})
+  public String policy;
+
+  @Param({"8", "1024", "65536", "1048576"})
+  public int frames;
+
+  private MemoryManager memory;
+  private Process process;
+  private Random rand;
+  private int nextMissPage;
+  private int time;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Logger.setEnabled(false);
+
+    Config config = new Config();
+    config.setReplacementType(Config.ReplacementType.valueOf(policy));
+    config.setTotalFrames(frames);
+    memory = SimulationFactory.createMemoryManager(config);
+
+    List<Burst> bursts = new ArrayList<>();
+    bursts.add(new Burst(Burst.BurstType.CPU, 1));
+    process = new Process("P1", 0, bursts, 1, frames);
+
+    if (memory instanceof Optimal optimal) {
+      List<Integer> references = new ArrayList<>(frames * 2);
+      for (int i = 0; i < frames * 2; i++) {
+        references.add(i % frames);
+      }
+      optimal.setFutureAccesses(process.getPid(), references);
+    }
+
+    // Llenado directo marco a marco, sin buscar un marco libre en cada carga
+    for (int i = 0; i < frames; i++) {
+      memory.setCurrentTime(i);
+      memory.loadPageToFrame(i, process.getPid(), i);
+    }
+
+    rand = new Random(42L);
+    nextMissPage = frames;
+    time = frames;
+  }
+
+  @Benchmark
+  public boolean loadPageHit() {
+    memory.setCurrentTime(time++);
+    return memory.loadPage(process, rand.nextInt(frames));
+  }
+
+  @Benchmark
+  public boolean loadPageFault() {
+    memory.setCurrentTime(time++);
+    return memory.loadPage(process, nextMissPage++);
+  }
+
+  @Benchmark
+  public int selectVictim() {
+    return memory.selectVictimFrame(process, nextMissPage);
+  }
+}
@@ -0,0 +1,81 @@
+package modules.scheduler;
+
+import bench.BenchWorkloads;
+import model.Config;
+import model.Process;
+import model.ProcessState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/*
+SchedulerBenchmark
+Costo de decidir el siguiente proceso con la cola READY llena.
+
+selectNextProcess: solo la seleccion (la cola no cambia).
+dispatchCycle:     seleccion + confirmProcessSelection + reencolar,
+                   como hace el engine en cada cambio de contexto.
+*/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBenchmark {
+
+  @Param({"FCFS", "SJF", "SRT", "ROUND_ROBIN", "PRIORITY", "PRIORITYPREEMPTIVE", "MLFQ", "CFS"})
+  public String algorithm;
+
+  @Param({"10", "1000", "100000"})
+  public int readyQueueSize;
+
+  private Scheduler scheduler;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Logger.setEnabled(false);
+    // RoundRobin imprime trazas de depuracion por consola
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+    Config config = new Config();
+    config.setSchedulerType(Config.SchedulerType.valueOf(algorithm));
+    config.setQuantum(4);
+    scheduler = SimulationFactory.createScheduler(config);
+
+    for (Process p : BenchWorkloads.processes(readyQueueSize, BenchWorkloads.SEED)) {
+      p.setState(ProcessState.READY);
+      scheduler.addProcess(p);
+    }
+  }
+
+  @Benchmark
+  public Process selectNextProcess() {
+    return scheduler.selectNextProcess();
+  }
+
+  @Benchmark
+  public Process dispatchCycle() {
+    Process next = scheduler.selectNextProcess();
+    scheduler.confirmProcessSelection(next);
+    next.setState(ProcessState.READY);
+    scheduler.addProcess(next);
+    return next;
+  }
+}
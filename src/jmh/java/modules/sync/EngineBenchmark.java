@@ -0,0 +1,81 @@
+package modules.sync;
+
+import bench.BenchWorkloads;
+import model.Config;
+import model.DatosResultados;
+import model.Process;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+EngineBenchmark
+Simulacion completa sin GUI sobre DiscreteEventEngine (sin sleep ni threads
+por proceso): mide el costo de punta a punta por planificador y reemplazo.
+*/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineBenchmark {
+
+  @Param({"FCFS", "SJF", "ROUND_ROBIN", "PRIORITYPREEMPTIVE"})
+  public String algorithm;
+
+  @Param({"FIFO", "LRU"})
+  public String policy;
+
+  @Param({"10", "100", "1000"})
+  public int processes;
+
+  @Param({"64"})
+  public int frames;
+
+  private Config config;
+  private List<Process> templates;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Logger.setEnabled(false);
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+    config = new Config();
+    config.setSchedulerType(Config.SchedulerType.valueOf(algorithm));
+    config.setReplacementType(Config.ReplacementType.valueOf(policy));
+    config.setTotalFrames(frames);
+    config.setQuantum(4);
+    templates = BenchWorkloads.processes(processes, BenchWorkloads.SEED);
+  }
+
+  @Benchmark
+  public DatosResultados fullRun() {
+    List<Process> copies = new ArrayList<>(templates.size());
+    for (Process p : templates) {
+      copies.add(p.copy());
+    }
+    DiscreteEventEngine engine = new DiscreteEventEngine(
+        SimulationFactory.createScheduler(config), SimulationFactory.createMemoryManager(config), copies, config);
+    engine.run();
+    return engine.getDatosFinales();
+  }
+}
@@ -0,0 +1,59 @@
+package utils;
+
+import bench.BenchWorkloads;
+import model.Process;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+FileParserBenchmark
+Lectura de un archivo de procesos generado con BenchWorkloads.
+*/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileParserBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int processes;
+
+  private Path file;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    Logger.setEnabled(false);
+    file = Files.createTempFile("procesos-bench", ".txt");
+    Files.write(file, BenchWorkloads.toFileLines(BenchWorkloads.processes(processes, BenchWorkloads.SEED)));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public List<Process> parseProcesses() throws IOException {
+    return FileParser.parseProcesses(file.toString());
+  }
+}
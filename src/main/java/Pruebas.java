@@ -0,0 +1,36 @@
+
+/**Soporte comun de los drivers Test* sin JUnit (TestTimerWheel, TestReadyQueue...)
+ * Cada driver imprime su encabezado, anota con falla() cada comprobacion que
+ * no se cumple y termina con cerrar(), que sale con codigo 1 si hubo alguna.
+ */
+final class Pruebas {
+
+    private static final int ANCHO = 55;
+
+    private static int fallas = 0;
+
+    private Pruebas() {
+    }
+
+    static void encabezado(String... lineas) {
+        System.out.println("╔" + "═".repeat(ANCHO) + "╗");
+        for (String linea : lineas) {
+            System.out.println(String.format("║   %-" + (ANCHO - 3) + "s║", linea));
+        }
+        System.out.println("╚" + "═".repeat(ANCHO) + "╝\n");
+    }
+
+    static void falla(String nombre, String motivo) {
+        fallas++;
+        System.out.println("✗ " + nombre + "  " + motivo);
+    }
+
+    static void cerrar() {
+        System.out.println("\n" + "═".repeat(ANCHO));
+        if (fallas > 0) {
+            System.out.println("✗ " + fallas + " prueba(s) fallida(s)");
+            System.exit(1);
+        }
+        System.out.println("✓ Todas las pruebas pasaron");
+    }
+}
@@ -0,0 +1,344 @@
+
+import model.Burst;
+import model.Config;
+import model.DatosResultados;
+import model.Process;
+import model.ResultadoProceso;
+import modules.cache.ResultCache;
+import modules.sync.DiscreteEventEngine;
+import modules.workload.WorkloadGenerator;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**Prueba de la cache de resultados en disco (ResultCache)
+ * Lo que se guarda debe volver igual campo por campo (y la traza byte por
+ * byte), la clave debe cambiar con la carga o la configuracion, el desalojo
+ * debe seguir un LRU por tamaño de referencia tambien despues de reabrir el
+ * directorio, y una entrada rota se descarta sin cortar la corrida.
+ *  javac -d out $(find . -name "*.java" -not -path "./modules/gui/*")
+ *  java -cp out TestCache
+ */
+public class TestCache {
+
+    private static final int OPERACIONES = 3_000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Pruebas.encabezado("PRUEBA DE LA CACHE DE RESULTADOS");
+        Logger.setEnabled(false);
+
+        Path raiz = Files.createTempDirectory("TestCache");
+        try {
+            probarIdaYVuelta(raiz.resolve("ida"));
+            probarClave();
+            probarDesalojo(raiz.resolve("lru"));
+            probarReapertura(raiz.resolve("reabrir"));
+            probarEntradaRota(raiz.resolve("rota"));
+        } finally {
+            try (Stream<Path> archivos = Files.walk(raiz)) {
+                for (Path p : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(p);
+                }
+            }
+        }
+
+        Pruebas.cerrar();
+    }
+
+    // Una corrida real (2 nucleos, con traza) guardada y leida de vuelta
+    private static void probarIdaYVuelta(Path dir) throws IOException {
+        Path traza = Files.createTempFile("TestCache", ".trace");
+        try {
+            Config config = config();
+            config.setTraceFile(traza.toString());
+            List<Process> procesos = carga(config, 500);
+            DiscreteEventEngine engine = new DiscreteEventEngine(SimulationFactory.createScheduler(config),
+                SimulationFactory.createMemoryManager(config), procesos, config);
+            PrintStream consola = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                engine.run();
+            } finally {
+                System.setOut(consola);
+            }
+            DatosResultados datos = engine.getDatosFinales();
+
+            ResultCache cache = new ResultCache(dir, 1L << 30);
+            String clave = ResultCache.key(ResultCache.digest(carga(config(), 500)), config);
+            cache.put(clave, datos, traza);
+            ResultCache.Entry entrada = cache.get(clave);
+            if (entrada == null) {
+                Pruebas.falla("ida y vuelta", "no se encontro lo recien guardado");
+                return;
+            }
+            String diferencia = diferencia(datos, entrada.getResults());
+            if (diferencia != null) {
+                Pruebas.falla("ida y vuelta", diferencia);
+                return;
+            }
+            if (entrada.getTrace() == null || Files.mismatch(traza, entrada.getTrace()) != -1) {
+                Pruebas.falla("ida y vuelta", "la traza guardada no es la de la corrida");
+                return;
+            }
+
+            // Sin traza: la que habia para esa clave no puede quedar colgada
+            cache.put(clave, datos, null);
+            if (cache.get(clave).getTrace() != null || cache.size() != 1) {
+                Pruebas.falla("ida y vuelta", "quedo la traza anterior al guardar sin traza");
+                return;
+            }
+            System.out.println("✓ ida y vuelta  (" + datos.getResumenProcesos().size() + " procesos, "
+                + datos.getNucleos() + " nucleos, traza de " + Files.size(traza) + " bytes)");
+        } finally {
+            Files.deleteIfExists(traza);
+        }
+    }
+
+    // La misma carga da la misma clave; cualquier cambio de carga o config la cambia
+    private static void probarClave() {
+        Config config = config();
+        List<Process> carga = carga(config, 200);
+        String digest = ResultCache.digest(carga);
+        if (!digest.equals(ResultCache.digest(carga(config(), 200)))) {
+            Pruebas.falla("clave", "la misma carga dio dos huellas");
+            return;
+        }
+
+        List<Process> otraLlegada = new ArrayList<>(carga);
+        Process ultimo = otraLlegada.get(otraLlegada.size() - 1);
+        otraLlegada.set(otraLlegada.size() - 1, new Process(ultimo.getPid(), ultimo.getArrivalTime() + 1,
+            ultimo.getBursts(), ultimo.getPriority(), ultimo.getRequiredPages()));
+        List<Process> otrasReferencias = carga(config(), 200);
+        Burst rafaga = otrasReferencias.get(100).getBursts().stream()
+            .filter(b -> b.getReferences() != null && b.getReferences().length > 0).findFirst().orElseThrow();
+        int[] referencias = rafaga.getReferences().clone();
+        referencias[0]++;
+        rafaga.setReferences(referencias);
+        if (digest.equals(ResultCache.digest(otraLlegada)) || digest.equals(ResultCache.digest(otrasReferencias))
+                || digest.equals(ResultCache.digest(carga.subList(0, carga.size() - 1)))) {
+            Pruebas.falla("clave", "una carga distinta dio la misma huella");
+            return;
+        }
+
+        Config otraConfig = config();
+        otraConfig.setQuantum(config.getQuantum() + 1);
+        if (!ResultCache.key(digest, config).equals(ResultCache.key(digest, config()))
+                || ResultCache.key(digest, config).equals(ResultCache.key(digest, otraConfig))) {
+            Pruebas.falla("clave", "la clave no sigue a la configuracion");
+            return;
+        }
+        System.out.println("✓ clave por contenido");
+    }
+
+    // Puts y gets al azar contra un LinkedHashMap en orden de acceso
+    private static void probarDesalojo(Path dir) throws IOException {
+        Random random = new Random(24);
+        long maximo = 12_000;
+        ResultCache cache = new ResultCache(dir, maximo);
+        Map<String, Long> modelo = new LinkedHashMap<>(16, 0.75f, true);
+
+        for (int i = 0; i < OPERACIONES; i++) {
+            String clave = "k" + random.nextInt(40);
+            if (random.nextInt(3) == 0) {
+                // De vez en cuando una que sola pasa el limite: se queda y se lleva al resto
+                DatosResultados datos = datos(random, random.nextInt(10) == 0 ? 700 : random.nextInt(200));
+                cache.put(clave, datos, null);
+                Path guardada = dir.resolve(clave + ".res");
+                if (!Files.exists(guardada)) {
+                    Pruebas.falla("desalojo", "paso " + i + ": se desalojo la entrada recien guardada " + clave);
+                    return;
+                }
+                modelo.put(clave, Files.size(guardada));
+                Iterator<Map.Entry<String, Long>> it = modelo.entrySet().iterator();
+                while (suma(modelo) > maximo && modelo.size() > 1) {
+                    it.next();
+                    it.remove();
+                }
+            } else {
+                boolean esta = modelo.get(clave) != null;
+                if ((cache.get(clave) != null) != esta) {
+                    Pruebas.falla("desalojo", "paso " + i + ": get(" + clave + ") deberia " + (esta ? "" : "no ") + "encontrarla");
+                    return;
+                }
+            }
+
+            if (cache.size() != modelo.size() || cache.getTotalBytes() != suma(modelo)
+                    || !enDisco(dir).equals(new TreeSet<>(modelo.keySet()))) {
+                Pruebas.falla("desalojo", String.format("paso %d: %d entradas y %d bytes (esperadas %d y %d), en disco %s",
+                    i, cache.size(), cache.getTotalBytes(), modelo.size(), suma(modelo), enDisco(dir)));
+                return;
+            }
+        }
+        System.out.println("✓ desalojo LRU por tamaño  (" + OPERACIONES + " operaciones)");
+    }
+
+    // El orden de uso sobrevive al reabrir: get() toca la fecha de la entrada
+    private static void probarReapertura(Path dir) throws IOException, InterruptedException {
+        DatosResultados datos = datos(new Random(1), 50);
+        ResultCache cache = new ResultCache(dir, 1L << 30);
+        for (String clave : List.of("a", "b", "c")) {
+            cache.put(clave, datos, null);
+            Thread.sleep(20);
+        }
+        cache.get("a");
+        long bytes = cache.getTotalBytes();
+
+        // Entran tres: al guardar la cuarta se va la menos usada, "b"
+        ResultCache reabierta = new ResultCache(dir, bytes);
+        if (reabierta.size() != 3 || reabierta.getTotalBytes() != bytes) {
+            Pruebas.falla("reapertura", reabierta.size() + " entradas y " + reabierta.getTotalBytes() + " bytes al reabrir");
+            return;
+        }
+        reabierta.put("d", datos, null);
+        if (!enDisco(dir).equals(new TreeSet<>(List.of("a", "c", "d")))) {
+            Pruebas.falla("reapertura", "quedaron " + enDisco(dir) + " (esperadas [a, c, d])");
+            return;
+        }
+        System.out.println("✓ orden LRU al reabrir el directorio");
+    }
+
+    // Basura, un .res cortado y uno borrado por afuera: get da null y se olvida
+    private static void probarEntradaRota(Path dir) throws IOException {
+        DatosResultados datos = datos(new Random(2), 30);
+        Path traza = Files.writeString(Files.createTempFile("TestCache", ".trace"), "traza");
+        ResultCache cache = new ResultCache(dir, 1L << 30);
+        try {
+            for (String clave : List.of("basura", "cortada", "borrada", "sana")) {
+                cache.put(clave, datos, traza);
+            }
+        } finally {
+            Files.delete(traza);
+        }
+        Files.writeString(dir.resolve("basura.res"), "no es una entrada");
+        byte[] entera = Files.readAllBytes(dir.resolve("cortada.res"));
+        Files.write(dir.resolve("cortada.res"), Arrays.copyOf(entera, entera.length / 2));
+        Files.delete(dir.resolve("borrada.res"));
+
+        for (String clave : List.of("basura", "cortada", "borrada")) {
+            if (cache.get(clave) != null) {
+                Pruebas.falla("entrada rota", "'" + clave + "' no se descarto");
+                return;
+            }
+        }
+        if (Files.exists(dir.resolve("basura.trace")) || Files.exists(dir.resolve("cortada.trace"))) {
+            Pruebas.falla("entrada rota", "quedo la traza de una entrada ilegible");
+            return;
+        }
+        ResultCache.Entry sana = cache.get("sana");
+        if (sana == null || diferencia(datos, sana.getResults()) != null || cache.size() != 1) {
+            Pruebas.falla("entrada rota", "quedaron " + cache.size() + " entradas (esperada solo 'sana')");
+            return;
+        }
+        System.out.println("✓ entradas rotas descartadas");
+    }
+
+    // Primer campo distinto, o null si son iguales
+    private static String diferencia(DatosResultados a, DatosResultados b) {
+        Object[][] campos = {
+            {"espera", a.getTiempoEsperaPromedio(), b.getTiempoEsperaPromedio()},
+            {"retorno", a.getTiempoRetornoPromedio(), b.getTiempoRetornoPromedio()},
+            {"respuesta", a.getTiempoRespuestaPromedio(), b.getTiempoRespuestaPromedio()},
+            {"usoCpu", a.getUsoCpu(), b.getUsoCpu()},
+            {"completados", a.getProcesosCompletados(), b.getProcesosCompletados()},
+            {"total", a.getTotalProcesos(), b.getTotalProcesos()},
+            {"cambios", a.getCambiosContexto(), b.getCambiosContexto()},
+            {"tiempoCpu", a.getTiempoCpu(), b.getTiempoCpu()},
+            {"ocioso", a.getTiempoOcioso(), b.getTiempoOcioso()},
+            {"cargas", a.getCargasTotales(), b.getCargasTotales()},
+            {"fallos", a.getFallosPagina(), b.getFallosPagina()},
+            {"reemplazos", a.getReemplazosPagina(), b.getReemplazosPagina()},
+            {"marcos", a.getMarcosTotales(), b.getMarcosTotales()},
+            {"libres", a.getMarcosLibres(), b.getMarcosLibres()},
+            {"algPlanificacion", a.getAlgPlanificacion(), b.getAlgPlanificacion()},
+            {"algMemoria", a.getAlgMemoria(), b.getAlgMemoria()},
+            {"usoNucleos", a.getUsoNucleos(), b.getUsoNucleos()},
+            {"esperaMaxima", a.getEsperaMaxima(), b.getEsperaMaxima()},
+            {"esperaP99", a.getEsperaP99(), b.getEsperaP99()},
+            {"resumen", a.getResumenProcesos().size(), b.getResumenProcesos().size()},
+        };
+        for (Object[] campo : campos) {
+            if (!Objects.equals(campo[1], campo[2])) {
+                return campo[0] + " " + campo[2] + " (guardado " + campo[1] + ")";
+            }
+        }
+        for (int i = 0; i < a.getResumenProcesos().size(); i++) {
+            ResultadoProceso x = a.getResumenProcesos().get(i);
+            ResultadoProceso y = b.getResumenProcesos().get(i);
+            if (!x.getPid().equals(y.getPid()) || x.getTiempoEspera() != y.getTiempoEspera()
+                    || x.getTiempoRetorno() != y.getTiempoRetorno() || x.getTiempoRespuesta() != y.getTiempoRespuesta()
+                    || x.getFallosPagina() != y.getFallosPagina()) {
+                return "resumen del proceso " + x.getPid();
+            }
+        }
+        return null;
+    }
+
+    // Resultado sintetico; el tamaño en disco crece con 'procesos'
+    private static DatosResultados datos(Random random, int procesos) {
+        List<ResultadoProceso> resumen = new ArrayList<>();
+        for (int i = 0; i < procesos; i++) {
+            resumen.add(new ResultadoProceso("P" + i, random.nextInt(100), random.nextInt(100),
+                random.nextInt(100), random.nextInt(10)));
+        }
+        return new DatosResultados(random.nextDouble(), random.nextDouble(), random.nextDouble(), 50,
+            procesos, procesos, 3, 4, 5, 6, 7, 8, 16, 2, resumen, "RR", null,
+            List.of(random.nextDouble(), random.nextDouble()), random.nextInt(100), random.nextInt(100));
+    }
+
+    private static Config config() {
+        Config config = new Config();
+        config.setCores(2);
+        config.setTotalFrames(16);
+        config.setQuantum(3);
+        config.setSchedulerType(Config.SchedulerType.ROUND_ROBIN);
+        config.setReplacementType(Config.ReplacementType.LRU);
+        return config;
+    }
+
+    private static List<Process> carga(Config config, int cantidad) {
+        WorkloadGenerator generador = new WorkloadGenerator(cantidad, config.getSeed());
+        generador.setReferences("localidad:3,0.9");
+        List<Process> procesos = new ArrayList<>();
+        while (generador.hasNext()) {
+            procesos.add(generador.next());
+        }
+        return procesos;
+    }
+
+    private static long suma(Map<String, Long> modelo) {
+        return modelo.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // Claves con .res en el directorio; falla si quedo algun temporal
+    private static TreeSet<String> enDisco(Path dir) throws IOException {
+        TreeSet<String> claves = new TreeSet<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(dir)) {
+            for (Path p : archivos) {
+                String nombre = p.getFileName().toString();
+                if (nombre.endsWith(".res")) {
+                    claves.add(nombre.substring(0, nombre.length() - ".res".length()));
+                } else if (nombre.endsWith(".tmp")) {
+                    claves.add(nombre);
+                }
+            }
+        }
+        return claves;
+    }
+}
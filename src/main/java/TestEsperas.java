@@ -0,0 +1,117 @@
+
+import model.Config;
+import model.DatosResultados;
+import model.Process;
+import modules.sync.DiscreteEventEngine;
+import modules.workload.ArrivalProcess;
+import modules.workload.WorkloadGenerator;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**Prueba de las metricas de inanicion (espera maxima y percentil 99)
+ * El engine las saca de un histograma log-lineal (WaitHistogram); aca se
+ * comparan con las calculadas ordenando la espera de cada proceso. La maxima
+ * debe ser exacta y el p99 puede pasarse a lo sumo una cubeta (1/64), nunca
+ * quedarse corto. En modo streaming deben dar lo mismo que con la lista.
+ *  javac -d out $(find . -name "*.java" -not -path "./modules/gui/*")
+ *  java -cp out TestEsperas
+ */
+public class TestEsperas {
+
+    private static final int PROCESOS = 20_000;
+
+    public static void main(String[] args) {
+        Pruebas.encabezado("PRUEBA DE LAS METRICAS DE INANICION", PROCESOS + " procesos, carga alta y baja");
+        Logger.setEnabled(false);
+
+        // Llegadas cada 2 en promedio: la cola crece y las esperas caen en
+        // las cubetas anchas. Cada 40: esperas cortas, en las cubetas exactas
+        for (int separacion : new int[] {2, 40}) {
+            probar(Config.SchedulerType.FCFS, 0, separacion);
+            probar(Config.SchedulerType.SJF, 0, separacion);
+            probar(Config.SchedulerType.ROUND_ROBIN, 0, separacion);
+            probar(Config.SchedulerType.PRIORITY, 0, separacion);
+            probar(Config.SchedulerType.PRIORITY, 20, separacion);
+            probar(Config.SchedulerType.PRIORITYPREEMPTIVE, 20, separacion);
+        }
+
+        Pruebas.cerrar();
+    }
+
+    private static void probar(Config.SchedulerType planificador, int envejecimiento, int separacion) {
+        String nombre = String.format("%-18s aging=%-3d llegadas=%-3d", planificador, envejecimiento, separacion);
+        Config config = config(planificador, envejecimiento);
+
+        List<Process> procesos = new ArrayList<>();
+        WorkloadGenerator generador = generador(config, separacion);
+        while (generador.hasNext()) {
+            procesos.add(generador.next());
+        }
+        DatosResultados lista = correr(new DiscreteEventEngine(SimulationFactory.createScheduler(config),
+            SimulationFactory.createMemoryManager(config), procesos, config));
+
+        int[] esperas = new int[procesos.size()];
+        for (int i = 0; i < esperas.length; i++) {
+            esperas[i] = procesos.get(i).getWaitingTime();
+        }
+        Arrays.sort(esperas);
+        int maxima = esperas[esperas.length - 1];
+        int p99 = esperas[(int) Math.ceil(esperas.length * 0.99) - 1];
+
+        if (lista.getEsperaMaxima() != maxima) {
+            Pruebas.falla(nombre, "espera maxima " + lista.getEsperaMaxima() + " (exacta " + maxima + ")");
+            return;
+        }
+        // El limite superior de la cubeta del p99 exacto
+        int tope = Math.min(maxima, p99 + p99 / 64);
+        if (lista.getEsperaP99() < p99 || lista.getEsperaP99() > tope) {
+            Pruebas.falla(nombre, String.format("p99 %d fuera de [%d, %d]", lista.getEsperaP99(), p99, tope));
+            return;
+        }
+
+        DatosResultados streaming = correr(new DiscreteEventEngine(SimulationFactory.createScheduler(config),
+            SimulationFactory.createMemoryManager(config), generador(config, separacion), config));
+        if (streaming.getEsperaMaxima() != lista.getEsperaMaxima()
+                || streaming.getEsperaP99() != lista.getEsperaP99()) {
+            Pruebas.falla(nombre, String.format("streaming dio max=%d p99=%d, la lista max=%d p99=%d",
+                streaming.getEsperaMaxima(), streaming.getEsperaP99(), maxima, lista.getEsperaP99()));
+            return;
+        }
+        System.out.println(String.format("✓ %s  max=%d  p99=%d (exacto %d)",
+            nombre, maxima, lista.getEsperaP99(), p99));
+    }
+
+    private static Config config(Config.SchedulerType planificador, int envejecimiento) {
+        Config config = new Config();
+        config.setTotalFrames(64);
+        config.setQuantum(4);
+        config.setSchedulerType(planificador);
+        config.setReplacementType(Config.ReplacementType.LRU);
+        config.setAgingInterval(envejecimiento);
+        return config;
+    }
+
+    private static WorkloadGenerator generador(Config config, int separacion) {
+        WorkloadGenerator generador = new WorkloadGenerator(PROCESOS, config.getSeed());
+        generador.setArrivals(ArrivalProcess.poisson(separacion));
+        return generador;
+    }
+
+    // Los planificadores imprimen su depuracion por consola
+    private static DatosResultados correr(DiscreteEventEngine engine) {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            engine.run();
+        } finally {
+            System.setOut(consola);
+        }
+        return engine.getDatosFinales();
+    }
+}
@@ -0,0 +1,152 @@
+
+import model.Config;
+import model.DatosResultados;
+import model.Process;
+import model.ResultadoProceso;
+import modules.sync.DiscreteEventEngine;
+import modules.sync.SimulationEngine;
+import utils.FileParser;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**Paridad entre los dos motores
+ * Corre SimulationEngine (threads, timeUnit 0) y DiscreteEventEngine sobre
+ * los mismos data/caso*.txt con cada planificador y varias combinaciones de
+ * reemplazo, marcos, cambio de contexto y penalizacion por fallo: los totales
+ * de DatosResultados y la espera, retorno, respuesta, fallos y fin de cada
+ * proceso tienen que coincidir. Una corrida que no termina es FALLA.
+ *  javac -d out $(find . -name "*.java" -not -path "./modules/gui/*")
+ *  java -cp out TestMotores [directorio de los casos, por defecto ../resources/data]
+ */
+public class TestMotores {
+
+    private static final long LIMITE_MS = 60_000;
+
+    // reemplazo, marcos, cambio de contexto, penalizacion por fallo
+    private static final Object[][] ESCENARIOS = {
+        {Config.ReplacementType.LRU, 8, 1, 0},
+        {Config.ReplacementType.FIFO, 8, 0, 2},
+        {Config.ReplacementType.OPTIMAL, 10, 2, 1},
+    };
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Pruebas.encabezado("PARIDAD ENTRE LOS DOS MOTORES", "SimulationEngine (threads) y DiscreteEventEngine");
+        Logger.setEnabled(false);
+
+        Path dir = Paths.get(args.length > 0 ? args[0] : "../resources/data");
+        List<Path> casos;
+        try (Stream<Path> archivos = Files.list(dir)) {
+            casos = archivos.filter(p -> p.getFileName().toString().matches("caso.*\\.txt")).sorted().toList();
+        }
+        if (casos.isEmpty()) {
+            Pruebas.falla("casos", "no hay caso*.txt en " + dir.toAbsolutePath());
+        }
+
+        for (Object[] escenario : ESCENARIOS) {
+            for (Path caso : casos) {
+                for (Config.SchedulerType planificador : Config.SchedulerType.values()) {
+                    probar(caso, planificador, escenario);
+                }
+            }
+        }
+
+        Pruebas.cerrar();
+    }
+
+    private static void probar(Path caso, Config.SchedulerType planificador, Object[] escenario)
+            throws IOException, InterruptedException {
+        String nombre = String.format("%-22s %-18s %-7s marcos=%-2d cc=%d fallo=%d",
+            caso.getFileName(), planificador, escenario[0], escenario[1], escenario[2], escenario[3]);
+
+        List<String> eventos = correr(caso, config(planificador, escenario), false);
+        List<String> hilos = correr(caso, config(planificador, escenario), true);
+        if (eventos == null || hilos == null) {
+            Pruebas.falla(nombre, (eventos == null ? "DiscreteEventEngine" : "SimulationEngine")
+                + " no termino en " + LIMITE_MS + " ms");
+            return;
+        }
+        for (int i = 0; i < Math.min(eventos.size(), hilos.size()); i++) {
+            if (!eventos.get(i).equals(hilos.get(i))) {
+                Pruebas.falla(nombre, "eventos " + eventos.get(i) + ", threads " + hilos.get(i));
+                return;
+            }
+        }
+        if (eventos.size() != hilos.size()) {
+            Pruebas.falla(nombre, "eventos resume " + eventos.size() + " campos y threads " + hilos.size());
+            return;
+        }
+        System.out.println("✓ " + nombre);
+    }
+
+    private static Config config(Config.SchedulerType planificador, Object[] escenario) {
+        Config config = new Config((Integer) escenario[1], planificador, (Config.ReplacementType) escenario[0], 3);
+        config.setTimeUnit(0);
+        config.setContextSwitchOverhead((Integer) escenario[2]);
+        config.setPageFaultPenalty((Integer) escenario[3]);
+        return config;
+    }
+
+    // Un "campo=valor" por metrica, en el mismo orden para los dos motores;
+    // null si la corrida no termina dentro del limite
+    private static List<String> correr(Path caso, Config config, boolean conThreads)
+            throws IOException, InterruptedException {
+        List<Process> procesos = FileParser.parseProcesses(caso.toString());
+        DiscreteEventEngine eventos = null;
+        SimulationEngine hilos = null;
+        Runnable corrida;
+        if (conThreads) {
+            hilos = new SimulationEngine(SimulationFactory.createScheduler(config),
+                SimulationFactory.createMemoryManager(config), procesos, config);
+            corrida = hilos::run;
+        } else {
+            eventos = new DiscreteEventEngine(SimulationFactory.createScheduler(config),
+                SimulationFactory.createMemoryManager(config), procesos, config);
+            corrida = eventos::run;
+        }
+
+        // Los planificadores imprimen su depuracion por consola
+        PrintStream consola = System.out;
+        Thread thread = new Thread(corrida, "TestMotores");
+        thread.setDaemon(true);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            thread.start();
+            thread.join(LIMITE_MS);
+        } finally {
+            System.setOut(consola);
+        }
+        if (thread.isAlive()) {
+            if (hilos != null) {
+                hilos.stop();
+            }
+            return null;
+        }
+
+        DatosResultados datos = conThreads ? hilos.getDatosFinales() : eventos.getDatosFinales();
+        List<String> campos = new ArrayList<>(List.of(
+            "cambiosContexto=" + datos.getCambiosContexto(),
+            "tiempoCpu=" + datos.getTiempoCpu(),
+            "tiempoOcioso=" + datos.getTiempoOcioso(),
+            "cargas=" + datos.getCargasTotales(),
+            "fallos=" + datos.getFallosPagina(),
+            "reemplazos=" + datos.getReemplazosPagina()));
+        for (ResultadoProceso r : datos.getResumenProcesos()) {
+            campos.add(String.format("%s espera=%d retorno=%d respuesta=%d fallos=%d", r.getPid(),
+                r.getTiempoEspera(), r.getTiempoRetorno(), r.getTiempoRespuesta(), r.getFallosPagina()));
+        }
+        for (Process p : procesos) {
+            campos.add(p.getPid() + " fin=" + p.getCompletionTime());
+        }
+        return campos;
+    }
+}
@@ -0,0 +1,112 @@
+
+import model.Config;
+import model.DatosResultados;
+import model.Process;
+import modules.sync.DiscreteEventEngine;
+import modules.workload.WorkloadGenerator;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**Prueba del DiscreteEventEngine con varios nucleos
+ * Carga generada con cadenas de referencias (localidad:3,0.9), 16 marcos y
+ * penalizacion 0: con el quantum agotado dos nucleos se quitaban la pagina
+ * en el mismo instante y el reloj no avanzaba. Cada corrida tiene un limite
+ * de tiempo real; si no termina es FALLA.
+ *  javac -d out $(find . -name "*.java" -not -path "./modules/gui/*")
+ *  java -cp out TestMultinucleo
+ */
+public class TestMultinucleo {
+
+    private static final int PROCESOS = 2000;
+    private static final long LIMITE_MS = 60_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        Pruebas.encabezado("PRUEBA DEL MOTOR DE EVENTOS CON VARIOS NUCLEOS", PROCESOS + " procesos, referencias, 16 marcos");
+        Logger.setEnabled(false);
+
+        Config.SchedulerType[] planificadores = {
+            Config.SchedulerType.ROUND_ROBIN, Config.SchedulerType.MLFQ, Config.SchedulerType.CFS
+        };
+        for (int nucleos : new int[] {2, 4}) {
+            for (Config.SchedulerType planificador : planificadores) {
+                for (int penalizacion : new int[] {0, 2}) {
+                    probar(planificador, Config.ReplacementType.OPTIMAL, nucleos, penalizacion);
+                }
+            }
+        }
+        probar(Config.SchedulerType.ROUND_ROBIN, Config.ReplacementType.LRU, 2, 0);
+        probar(Config.SchedulerType.ROUND_ROBIN, Config.ReplacementType.FIFO, 2, 0);
+
+        Pruebas.cerrar();
+    }
+
+    private static void probar(Config.SchedulerType planificador, Config.ReplacementType reemplazo,
+                               int nucleos, int penalizacion) throws InterruptedException {
+        String nombre = String.format("%-12s %-8s nucleos=%d penalizacion=%d",
+            planificador, reemplazo, nucleos, penalizacion);
+
+        DatosResultados primera = correr(planificador, reemplazo, nucleos, penalizacion);
+        if (primera == null) {
+            Pruebas.falla(nombre, "no termino en " + LIMITE_MS + " ms (livelock)");
+            return;
+        }
+        if (primera.getProcesosCompletados() != PROCESOS) {
+            Pruebas.falla(nombre, "completo " + primera.getProcesosCompletados() + " de " + PROCESOS);
+            return;
+        }
+        if (primera.getNucleos() != nucleos) {
+            Pruebas.falla(nombre, "uso reportado para " + primera.getNucleos() + " nucleos");
+            return;
+        }
+
+        // Misma semilla, mismo resultado
+        DatosResultados segunda = correr(planificador, reemplazo, nucleos, penalizacion);
+        if (segunda == null || segunda.getFallosPagina() != primera.getFallosPagina()
+                || segunda.getTiempoCpu() != primera.getTiempoCpu()
+                || segunda.getTiempoEsperaPromedio() != primera.getTiempoEsperaPromedio()) {
+            Pruebas.falla(nombre, "dos corridas iguales dieron resultados distintos");
+            return;
+        }
+        System.out.println("✓ " + nombre + "  fallos=" + primera.getFallosPagina());
+    }
+
+    // null si la corrida no termina dentro del limite
+    private static DatosResultados correr(Config.SchedulerType planificador, Config.ReplacementType reemplazo,
+                                          int nucleos, int penalizacion) throws InterruptedException {
+        Config config = new Config();
+        config.setCores(nucleos);
+        config.setTotalFrames(16);
+        config.setQuantum(3);
+        config.setPageFaultPenalty(penalizacion);
+        config.setSchedulerType(planificador);
+        config.setReplacementType(reemplazo);
+
+        WorkloadGenerator generador = new WorkloadGenerator(PROCESOS, config.getSeed());
+        generador.setReferences("localidad:3,0.9");
+        List<Process> procesos = new ArrayList<>();
+        while (generador.hasNext()) {
+            procesos.add(generador.next());
+        }
+
+        DiscreteEventEngine engine = new DiscreteEventEngine(SimulationFactory.createScheduler(config),
+            SimulationFactory.createMemoryManager(config), procesos, config);
+
+        // Los planificadores imprimen su depuracion por consola
+        PrintStream consola = System.out;
+        Thread corrida = new Thread(engine::run, "TestMultinucleo");
+        corrida.setDaemon(true);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            corrida.start();
+            corrida.join(LIMITE_MS);
+        } finally {
+            System.setOut(consola);
+        }
+        return corrida.isAlive() ? null : engine.getDatosFinales();
+    }
+}
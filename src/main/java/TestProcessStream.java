@@ -0,0 +1,265 @@
+
+import model.Burst;
+import model.Process;
+import utils.FileParser;
+import utils.Logger;
+import utils.ProcessStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**Prueba del lector de archivos de procesos (ProcessStream)
+ * FileParser.parseProcesses se arma sobre ProcessStream, asi que la referencia
+ * es el parser por lineas que tenia FileParser (readLine, split y regex, con
+ * la cadena de referencias de CPU(n:p0,p1,...)). Los dos tienen que dar los
+ * mismos procesos para data/caso*.txt y para un archivo generado de mas de un
+ * buffer, con comentarios, lineas vacias, CRLF, dispositivos y referencias.
+ * Los errores tienen que indicar la linea, tambien con ordered=true y las
+ * llegadas fuera de orden.
+ *  javac -d out $(find . -name "*.java" -not -path "./modules/gui/*")
+ *  java -cp out TestProcessStream [directorio de los casos, por defecto ../resources/data]
+ */
+public class TestProcessStream {
+
+    private static final Pattern BURST_PATTERN = Pattern.compile("(CPU|IO)\\((\\d+)(?::([\\w,]+))?\\)");
+    private static final int LINEAS = 5_000;
+
+    public static void main(String[] args) throws IOException {
+        Pruebas.encabezado("PRUEBA DEL LECTOR DE PROCESOS");
+        Logger.setEnabled(false);
+
+        Path dir = Paths.get(args.length > 0 ? args[0] : "../resources/data");
+        List<Path> casos;
+        try (Stream<Path> archivos = Files.list(dir)) {
+            casos = archivos.filter(p -> p.getFileName().toString().matches("caso.*\\.txt")).sorted().toList();
+        }
+        if (casos.isEmpty()) {
+            Pruebas.falla("casos", "no hay caso*.txt en " + dir.toAbsolutePath());
+        }
+        for (Path caso : casos) {
+            probarArchivo(caso.getFileName().toString(), Files.readString(caso));
+        }
+        probarArchivo("generado", generar(new Random(14)));
+
+        probarError("llegada invalida", "P9 x CPU(3) 1 1", false);
+        probarError("campos de menos", "P9 3 CPU(3) 1", false);
+        probarError("rafaga desconocida", "P9 3 GPU(3) 1 1", false);
+        probarError("pagina inexistente", "P9 3 CPU(3:0,5) 1 2", false);
+        probarError("llegada fuera de orden", "P9 0 CPU(3) 1 1", true);
+        probarDesordenado();
+
+        Pruebas.cerrar();
+    }
+
+    private static void probarArchivo(String nombre, String contenido) throws IOException {
+        List<Process> esperados = parsearPorLineas(contenido);
+        List<Process> leidos = new ArrayList<>();
+        try (ProcessStream stream = stream(contenido, true)) {
+            stream.forEachRemaining(leidos::add);
+        }
+        if (leidos.size() != esperados.size()) {
+            Pruebas.falla(nombre, leidos.size() + " procesos (esperados " + esperados.size() + ")");
+            return;
+        }
+        for (int i = 0; i < leidos.size(); i++) {
+            String diferencia = diferencia(esperados.get(i), leidos.get(i));
+            if (diferencia != null) {
+                Pruebas.falla(nombre, "proceso " + i + ": " + diferencia);
+                return;
+            }
+        }
+
+        // El camino publico: FileParser sobre el mismo archivo
+        Path archivo = Files.createTempFile("TestProcessStream", ".txt");
+        try {
+            Files.writeString(archivo, contenido);
+            List<Process> parser = FileParser.parseProcesses(archivo.toString());
+            if (parser.size() != esperados.size()) {
+                Pruebas.falla(nombre, "FileParser leyo " + parser.size() + " procesos (esperados " + esperados.size() + ")");
+                return;
+            }
+            for (int i = 0; i < parser.size(); i++) {
+                if (diferencia(esperados.get(i), parser.get(i)) != null) {
+                    Pruebas.falla(nombre, "FileParser difiere en el proceso " + i);
+                    return;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+        System.out.println("✓ " + nombre + "  (" + leidos.size() + " procesos)");
+    }
+
+    // La linea mala va al final de un archivo valido de mas de un buffer
+    private static void probarError(String nombre, String lineaMala, boolean ordered) throws IOException {
+        String valido = generar(new Random(nombre.hashCode()));
+        int linea = (int) valido.chars().filter(c -> c == '\n').count() + 1;
+        String contenido = valido + lineaMala + "\n";
+
+        try (ProcessStream stream = stream(contenido, ordered)) {
+            stream.forEachRemaining(p -> { });
+            Pruebas.falla(nombre, "se leyo sin error");
+            return;
+        } catch (UncheckedIOException e) {
+            if (!e.getCause().getMessage().startsWith("Error parseando línea " + linea + ":")) {
+                Pruebas.falla(nombre, "'" + e.getCause().getMessage() + "' (esperada la linea " + linea + ")");
+                return;
+            }
+        }
+
+        // FileParser la entrega como IOException, con la misma linea
+        if (!ordered) {
+            Path archivo = Files.createTempFile("TestProcessStream", ".txt");
+            try {
+                Files.writeString(archivo, contenido);
+                FileParser.parseProcesses(archivo.toString());
+                Pruebas.falla(nombre, "FileParser lo leyo sin error");
+                return;
+            } catch (IOException e) {
+                if (!e.getMessage().startsWith("Error parseando línea " + linea + ":")) {
+                    Pruebas.falla(nombre, "FileParser: '" + e.getMessage() + "'");
+                    return;
+                }
+            } finally {
+                Files.deleteIfExists(archivo);
+            }
+        }
+        System.out.println("✓ " + nombre + "  (linea " + linea + ")");
+    }
+
+    // Sin ordered las llegadas pueden venir en cualquier orden; iguales no son desorden
+    private static void probarDesordenado() throws IOException {
+        String contenido = "P1 5 CPU(2) 1 1\nP2 5 CPU(2) 1 1\nP3 2 CPU(2) 1 1\n";
+        List<String> pids = new ArrayList<>();
+        try (ProcessStream stream = stream(contenido, false)) {
+            stream.forEachRemaining(p -> pids.add(p.getPid()));
+        }
+        if (!pids.equals(List.of("P1", "P2", "P3"))) {
+            Pruebas.falla("desordenado", "ordered=false leyo " + pids);
+            return;
+        }
+        try (ProcessStream stream = stream(contenido, true)) {
+            if (!stream.next().getPid().equals("P1") || !stream.next().getPid().equals("P2")) {
+                Pruebas.falla("desordenado", "ordered=true no acepta llegadas iguales");
+                return;
+            }
+            stream.next();
+            Pruebas.falla("desordenado", "ordered=true acepto a P3");
+            return;
+        } catch (UncheckedIOException e) {
+            if (!e.getCause().getMessage().startsWith("Error parseando línea 3:")) {
+                Pruebas.falla("desordenado", "'" + e.getCause().getMessage() + "' (esperada la linea 3)");
+                return;
+            }
+        }
+        System.out.println("✓ desordenado  (ordered=false lo acepta, ordered=true corta en la linea 3)");
+    }
+
+    private static ProcessStream stream(String contenido, boolean ordered) {
+        return new ProcessStream(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), ordered);
+    }
+
+    // Llegadas crecientes, mas de 64 KB para cruzar el buffer de ProcessStream
+    private static String generar(Random random) {
+        StringBuilder sb = new StringBuilder("# generado\n\n");
+        int llegada = 0;
+        for (int i = 0; i < LINEAS; i++) {
+            String fin = random.nextInt(4) == 0 ? "\r\n" : "\n";
+            switch (random.nextInt(12)) {
+                case 0 -> sb.append(fin);
+                case 1 -> sb.append("// comentario ").append(i).append(fin);
+                default -> {
+                    llegada += random.nextInt(3);
+                    int paginas = 1 + random.nextInt(8);
+                    sb.append("P").append(i).append(random.nextBoolean() ? " " : "\t ").append(llegada).append(' ');
+                    int rafagas = 1 + random.nextInt(4);
+                    for (int r = 0; r < rafagas; r++) {
+                        if (r > 0) {
+                            sb.append(',');
+                        }
+                        if (r % 2 == 1) {
+                            sb.append("IO(").append(1 + random.nextInt(5));
+                            if (random.nextBoolean()) {
+                                sb.append(':').append(random.nextBoolean() ? "disk" : "net_2");
+                            }
+                        } else {
+                            int duracion = 1 + random.nextInt(20);
+                            sb.append("CPU(").append(duracion);
+                            if (random.nextInt(3) == 0) {
+                                sb.append(':');
+                                int referencias = 1 + random.nextInt(duracion);
+                                for (int k = 0; k < referencias; k++) {
+                                    sb.append(k > 0 ? "," : "").append(random.nextInt(paginas));
+                                }
+                            }
+                        }
+                        sb.append(')');
+                    }
+                    sb.append(' ').append(random.nextInt(10)).append(' ').append(paginas).append(fin);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // El parser por lineas de FileParser antes de ProcessStream
+    private static List<Process> parsearPorLineas(String contenido) {
+        List<Process> procesos = new ArrayList<>();
+        for (String linea : contenido.split("\n")) {
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.startsWith("#") || linea.startsWith("//")) {
+                continue;
+            }
+            String[] partes = linea.split("\\s+");
+            List<Burst> rafagas = new ArrayList<>();
+            Matcher matcher = BURST_PATTERN.matcher(partes[2]);
+            while (matcher.find()) {
+                Burst.BurstType tipo = matcher.group(1).equals("CPU") ? Burst.BurstType.CPU : Burst.BurstType.IO;
+                String sufijo = matcher.group(3);
+                Burst rafaga = new Burst(tipo, Integer.parseInt(matcher.group(2)),
+                    tipo == Burst.BurstType.IO ? sufijo : null);
+                if (tipo == Burst.BurstType.CPU && sufijo != null) {
+                    rafaga.setReferences(Arrays.stream(sufijo.split(",")).mapToInt(Integer::parseInt).toArray());
+                }
+                rafagas.add(rafaga);
+            }
+            procesos.add(new Process(partes[0], Integer.parseInt(partes[1]), rafagas,
+                Integer.parseInt(partes[3]), Integer.parseInt(partes[4])));
+        }
+        return procesos;
+    }
+
+    private static String diferencia(Process esperado, Process leido) {
+        if (!esperado.getPid().equals(leido.getPid()) || esperado.getArrivalTime() != leido.getArrivalTime()
+                || esperado.getPriority() != leido.getPriority()
+                || esperado.getRequiredPages() != leido.getRequiredPages()) {
+            return leido.getPid() + " llegada/prioridad/paginas distintas a " + esperado.getPid();
+        }
+        List<Burst> a = esperado.getBursts();
+        List<Burst> b = leido.getBursts();
+        if (a.size() != b.size()) {
+            return leido.getPid() + " tiene " + b.size() + " rafagas (esperadas " + a.size() + ")";
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i).getType() != b.get(i).getType() || a.get(i).getDuration() != b.get(i).getDuration()
+                    || !Objects.equals(a.get(i).getDevice(), b.get(i).getDevice())
+                    || !Arrays.equals(a.get(i).getReferences(), b.get(i).getReferences())) {
+                return leido.getPid() + " rafaga " + i + ": " + b.get(i) + " (esperada " + a.get(i) + ")";
+            }
+        }
+        return null;
+    }
+}
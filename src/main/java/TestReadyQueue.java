@@ -0,0 +1,216 @@
+
+import model.Burst;
+import model.Burst.BurstType;
+import model.Process;
+import modules.scheduler.FifoReadyQueue;
+import modules.scheduler.IndexedHeapReadyQueue;
+import modules.scheduler.MultilevelReadyQueue;
+import modules.scheduler.ReadyQueue;
+import modules.scheduler.TimelineReadyQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**Prueba de las colas READY contra un modelo de referencia
+ * Operaciones al azar (encolar, sacar del medio, cambiar la clave, sacar el
+ * primero); despues de cada una el primero, el tamaño y contains deben
+ * coincidir con el minimo por (clave, orden de llegada) del modelo.
+ *  javac -d out model/*.java modules/scheduler/*.java TestReadyQueue.java Pruebas.java
+ *  java -cp out TestReadyQueue
+ */
+public class TestReadyQueue {
+
+    private static final int PROCESOS = 300;
+    private static final int OPERACIONES = 50_000;
+
+    // Clave actual de cada proceso; la leen las funciones de clave de las colas
+    private static final Map<Process, Long> claves = new HashMap<>();
+    public static void main(String[] args) {
+        Pruebas.encabezado("PRUEBA DE LAS COLAS READY");
+
+        List<Process> procesos = new ArrayList<>();
+        for (int i = 0; i < PROCESOS; i++) {
+            procesos.add(new Process("P" + i, i, Arrays.asList(new Burst(BurstType.CPU, 1)), 1, 1));
+        }
+
+        // Sin clave: todo empata y manda el orden de llegada
+        probar("FifoReadyQueue", new FifoReadyQueue(), procesos, 1, false, false);
+        probar("IndexedHeapReadyQueue", new IndexedHeapReadyQueue(p -> claves.get(p)),
+            procesos, 20, false, false);
+        // MLFQ: la clave es el nivel, al cambiar de nivel va al final del nuevo
+        probar("MultilevelReadyQueue", new MultilevelReadyQueue(8, p -> claves.get(p).intValue()),
+            procesos, 8, true, true);
+        // CFS: la clave es el vruntime
+        TimelineReadyQueue timeline = new TimelineReadyQueue(p -> claves.get(p), TestReadyQueue::peso);
+        probar("TimelineReadyQueue", timeline, procesos, 50, false, false);
+        probarTimeline(timeline);
+        probarClavesDeRafaga();
+        probarBoost(procesos);
+
+        Pruebas.cerrar();
+    }
+
+    // rangoClave: claves entre 0 y rangoClave-1, pocas para forzar empates.
+    // alFinal: update con otra clave lo pone ultimo entre sus iguales.
+    // snapshotPorClave: snapshot() en orden de salida y no de llegada
+    private static void probar(String nombre, ReadyQueue cola, List<Process> procesos,
+                               int rangoClave, boolean alFinal, boolean snapshotPorClave) {
+        Random random = new Random(nombre.hashCode());
+        for (Process p : procesos) {
+            claves.put(p, 0L);
+        }
+        // Proceso encolado -> {clave al encolar o actualizar, orden de llegada}
+        Map<Process, long[]> modelo = new HashMap<>();
+        long llegada = 0;
+
+        for (int i = 0; i < OPERACIONES; i++) {
+            Process p = procesos.get(random.nextInt(procesos.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    boolean nuevo = !modelo.containsKey(p);
+                    if (nuevo) {
+                        claves.put(p, (long) random.nextInt(rangoClave));
+                    }
+                    if (cola.offer(p) != nuevo) {
+                        Pruebas.falla(nombre, "paso " + i + ": offer de " + p.getPid() + " devolvio " + !nuevo);
+                        return;
+                    }
+                    if (nuevo) {
+                        modelo.put(p, new long[] {claves.get(p), llegada++});
+                    }
+                }
+                case 1 -> {
+                    boolean estaba = modelo.remove(p) != null;
+                    if (cola.remove(p) != estaba) {
+                        Pruebas.falla(nombre, "paso " + i + ": remove de " + p.getPid() + " devolvio " + !estaba);
+                        return;
+                    }
+                }
+                case 2 -> {
+                    claves.put(p, (long) random.nextInt(rangoClave));
+                    cola.update(p);
+                    long[] entrada = modelo.get(p);
+                    if (entrada != null && entrada[0] != claves.get(p)) {
+                        entrada[0] = claves.get(p);
+                        if (alFinal) {
+                            entrada[1] = llegada++;
+                        }
+                    }
+                }
+                default -> {
+                    // Como selectNextProcess: se saca el primero
+                    Process primero = cola.peek();
+                    if (primero != null) {
+                        cola.remove(primero);
+                        modelo.remove(primero);
+                    }
+                }
+            }
+
+            Process esperado = modelo.entrySet().stream()
+                .min(Comparator.<Map.Entry<Process, long[]>>comparingLong(e -> e.getValue()[0])
+                    .thenComparingLong(e -> e.getValue()[1]))
+                .map(Map.Entry::getKey).orElse(null);
+            if (cola.peek() != esperado || cola.size() != modelo.size()
+                    || cola.contains(p) != modelo.containsKey(p)) {
+                Pruebas.falla(nombre, String.format("paso %d: primero %s (esperado %s), tamaño %d (esperado %d)",
+                    i, pid(cola.peek()), pid(esperado), cola.size(), modelo.size()));
+                return;
+            }
+
+            if (i % 1000 == 0) {
+                List<Process> orden = new ArrayList<>(modelo.keySet());
+                orden.sort(snapshotPorClave
+                    ? Comparator.<Process>comparingLong(q -> modelo.get(q)[0]).thenComparingLong(q -> modelo.get(q)[1])
+                    : Comparator.<Process>comparingLong(q -> modelo.get(q)[1]));
+                if (!cola.snapshot().equals(orden)) {
+                    Pruebas.falla(nombre, "paso " + i + ": snapshot fuera de orden");
+                    return;
+                }
+            }
+        }
+        System.out.println("✓ " + nombre + "  (" + OPERACIONES + " operaciones)");
+    }
+
+    // SJF/SRT: menor restante de la rafaga de CPU; con E/S en curso va al final
+    private static void probarClavesDeRafaga() {
+        IndexedHeapReadyQueue cola = IndexedHeapReadyQueue.byRemainingCpuTime();
+        Process largo = new Process("L", 0, Arrays.asList(new Burst(BurstType.CPU, 9)), 1, 1);
+        Process corto = new Process("C", 1, Arrays.asList(new Burst(BurstType.CPU, 4)), 1, 1);
+        Process io = new Process("E", 2, Arrays.asList(new Burst(BurstType.IO, 1), new Burst(BurstType.CPU, 1)), 1, 1);
+        cola.offer(io);
+        cola.offer(largo);
+        cola.offer(corto);
+
+        List<String> salida = new ArrayList<>();
+        // Al largo le quedan 2 (SRT): se reubica antes del corto
+        largo.getCurrentBurst().execute(7);
+        cola.update(largo);
+        while (!cola.isEmpty()) {
+            Process p = cola.peek();
+            salida.add(p.getPid());
+            cola.remove(p);
+        }
+        if (!salida.equals(Arrays.asList("L", "C", "E"))) {
+            Pruebas.falla("byRemainingCpuTime", "salieron " + salida);
+            return;
+        }
+        System.out.println("✓ byRemainingCpuTime");
+    }
+
+    // Al terminar probar() la clave de cada encolado es la de 'claves'
+    private static void probarTimeline(TimelineReadyQueue cola) {
+        List<Process> porClave = new ArrayList<>();
+        cola.forEach(porClave::add);
+        long pesoTotal = 0;
+        for (int i = 0; i < porClave.size(); i++) {
+            pesoTotal += peso(porClave.get(i));
+            if (i > 0 && claves.get(porClave.get(i)) < claves.get(porClave.get(i - 1))) {
+                Pruebas.falla("TimelineReadyQueue", "el recorrido no sigue el vruntime");
+                return;
+            }
+        }
+        if (porClave.size() != cola.size() || cola.totalWeight() != pesoTotal) {
+            Pruebas.falla("TimelineReadyQueue", "peso total " + cola.totalWeight() + " (esperado " + pesoTotal + ")");
+            return;
+        }
+        System.out.println("✓ totalWeight y recorrido por vruntime");
+    }
+
+    private static int peso(Process p) {
+        return 1 + (int) (claves.get(p) % 7) * 100;
+    }
+
+    // mergeIntoTop(): todos al nivel 0 en el mismo orden en que iban a salir
+    private static void probarBoost(List<Process> procesos) {
+        Random random = new Random(18);
+        MultilevelReadyQueue cola = new MultilevelReadyQueue(8, p -> claves.get(p).intValue());
+        for (Process p : procesos) {
+            claves.put(p, (long) random.nextInt(8));
+            cola.offer(p);
+        }
+        List<Process> antes = cola.snapshot();
+        cola.mergeIntoTop();
+
+        List<Process> salida = new ArrayList<>();
+        while (!cola.isEmpty()) {
+            Process p = cola.peek();
+            salida.add(p);
+            cola.remove(p);
+        }
+        if (!salida.equals(antes)) {
+            Pruebas.falla("mergeIntoTop", "el orden cambio al pasar todo al nivel 0");
+            return;
+        }
+        System.out.println("✓ mergeIntoTop");
+    }
+
+    private static String pid(Process p) {
+        return p == null ? "ninguno" : p.getPid();
+    }
+}
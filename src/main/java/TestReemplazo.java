@@ -0,0 +1,210 @@
+
+import model.Burst;
+import model.Burst.BurstType;
+import model.Process;
+import modules.memory.LRU;
+import modules.memory.MemoryEventListener;
+import modules.memory.Optimal;
+import utils.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**Prueba de las politicas de reemplazo contra un modelo directo
+ * Una secuencia aleatoria de cargas, accesos y liberaciones de varios procesos
+ * sobre pocos marcos; en cada fallo con la memoria llena la pagina desalojada
+ * tiene que ser la que elige el modelo.
+ *  LRU: una lista de paginas de la menos a la mas recientemente usada.
+ *  Optimal: Belady por fuerza bruta, recorriendo la cadena de referencias del
+ *  dueño de cada marco; empates (p. ej. sin proximo uso) al menor indice de marco.
+ *  javac -d out $(find . -name "*.java" -not -path "./modules/gui/*")
+ *  java -cp out TestReemplazo
+ */
+public class TestReemplazo {
+
+    private static final int MARCOS = 8;
+    private static final int PROCESOS = 4;
+    private static final int PAGINAS = 6;
+    private static final int OPERACIONES = 20_000;
+
+    public static void main(String[] args) {
+        Pruebas.encabezado("PRUEBA DE LAS POLITICAS DE REEMPLAZO");
+        Logger.setEnabled(false);
+
+        for (long semilla = 1; semilla <= 3; semilla++) {
+            probarLRU(semilla);
+        }
+        for (long semilla = 1; semilla <= 3; semilla++) {
+            probarOptimal(semilla);
+        }
+
+        Pruebas.cerrar();
+    }
+
+    private static void probarLRU(long semilla) {
+        String nombre = "LRU semilla " + semilla;
+        LRU lru = new LRU(MARCOS);
+        Desalojos desalojos = new Desalojos();
+        lru.addListener(desalojos);
+        Map<String, Process> procesos = procesos();
+
+        List<String> recencia = new ArrayList<>(); // "pid:pagina", la primera es la victima
+        Random random = new Random(semilla);
+        int reemplazos = 0;
+        for (int i = 0; i < OPERACIONES; i++) {
+            lru.setCurrentTime(i);
+            String pid = "P" + random.nextInt(PROCESOS);
+            int pagina = random.nextInt(PAGINAS);
+            String clave = pid + ":" + pagina;
+            int operacion = random.nextInt(20);
+
+            if (operacion == 0) {
+                lru.freeProcessPages(pid);
+                recencia.removeIf(c -> c.startsWith(pid + ":"));
+            } else if (operacion < 4) {
+                // Toca todas las del proceso; con paginas chicas el HashMap las recorre en orden
+                lru.updateProcessPagesAccessTime(pid);
+                List<String> propias = recencia.stream().filter(c -> c.startsWith(pid + ":")).sorted().toList();
+                recencia.removeAll(propias);
+                recencia.addAll(propias);
+            } else if (operacion < 8) {
+                lru.referencePage(pid, pagina, i);
+                if (recencia.remove(clave)) {
+                    recencia.add(clave);
+                }
+            } else {
+                String esperada = null;
+                if (!recencia.contains(clave) && recencia.size() == MARCOS) {
+                    esperada = recencia.remove(0);
+                    reemplazos++;
+                }
+                recencia.remove(clave);
+                recencia.add(clave);
+
+                desalojos.ultimo = null;
+                lru.loadPage(procesos.get(pid), pagina);
+                if (!Objects.equals(esperada, desalojos.ultimo)) {
+                    Pruebas.falla(nombre, "paso " + i + ": desalojo " + desalojos.ultimo + " (esperado " + esperada + ")");
+                    return;
+                }
+            }
+        }
+
+        if (MARCOS - lru.getFreeFrames() != recencia.size()
+                || !recencia.stream().allMatch(c -> lru.isPageLoaded(c.split(":")[0], Integer.parseInt(c.split(":")[1])))) {
+            Pruebas.falla(nombre, "al final las paginas cargadas no son las del modelo");
+            return;
+        }
+        System.out.println("✓ " + nombre + "  (" + reemplazos + " reemplazos)");
+    }
+
+    // Cada proceso consume su cadena de a una referencia; al agotarla termina y
+    // vuelve con otra, asi hay paginas sin proximo uso (empates) y liberaciones
+    private static void probarOptimal(long semilla) {
+        String nombre = "Optimal semilla " + semilla;
+        Optimal optimal = new Optimal(MARCOS);
+        Desalojos desalojos = new Desalojos();
+        optimal.addListener(desalojos);
+        Map<String, Process> procesos = procesos();
+
+        Map<String, int[]> cadenas = new HashMap<>();
+        Map<String, Integer> consumidas = new HashMap<>();
+        String[] marcos = new String[MARCOS]; // "pid:pagina", null si esta libre
+        Random random = new Random(semilla);
+        int reemplazos = 0;
+        for (int i = 0; i < OPERACIONES; i++) {
+            optimal.setCurrentTime(i);
+            String pid = "P" + random.nextInt(PROCESOS);
+            int[] cadena = cadenas.get(pid);
+            int k = consumidas.getOrDefault(pid, 0);
+            if (cadena == null || k == cadena.length) {
+                optimal.freeProcessPages(pid);
+                for (int f = 0; f < MARCOS; f++) {
+                    if (marcos[f] != null && marcos[f].startsWith(pid + ":")) {
+                        marcos[f] = null;
+                    }
+                }
+                cadena = random.ints(10 + random.nextInt(50), 0, PAGINAS).toArray();
+                cadenas.put(pid, cadena);
+                k = 0;
+                optimal.setFutureAccesses(pid, cadena);
+            }
+
+            int pagina = cadena[k];
+            String clave = pid + ":" + pagina;
+            if (!Arrays.asList(marcos).contains(clave)) {
+                int libre = Arrays.asList(marcos).indexOf(null);
+                int esperado = libre != -1 ? -1 : belady(marcos, cadenas, consumidas);
+                desalojos.marco = -1;
+                optimal.loadPage(procesos.get(pid), pagina);
+                if (desalojos.marco != esperado) {
+                    Pruebas.falla(nombre, "paso " + i + ": desalojo el marco " + desalojos.marco + " (" + desalojos.ultimo
+                        + "), Belady elige el " + esperado + " (" + (esperado == -1 ? "libre" : marcos[esperado]) + ")");
+                    return;
+                }
+                if (esperado != -1) {
+                    reemplazos++;
+                }
+                marcos[libre != -1 ? libre : esperado] = clave;
+            }
+            optimal.referencePage(pid, pagina, i);
+            consumidas.put(pid, k + 1);
+        }
+        System.out.println("✓ " + nombre + "  (" + reemplazos + " reemplazos)");
+    }
+
+    // El marco cuya pagina se vuelve a usar mas tarde en la cadena de su dueño
+    private static int belady(String[] marcos, Map<String, int[]> cadenas, Map<String, Integer> consumidas) {
+        int victima = -1;
+        long masLejos = -1;
+        for (int f = 0; f < marcos.length; f++) {
+            String pid = marcos[f].split(":")[0];
+            int pagina = Integer.parseInt(marcos[f].split(":")[1]);
+            int[] cadena = cadenas.get(pid);
+            int desde = consumidas.getOrDefault(pid, 0);
+            long distancia = Long.MAX_VALUE;
+            for (int j = desde; j < cadena.length; j++) {
+                if (cadena[j] == pagina) {
+                    distancia = j - desde;
+                    break;
+                }
+            }
+            if (distancia > masLejos) { // estricto: en un empate queda el menor marco
+                masLejos = distancia;
+                victima = f;
+            }
+        }
+        return victima;
+    }
+
+    private static Map<String, Process> procesos() {
+        Map<String, Process> procesos = new HashMap<>();
+        for (int i = 0; i < PROCESOS; i++) {
+            procesos.put("P" + i, new Process("P" + i, 0, List.of(new Burst(BurstType.CPU, 1)), 1, PAGINAS));
+        }
+        return procesos;
+    }
+
+    // Ultima pagina desalojada por un reemplazo y su marco
+    private static final class Desalojos implements MemoryEventListener {
+        String ultimo;
+        int marco = -1;
+
+        @Override public void onFrameEvicted(int frameIndex, String oldPid, int oldPage) {
+            ultimo = oldPid + ":" + oldPage;
+            marco = frameIndex;
+        }
+        @Override public boolean wantsSnapshots() { return false; }
+        @Override public void onPageAccess(int frameIndex, String pid, int page, boolean hit) { }
+        @Override public void onPageFault(String pid, int page) { }
+        @Override public void onFrameLoaded(int frameIndex, String pid, int page, long lastAccessTime) { }
+        @Override public void onVictimChosen(int frameIndex, String reason, long lastAccessTime) { }
+        @Override public void onSnapshot(String snapshot) { }
+        @Override public void onPageAccessed(int frameIndex, String pid, int page, long newAccessTime) { }
+    }
+}
@@ -0,0 +1,117 @@
+
+import modules.sync.TimerWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**Prueba de la TimerWheel contra una lista recorrida tick por tick
+ * Cada timer debe dispararse exactamente en el avance que cruza su tiempo,
+ * en orden de tiempo, y ninguno se pierde en la cascada entre niveles ni en
+ * overflow (mas alla de 64^4 ticks).
+ *  javac -d out modules/sync/TimerWheel.java TestTimerWheel.java Pruebas.java
+ *  java -cp out TestTimerWheel
+ */
+public class TestTimerWheel {
+
+    public static void main(String[] args) {
+        Pruebas.encabezado("PRUEBA DE LA RUEDA DE TEMPORIZADORES");
+
+        probarVencido();
+        probarAleatorio("ticks de a uno", 1, 1, 5_000, 2_000);
+        probarAleatorio("saltos cortos", 2, 30, 50_000, 5_000);
+        probarAleatorio("saltos entre niveles", 3, 5_000, 2_000_000, 5_000);
+        probarAleatorio("overflow", 4, 3_000_000, 60_000_000, 2_000);
+        probarReprogramacion();
+
+        Pruebas.cerrar();
+    }
+
+    // Un tiempo que ya paso se ejecuta en el mismo schedule
+    private static void probarVencido() {
+        TimerWheel rueda = new TimerWheel(100);
+        int[] disparos = new int[1];
+        rueda.schedule(100, () -> disparos[0]++);
+        rueda.schedule(40, () -> disparos[0]++);
+        if (disparos[0] != 2 || rueda.getPendingTimers() != 0) {
+            Pruebas.falla("vencidos", "se ejecutaron " + disparos[0] + " de 2 al registrarlos");
+            return;
+        }
+        System.out.println("✓ vencidos");
+    }
+
+    // Timers al azar; cada avance debe disparar justo los que cruza
+    private static void probarAleatorio(String nombre, long semilla, int maxSalto,
+                                        int horizonte, int cantidad) {
+        Random random = new Random(semilla);
+        TimerWheel rueda = new TimerWheel();
+        List<int[]> esperados = new ArrayList<>();
+        List<Integer> disparados = new ArrayList<>();
+
+        for (int i = 0; i < cantidad; i++) {
+            int tiempo = 1 + random.nextInt(horizonte);
+            esperados.add(new int[] {tiempo, i});
+            rueda.schedule(tiempo, () -> disparados.add(tiempo));
+        }
+
+        int reloj = 0;
+        while (reloj < horizonte) {
+            int siguiente = Math.min(horizonte, reloj + 1 + random.nextInt(maxSalto));
+            disparados.clear();
+            rueda.advanceTo(siguiente);
+
+            int desde = reloj;
+            long cuantos = esperados.stream().filter(e -> e[0] > desde && e[0] <= siguiente).count();
+            if (disparados.size() != cuantos) {
+                Pruebas.falla(nombre, String.format("avance %d→%d disparo %d de %d",
+                    reloj, siguiente, disparados.size(), cuantos));
+                return;
+            }
+            for (int i = 0; i < disparados.size(); i++) {
+                int t = disparados.get(i);
+                if (t <= reloj || t > siguiente || (i > 0 && t < disparados.get(i - 1))) {
+                    Pruebas.falla(nombre, String.format("avance %d→%d disparo t=%d fuera de orden o de rango",
+                        reloj, siguiente, t));
+                    return;
+                }
+            }
+            reloj = siguiente;
+        }
+
+        if (rueda.getPendingTimers() != 0 || rueda.getCurrentTime() != horizonte) {
+            Pruebas.falla(nombre, "quedaron " + rueda.getPendingTimers() + " timers pendientes");
+            return;
+        }
+        System.out.println("✓ " + nombre + "  (" + cantidad + " timers)");
+    }
+
+    // Una accion que registra otro timer (como los canales de E/S)
+    private static void probarReprogramacion() {
+        TimerWheel rueda = new TimerWheel();
+        List<Integer> disparos = new ArrayList<>();
+        Runnable[] cadena = new Runnable[1];
+        cadena[0] = () -> {
+            int ahora = rueda.getCurrentTime();
+            disparos.add(ahora);
+            if (disparos.size() < 50) {
+                rueda.schedule(ahora + 7, cadena[0]);
+            }
+        };
+        rueda.schedule(3, cadena[0]);
+
+        for (int t = 1; t <= 400; t++) {
+            rueda.advanceTo(t);
+        }
+        for (int i = 0; i < disparos.size(); i++) {
+            if (disparos.get(i) != 3 + 7 * i) {
+                Pruebas.falla("reprogramacion", "disparo " + i + " en t=" + disparos.get(i));
+                return;
+            }
+        }
+        if (disparos.size() != 50) {
+            Pruebas.falla("reprogramacion", "se disparo " + disparos.size() + " veces de 50");
+            return;
+        }
+        System.out.println("✓ reprogramacion");
+    }
+}
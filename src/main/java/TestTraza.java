@@ -0,0 +1,246 @@
+
+import model.Config;
+import model.Process;
+import model.ProcessState;
+import modules.memory.MemoryEventListener;
+import modules.sync.DiscreteEventEngine;
+import modules.sync.SimulationStateListener;
+import modules.trace.MappedTrace;
+import modules.trace.TraceReader;
+import modules.trace.TraceRecord;
+import modules.trace.TraceReplayer;
+import modules.workload.WorkloadGenerator;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**Prueba de ida y vuelta de la traza binaria
+ * Graba una corrida del DiscreteEventEngine (2 nucleos, referencias, 16
+ * marcos) y la vuelve a leer: TraceReader y MappedTrace deben ver los mismos
+ * registros, el indice disperso no puede saltear ninguno, y cada seek del
+ * TraceReplayer (hacia adelante y hacia atras) debe dejar los marcos, las
+ * colas y el Gantt de la ventana igual que recorrer la traza desde el principio.
+ *  javac -d out $(find . -name "*.java" -not -path "./modules/gui/*")
+ *  java -cp out TestTraza
+ */
+public class TestTraza {
+
+    private static final int PROCESOS = 3000;
+    private static final int SEEKS = 80;
+
+    public static void main(String[] args) throws IOException {
+        Pruebas.encabezado("PRUEBA DE LA TRAZA: GRABAR, LEER Y REPRODUCIR");
+        Logger.setEnabled(false);
+
+        Path archivo = Files.createTempFile("TestTraza", ".trace");
+        try {
+            grabar(archivo);
+            try (MappedTrace traza = new MappedTrace(archivo)) {
+                System.out.println("  " + traza.size() + " registros hasta t=" + traza.getEndTime() + "\n");
+                probarLectura(archivo, traza);
+                probarIndice(traza);
+                probarReproduccion(traza);
+            }
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+
+        Pruebas.cerrar();
+    }
+
+    private static void grabar(Path archivo) {
+        Config config = new Config();
+        config.setCores(2);
+        config.setTotalFrames(16);
+        config.setQuantum(3);
+        config.setSchedulerType(Config.SchedulerType.ROUND_ROBIN);
+        config.setReplacementType(Config.ReplacementType.LRU);
+        config.setTraceFile(archivo.toString());
+
+        WorkloadGenerator generador = new WorkloadGenerator(PROCESOS, config.getSeed());
+        generador.setReferences("localidad:3,0.9");
+        List<Process> procesos = new ArrayList<>();
+        while (generador.hasNext()) {
+            procesos.add(generador.next());
+        }
+
+        // Los planificadores imprimen su depuracion por consola
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            new DiscreteEventEngine(SimulationFactory.createScheduler(config),
+                SimulationFactory.createMemoryManager(config), procesos, config).run();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+
+    // Lectura secuencial y acceso aleatorio sobre el mismo archivo
+    private static void probarLectura(Path archivo, MappedTrace traza) throws IOException {
+        try (TraceReader lector = new TraceReader(archivo)) {
+            if (lector.getRecordCount() != traza.size()) {
+                Pruebas.falla("lectura", "TraceReader ve " + lector.getRecordCount() + " registros y MappedTrace " + traza.size());
+                return;
+            }
+            for (long i = 0; i < traza.size(); i++) {
+                TraceRecord r = lector.next();
+                if (r == null || r.getType() != traza.type(i) || r.getTime() != traza.time(i)
+                        || !Objects.equals(r.getPid(), traza.pid(i)) || r.getA() != traza.a(i) || r.getB() != traza.b(i)) {
+                    Pruebas.falla("lectura", "el registro " + i + " difiere: " + r);
+                    return;
+                }
+            }
+            if (lector.next() != null) {
+                Pruebas.falla("lectura", "TraceReader tiene registros de mas");
+                return;
+            }
+        }
+        System.out.println("✓ TraceReader y MappedTrace leen lo mismo");
+    }
+
+    // Antes de firstAfter(t) todo termino antes de t; desde scanEnd(t) todo es posterior
+    private static void probarIndice(MappedTrace traza) {
+        Random random = new Random(13);
+        for (int k = 0; k < SEEKS; k++) {
+            int t = random.nextInt(traza.getEndTime() + 1);
+            long desde = traza.firstAfter(t);
+            long hasta = traza.scanEnd(t);
+            for (long i = 0; i < desde; i++) {
+                if (traza.endOf(i) >= t) {
+                    Pruebas.falla("indice", "firstAfter(" + t + ")=" + desde + " saltea el registro " + i);
+                    return;
+                }
+            }
+            for (long i = hasta; i < traza.size(); i++) {
+                if (traza.time(i) <= t) {
+                    Pruebas.falla("indice", "scanEnd(" + t + ")=" + hasta + " deja afuera el registro " + i);
+                    return;
+                }
+            }
+        }
+        System.out.println("✓ firstAfter y scanEnd no saltean registros");
+    }
+
+    private static void probarReproduccion(MappedTrace traza) {
+        Vista vista = new Vista();
+        TraceReplayer replayer = new TraceReplayer(traza, vista, vista, vista::reiniciar);
+        Random random = new Random(17);
+
+        List<Integer> tiempos = new ArrayList<>(List.of(0, traza.getEndTime()));
+        for (int k = 0; k < SEEKS; k++) {
+            tiempos.add(random.nextInt(traza.getEndTime() + 1));
+        }
+        // El mismo instante dos veces seguidas: la emision de colas se saltea
+        tiempos.add(tiempos.get(tiempos.size() - 1));
+
+        for (int t : tiempos) {
+            replayer.seek(t);
+            Vista esperada = recorrer(traza, t, replayer.getWindow());
+            if (!vista.marcos.equals(esperada.marcos)) {
+                Pruebas.falla("seek(" + t + ")", "marcos " + vista.marcos + " (esperados " + esperada.marcos + ")");
+                return;
+            }
+            if (!vista.estados.equals(esperada.estados)) {
+                Pruebas.falla("seek(" + t + ")", "colas distintas a recorrer la traza");
+                return;
+            }
+            Collections.sort(vista.porciones);
+            if (!vista.porciones.equals(esperada.porciones)) {
+                Pruebas.falla("seek(" + t + ")", vista.porciones.size() + " porciones de CPU en el Gantt ("
+                    + esperada.porciones.size() + " esperadas)");
+                return;
+            }
+        }
+        System.out.println("✓ " + tiempos.size() + " seeks iguales a recorrer la traza desde el principio");
+    }
+
+    // Lo que deberia mostrar la GUI en 't', aplicando todos los registros hasta ahi
+    private static Vista recorrer(MappedTrace traza, int t, int ventana) {
+        int inicioVentana = Math.max(0, t - ventana);
+        inicioVentana -= inicioVentana % 5;
+
+        Vista vista = new Vista();
+        Map<String, String> estados = new HashMap<>();
+        for (long i = 0; i < traza.size(); i++) {
+            if (traza.time(i) > t) {
+                continue;
+            }
+            switch (traza.type(i)) {
+                case PAGE_LOAD -> vista.marcos.put(traza.b(i), traza.pid(i) + ":" + traza.a(i));
+                case EVICTION -> vista.marcos.remove(traza.b(i));
+                case STATE -> estados.put(traza.pid(i), ProcessState.values()[traza.b(i)].name());
+                case CPU -> {
+                    if (traza.a(i) > 0 && traza.endOf(i) > inicioVentana) {
+                        vista.porciones.add(traza.pid(i) + "@" + Math.max(traza.time(i), inicioVentana));
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        estados.forEach((pid, estado) -> {
+            if (estado.equals("READY") || estado.startsWith("BLOCKED") || estado.equals("RUNNING")) {
+                vista.estados.put(pid, estado);
+            }
+        });
+        Collections.sort(vista.porciones);
+        return vista;
+    }
+
+    // Lo que recibe la GUI del replayer
+    private static final class Vista implements SimulationStateListener, MemoryEventListener {
+        final Map<Integer, String> marcos = new TreeMap<>();
+        final Map<String, String> estados = new TreeMap<>();
+        final List<String> porciones = new ArrayList<>();
+
+        void reiniciar(int inicioVentana, int tiempo, List<String> pids, int cantidadMarcos) {
+            marcos.clear();
+            porciones.clear();
+        }
+
+        private void cola(List<Process> procesos, String estado) {
+            estados.values().removeIf(estado::equals);
+            for (Process p : procesos) {
+                estados.put(p.getPid(), estado);
+            }
+        }
+
+        @Override public void onReadyQueueChanged(List<Process> readyQueue) { cola(readyQueue, "READY"); }
+        @Override public void onBlockedIOChanged(List<Process> blockedIO) { cola(blockedIO, "BLOCKED_IO"); }
+        @Override public void onBlockedMemoryChanged(List<Process> blockedMemory) { cola(blockedMemory, "BLOCKED_MEMORY"); }
+        @Override public void onRunningProcessesChanged(List<Process> running) { cola(running, "RUNNING"); }
+        @Override public void onRunningChanged(Process runningProcess) { }
+        @Override public void onProcessStateChanged(Process process) { }
+        @Override public void onTimeChanged(int currentTime) { }
+        @Override public void onProcessExecutionStarted(String pid, int startTime) {
+            porciones.add(pid + "@" + startTime);
+        }
+        @Override public void onProcessExecutionEnded(String pid, int endTime) { }
+        @Override public void onContextSwitch(String pid, int startTime, int duration) { }
+        @Override public void onIOStarted(String pid, int startTime) { }
+        @Override public void onIOEnded(String pid, int endTime) { }
+
+        @Override public void onFrameLoaded(int frameIndex, String pid, int page, long lastAccessTime) {
+            marcos.put(frameIndex, pid + ":" + page);
+        }
+        @Override public void onPageAccess(int frameIndex, String pid, int page, boolean hit) { }
+        @Override public void onPageFault(String pid, int page) { }
+        @Override public void onFrameEvicted(int frameIndex, String oldPid, int oldPage) { }
+        @Override public void onVictimChosen(int frameIndex, String reason, long lastAccessTime) { }
+        @Override public void onSnapshot(String snapshot) { }
+        @Override public void onPageAccessed(int frameIndex, String pid, int page, long newAccessTime) { }
+    }
+}
@@ -16,6 +16,15 @@ duration:
 remainingTime:
   Tiempo que falta para completarla.
 
+device:
+  Dispositivo de E/S que atiende la rafaga (solo IO, opcional).
+  Si es null la atiende el dispositivo por defecto.
+
+references:
+  Cadena de referencias de una rafaga CPU: pagina que usa cada unidad de
+  tiempo (si es mas corta que la rafaga se repite). Si es null el proceso
+  usa todas sus paginas en cada unidad (comportamiento original).
+
 METODOS:
 execute(time):
   Reduce el tiempo restante segun el tiempo ejecutado.
@@ -30,6 +39,9 @@ reset():
 isCPU() / isIO():
   Indican si la rafaga es de CPU o de IO.
 
+getReference(unit):
+  Pagina que referencia la unidad 'unit' de la rafaga (0 = la primera).
+
 OBJETIVO:
 Modelar la unidad basica de trabajo de un proceso en un simulador
 de sistemas operativos.
@@ -46,11 +58,18 @@ public class Burst {
   private final BurstType type;
   private final int duration;        // Duracion total en unidades de tiempo
   private int remainingTime;         // Tiempo restante para completar
+  private final String device;       // Dispositivo de E/S (null = por defecto)
+  private int[] references;          // Pagina por unidad de CPU (null = todas)
   
   public Burst(BurstType type, int duration) {
+    this(type, duration, null);
+  }
+
+  public Burst(BurstType type, int duration, String device) {
     this.type = type;
     this.duration = duration;
     this.remainingTime = duration;
+    this.device = device;
   }
   
   public boolean execute(int time) {
@@ -77,7 +96,35 @@ public class Burst {
   public int getRemainingTime() {
     return remainingTime;
   }
+
+  public String getDevice() {
+    return device;
+  }
   
+  public boolean hasReferences() {
+    return references != null;
+  }
+
+  public int[] getReferences() {
+    return references;
+  }
+
+  public void setReferences(int[] references) {
+    if (type != BurstType.CPU && references != null) {
+      throw new IllegalArgumentException("Solo las rafagas CPU llevan referencias");
+    }
+    this.references = references != null && references.length > 0 ? references : null;
+  }
+
+  public int getReference(int unit) {
+    return references[unit % references.length];
+  }
+
+  // Unidades ya ejecutadas
+  public int getExecutedTime() {
+    return duration - remainingTime;
+  }
+
   public boolean isCPU() {
     return type == BurstType.CPU;
   }
@@ -88,12 +135,25 @@ public class Burst {
   
   @Override
   public String toString() {
+    if (references != null) {
+      StringBuilder sb = new StringBuilder().append(type).append('(').append(duration);
+      char separator = ':';
+      for (int page : references) {
+        sb.append(separator).append(page);
+        separator = ',';
+      }
+      return sb.append(')').toString();
+    }
+    if (device != null) {
+      return String.format("%s(%d:%s)", type, duration, device);
+    }
     return String.format("%s(%d)", type, duration);
   }
   
   public Burst copy() {
-    Burst copy = new Burst(this.type, this.duration);
+    Burst copy = new Burst(this.type, this.duration, this.device);
     copy.remainingTime = this.remainingTime;
+    copy.references = this.references;
     return copy;
   }
 }
\ No newline at end of file
@@ -1,5 +1,12 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 /*
 Clase Config
 Administra todos los parametros de configuracion del sistema de simulacion.
@@ -11,20 +18,60 @@ ELEMENTOS PRINCIPALES:
 
 SchedulerType:
   Define el tipo de planificador usado:
-  FCFS, SJF, SRT, ROUND_ROBIN, PRIORITY, PRIORITYPREEMPTIVE.
+  FCFS, SJF, SRT, ROUND_ROBIN, PRIORITY, PRIORITYPREEMPTIVE, MLFQ, CFS.
 
 ReplacementType:
   Define el algoritmo de reemplazo de paginas:
   FIFO, LRU, OPTIMAL, NRU.
 
+IODiscipline:
+  Orden en que un dispositivo atiende su cola de E/S:
+  FIFO (orden de llegada) o SSTF (la rafaga mas corta primero).
+
+LoadBalancing:
+  Reparto de procesos entre nucleos (solo DiscreteEventEngine):
+  NONE (cada proceso queda en la cola donde entro), STEALING (un nucleo sin
+  trabajo le quita un proceso a la cola mas larga) o PERIODIC (cada
+  balanceInterval unidades se emparejan las colas).
+
+DeviceConfig:
+  Dispositivo de E/S simulado: nombre, canales (operaciones simultaneas)
+  y disciplina. Por defecto existen disk, network y tty con un canal FIFO;
+  las rafagas IO sin etiqueta van al primero (disk).
+
 Atributos configurables:
   totalFrames: cantidad total de marcos de memoria.
   frameSize: tamano de cada marco.
   schedulerType: planificador seleccionado.
   quantum: usado solo si el planificador es Round Robin.
+  mlfqQuanta: quantum de cada nivel de MLFQ (por defecto quantum, 2*quantum
+             y 4*quantum: tres niveles).
+  mlfqBoostInterval: cada cuantas unidades MLFQ sube todo al nivel 0 (0 = nunca).
+  cfsTargetLatency: periodo en que CFS intenta correr una vez a cada listo.
+  cfsMinGranularity: porcion minima de CFS (y margen para expropiar).
+  agingInterval: Priority y PriorityPreemptive mejoran en 1 la prioridad de un
+             proceso por cada agingInterval unidades en READY (0 = sin envejecimiento).
   replacementType: algoritmo para manejo de paginas.
   ENABLE_IO: bandera global para permitir operaciones de IO.
   timeUnit: tiempo base usado por la simulacion.
+  skipIdleTime: salta los ticks en los que ningun proceso puede avanzar.
+  traceFile: si no es null, el engine graba la traza binaria de eventos
+             (modules.trace) en ese archivo.
+  referenceModel: si no es null, genera la cadena de referencias de las
+             rafagas CPU que no la traen (modules.workload.ReferenceModel,
+             ej. "localidad:4,0.9"); con cadena el proceso solo usa la
+             pagina de cada unidad en vez de todas sus paginas.
+  cores: nucleos de CPU simulados, cada uno con su cola READY (por defecto 1).
+  loadBalancing / balanceInterval: ver LoadBalancing.
+  affinity: si es true un proceso vuelve a la cola del ultimo nucleo donde
+             estuvo; si no, entra a la cola menos cargada.
+  virtualThreads: el motor con threads corre cada proceso en un thread
+             virtual (Java 21+).
+  seed: semilla de toda la aleatoriedad de la corrida: el Random de
+             getRandom (NRU) y las cadenas de referencias (ReferenceModel,
+             semilla ^ pid); misma semilla, mismo resultado.
+  cacheDir / cacheMaxMb: directorio y tamano maximo de la cache de
+             resultados (modules.cache.ResultCache); sin cacheDir no se usa.
 
 Overheads:
   systemCallOverhead: costo de llamada al sistema.
@@ -33,6 +80,10 @@ Overheads:
 
 Metodos:
   getters/setters para modificar configuraciones.
+  copy():
+    Devuelve una copia independiente de la configuracion.
+  fingerprint():
+    Texto con todos los parametros que influyen en el resultado (clave de la cache).
   validate():
     Verifica que los valores basicos sean correctos.
   toString():
@@ -50,7 +101,9 @@ public class Config {
       SRT,
       ROUND_ROBIN, // Round Robin
       PRIORITY,     // Por Prioridades (opcional)
-      PRIORITYPREEMPTIVE
+      PRIORITYPREEMPTIVE,
+      MLFQ,        // Multilevel Feedback Queue
+      CFS          // Completely Fair Scheduler
   }
   
   public enum ReplacementType {
@@ -59,14 +112,75 @@ public class Config {
       OPTIMAL,   // Algoritmo Óptimo
       NRU   // Algoritmo Óptimo
   }
+
+  public enum IODiscipline {
+      FIFO,   // Orden de llegada
+      SSTF    // Rafaga mas corta primero
+  }
+
+  public enum LoadBalancing {
+      NONE,
+      STEALING,
+      PERIODIC
+  }
+
+  public static class DeviceConfig {
+      private final String name;
+      private final int channels;
+      private final IODiscipline discipline;
+
+      public DeviceConfig(String name, int channels, IODiscipline discipline) {
+          if (channels <= 0) {
+              throw new IllegalArgumentException("El dispositivo " + name + " necesita al menos un canal");
+          }
+          this.name = name;
+          this.channels = channels;
+          this.discipline = discipline;
+      }
+
+      public String getName() {
+          return name;
+      }
+
+      public int getChannels() {
+          return channels;
+      }
+
+      public IODiscipline getDiscipline() {
+          return discipline;
+      }
+
+      @Override
+      public String toString() {
+          return String.format("%s(canales=%d, %s)", name, channels, discipline);
+      }
+  }
   
   private int totalFrames;
   private int frameSize;
   private SchedulerType schedulerType;
   private int quantum;  // Para Round Robin
+  private int[] mlfqQuanta;
+  private int mlfqBoostInterval = 100;
+  private int cfsTargetLatency = 12;
+  private int cfsMinGranularity = 2;
+  private int agingInterval;
   private ReplacementType replacementType;
   private static final boolean ENABLE_IO = true;
   private int timeUnit;
+  private boolean skipIdleTime = true;
+  private String traceFile;
+  private String referenceModel;
+  private int cores = 1;
+  private LoadBalancing loadBalancing = LoadBalancing.STEALING;
+  private int balanceInterval = 10;
+  private boolean affinity;
+  private boolean virtualThreads;
+  private long seed = 1;
+  private Random random;
+  private String cacheDir;
+  private int cacheMaxMb = 256;
+  private final Map<String, DeviceConfig> ioDevices = new LinkedHashMap<>();
   
   private int systemCallOverhead = 1;
   private int pageFaultPenalty = 0;
@@ -79,6 +193,9 @@ public class Config {
       this.quantum = 2;
       this.replacementType = ReplacementType.FIFO;
       this.timeUnit = 100;
+      setIODevice(new DeviceConfig("disk", 1, IODiscipline.FIFO));
+      setIODevice(new DeviceConfig("network", 1, IODiscipline.FIFO));
+      setIODevice(new DeviceConfig("tty", 1, IODiscipline.FIFO));
   }
   
   public Config(int totalFrames, SchedulerType schedulerType, 
@@ -90,6 +207,63 @@ public class Config {
       this.quantum = quantum;
   }
   
+  // Copia independiente, para variar parametros sin tocar la original
+  public Config copy() {
+      Config c = new Config(totalFrames, schedulerType, replacementType, quantum);
+      c.frameSize = frameSize;
+      c.timeUnit = timeUnit;
+      c.skipIdleTime = skipIdleTime;
+      c.traceFile = traceFile;
+      c.referenceModel = referenceModel;
+      c.mlfqQuanta = mlfqQuanta;
+      c.mlfqBoostInterval = mlfqBoostInterval;
+      c.cfsTargetLatency = cfsTargetLatency;
+      c.cfsMinGranularity = cfsMinGranularity;
+      c.agingInterval = agingInterval;
+      c.cores = cores;
+      c.loadBalancing = loadBalancing;
+      c.balanceInterval = balanceInterval;
+      c.affinity = affinity;
+      c.virtualThreads = virtualThreads;
+      c.seed = seed;
+      c.cacheDir = cacheDir;
+      c.cacheMaxMb = cacheMaxMb;
+      c.systemCallOverhead = systemCallOverhead;
+      c.pageFaultPenalty = pageFaultPenalty;
+      c.contextSwitchOverhead = contextSwitchOverhead;
+      c.ioDevices.clear();
+      c.ioDevices.putAll(ioDevices);
+      return c;
+  }
+
+  // Todo lo que puede cambiar el resultado de una corrida; la traza y la cache
+  // son salidas y quedan afuera. ResultCache lo usa en la clave: un campo nuevo
+  // que influya en la simulacion tiene que agregarse aca (y en copy)
+  public String fingerprint() {
+      StringBuilder sb = new StringBuilder();
+      sb.append("frames=").append(totalFrames)
+        .append(";frameSize=").append(frameSize)
+        .append(";scheduler=").append(schedulerType)
+        .append(";quantum=").append(quantum)
+        .append(";mlfq=").append(Arrays.toString(mlfqQuanta))
+        .append(";mlfqBoost=").append(mlfqBoostInterval)
+        .append(";cfs=").append(cfsTargetLatency).append(',').append(cfsMinGranularity)
+        .append(";aging=").append(agingInterval)
+        .append(";replacement=").append(replacementType)
+        .append(";timeUnit=").append(timeUnit)
+        .append(";skipIdle=").append(skipIdleTime)
+        .append(";references=").append(referenceModel)
+        .append(";cores=").append(cores)
+        .append(";balance=").append(loadBalancing).append(',').append(balanceInterval)
+        .append(";affinity=").append(affinity)
+        .append(";virtualThreads=").append(virtualThreads)
+        .append(";seed=").append(seed)
+        .append(";overheads=").append(systemCallOverhead).append(',').append(pageFaultPenalty)
+        .append(',').append(contextSwitchOverhead)
+        .append(";devices=").append(ioDevices.values());
+      return sb.toString();
+  }
+
   public int getTotalFrames() {
       return totalFrames;
   }
@@ -128,6 +302,58 @@ public class Config {
       this.quantum = quantum;
   }
   
+  public int[] getMlfqQuanta() {
+      if (mlfqQuanta == null) {
+          return new int[] { quantum, 2 * quantum, 4 * quantum };
+      }
+      return mlfqQuanta.clone();
+  }
+
+  public void setMlfqQuanta(int[] mlfqQuanta) {
+      this.mlfqQuanta = mlfqQuanta != null ? mlfqQuanta.clone() : null;
+  }
+
+  public int getMlfqBoostInterval() {
+      return mlfqBoostInterval;
+  }
+
+  public void setMlfqBoostInterval(int mlfqBoostInterval) {
+      this.mlfqBoostInterval = mlfqBoostInterval;
+  }
+
+  public int getCfsTargetLatency() {
+      return cfsTargetLatency;
+  }
+
+  public void setCfsTargetLatency(int cfsTargetLatency) {
+      if (cfsTargetLatency <= 0) {
+          throw new IllegalArgumentException("La latencia objetivo de CFS debe ser positiva");
+      }
+      this.cfsTargetLatency = cfsTargetLatency;
+  }
+
+  public int getCfsMinGranularity() {
+      return cfsMinGranularity;
+  }
+
+  public void setCfsMinGranularity(int cfsMinGranularity) {
+      if (cfsMinGranularity <= 0) {
+          throw new IllegalArgumentException("La granularidad minima de CFS debe ser positiva");
+      }
+      this.cfsMinGranularity = cfsMinGranularity;
+  }
+
+  public int getAgingInterval() {
+      return agingInterval;
+  }
+
+  public void setAgingInterval(int agingInterval) {
+      if (agingInterval < 0) {
+          throw new IllegalArgumentException("El intervalo de envejecimiento no puede ser negativo");
+      }
+      this.agingInterval = agingInterval;
+  }
+
   public ReplacementType getReplacementType() {
       return replacementType;
   }
@@ -147,6 +373,128 @@ public class Config {
   public void setTimeUnit(int timeUnit) {
       this.timeUnit = timeUnit;
   }
+
+  // Agrega o reemplaza un dispositivo (se conserva el orden de definicion)
+  public void setIODevice(DeviceConfig device) {
+      ioDevices.put(device.getName(), device);
+  }
+
+  public List<DeviceConfig> getIODevices() {
+      return new ArrayList<>(ioDevices.values());
+  }
+
+  public DeviceConfig getDefaultIODevice() {
+      return ioDevices.values().iterator().next();
+  }
+
+  public boolean isSkipIdleTime() {
+      return skipIdleTime;
+  }
+
+  public void setSkipIdleTime(boolean skipIdleTime) {
+      this.skipIdleTime = skipIdleTime;
+  }
+
+  public String getTraceFile() {
+      return traceFile;
+  }
+
+  public void setTraceFile(String traceFile) {
+      this.traceFile = traceFile;
+  }
+
+  public String getReferenceModel() {
+      return referenceModel;
+  }
+
+  public void setReferenceModel(String referenceModel) {
+      this.referenceModel = referenceModel;
+  }
+
+  public int getCores() {
+      return cores;
+  }
+
+  public void setCores(int cores) {
+      if (cores <= 0) {
+          throw new IllegalArgumentException("Se necesita al menos un nucleo");
+      }
+      this.cores = cores;
+  }
+
+  public LoadBalancing getLoadBalancing() {
+      return loadBalancing;
+  }
+
+  public void setLoadBalancing(LoadBalancing loadBalancing) {
+      this.loadBalancing = loadBalancing;
+  }
+
+  public int getBalanceInterval() {
+      return balanceInterval;
+  }
+
+  public void setBalanceInterval(int balanceInterval) {
+      if (balanceInterval <= 0) {
+          throw new IllegalArgumentException("El intervalo de balanceo debe ser positivo");
+      }
+      this.balanceInterval = balanceInterval;
+  }
+
+  public boolean isAffinity() {
+      return affinity;
+  }
+
+  public void setAffinity(boolean affinity) {
+      this.affinity = affinity;
+  }
+
+  // Motor con threads: un thread virtual por proceso (Java 21+) en vez de uno de plataforma
+  public boolean isVirtualThreads() {
+      return virtualThreads;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+  }
+
+  public long getSeed() {
+      return seed;
+  }
+
+  public void setSeed(long seed) {
+      this.seed = seed;
+      this.random = null;
+  }
+
+  // Directorio de ResultCache (null = sin cache)
+  public String getCacheDir() {
+      return cacheDir;
+  }
+
+  public void setCacheDir(String cacheDir) {
+      this.cacheDir = cacheDir;
+  }
+
+  public int getCacheMaxMb() {
+      return cacheMaxMb;
+  }
+
+  public void setCacheMaxMb(int cacheMaxMb) {
+      if (cacheMaxMb <= 0) {
+          throw new IllegalArgumentException("El tamano de la cache debe ser positivo");
+      }
+      this.cacheMaxMb = cacheMaxMb;
+  }
+
+  // Unico generador de la corrida (misma semilla, mismo resultado). Cada copia
+  // arranca el suyo desde la semilla: las corridas en paralelo no lo comparten
+  public Random getRandom() {
+      if (random == null) {
+          random = new Random(seed);
+      }
+      return random;
+  }
   
   @Override
   public String toString() {
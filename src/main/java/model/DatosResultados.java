@@ -20,6 +20,12 @@ Metricas de graficas:
   tiempoRespuestaPromedio: tiempo promedio hasta la primera respuesta de CPU.
   usoCpu: porcentaje de tiempo en el que la CPU estuvo activa.
   ocioCpu: porcentaje de tiempo en el que la CPU estuvo sin uso.
+  usoNucleos: uso de cada nucleo (%); con un solo nucleo es [usoCpu].
+
+Inanicion:
+  esperaMaxima: mayor tiempo de espera de un proceso.
+  esperaP99: el 99% de los procesos espero a lo sumo esto (aproximado,
+    error < 2% por encima de 128 unidades).
 
 Datos del planificador:
   procesosCompletados: cantidad total de procesos finalizados.
@@ -27,6 +33,7 @@ Datos del planificador:
   cambiosContexto: numero total de cambios de contexto.
   tiempoCpu: tiempo total donde la CPU estuvo ejecutando procesos.
   tiempoOcioso: tiempo total donde la CPU estuvo en inactividad.
+  Con varios nucleos son sumas de todos ellos y usoCpu es el promedio.
 
 Datos de memoria:
   cargasTotales: cantidad de cargas de paginas.
@@ -45,6 +52,8 @@ Datos generales:
 Constructor:
   Recibe todas las metricas generadas por la simulacion
   y calcula automaticamente el porcentaje de ocio de CPU.
+  La version sin usoNucleos corresponde a una sola CPU; las versiones sin
+  esperaMaxima / esperaP99 los dejan en 0.
 
 Uso:
 Se utiliza para mostrar resultados en tablas, graficas, dashboards
@@ -59,6 +68,10 @@ public class DatosResultados {
     private final double tiempoRespuestaPromedio;
     private final double usoCpu;
     private final double ocioCpu;
+    private final List<Double> usoNucleos;
+    //Inanicion
+    private final int esperaMaxima;
+    private final int esperaP99;
     //Datos Scheduler
     private final int procesosCompletados;
     private final int totalProcesos;
@@ -93,12 +106,69 @@ public class DatosResultados {
             List<ResultadoProceso> resumenProcesos,
             String algP,
             String algM
+    ) {
+        this(tiempoEsperaPromedio, tiempoRetornoPromedio, tiempoRespuestaPromedio, usoCpu,
+                procesosCompletados, totalProcesos, cambiosContexto, tiempoCpu, tiempoOcioso,
+                cargasTotales, fallosPagina, reemplazosPagina, marcosTotales, marcosLibres,
+                resumenProcesos, algP, algM, List.of(usoCpu));
+    }
+
+    public DatosResultados(
+            double tiempoEsperaPromedio,
+            double tiempoRetornoPromedio,
+            double tiempoRespuestaPromedio,
+            double usoCpu,
+            int procesosCompletados,
+            int totalProcesos,
+            int cambiosContexto,
+            int tiempoCpu,
+            int tiempoOcioso,
+            int cargasTotales,
+            int fallosPagina,
+            int reemplazosPagina,
+            int marcosTotales,
+            int marcosLibres,
+            List<ResultadoProceso> resumenProcesos,
+            String algP,
+            String algM,
+            List<Double> usoNucleos
+    ) {
+        this(tiempoEsperaPromedio, tiempoRetornoPromedio, tiempoRespuestaPromedio, usoCpu,
+                procesosCompletados, totalProcesos, cambiosContexto, tiempoCpu, tiempoOcioso,
+                cargasTotales, fallosPagina, reemplazosPagina, marcosTotales, marcosLibres,
+                resumenProcesos, algP, algM, usoNucleos, 0, 0);
+    }
+
+    public DatosResultados(
+            double tiempoEsperaPromedio,
+            double tiempoRetornoPromedio,
+            double tiempoRespuestaPromedio,
+            double usoCpu,
+            int procesosCompletados,
+            int totalProcesos,
+            int cambiosContexto,
+            int tiempoCpu,
+            int tiempoOcioso,
+            int cargasTotales,
+            int fallosPagina,
+            int reemplazosPagina,
+            int marcosTotales,
+            int marcosLibres,
+            List<ResultadoProceso> resumenProcesos,
+            String algP,
+            String algM,
+            List<Double> usoNucleos,
+            int esperaMaxima,
+            int esperaP99
     ) {
         this.tiempoEsperaPromedio = tiempoEsperaPromedio;
         this.tiempoRetornoPromedio = tiempoRetornoPromedio;
         this.tiempoRespuestaPromedio = tiempoRespuestaPromedio;
         this.usoCpu = usoCpu;
         this.ocioCpu = Math.max(0, 100 - usoCpu);
+        this.usoNucleos = List.copyOf(usoNucleos);
+        this.esperaMaxima = esperaMaxima;
+        this.esperaP99 = esperaP99;
         this.procesosCompletados = procesosCompletados;
         this.totalProcesos = totalProcesos;
         this.cambiosContexto = cambiosContexto;
@@ -134,6 +204,22 @@ public class DatosResultados {
         return ocioCpu;
     }
 
+    public List<Double> getUsoNucleos() {
+        return usoNucleos;
+    }
+
+    public int getNucleos() {
+        return usoNucleos.size();
+    }
+
+    public int getEsperaMaxima() {
+        return esperaMaxima;
+    }
+
+    public int getEsperaP99() {
+        return esperaP99;
+    }
+
     public int getProcesosCompletados() {
         return procesosCompletados;
     }
@@ -38,6 +38,10 @@ Memoria:
 Control del sistema:
   contextSwitchEndTime: fin del cambio de contexto.
   systemCallEndTime: fin de llamada al sistema.
+  queueLevel / queueLevelPeriod: nivel en MLFQ y periodo de boost en que se
+    fijo (lo interpreta modules.scheduler.MLFQ).
+  vruntime: tiempo virtual de ejecucion en CFS (modules.scheduler.CFS).
+  readySince: ultimo ingreso a la cola READY (lo fija Scheduler.addProcess).
 
 MÉTODOS PRINCIPALES:
 getCurrentBurst(): devuelve la ráfaga activa.
@@ -49,6 +53,12 @@ loadPage(), unloadPage(), isPageLoaded(): manejo de páginas.
 incrementPageFaults(): suma fallos.
 getTurnaroundTime(): tiempo total del proceso.
 getRemainingTime(): tiempo restante por ejecutar.
+copy(): copia limpia del proceso para repetir la simulacion.
+getCurrentReference(): pagina que usa la proxima unidad de CPU (-1 si la
+  rafaga no tiene cadena de referencias).
+getReferenceString(): referencias de todas las rafagas CPU en orden de
+  ejecucion (lo que Optimal necesita conocer de antemano).
+setStateListener(): avisa cada cambio de estado (lo usa la traza binaria).
 
 USO:
 Se utiliza durante la simulación para planificar, calcular métricas
@@ -58,12 +68,17 @@ y administrar la memoria paginada del proceso.
 
 public class Process {
 
+  // Observador de transiciones de estado (ej. modules.trace.TraceRecorder)
+  public interface StateListener {
+    void onStateChanged(Process process, ProcessState from, ProcessState to);
+  }
+
   private final String pid;
   private final int arrivalTime;
   private int priority;
   private final List<Burst> bursts;
   private int currentBurstIndex;
-  private ProcessState state;
+  private volatile ProcessState state; // ProcessThread lo lee sin coordinationMonitor
   private final int requiredPages;
   private final Set<Integer> loadedPages;
   private int pageFaults;
@@ -79,6 +94,13 @@ public class Process {
   private int systemCallEndTime = -1;
   private int pageFaultEndTime = -1;
 
+  private int queueLevel;
+  private int queueLevelPeriod;
+  private long vruntime;
+  private int readySince;
+
+  private StateListener stateListener;
+
   public Process(String pid, int arrivalTime, List<Burst> bursts, int priority, int requiredPages) {
     this.pid = pid;
     this.arrivalTime = arrivalTime;
@@ -97,6 +119,17 @@ public class Process {
     this.responseTime = -1;
   }
 
+  // Copia en estado NEW, con las rafagas completas, para otra simulacion
+  public Process copy() {
+    List<Burst> fresh = new ArrayList<>(bursts.size());
+    for (Burst burst : bursts) {
+      Burst c = burst.copy();
+      c.reset();
+      fresh.add(c);
+    }
+    return new Process(pid, arrivalTime, fresh, priority, requiredPages);
+  }
+
   public Burst getCurrentBurst() {
     if (currentBurstIndex < bursts.size()) {
       return bursts.get(currentBurstIndex);
@@ -140,6 +173,11 @@ public class Process {
     
   }
 
+  // Para el motor por eventos: suma de golpe el tiempo pasado en READY
+  public void addWaitingTime(int time) {
+    waitingTime += time;
+  }
+
   public void loadPage(int pageNumber) {
     loadedPages.add(pageNumber);
   }
@@ -181,7 +219,15 @@ public class Process {
   }
 
   public void setState(ProcessState state) {
+      ProcessState previous = this.state;
       this.state = state;
+      if (stateListener != null && previous != state) {
+        stateListener.onStateChanged(this, previous, state);
+      }
+  }
+
+  public void setStateListener(StateListener listener) {
+      this.stateListener = listener;
   }
 
   public int getRequiredPages() {
@@ -224,6 +270,72 @@ public class Process {
       return currentBurstIndex;
   }
 
+  public int getQueueLevel() {
+    return queueLevel;
+  }
+
+  public int getQueueLevelPeriod() {
+    return queueLevelPeriod;
+  }
+
+  public void setQueueLevel(int level, int period) {
+    this.queueLevel = level;
+    this.queueLevelPeriod = period;
+  }
+
+  public long getVruntime() {
+    return vruntime;
+  }
+
+  public void setVruntime(long vruntime) {
+    this.vruntime = vruntime;
+  }
+
+  public int getReadySince() {
+    return readySince;
+  }
+
+  public void setReadySince(int readySince) {
+    this.readySince = readySince;
+  }
+
+  public boolean hasReferences() {
+    for (Burst b : bursts) {
+      if (b.hasReferences()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int getCurrentReference() {
+    Burst burst = getCurrentBurst();
+    if (burst == null || !burst.hasReferences() || burst.isCompleted()) {
+      return -1;
+    }
+    return burst.getReference(burst.getExecutedTime());
+  }
+
+  // Una referencia por unidad de CPU; rafagas sin cadena no aportan
+  public int[] getReferenceString() {
+    int length = 0;
+    for (Burst b : bursts) {
+      if (b.hasReferences()) {
+        length += b.getDuration();
+      }
+    }
+    int[] refs = new int[length];
+    int k = 0;
+    for (Burst b : bursts) {
+      if (b.hasReferences()) {
+        for (int unit = 0; unit < b.getDuration(); unit++) {
+          refs[k++] = b.getReference(unit);
+        }
+      }
+    }
+    return refs;
+  }
+
   public int getRemainingTime() {
     int remaining = 0;
     for (int i = currentBurstIndex; i < bursts.size(); i++) {
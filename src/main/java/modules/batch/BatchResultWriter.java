@@ -0,0 +1,111 @@
+package modules.batch;
+
+import model.DatosResultados;
+import model.ResultadoProceso;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/*
+BatchResultWriter
+Escribe los resultados del modo por lotes, una fila por corrida.
+
+csv:  cabecera + una linea por corrida con los parametros y las metricas
+      globales de DatosResultados.
+json: arreglo de objetos con los mismos campos y ademas el resumen por
+      proceso (resumenProcesos).
+uso_nucleos: uso de cada nucleo separado por ';' (un solo valor con una CPU).
+espera_max, espera_p99: inanicion (ver DatosResultados).
+*/
+
+public class BatchResultWriter {
+
+  private static final String CSV_HEADER = String.join(",",
+      "planificador", "reemplazo", "marcos", "quantum",
+      "espera_prom", "retorno_prom", "respuesta_prom", "uso_cpu", "ocio_cpu",
+      "completados", "total_procesos", "cambios_contexto", "tiempo_cpu", "tiempo_ocioso",
+      "cargas", "fallos_pagina", "reemplazos", "marcos_libres", "ms", "nucleos", "uso_nucleos",
+      "espera_max", "espera_p99");
+
+  public static void write(List<BatchRunner.Result> results, String path, String format) throws IOException {
+    try (BufferedWriter out = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8);
+        PrintWriter writer = new PrintWriter(out)) {
+      switch (format.toLowerCase()) {
+        case "csv" -> writeCsv(results, writer);
+        case "json" -> writeJson(results, writer);
+        default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+      }
+    }
+  }
+
+  private static void writeCsv(List<BatchRunner.Result> results, PrintWriter writer) {
+    writer.println(CSV_HEADER);
+    for (BatchRunner.Result r : results) {
+      DatosResultados d = r.datos;
+      writer.println(String.format(Locale.ROOT,
+          "%s,%s,%d,%d,%.4f,%.4f,%.4f,%.4f,%.4f,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%s,%d,%d",
+          r.experiment.scheduler, r.experiment.replacement, r.experiment.frames, r.experiment.quantum,
+          d.getTiempoEsperaPromedio(), d.getTiempoRetornoPromedio(), d.getTiempoRespuestaPromedio(),
+          d.getUsoCpu(), d.getOcioCpu(),
+          d.getProcesosCompletados(), d.getTotalProcesos(), d.getCambiosContexto(),
+          d.getTiempoCpu(), d.getTiempoOcioso(),
+          d.getCargasTotales(), d.getFallosPagina(), d.getReemplazosPagina(), d.getMarcosLibres(),
+          r.elapsedMillis, d.getNucleos(), usoNucleos(d, ";"),
+          d.getEsperaMaxima(), d.getEsperaP99()));
+    }
+  }
+
+  private static void writeJson(List<BatchRunner.Result> results, PrintWriter writer) {
+    writer.println("[");
+    for (int i = 0; i < results.size(); i++) {
+      BatchRunner.Result r = results.get(i);
+      DatosResultados d = r.datos;
+      writer.print(String.format(Locale.ROOT,
+          "  {\"planificador\": \"%s\", \"reemplazo\": \"%s\", \"marcos\": %d, \"quantum\": %d, "
+              + "\"esperaProm\": %.4f, \"retornoProm\": %.4f, \"respuestaProm\": %.4f, "
+              + "\"usoCpu\": %.4f, \"ocioCpu\": %.4f, \"completados\": %d, \"totalProcesos\": %d, "
+              + "\"cambiosContexto\": %d, \"tiempoCpu\": %d, \"tiempoOcioso\": %d, "
+              + "\"cargas\": %d, \"fallosPagina\": %d, \"reemplazos\": %d, \"marcosLibres\": %d, "
+              + "\"ms\": %d, \"usoNucleos\": [%s], \"esperaMax\": %d, \"esperaP99\": %d, "
+              + "\"procesos\": [",
+          r.experiment.scheduler, r.experiment.replacement, r.experiment.frames, r.experiment.quantum,
+          d.getTiempoEsperaPromedio(), d.getTiempoRetornoPromedio(), d.getTiempoRespuestaPromedio(),
+          d.getUsoCpu(), d.getOcioCpu(), d.getProcesosCompletados(), d.getTotalProcesos(),
+          d.getCambiosContexto(), d.getTiempoCpu(), d.getTiempoOcioso(),
+          d.getCargasTotales(), d.getFallosPagina(), d.getReemplazosPagina(), d.getMarcosLibres(),
+          r.elapsedMillis, usoNucleos(d, ", "), d.getEsperaMaxima(), d.getEsperaP99()));
+
+      List<ResultadoProceso> procesos = d.getResumenProcesos();
+      for (int j = 0; j < procesos.size(); j++) {
+        ResultadoProceso p = procesos.get(j);
+        writer.print(String.format(
+            "{\"pid\": \"%s\", \"espera\": %d, \"retorno\": %d, \"respuesta\": %d, \"fallosPagina\": %d}%s",
+            escape(p.getPid()), p.getTiempoEspera(), p.getTiempoRetorno(), p.getTiempoRespuesta(),
+            p.getFallosPagina(), j + 1 < procesos.size() ? ", " : ""));
+      }
+      writer.println("]}" + (i + 1 < results.size() ? "," : ""));
+    }
+    writer.println("]");
+  }
+
+  private static String usoNucleos(DatosResultados d, String separator) {
+    StringBuilder text = new StringBuilder();
+    for (double uso : d.getUsoNucleos()) {
+      if (text.length() > 0) {
+        text.append(separator);
+      }
+      text.append(String.format(Locale.ROOT, "%.4f", uso));
+    }
+    return text.toString();
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+}
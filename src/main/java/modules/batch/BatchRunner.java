@@ -0,0 +1,392 @@
+package modules.batch;
+
+import model.Config;
+import model.DatosResultados;
+import model.Process;
+import modules.cache.ResultCache;
+import modules.memory.MemoryManager;
+import modules.scheduler.Scheduler;
+import modules.sync.DiscreteEventEngine;
+import utils.FileParser;
+import utils.Logger;
+import utils.ProcessStream;
+import utils.SimulationFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+BatchRunner
+Modo por lotes sin interfaz grafica. Recorre una grilla de parametros
+(planificador x reemplazo x marcos x quantum) sobre un mismo archivo de
+procesos y escribe una fila de DatosResultados por corrida.
+
+USO:
+  java -cp target/classes modules.batch.BatchRunner --procesos archivo.txt [opciones]
+
+OPCIONES:
+  --procesos <archivo>     archivo de procesos (obligatorio)
+  --config <archivo>       configuracion base (overheads, dispositivos, ...)
+  --planificadores <lista> ej. FCFS,SJF,RR (por defecto todos)
+  --reemplazos <lista>     ej. FIFO,LRU (por defecto todos)
+  --marcos <valores>       lista "4,8,16" o rango "4-40:4" (por defecto el de la config)
+  --quantum <valores>      igual que --marcos (por defecto el de la config)
+  --salida <archivo>       archivo de resultados (por defecto resultados.csv)
+  --formato csv|json       por defecto segun la extension de --salida
+  --hilos <n>              paralelismo (por defecto todos los nucleos)
+  --semilla <n>            semilla de la aleatoriedad (NRU y cadenas de
+                           referencias); por defecto la de la config (1)
+  --cache <dir>            cache de resultados (ResultCache); tambien 'cache'
+                           en la config
+  --streaming              no cargar el archivo: cada corrida lo relee con
+                           ProcessStream y admite procesos al llegar (debe
+                           estar ordenado por llegada; sin resumen por proceso)
+
+EJECUCION:
+  Cada corrida es independiente: su propia copia de Config, de los procesos,
+  del Scheduler y del MemoryManager, sobre DiscreteEventEngine (un solo thread,
+  sin sleep). Las corridas se reparten en un ForkJoinPool. El Logger se apaga
+  y la salida estandar se descarta mientras corre el lote; el progreso va a
+  System.err. Si la config base tiene 'trace', cada corrida graba su propia
+  traza con los parametros en el nombre del archivo.
+
+REPRODUCIBILIDAD:
+  Con la misma entrada y la misma semilla cada corrida da el mismo
+  DatosResultados (salvo 'ms', que es tiempo real): el motor ordena los eventos
+  de un mismo tick por (tiempo, tipo, orden de alta) y toda la aleatoriedad
+  sale de la semilla de la config: NRU usa Config.getRandom() (uno por copia
+  de la config) y cada cadena de referencias un Random de semilla ^ pid.
+
+CACHE:
+  Con 'cache' cada corrida busca primero su clave (procesos + config) en
+  ResultCache y si esta no simula ('ms' es lo que tardo en leerla). La huella
+  de los procesos se calcula una sola vez por lote. Si la corrida pide traza
+  y la entrada no la tiene, se vuelve a simular para grabarla.
+*/
+
+public class BatchRunner {
+
+  // Una combinacion de la grilla
+  public static class Experiment {
+    final Config.SchedulerType scheduler;
+    final Config.ReplacementType replacement;
+    final int frames;
+    final int quantum;
+
+    Experiment(Config.SchedulerType scheduler, Config.ReplacementType replacement, int frames, int quantum) {
+      this.scheduler = scheduler;
+      this.replacement = replacement;
+      this.frames = frames;
+      this.quantum = quantum;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s/%s frames=%d quantum=%d", scheduler, replacement, frames, quantum);
+    }
+  }
+
+  public static class Result {
+    final Experiment experiment;
+    final DatosResultados datos;
+    final long elapsedMillis;
+
+    Result(Experiment experiment, DatosResultados datos, long elapsedMillis) {
+      this.experiment = experiment;
+      this.datos = datos;
+      this.elapsedMillis = elapsedMillis;
+    }
+  }
+
+  private final Config baseConfig;
+  private final List<Process> processTemplates;
+  private final Path processFile;     // modo streaming, si no es null
+  private final int parallelism;
+  private final ResultCache cache;    // null sin 'cache' en la config
+  private final String inputDigest;
+
+  public BatchRunner(Config baseConfig, List<Process> processTemplates, int parallelism) {
+    this(baseConfig, processTemplates, null, parallelism);
+  }
+
+  // Modo streaming: cada corrida lee 'processFile' a medida que avanza
+  public BatchRunner(Config baseConfig, Path processFile, int parallelism) {
+    this(baseConfig, null, processFile, parallelism);
+  }
+
+  private BatchRunner(Config baseConfig, List<Process> processTemplates, Path processFile, int parallelism) {
+    this.baseConfig = baseConfig;
+    this.processTemplates = processTemplates;
+    this.processFile = processFile;
+    this.parallelism = parallelism;
+
+    // El Logger esta apagado durante el lote: los avisos van a System.err
+    ResultCache opened = ResultCache.open(baseConfig);
+    String digest = null;
+    if (opened == null && baseConfig.getCacheDir() != null) {
+      System.err.println("[BATCH] No se pudo abrir la cache " + baseConfig.getCacheDir() + ", se simula todo");
+    }
+    if (opened != null) {
+      try {
+        digest = processFile != null ? ResultCache.digest(processFile) : ResultCache.digest(processTemplates);
+      } catch (IOException e) {
+        System.err.println("[BATCH] Sin cache, no se pudo leer " + processFile + ": " + e.getMessage());
+        opened = null;
+      }
+    }
+    this.cache = opened;
+    this.inputDigest = digest;
+  }
+
+  public List<Result> runAll(List<Experiment> experiments) throws InterruptedException {
+    AtomicInteger done = new AtomicInteger();
+    int total = experiments.size();
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return pool.submit(() -> experiments.parallelStream()
+          .map(e -> {
+            Result r = runOne(e);
+            int n = done.incrementAndGet();
+            if (n % 50 == 0 || n == total) {
+              System.err.printf("[BATCH] %d/%d corridas%n", n, total);
+            }
+            return r;
+          })
+          .filter(r -> r != null)
+          .toList()).get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Error en el lote: " + e.getCause().getMessage(), e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Corre una combinacion aislada; si falla se informa y se omite su fila
+  Result runOne(Experiment experiment) {
+    Config config = baseConfig.copy();
+    config.setSchedulerType(experiment.scheduler);
+    config.setReplacementType(experiment.replacement);
+    config.setTotalFrames(experiment.frames);
+    config.setQuantum(experiment.quantum);
+    if (config.getTraceFile() != null) {
+      config.setTraceFile(traceFileFor(config.getTraceFile(), experiment));
+    }
+
+    long start = System.nanoTime();
+    String cacheKey = cache != null ? ResultCache.key(inputDigest, config) : null;
+    Result cached = cacheKey != null ? fromCache(cacheKey, experiment, config, start) : null;
+    if (cached != null) {
+      return cached;
+    }
+
+    try {
+      Scheduler scheduler = SimulationFactory.createScheduler(config);
+      MemoryManager memoryManager = SimulationFactory.createMemoryManager(config);
+      DiscreteEventEngine engine;
+      if (processFile != null) {
+        try (ProcessStream arrivals = ProcessStream.open(processFile, true)) {
+          engine = new DiscreteEventEngine(scheduler, memoryManager, arrivals, config);
+          engine.run();
+        }
+      } else {
+        List<Process> processes = new ArrayList<>(processTemplates.size());
+        for (Process template : processTemplates) {
+          processes.add(template.copy());
+        }
+        engine = new DiscreteEventEngine(scheduler, memoryManager, processes, config);
+        engine.run();
+      }
+      if (cacheKey != null) {
+        cache.put(cacheKey, engine.getDatosFinales(),
+            config.getTraceFile() != null ? Path.of(config.getTraceFile()) : null);
+      }
+      return new Result(experiment, engine.getDatosFinales(), (System.nanoTime() - start) / 1_000_000);
+    } catch (RuntimeException | IOException e) {
+      System.err.println("[BATCH] Fallo la corrida " + experiment + ": " + e.getMessage());
+      return null;
+    }
+  }
+
+  // null si hay que simular: no esta, o se pidio traza y la entrada no la tiene
+  private Result fromCache(String key, Experiment experiment, Config config, long start) {
+    ResultCache.Entry entry = cache.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (config.getTraceFile() != null) {
+      if (entry.getTrace() == null) {
+        return null;
+      }
+      try {
+        entry.copyTraceTo(Path.of(config.getTraceFile()));
+      } catch (IOException e) {
+        return null;
+      }
+    }
+    return new Result(experiment, entry.getResults(), (System.nanoTime() - start) / 1_000_000);
+  }
+
+  // Una traza por corrida: "sim.trace" -> "sim_RR_LRU_f8_q2.trace"
+  static String traceFileFor(String base, Experiment e) {
+    String suffix = String.format("_%s_%s_f%d_q%d", e.scheduler, e.replacement, e.frames, e.quantum);
+    int dot = base.lastIndexOf('.');
+    return dot > base.lastIndexOf('/') ? base.substring(0, dot) + suffix + base.substring(dot) : base + suffix;
+  }
+
+  public static List<Experiment> buildGrid(List<Config.SchedulerType> schedulers,
+      List<Config.ReplacementType> replacements, List<Integer> frames, List<Integer> quanta) {
+    List<Experiment> grid = new ArrayList<>();
+    for (Config.SchedulerType s : schedulers) {
+      for (Config.ReplacementType r : replacements) {
+        for (int f : frames) {
+          for (int q : quanta) {
+            grid.add(new Experiment(s, r, f, q));
+          }
+        }
+      }
+    }
+    return grid;
+  }
+
+  public static void main(String[] args) {
+    try {
+      run(args);
+    } catch (IllegalArgumentException | IOException e) {
+      System.err.println("[BATCH] " + e.getMessage());
+      System.exit(1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      System.exit(1);
+    }
+  }
+
+  private static void run(String[] args) throws IOException, InterruptedException {
+    String processPath = null;
+    String configPath = null;
+    String schedulersArg = null;
+    String replacementsArg = null;
+    String framesArg = null;
+    String quantumArg = null;
+    String outputPath = "resultados.csv";
+    String format = null;
+    int threads = Runtime.getRuntime().availableProcessors();
+    Long seed = null;
+    String cacheDir = null;
+    boolean streaming = false;
+
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--streaming")) {
+        streaming = true;
+        continue;
+      }
+      String value = i + 1 < args.length ? args[i + 1] : null;
+      switch (args[i]) {
+        case "--procesos" -> processPath = value;
+        case "--config" -> configPath = value;
+        case "--planificadores" -> schedulersArg = value;
+        case "--reemplazos" -> replacementsArg = value;
+        case "--marcos" -> framesArg = value;
+        case "--quantum" -> quantumArg = value;
+        case "--salida" -> outputPath = value;
+        case "--formato" -> format = value;
+        case "--hilos" -> threads = Integer.parseInt(value);
+        case "--semilla" -> seed = Long.parseLong(value);
+        case "--cache" -> cacheDir = value;
+        default -> throw new IllegalArgumentException("Opcion desconocida: " + args[i]);
+      }
+      if (value == null) {
+        throw new IllegalArgumentException("Falta el valor de " + args[i]);
+      }
+      i++;
+    }
+
+    if (processPath == null) {
+      throw new IllegalArgumentException("Uso: BatchRunner --procesos <archivo> [--planificadores FCFS,RR] "
+          + "[--reemplazos FIFO,LRU] [--marcos 4-40:4] [--quantum 1-10] [--salida resultados.csv] [--hilos n] "
+          + "[--semilla n] [--cache dir]");
+    }
+    if (format == null) {
+      format = outputPath.toLowerCase().endsWith(".json") ? "json" : "csv";
+    }
+
+    Config baseConfig = configPath != null ? FileParser.parseConfig(configPath) : new Config();
+    if (seed != null) {
+      baseConfig.setSeed(seed);
+    }
+    if (cacheDir != null) {
+      baseConfig.setCacheDir(cacheDir);
+    }
+    List<Process> templates = streaming ? null : FileParser.parseProcesses(processPath);
+
+    List<Config.SchedulerType> schedulers = schedulersArg == null
+        ? Arrays.asList(Config.SchedulerType.values())
+        : Arrays.stream(schedulersArg.split(",")).map(String::trim).map(FileParser::parseSchedulerType).toList();
+    List<Config.ReplacementType> replacements = replacementsArg == null
+        ? Arrays.asList(Config.ReplacementType.values())
+        : Arrays.stream(replacementsArg.split(",")).map(String::trim).map(FileParser::parseReplacementType).toList();
+    List<Integer> frames = framesArg == null ? List.of(baseConfig.getTotalFrames()) : parseIntValues(framesArg);
+    List<Integer> quanta = quantumArg == null ? List.of(baseConfig.getQuantum()) : parseIntValues(quantumArg);
+
+    List<Experiment> grid = buildGrid(schedulers, replacements, frames, quanta);
+    if (streaming) {
+      System.err.printf("[BATCH] %s en streaming, %d corridas, %d hilos%n", processPath, grid.size(), threads);
+    } else {
+      System.err.printf("[BATCH] %d procesos, %d corridas, %d hilos%n", templates.size(), grid.size(), threads);
+    }
+
+    // Las corridas no deben registrar logs ni imprimir: el Logger es global
+    boolean loggerWasEnabled = Logger.isEnabled();
+    PrintStream stdout = System.out;
+    Logger.setEnabled(false);
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+    List<Result> results;
+    long start = System.currentTimeMillis();
+    try {
+      BatchRunner runner = streaming
+          ? new BatchRunner(baseConfig, Path.of(processPath), threads)
+          : new BatchRunner(baseConfig, templates, threads);
+      results = runner.runAll(grid);
+    } finally {
+      System.setOut(stdout);
+      Logger.setEnabled(loggerWasEnabled);
+    }
+
+    BatchResultWriter.write(results, outputPath, format);
+    System.err.printf("[BATCH] %d filas escritas en %s (%d ms)%n",
+        results.size(), outputPath, System.currentTimeMillis() - start);
+  }
+
+  // "4,8,16" o "desde-hasta[:paso]"
+  static List<Integer> parseIntValues(String value) {
+    List<Integer> values = new ArrayList<>();
+    for (String part : value.split(",")) {
+      part = part.trim();
+      int dash = part.indexOf('-', 1);
+      if (dash < 0) {
+        values.add(Integer.parseInt(part));
+        continue;
+      }
+      int colon = part.indexOf(':');
+      int from = Integer.parseInt(part.substring(0, dash));
+      int to = Integer.parseInt(colon < 0 ? part.substring(dash + 1) : part.substring(dash + 1, colon));
+      int step = colon < 0 ? 1 : Integer.parseInt(part.substring(colon + 1));
+      if (step <= 0) {
+        throw new IllegalArgumentException("El paso debe ser positivo: " + part);
+      }
+      for (int v = from; v <= to; v += step) {
+        values.add(v);
+      }
+    }
+    return values;
+  }
+}
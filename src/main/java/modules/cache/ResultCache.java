@@ -0,0 +1,415 @@
+package modules.cache;
+
+import model.Burst;
+import model.Config;
+import model.DatosResultados;
+import model.Process;
+import model.ResultadoProceso;
+import utils.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ResultCache
+Cache en disco de resultados de simulacion, direccionada por contenido: la
+clave es un SHA-256 de los procesos ya parseados y de Config.fingerprint(),
+asi la misma carga con la misma configuracion se sirve sin volver a simular.
+
+ENTRADAS (en el directorio de la cache):
+  <clave>.res    DatosResultados en binario (writeResults, big-endian)
+  <clave>.trace  traza binaria de la corrida (Gantt, E/S y memoria; ver
+                 modules.trace), solo si la corrida la grabo
+  Se escriben en un temporal y se mueven: nadie ve una entrada a medias.
+  La traza se mueve antes que el .res, si hay .res su traza ya esta.
+
+CLAVE:
+  digest() se calcula una vez por carga y key() lo combina con cada
+  configuracion. VERSION entra en la clave: subirla invalida todo lo guardado
+  (hay que hacerlo si cambia el formato o lo que calcula la simulacion).
+
+DESALOJO (LRU por tamano):
+  Al abrir se indexan las entradas por fecha de modificacion; get() la
+  actualiza (el orden sobrevive entre ejecuciones) y put() borra las menos
+  usadas hasta quedar bajo maxBytes. Varias ejecuciones pueden compartir el
+  directorio; cada una desaloja solo las entradas que conoce.
+
+Es thread-safe: el modo por lotes la usa desde varias corridas en paralelo.
+*/
+
+public class ResultCache {
+
+  private static final int MAGIC = 0x4F535243; // "OSRC"
+  private static final short VERSION = 2; // 2: cadenas de referencias segun Config.seed
+
+  // Resultado guardado y, si la hay, su traza
+  public static final class Entry {
+    private final DatosResultados results;
+    private final Path trace;
+
+    Entry(DatosResultados results, Path trace) {
+      this.results = results;
+      this.trace = trace;
+    }
+
+    public DatosResultados getResults() {
+      return results;
+    }
+
+    // null si la corrida no grabo traza
+    public Path getTrace() {
+      return trace;
+    }
+
+    // Deja una copia de la traza donde la pidio la corrida (Config 'trace')
+    public void copyTraceTo(Path target) throws IOException {
+      Files.copy(trace, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private final Path dir;
+  private final long maxBytes;
+  // clave -> bytes en disco, en orden de uso: el primero es el menos reciente
+  private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  public ResultCache(Path dir, long maxBytes) throws IOException {
+    this.dir = dir;
+    this.maxBytes = maxBytes;
+    Files.createDirectories(dir);
+    loadIndex();
+  }
+
+  // null si la config no tiene 'cache' o no se puede usar el directorio
+  public static ResultCache open(Config config) {
+    if (config.getCacheDir() == null) {
+      return null;
+    }
+    try {
+      return new ResultCache(Path.of(config.getCacheDir()), config.getCacheMaxMb() * 1024L * 1024L);
+    } catch (IOException | RuntimeException e) {
+      Logger.warning("[CACHE] No se pudo abrir " + config.getCacheDir() + ": " + e.getMessage());
+      return null;
+    }
+  }
+
+  // Huella de los procesos tal como salen del parser (sin estado de ejecucion)
+  public static String digest(List<Process> processes) {
+    MessageDigest md = sha256();
+    try (DataOutputStream out = new DataOutputStream(
+        new DigestOutputStream(OutputStream.nullOutputStream(), md))) {
+      out.writeInt(processes.size());
+      for (Process p : processes) {
+        out.writeUTF(p.getPid());
+        out.writeInt(p.getArrivalTime());
+        out.writeInt(p.getPriority());
+        out.writeInt(p.getRequiredPages());
+        out.writeInt(p.getBursts().size());
+        for (Burst b : p.getBursts()) {
+          out.writeByte(b.getType().ordinal());
+          out.writeInt(b.getDuration());
+          writeString(out, b.getDevice());
+          int[] refs = b.getReferences();
+          out.writeInt(refs == null ? -1 : refs.length);
+          if (refs != null) {
+            for (int r : refs) {
+              out.writeInt(r);
+            }
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // no escribe a disco, no deberia pasar
+    }
+    return hex(md.digest());
+  }
+
+  // Modo streaming: no hay lista, la huella es la del archivo
+  public static String digest(Path processFile) throws IOException {
+    MessageDigest md = sha256();
+    try (InputStream in = new DigestInputStream(Files.newInputStream(processFile), md)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    return hex(md.digest());
+  }
+
+  public static String key(String inputDigest, Config config) {
+    MessageDigest md = sha256();
+    md.update((VERSION + "\n" + inputDigest + "\n" + config.fingerprint()).getBytes(StandardCharsets.UTF_8));
+    return hex(md.digest());
+  }
+
+  // null si no esta (o no se pudo leer, en cuyo caso se descarta)
+  public Entry get(String key) {
+    Path res = resultsPath(key);
+    DatosResultados results;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(res)))) {
+      results = readResults(in);
+    } catch (NoSuchFileException e) {
+      forget(key);
+      return null;
+    } catch (IOException | RuntimeException e) {
+      Logger.warning("[CACHE] Entrada " + key + " ilegible, se descarta: " + e.getMessage());
+      forget(key);
+      deleteFiles(key);
+      return null;
+    }
+
+    Path trace = tracePath(key);
+    boolean hasTrace = Files.exists(trace);
+    try {
+      Files.setLastModifiedTime(res, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      // solo se pierde el orden LRU entre ejecuciones
+    }
+    synchronized (this) {
+      if (index.get(key) == null) {
+        // la escribio otra ejecucion que comparte el directorio
+        track(key, sizeOf(res) + (hasTrace ? sizeOf(trace) : 0));
+      }
+    }
+    return new Entry(results, hasTrace ? trace : null);
+  }
+
+  // Guarda el resultado y una copia de 'trace' (puede ser null); si falla la
+  // corrida sigue igual, solo no queda en cache
+  public void put(String key, DatosResultados results, Path trace) {
+    try {
+      Path resTmp = tempPath(key);
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(resTmp)))) {
+        writeResults(out, results);
+      }
+      long bytes = Files.size(resTmp);
+
+      if (trace != null && Files.exists(trace)) {
+        Path traceTmp = tempPath(key);
+        Files.copy(trace, traceTmp, StandardCopyOption.REPLACE_EXISTING);
+        bytes += Files.size(traceTmp);
+        Files.move(traceTmp, tracePath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } else {
+        Files.deleteIfExists(tracePath(key));
+      }
+      Files.move(resTmp, resultsPath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+      synchronized (this) {
+        track(key, bytes);
+        evict();
+      }
+    } catch (IOException e) {
+      Logger.warning("[CACHE] No se pudo guardar " + key + ": " + e.getMessage());
+    }
+  }
+
+  public synchronized int size() {
+    return index.size();
+  }
+
+  public synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  private void loadIndex() throws IOException {
+    List<Path> entries = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.res")) {
+      for (Path res : files) {
+        entries.add(res);
+      }
+    }
+    entries.sort(Comparator.comparingLong(ResultCache::modifiedMillis));
+    for (Path res : entries) {
+      String name = res.getFileName().toString();
+      String key = name.substring(0, name.length() - ".res".length());
+      Path trace = tracePath(key);
+      track(key, sizeOf(res) + (Files.exists(trace) ? sizeOf(trace) : 0));
+    }
+  }
+
+  // Con el lock tomado
+  private void track(String key, long bytes) {
+    Long old = index.put(key, bytes);
+    totalBytes += bytes - (old == null ? 0 : old);
+  }
+
+  private synchronized void forget(String key) {
+    Long old = index.remove(key);
+    if (old != null) {
+      totalBytes -= old;
+    }
+  }
+
+  // Con el lock tomado. La entrada recien usada (la ultima) no se borra aunque
+  // sola supere el limite
+  private void evict() {
+    Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+    while (totalBytes > maxBytes && index.size() > 1 && it.hasNext()) {
+      Map.Entry<String, Long> lru = it.next();
+      deleteFiles(lru.getKey());
+      totalBytes -= lru.getValue();
+      it.remove();
+    }
+  }
+
+  private void deleteFiles(String key) {
+    try {
+      Files.deleteIfExists(resultsPath(key));
+      Files.deleteIfExists(tracePath(key));
+    } catch (IOException e) {
+      Logger.warning("[CACHE] No se pudo borrar " + key + ": " + e.getMessage());
+    }
+  }
+
+  private Path resultsPath(String key) {
+    return dir.resolve(key + ".res");
+  }
+
+  private Path tracePath(String key) {
+    return dir.resolve(key + ".trace");
+  }
+
+  // Nombre unico: otra corrida (u otra ejecucion) puede estar guardando la misma clave
+  private Path tempPath(String key) {
+    return dir.resolve(key + "." + UUID.randomUUID() + ".tmp");
+  }
+
+  // Mismo orden que el constructor de DatosResultados
+  static void writeResults(DataOutputStream out, DatosResultados d) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeShort(VERSION);
+    out.writeDouble(d.getTiempoEsperaPromedio());
+    out.writeDouble(d.getTiempoRetornoPromedio());
+    out.writeDouble(d.getTiempoRespuestaPromedio());
+    out.writeDouble(d.getUsoCpu());
+    out.writeInt(d.getProcesosCompletados());
+    out.writeInt(d.getTotalProcesos());
+    out.writeInt(d.getCambiosContexto());
+    out.writeInt(d.getTiempoCpu());
+    out.writeInt(d.getTiempoOcioso());
+    out.writeInt(d.getCargasTotales());
+    out.writeInt(d.getFallosPagina());
+    out.writeInt(d.getReemplazosPagina());
+    out.writeInt(d.getMarcosTotales());
+    out.writeInt(d.getMarcosLibres());
+    List<ResultadoProceso> resumen = d.getResumenProcesos();
+    out.writeInt(resumen.size());
+    for (ResultadoProceso r : resumen) {
+      out.writeUTF(r.getPid());
+      out.writeInt(r.getTiempoEspera());
+      out.writeInt(r.getTiempoRetorno());
+      out.writeInt(r.getTiempoRespuesta());
+      out.writeInt(r.getFallosPagina());
+    }
+    writeString(out, d.getAlgPlanificacion());
+    writeString(out, d.getAlgMemoria());
+    List<Double> usoNucleos = d.getUsoNucleos();
+    out.writeInt(usoNucleos.size());
+    for (double uso : usoNucleos) {
+      out.writeDouble(uso);
+    }
+    out.writeInt(d.getEsperaMaxima());
+    out.writeInt(d.getEsperaP99());
+  }
+
+  static DatosResultados readResults(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+      throw new IOException("formato desconocido");
+    }
+    double espera = in.readDouble();
+    double retorno = in.readDouble();
+    double respuesta = in.readDouble();
+    double usoCpu = in.readDouble();
+    int completados = in.readInt();
+    int total = in.readInt();
+    int cambios = in.readInt();
+    int tiempoCpu = in.readInt();
+    int ocioso = in.readInt();
+    int cargas = in.readInt();
+    int fallos = in.readInt();
+    int reemplazos = in.readInt();
+    int marcos = in.readInt();
+    int libres = in.readInt();
+    int n = in.readInt();
+    List<ResultadoProceso> resumen = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      resumen.add(new ResultadoProceso(in.readUTF(), in.readInt(), in.readInt(), in.readInt(), in.readInt()));
+    }
+    String algP = readString(in);
+    String algM = readString(in);
+    int cores = in.readInt();
+    List<Double> usoNucleos = new ArrayList<>(cores);
+    for (int i = 0; i < cores; i++) {
+      usoNucleos.add(in.readDouble());
+    }
+    int esperaMaxima = in.readInt();
+    int esperaP99 = in.readInt();
+    return new DatosResultados(espera, retorno, respuesta, usoCpu, completados, total, cambios,
+        tiempoCpu, ocioso, cargas, fallos, reemplazos, marcos, libres, resumen, algP, algM,
+        usoNucleos, esperaMaxima, esperaP99);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static long sizeOf(Path path) {
+    try {
+      return Files.size(path);
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static long modifiedMillis(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 no disponible", e); // todo JDK lo trae
+    }
+  }
+
+  private static String hex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+}
@@ -1,5 +1,7 @@
 package modules.gui;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -7,6 +9,7 @@ import java.util.Map;
 import model.Config;
 import model.DatosResultados;
 import model.Process;
+import modules.cache.ResultCache;
 import modules.gui.pages.DashboardPage; 
 import modules.memory.MemoryManager;
 import modules.scheduler.Scheduler;
@@ -47,6 +50,14 @@ FLUJO GENERAL:
 7. Ejecutar la simulacion en un thread independiente.
 8. Al finalizar, mostrar la pagina de resultados.
 
+CACHE (Config 'cache'):
+Antes de crear el engine se busca la clave (procesos + config) en
+ResultCache. Si esta, no se simula: se muestran los resultados guardados y
+la traza queda abierta en la barra de reproduccion del dashboard. Si no,
+la corrida graba su traza (en un temporal si no se pidio 'trace') y al
+terminar se guarda. Solo se guardan corridas completas; la clave lleva
+"hilos:" porque este engine no da los mismos tiempos que el DES del batch.
+
 PARTES IMPORTANTES:
 - printSystemConfiguration:
   Imprime la configuracion del sistema y detalles de los procesos cargados.
@@ -75,6 +86,34 @@ public class SimulationRunner {
         if (processes.isEmpty()) {
             throw new Exception("No se encontraron procesos para simular");
         }
+
+        ResultCache cache = ResultCache.open(config);
+        String cacheKey = cache != null
+            ? ResultCache.key("hilos:" + ResultCache.digest(processes), config) : null;
+        ResultCache.Entry cached = cacheKey != null ? cache.get(cacheKey) : null;
+        if (cached != null) {
+            Logger.log("[CACHE] Resultado tomado de la cache (" + cacheKey.substring(0, 12) + ")");
+            javafx.application.Platform.runLater(() -> {
+                if (dashboardPage != null) {
+                    dashboardPage.mostrarDesdeCache(cached.getTrace());
+                }
+                mainFx.showResultados(new ResultadosPage(cached.getResults()));
+            });
+            return;
+        }
+
+        // Sin 'trace' la corrida igual se graba, para que un acierto tenga Gantt
+        Config engineConfig = config;
+        Path tempTrace = null;
+        if (cacheKey != null && config.getTraceFile() == null) {
+            tempTrace = Files.createTempFile("simulacion", ".trace");
+            engineConfig = config.copy();
+            engineConfig.setTraceFile(tempTrace.toString());
+        }
+        final Path cacheTrace = tempTrace != null ? tempTrace
+            : config.getTraceFile() != null ? Path.of(config.getTraceFile()) : null;
+        final Path deleteAfter = tempTrace;
+
         Scheduler scheduler = SimulationFactory.createScheduler(config);
         MemoryManager memoryManager = SimulationFactory.createMemoryManager(config);
         // ---- registrar visualizador de memoria (si existe)
@@ -88,7 +127,7 @@ public class SimulationRunner {
         
         System.out.println();
         SimulationEngine engine = new SimulationEngine(
-            scheduler, memoryManager, processes, config
+            scheduler, memoryManager, processes, engineConfig
         );
         
         if (mainFx != null && mainFx.getConfigPage() != null) {
@@ -116,93 +155,7 @@ public class SimulationRunner {
                 .toList();
             dashboardPage.getExePanel().initializeProcesses(processIds);
             
-            engine.setStateListener(new SimulationStateListener() {
-
-                //para el diagrama de Gantt
-                private Map<String, Integer> executionStarts = new HashMap<>();
-
-                @Override
-                public void onProcessExecutionStarted(String pid, int startTime) {
-                    //System.out.println("[SimulationRunner]INICIO de ejecución → PID=" + pid + ", t=" + startTime);
-                    dashboardPage.getExePanel().addExecutionStart(pid, startTime);
-                    executionStarts.put(pid, startTime);
-                    dashboardPage.getExePanel().setCurrentTime(startTime);
-                }
-
-                @Override
-                public void onProcessExecutionEnded(String pid, int endTime) {
-                    
-                    //System.out.println("[SimulationRunner]FIN de ejecución → PID=" + pid +", inicio=" + start + ", fin=" + endTime);
-                    dashboardPage.getExePanel().addExecutionEnd(pid, endTime);
-                    executionStarts.remove(pid);
-                }
-                @Override
-                public void onIOStarted(String pid, int startTime){
-                    //System.out.println("[SimulationRunner] I/O iniciado → PID=" + pid + ", t=" + startTime);
-                    dashboardPage.getExePanel().addIOStart(pid, startTime);
-                }
-                @Override
-                public void onIOEnded(String pid, int endTime){
-                    //System.out.println("[SimulationRunner] I/O terminado → PID=" + pid + ", t=" + endTime);
-                    dashboardPage.getExePanel().addIOEnd(pid, endTime);
-                }
-
-                @Override
-                public void onContextSwitch(String pid, int startTime, int duration) {
-                    System.out.println("[SimulationRunner] Context Switch detectado: " + pid + 
-                                    " en t=" + startTime + ", duración=" + duration);
-                    
-                    // Incrementar contador de context switches
-                    dashboardPage.getExePanel().incrementContextSwitch();
-                    
-                    // Agregar el bloque visual de context switch en el diagrama de Gantt
-                    dashboardPage.getExePanel().addContextSwitchBlock(pid, startTime, duration);
-                }
-                
-
-                //para las colas de procesos
-                @Override
-                public void onReadyQueueChanged(List<Process> readyQueue) {
-
-                    //System.out.println("[SimulationRunner]  Ready queue actualizada: " + readyQueue.size());
-                    dashboardPage.getProPanel().updateReadyQueue(readyQueue);
-
-                }
-
-                @Override
-                public void onBlockedIOChanged(List<Process> blockedIO) {
-
-                    
-                    //System.out.println("[SimulationRunner]  Blocked I/O actualizada: " + blockedIO.size());
-                    dashboardPage.getProPanel().updateBlockedIO(blockedIO);
-
-                }
-
-                @Override
-                public void onBlockedMemoryChanged(List<Process> blockedMemory) {
-
-                    //System.out.println("[SimulationRunner]  Blocked Memory actualizada: " + blockedMemory.size());
-                    dashboardPage.getProPanel().updateBlockedMemory(blockedMemory);
-
-                }
-                @Override
-                public void onRunningChanged(Process runningProcess) {
-                    //System.out.println("[SimulationRunner] Running actualizado: " + 
-                    //    (runningProcess != null ? runningProcess.getPid() : "null"));
-                    dashboardPage.getProPanel().updateRunning(runningProcess);
-                }
-
-                @Override
-                public void onProcessStateChanged(Process process) {
-                    
-                }
-
-                @Override
-                public void onTimeChanged(int currentTime) {
-                    //System.out.println("[SimulationRunner]  Tiempo cambiado: " + currentTime);
-                    dashboardPage.getExePanel().setCurrentTime(currentTime);
-                }
-            });
+            engine.setStateListener(createDashboardListener(dashboardPage));
         } else {
         }
         
@@ -211,6 +164,14 @@ public class SimulationRunner {
             try {
                 engine.run();
                 DatosResultados resultados = engine.getDatosFinales();
+                if (cacheKey != null) {
+                    if (resultados.getProcesosCompletados() == resultados.getTotalProcesos()) {
+                        cache.put(cacheKey, resultados, cacheTrace);
+                    }
+                    if (deleteAfter != null) {
+                        Files.deleteIfExists(deleteAfter);
+                    }
+                }
 
                 javafx.application.Platform.runLater(() -> {
                     ResultadosPage resultadosPage = new ResultadosPage(resultados);
@@ -226,6 +187,114 @@ public class SimulationRunner {
         
     }
     
+    // Listener que lleva los eventos del engine al dashboard (Gantt, colas, tiempo).
+    // Tambien lo usa la reproduccion de trazas (modules.trace.TraceReplayer).
+    public static SimulationStateListener createDashboardListener(DashboardPage dashboardPage) {
+        return new SimulationStateListener() {
+
+            //para el diagrama de Gantt
+            private Map<String, Integer> executionStarts = new HashMap<>();
+
+            @Override
+            public void onProcessExecutionStarted(String pid, int startTime) {
+                //System.out.println("[SimulationRunner]INICIO de ejecución → PID=" + pid + ", t=" + startTime);
+                dashboardPage.getExePanel().addExecutionStart(pid, startTime);
+                executionStarts.put(pid, startTime);
+                dashboardPage.getExePanel().setCurrentTime(startTime);
+            }
+
+            @Override
+            public void onProcessExecutionEnded(String pid, int endTime) {
+                
+                //System.out.println("[SimulationRunner]FIN de ejecución → PID=" + pid +", inicio=" + start + ", fin=" + endTime);
+                dashboardPage.getExePanel().addExecutionEnd(pid, endTime);
+                executionStarts.remove(pid);
+            }
+            //una fila por nucleo (solo llega con varios nucleos)
+            @Override
+            public void onCoreExecutionStarted(int core, String pid, int startTime) {
+                dashboardPage.getExePanel().addCoreExecutionStart(core, pid, startTime);
+            }
+
+            @Override
+            public void onCoreExecutionEnded(int core, String pid, int endTime) {
+                dashboardPage.getExePanel().addCoreExecutionEnd(core, pid, endTime);
+            }
+
+            @Override
+            public void onIOStarted(String pid, int startTime){
+                //System.out.println("[SimulationRunner] I/O iniciado → PID=" + pid + ", t=" + startTime);
+                dashboardPage.getExePanel().addIOStart(pid, startTime);
+            }
+            @Override
+            public void onIOEnded(String pid, int endTime){
+                //System.out.println("[SimulationRunner] I/O terminado → PID=" + pid + ", t=" + endTime);
+                dashboardPage.getExePanel().addIOEnd(pid, endTime);
+            }
+
+            @Override
+            public void onContextSwitch(String pid, int startTime, int duration) {
+                System.out.println("[SimulationRunner] Context Switch detectado: " + pid + 
+                                " en t=" + startTime + ", duración=" + duration);
+                
+                // Incrementar contador de context switches
+                dashboardPage.getExePanel().incrementContextSwitch();
+                
+                // Agregar el bloque visual de context switch en el diagrama de Gantt
+                dashboardPage.getExePanel().addContextSwitchBlock(pid, startTime, duration);
+            }
+            
+
+            //para las colas de procesos
+            @Override
+            public void onReadyQueueChanged(List<Process> readyQueue) {
+
+                //System.out.println("[SimulationRunner]  Ready queue actualizada: " + readyQueue.size());
+                dashboardPage.getProPanel().updateReadyQueue(readyQueue);
+
+            }
+
+            @Override
+            public void onBlockedIOChanged(List<Process> blockedIO) {
+
+                
+                //System.out.println("[SimulationRunner]  Blocked I/O actualizada: " + blockedIO.size());
+                dashboardPage.getProPanel().updateBlockedIO(blockedIO);
+
+            }
+
+            @Override
+            public void onBlockedMemoryChanged(List<Process> blockedMemory) {
+
+                //System.out.println("[SimulationRunner]  Blocked Memory actualizada: " + blockedMemory.size());
+                dashboardPage.getProPanel().updateBlockedMemory(blockedMemory);
+
+            }
+            @Override
+            public void onRunningChanged(Process runningProcess) {
+                //System.out.println("[SimulationRunner] Running actualizado: " + 
+                //    (runningProcess != null ? runningProcess.getPid() : "null"));
+                dashboardPage.getProPanel().updateRunning(runningProcess);
+            }
+
+            @Override
+            public void onRunningProcessesChanged(List<Process> running) {
+                dashboardPage.getProPanel().updateRunningProcesses(running);
+            }
+
+            @Override
+            public void onProcessStateChanged(Process process) {
+                
+            }
+
+            @Override
+            public void onTimeChanged(int currentTime) {
+                //System.out.println("[SimulationRunner]  Tiempo cambiado: " + currentTime);
+                dashboardPage.getExePanel().setCurrentTime(currentTime);
+            }
+        };
+    }
+    
     private static void printSystemConfiguration(Config config, List<Process> processes, Scheduler scheduler, MemoryManager memoryManager) {
         
         System.out.println(); //ESte si imprime 
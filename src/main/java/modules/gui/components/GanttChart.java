@@ -1,10 +1,13 @@
 package modules.gui.components;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.canvas.Canvas;
@@ -14,30 +17,64 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
+/*
+GanttChart
+Diagrama de Gantt multi-linea: una fila por proceso, una por nucleo (con
+varios nucleos) y la fila de E/S.
+
+DIBUJO:
+- El Pane mide todo el diagrama (el ScrollPane de ExePanel se mueve sobre
+  el), pero el Canvas solo mide la ventana visible y se coloca donde esta
+  el scroll (setViewport). Asi el costo no crece con maxTime x procesos y
+  una corrida de 100k unidades no pide un canvas de millones de pixeles.
+- Los metodos add* / setCurrentTime solo cambian datos y marcan el rango
+  de tiempo que cambio; un AnimationTimer pinta a lo sumo una vez por
+  frame y solo esa franja (recortada con clip). Mover el scroll, cambiar
+  filas o el origen repinta la ventana entera.
+- Cada fila guarda sus bloques en orden de inicio (GanttRow) y busca con
+  busqueda binaria los que caen en la ventana.
+*/
+
 public class GanttChart extends Pane {
-    
+
     private final Canvas canvas;
     private final int cellWidth = 30;
     private final int rowHeight = 40;
     private final int headerHeight = 30;
     private final int labelWidth = 80;
-    
-    private final List<GanttEntry> entries = new ArrayList<>();
+
+    private final Map<String, GanttRow> processRows = new HashMap<>();
     private final Map<String, Color> processColors = new HashMap<>();
     private final List<String> processOrden = new ArrayList<>();//para dibujar antes los procesos
     private final Map<String, GanttEntry> openEntries = new HashMap<>(); //para dibujar desde que empieza
-    private final List<GanttEntry> contextSwitchEntries = new ArrayList<>(); //cambio de contexto
+    private final Map<String, GanttRow> contextSwitchRows = new HashMap<>(); //cambio de contexto
 
     //para I/O
-    private final List<GanttEntry> ioEntries = new ArrayList<>();
+    private final GanttRow ioRow = new GanttRow();
     private final Map<String, GanttEntry> openIOEntries = new HashMap<>();
 
+    //una fila por nucleo (solo con varios nucleos)
+    private final List<GanttRow> coreRows = new ArrayList<>();
+    private final Map<Integer, GanttEntry> openCoreEntries = new HashMap<>();
+
     private int maxTime = 50;
     private int currentTime = 0;
+    private int timeOrigin = 0; // primer instante dibujado
 
     private String lastActiveProcess = null;
 
-    
+    // ventana visible (coordenadas del diagrama completo)
+    private double viewX = 0;
+    private double viewY = 0;
+    private double viewWidth = 800;
+    private double viewHeight = 400;
+
+    // que hay que repintar en el proximo frame
+    private boolean fullRepaint = true;
+    private int dirtyFrom = Integer.MAX_VALUE;
+    private int dirtyTo = Integer.MIN_VALUE;
+
+
     private static final Color[] COLORS = {
         Color.web("#4CAF50"), Color.web("#2196F3"), Color.web("#FF9800"),
         Color.web("#9C27B0"), Color.web("#F44336"), Color.web("#00BCD4"),
@@ -46,45 +83,54 @@ public class GanttChart extends Pane {
 
     private static final Color IO_COLOR = Color.web("#FF6B6B");
 
-    private static final Color CAMBIO_CONTEXTO_COLOR = Color.web("#727272ff"); 
+    private static final Color CAMBIO_CONTEXTO_COLOR = Color.web("#727272ff");
+
+    private static final Color FONDO = Color.web("#171025");
+
 
-    
     public GanttChart() {
-        canvas = new Canvas(800, 400);
+        canvas = new Canvas(viewWidth, viewHeight);
         getChildren().add(canvas);
         setPadding(new Insets(10));
-        
-        draw();
+        updateSize();
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                paint();
+            }
+        }.start();
     }
 
     //cuando inicie
     public void addExecutionStart(String pid, int startTime) {
         Platform.runLater(() -> {
-            if (!processColors.containsKey(pid)) {
-                processOrden.add(pid);
-                processColors.put(pid, COLORS[processColors.size() % COLORS.length]);
-            }
+            addProcess(pid);
 
             // Crear entrada "abierta" (en progreso)
             GanttEntry entry = new GanttEntry(pid, startTime, startTime); // se ira expandiendo
-            openEntries.put(pid, entry);
-            entries.add(entry);
+            GanttEntry previous = openEntries.put(pid, entry);
+            if (previous != null) {
+                markDirty(previous.startTime, previous.endTime);
+            }
+            rowOf(processRows, pid).add(entry);
 
             //Marcar este proceso como activo
             lastActiveProcess = pid;
             //System.out.println("[GanttChart] Inicio de ejecución: " + pid + " en t=" + startTime);
-            draw();
+            markDirty(startTime, startTime);
         });
     }
-    
+
     // cuando un proceso termina su ejecucion
     public void addExecutionEnd(String pid, int endTime) {
         Platform.runLater(()-> {
 
             GanttEntry entry = openEntries.get(pid);
             if (entry != null) {
-                entry.endTime = endTime;
+                processRows.get(pid).setEnd(entry, endTime);
                 openEntries.remove(pid);
+                markDirty(entry.startTime, endTime);
                 //System.out.println("[GanttChart] Fin de ejecucion: " + pid + " en t=" + endTime + " (duración: " + (endTime - entry.startTime) + "u)");
             } else {
                 //System.out.println("[GanttChart] No se encontro entrada abierta para " + pid);
@@ -95,46 +141,71 @@ public class GanttChart extends Pane {
                 lastActiveProcess = null;
             }
 
-            if (endTime > maxTime) {
-                maxTime = endTime + 10;
+            growTo(endTime);
+        });
+    }
+
+    public void addCoreExecutionStart(int core, String pid, int startTime) {
+        Platform.runLater(() -> {
+            addProcess(pid);
+            while (coreRows.size() <= core) {
+                coreRows.add(new GanttRow());
+                fullRepaint = true;
+                updateSize();
+            }
+
+            GanttEntry entry = new GanttEntry(pid, startTime, startTime);
+            GanttEntry previous = openCoreEntries.put(core, entry);
+            if (previous != null) {
+                markDirty(previous.startTime, previous.endTime);
+            }
+            coreRows.get(core).add(entry);
+            markDirty(startTime, startTime);
+        });
+    }
+
+    public void addCoreExecutionEnd(int core, String pid, int endTime) {
+        Platform.runLater(() -> {
+            GanttEntry entry = openCoreEntries.get(core);
+            if (entry != null && entry.pid.equals(pid)) {
+                coreRows.get(core).setEnd(entry, endTime);
+                openCoreEntries.remove(core);
+                markDirty(entry.startTime, endTime);
             }
 
-            draw();
+            growTo(endTime);
         });
     }
-    
+
     public void addIOStart(String pid, int startTime) {
         Platform.runLater(() -> {
             // Asegurar que el proceso tenga color asignado
-            if (!processColors.containsKey(pid)) {
-                processOrden.add(pid);
-                processColors.put(pid, COLORS[processColors.size() % COLORS.length]);
-            }
+            addProcess(pid);
 
             GanttEntry entry = new GanttEntry(pid, startTime, startTime);
-            openIOEntries.put(pid, entry);
-            ioEntries.add(entry);
+            GanttEntry previous = openIOEntries.put(pid, entry);
+            if (previous != null) {
+                markDirty(previous.startTime, previous.endTime);
+            }
+            ioRow.add(entry);
 
             //System.out.println("[GanttChart]Inicio I/O: " + pid + " en t=" + startTime);
-            draw();
+            markDirty(startTime, startTime);
         });
     }
-    
+
     public void addIOEnd(String pid, int endTime) {
         Platform.runLater(() -> {
             GanttEntry entry = openIOEntries.get(pid);
             if (entry != null) {
-                entry.endTime = endTime;
+                ioRow.setEnd(entry, endTime);
                 openIOEntries.remove(pid);
-                
-                //System.out.println("[GanttChart] Fin I/O: " + pid + " en t=" + endTime + " (duración: " + (endTime - entry.startTime) + "u)");
-            }
+                markDirty(entry.startTime, endTime);
 
-            if (endTime > maxTime) {
-                maxTime = endTime + 10;
+                //System.out.println("[GanttChart] Fin I/O: " + pid + " en t=" + endTime + " (duración: " + (endTime - entry.startTime) + "u)");
             }
 
-            draw();
+            growTo(endTime);
         });
     }
 
@@ -142,199 +213,316 @@ public class GanttChart extends Pane {
         Platform.runLater(() -> {
             int endTime = startTime + duration;
             GanttEntry entry = new GanttEntry(pid, startTime, endTime);
-            contextSwitchEntries.add(entry);
-            
-            if (endTime > maxTime) {
-                maxTime = endTime + 10;
-            }
-            
-            System.out.println("[GanttChart] Context Switch agregado: " + pid + 
-                            " desde t=" + startTime + " hasta t=" + endTime);
-            draw();
+            rowOf(contextSwitchRows, pid).add(entry);
+            markDirty(startTime, endTime);
+
+            growTo(endTime);
+
+            //System.out.println("[GanttChart] Context Switch agregado: " + pid + " desde t=" + startTime + " hasta t=" + endTime);
         });
     }
 
     public void setCurrentTime(int time) {
         //System.out.println("[GanttChart] setCurrentTime: " + time);
          Platform.runLater(() -> {
+            markDirty(Math.min(currentTime, time), Math.max(currentTime, time));
             this.currentTime = time;
-            
+
             // se actualiza el endTime de todos los bloques abiertos al tiempo actual
             for (GanttEntry entry : openEntries.values()) {
-                entry.endTime = time;
+                processRows.get(entry.pid).setEnd(entry, time);
+                markDirty(entry.startTime, time);
             }
 
             //Bloque I/O
             for (GanttEntry entry : openIOEntries.values()) {
-                entry.endTime = time;
+                ioRow.setEnd(entry, time);
+                markDirty(entry.startTime, time);
             }
-            
-            draw();
+
+            for (Map.Entry<Integer, GanttEntry> open : openCoreEntries.entrySet()) {
+                GanttEntry entry = open.getValue();
+                coreRows.get(open.getKey()).setEnd(entry, time);
+                markDirty(entry.startTime, time);
+            }
+        });
+    }
+
+    // Dibuja desde 'origin' en lugar de 0 (la reproduccion de trazas muestra solo una ventana)
+    public void setTimeOrigin(int origin) {
+        Platform.runLater(() -> {
+            timeOrigin = origin;
+            maxTime = Math.max(maxTime, origin + 50);
+            fullRepaint = true;
+            updateSize();
         });
     }
-    
+
+    // Ventana del diagrama que se ve en el ScrollPane (la llama ExePanel)
+    public void setViewport(double x, double y, double width, double height) {
+        viewX = Math.max(0, x);
+        viewY = Math.max(0, y);
+        viewWidth = Math.max(1, width);
+        viewHeight = Math.max(1, height);
+        fullRepaint = true;
+    }
+
     public void clear() {
         Platform.runLater(() -> {
-            entries.clear();
+            processRows.clear();
             processColors.clear();
+            openEntries.clear();
 
-            ioEntries.clear();
+            ioRow.clear();
             openIOEntries.clear();
-            contextSwitchEntries.clear();
+            contextSwitchRows.clear();
+            coreRows.clear();
+            openCoreEntries.clear();
 
             currentTime = 0;
             maxTime = 50;
-            draw();
+            timeOrigin = 0;
+            fullRepaint = true;
+            updateSize();
         });
     }
-    
+
     public void initializeProcesses(List<String> processIds) {
         Platform.runLater(() -> {
             processOrden.clear();
             processColors.clear();
-            
+
             for (int i = 0; i < processIds.size(); i++) {
                 String pid = processIds.get(i);
                 processOrden.add(pid);
                 processColors.put(pid, COLORS[i % COLORS.length]);
                 //System.out.println("[GanttChart] Proceso " + pid + " pre-creado con color: " + processColors.get(pid));
             }
-            
-            draw();
+
+            fullRepaint = true;
+            updateSize();
         });
     }
 
-    private void draw() {
+    private void addProcess(String pid) {
+        if (!processColors.containsKey(pid)) {
+            processOrden.add(pid);
+            processColors.put(pid, COLORS[processColors.size() % COLORS.length]);
+            fullRepaint = true;
+            updateSize();
+        }
+    }
+
+    private static GanttRow rowOf(Map<String, GanttRow> rows, String pid) {
+        return rows.computeIfAbsent(pid, k -> new GanttRow());
+    }
+
+    private void growTo(int endTime) {
+        if (endTime > maxTime) {
+            markDirty(maxTime, endTime + 10);
+            maxTime = endTime + 10;
+            updateSize();
+        }
+    }
+
+    private void markDirty(int from, int to) {
+        dirtyFrom = Math.min(dirtyFrom, from);
+        dirtyTo = Math.max(dirtyTo, to);
+    }
+
+    // Tamaño del diagrama completo; el ScrollPane se mueve sobre esto
+    private void updateSize() {
+        setMinSize(getTotalWidth(), getTotalHeight());
+        setPrefSize(getTotalWidth(), getTotalHeight());
+    }
+
+    private double xOf(int time) {
+        return labelWidth + ((time - timeOrigin) * cellWidth);
+    }
+
+    private int timeAt(double x) {
+        return timeOrigin + (int) Math.floor((x - labelWidth) / cellWidth);
+    }
+
+    private int totalRows() {
+        return processOrden.size() + coreRows.size() + 1;
+    }
+
+    // Una vez por frame: ajusta el canvas a la ventana y repinta lo marcado
+    private void paint() {
+        double width = Math.max(1, Math.min(viewWidth, getTotalWidth() - viewX));
+        double height = Math.max(1, Math.min(viewHeight, getTotalHeight() - viewY));
+        if (canvas.getWidth() != width || canvas.getHeight() != height
+                || canvas.getLayoutX() != viewX || canvas.getLayoutY() != viewY) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            canvas.relocate(viewX, viewY);
+            fullRepaint = true;
+        }
+
+        double fromX = viewX;
+        double toX = viewX + width;
+        if (!fullRepaint) {
+            if (dirtyFrom > dirtyTo) {
+                return;
+            }
+            // una celda de margen: textos y bordes que se salen del bloque
+            fromX = Math.max(fromX, xOf(dirtyFrom) - cellWidth);
+            toX = Math.min(toX, xOf(dirtyTo + 1) + cellWidth);
+        }
+        fullRepaint = false;
+        dirtyFrom = Integer.MAX_VALUE;
+        dirtyTo = Integer.MIN_VALUE;
+        if (toX <= fromX) {
+            return;
+        }
+
         GraphicsContext gc = canvas.getGraphicsContext2D();
-        
-        // Ajustar tamaño del canvas
-        int totalRows = processOrden.size() + 1;
-        double width = labelWidth + (maxTime * cellWidth) + 50;
-        double height = headerHeight + (totalRows * rowHeight) + 50;
-        canvas.setWidth(width);
-        canvas.setHeight(height);
-        
+        gc.save();
+        gc.beginPath();
+        gc.rect(fromX - viewX, 0, toX - fromX, height);
+        gc.clip();
+        gc.translate(-viewX, -viewY);
+        draw(gc, fromX, toX);
+        gc.restore();
+    }
+
+    // Dibuja la franja [fromX, toX) de las filas visibles
+    private void draw(GraphicsContext gc, double fromX, double toX) {
+        int from = Math.max(timeOrigin, timeAt(fromX) - 1);
+        int to = Math.min(maxTime, timeAt(toX) + 1);
+
         // Fondo
-        gc.setFill(Color.web("#171025"));
-        gc.fillRect(0, 0, width, height);
-        
-        // Dibujar header con línea de tiempo
-        drawTimelineHeader(gc);
+        gc.setFill(FONDO);
+        gc.fillRect(fromX, viewY, toX - fromX, canvas.getHeight());
 
-        // Dibujar filas
-        for (int i = 0; i < processOrden.size(); i++) {
-            String pid = processOrden.get(i);
-            drawProcessRow(gc, pid, i);
+        // Dibujar header con línea de tiempo
+        drawTimelineHeader(gc, from, to);
+
+        int firstRow = Math.max(0, (int) Math.floor((viewY - headerHeight) / rowHeight));
+        int lastRow = Math.min(totalRows() - 1,
+            (int) Math.floor((viewY + canvas.getHeight() - headerHeight) / rowHeight));
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (row < processOrden.size()) {
+                // Dibujar filas
+                drawProcessRow(gc, processOrden.get(row), row, from, to);
+            } else if (row < processOrden.size() + coreRows.size()) {
+                // Dibujar una fila por nucleo
+                int core = row - processOrden.size();
+                drawCoreRow(gc, core, row, from, to);
+            } else {
+                //Dibujar fila de E/S
+                drawIORow(gc, row, from, to);
+            }
         }
 
-
-        
-        //Dibujar fila de E/S
-        drawIORow(gc, processOrden.size());
         // Dibujar cursor de tiempo actual
         drawCurrentTimeCursor(gc);
     }
-    
-    private void drawTimelineHeader(GraphicsContext gc) {
+
+    private void drawTimelineHeader(GraphicsContext gc, int from, int to) {
         gc.setFont(Font.font("Monospace", FontWeight.NORMAL, 11));
         gc.setFill(Color.web("#888"));
-        
-        for (int t = 0; t <= maxTime; t += 5) {
-            double x = labelWidth + (t * cellWidth);
+        gc.setStroke(Color.web("#444"));
+        gc.setLineWidth(1);
+
+        // las marcas van cada 5 desde timeOrigin; una antes para el texto que entra por la izquierda
+        int first = Math.max(timeOrigin, timeOrigin + ((from - timeOrigin) / 5 - 1) * 5);
+        for (int t = first; t <= to; t += 5) {
+            double x = xOf(t);
             gc.fillText(String.valueOf(t), x, 20);//numero del tiempo
-            
+
             // Línea vertical de grid
-            gc.setStroke(Color.web("#444"));
-            gc.strokeLine(x, headerHeight, x, canvas.getHeight());
+            gc.strokeLine(x, headerHeight, x, getTotalHeight());
         }
     }
-    
-    private void drawProcessRow(GraphicsContext gc, String pid, int row) {
-        double y = headerHeight + (row * rowHeight);
-        
-        // Etiqueta del proceso
+
+    // Etiqueta, fondo y grid comunes a todas las filas
+    private void drawRowBase(GraphicsContext gc, String label, Color labelColor, double y, int from, int to) {
         gc.setFont(Font.font("Monospace", FontWeight.BOLD, 13));
-        gc.setFill(processColors.get(pid));
-        gc.fillText(pid, 10, y + 25);
-        
-        // Fondo de la fila
-        gc.setFill(Color.web("#171025"));
-        gc.fillRect(labelWidth, y, maxTime * cellWidth, rowHeight - 5);
-        
-        // Dibujar grid lines
+        gc.setFill(labelColor);
+        gc.fillText(label, 10, y + 25);
+
+        gc.setFill(FONDO);
+        gc.fillRect(xOf(from), y, (to - from) * cellWidth, rowHeight - 5);
+
         gc.setStroke(Color.web("#555"));
-        for (int t = 0; t <= maxTime; t++) {
-            double x = labelWidth + (t * cellWidth);
+        gc.setLineWidth(1);
+        for (int t = from; t <= to; t++) {
+            double x = xOf(t);
             gc.strokeLine(x, y, x, y + rowHeight - 5);
         }
-        
+    }
+
+    private void drawProcessRow(GraphicsContext gc, String pid, int row, int from, int to) {
+        double y = headerHeight + (row * rowHeight);
+        drawRowBase(gc, pid, processColors.get(pid), y, from, to);
+
         // Dibujar bloques de ejecución
-        for (GanttEntry entry : entries) {
-            if (entry.pid.equals(pid)) {
-                boolean isOpen = openEntries.containsKey(pid);
-                drawExecutionBlock(gc, entry, y,isOpen);
-            }
+        GanttRow entries = processRows.get(pid);
+        if (entries != null) {
+            GanttEntry open = openEntries.get(pid);
+            entries.forEachVisible(from, to, entry -> drawExecutionBlock(gc, entry, y, entry == open));
         }
         // Dibujar bloques de cambio de contetxo
-        for (GanttEntry entry : contextSwitchEntries) {
-            if (entry.pid.equals(pid)) {
-                drawContextSwitchBlock(gc, entry, y);
-            }
+        GanttRow switches = contextSwitchRows.get(pid);
+        if (switches != null) {
+            switches.forEachVisible(from, to, entry -> drawContextSwitchBlock(gc, entry, y));
         }
     }
 
+    //Dibujar fila de un nucleo: que proceso corrio en cada tramo
+    private void drawCoreRow(GraphicsContext gc, int core, int row, int from, int to) {
+        double y = headerHeight + (row * rowHeight);
+        drawRowBase(gc, "CPU " + core, Color.web("#BBBBBB"), y, from, to);
+
+        // Mismo bloque que E/S: color del proceso con su pid
+        GanttEntry open = openCoreEntries.get(core);
+        coreRows.get(core).forEachVisible(from, to, entry -> {
+            Color processColor = processColors.get(entry.pid);
+            drawIOBlock(gc, entry, y, entry == open, processColor != null ? processColor : IO_COLOR);
+        });
+    }
+
     //Dibujar fila de E/S
-    private void drawIORow(GraphicsContext gc, int row) {
+    private void drawIORow(GraphicsContext gc, int row, int from, int to) {
         double y = headerHeight + (row * rowHeight);
-        
-        // Etiqueta "E/S"
-        gc.setFont(Font.font("Monospace", FontWeight.BOLD, 13));
-        gc.setFill(IO_COLOR);
-        gc.fillText("E/S", 10, y + 25);
-        
-        // Fondo
-        gc.setFill(Color.web("#171025"));
-        gc.fillRect(labelWidth, y, maxTime * cellWidth, rowHeight - 5);
-        
-        // Grid
-        gc.setStroke(Color.web("#555"));
-        for (int t = 0; t <= maxTime; t++) {
-            double x = labelWidth + (t * cellWidth);
-            gc.strokeLine(x, y, x, y + rowHeight - 5);
-        }
-        
+
+        // Etiqueta "E/S", fondo y grid
+        drawRowBase(gc, "E/S", IO_COLOR, y, from, to);
+
         // Dibujar bloques de E/S
-        for (GanttEntry entry : ioEntries) {
-            boolean isOpen = openIOEntries.containsKey(entry.pid);
+        ioRow.forEachVisible(from, to, entry -> {
+            boolean isOpen = openIOEntries.get(entry.pid) == entry;
             // Usar el color del proceso, no el color de E/S genérico
             Color processColor = processColors.get(entry.pid);
             drawIOBlock(gc, entry, y, isOpen, processColor != null ? processColor : IO_COLOR);
-        }
+        });
     }
 
-    
+
     private void drawExecutionBlock(GraphicsContext gc, GanttEntry entry, double y, boolean isOpen) {
-        double x = labelWidth + (entry.startTime * cellWidth);
+        double x = xOf(entry.startTime);
         //+1 para dibujarlo bien
         double width = (entry.endTime - entry.startTime+1) * cellWidth;
-        
+
         //por si esta abierto pero no ha avanzado, no dibujar nada aún
         if (width < 1) {
             return;
         }
 
         Color color = processColors.get(entry.pid);
-        
+
         // Bloque principal
         gc.setFill(color);
         gc.fillRoundRect(x + 2, y + 5, width - 4, rowHeight - 15, 4, 4);
-        
+
         if (isOpen) {
-            
+
             gc.setStroke(Color.YELLOW);
             gc.setLineWidth(3);
             gc.strokeRoundRect(x + 2, y + 5, width - 4, rowHeight - 15, 4, 4);
-            
+
             // Mostrar "..." en lugar de duracion
             if (width > 20) {
                 gc.setFill(Color.WHITE);
@@ -351,7 +539,7 @@ public class GanttChart extends Pane {
             if (width > 20) {
                 gc.setFill(Color.WHITE);
                 gc.setFont(Font.font("Monospace", FontWeight.BOLD, 11));
-                
+
                 //+1 para dibujarlo bien
                 String text = (entry.endTime - entry.startTime +1) + "u";
                 gc.fillText(text, x + width / 2 - 10, y + 25);
@@ -362,24 +550,24 @@ public class GanttChart extends Pane {
 
     //Dibujar bloque de E/S con nombre del proceso
     private void drawIOBlock(GraphicsContext gc, GanttEntry entry, double y, boolean isOpen, Color color) {
-        double x = labelWidth + (entry.startTime * cellWidth);
+        double x = xOf(entry.startTime);
         //falat verificar si se suma +1
         double width = (entry.endTime - entry.startTime +1) * cellWidth;
-        
+
         if (width < 1) {
             return;
         }
-        
+
         // Bloque principal con el color del proceso
         gc.setFill(color);
         gc.fillRoundRect(x + 2, y + 5, width - 4, rowHeight - 15, 4, 4);
-        
+
         if (isOpen) {
             // Borde animado
             gc.setStroke(Color.CYAN);
             gc.setLineWidth(3);
             gc.strokeRoundRect(x + 2, y + 5, width - 4, rowHeight - 15, 4, 4);
-            
+
             // Mostrar PID del proceso en I/O
             if (width > 15) {
                 gc.setFill(Color.WHITE);
@@ -391,7 +579,7 @@ public class GanttChart extends Pane {
             gc.setStroke(Color.web("rgba(255,255,255,0.3)"));
             gc.setLineWidth(2);
             gc.strokeRoundRect(x + 2, y + 5, width - 4, rowHeight - 15, 4, 4);
-            
+
             // Mostrar PID y duración
             if (width > 30) {
                 gc.setFill(Color.WHITE);
@@ -406,15 +594,15 @@ public class GanttChart extends Pane {
             }
         }
     }
-    
-    
+
+
     private void drawCurrentTimeCursor(GraphicsContext gc) {
-        double x = labelWidth + (currentTime * cellWidth);
-        
+        double x = xOf(currentTime);
+
         gc.setStroke(Color.web("#4CAF50"));
         gc.setLineWidth(2);
-        gc.strokeLine(x, headerHeight, x, canvas.getHeight());
-        
+        gc.strokeLine(x, headerHeight, x, getTotalHeight());
+
         // Indicador en la parte superior
         gc.setFill(Color.web("#4CAF50"));
         gc.fillOval(x - 4, headerHeight - 8, 8, 8);
@@ -422,29 +610,29 @@ public class GanttChart extends Pane {
 
     // metodo para dibujar el bloque de context switch
     private void drawContextSwitchBlock(GraphicsContext gc, GanttEntry entry, double y) {
-        double x = labelWidth + (entry.startTime * cellWidth);
+        double x = xOf(entry.startTime);
         double width = (entry.endTime - entry.startTime) * cellWidth;
-        
+
         if (width < 1) {
             return;
         }
-        
+
         // Bloque principal con patron de rayas
         gc.setFill(CAMBIO_CONTEXTO_COLOR);
         gc.fillRoundRect(x + 2, y + 5, width - 4, rowHeight - 15, 4, 4);
-        
+
         // Patrón de rayas diagonales para distinguirlo
         gc.setStroke(Color.web("#FFFFFF"));
         gc.setLineWidth(1);
         for (int i = 0; i < width; i += 4) {
             gc.strokeLine(x + 2 + i, y + 5, x + 2 + i + 5, y + rowHeight - 10);
         }
-        
+
         // Borde
-        gc.setStroke(Color.web("#c5c5c5ff")); 
+        gc.setStroke(Color.web("#c5c5c5ff"));
         gc.setLineWidth(2);
         gc.strokeRoundRect(x + 2, y + 5, width - 4, rowHeight - 15, 4, 4);
-        
+
         // Texto "CS" (Context Switch)
         if (width > 15) {
             gc.setFill(Color.WHITE);
@@ -473,25 +661,109 @@ public class GanttChart extends Pane {
     }
 
     public double getCurrentCursorX() {
-        return labelWidth + (currentTime * cellWidth);
+        return xOf(currentTime);
     }
-    
+
+    // Tamaño del diagrama completo, no del canvas (que solo cubre la ventana visible)
     public double getTotalWidth() {
-        return canvas.getWidth();
+        return xOf(maxTime) + 50;
     }
     public double getTotalHeight() {
-        return canvas.getHeight();
+        return headerHeight + (totalRows() * rowHeight) + 50;
     }
 
     private static class GanttEntry {
         String pid;
         int startTime;
         int endTime;
-        
+
         GanttEntry(String pid, int startTime, int endTime) {
             this.pid = pid;
             this.startTime = startTime;
             this.endTime = endTime;
         }
     }
-}
\ No newline at end of file
+
+    // Bloques de una fila en orden de inicio. maxEnd[i] es el mayor endTime de
+    // entries[0..i]: no decrece, asi que una busqueda binaria da el primer bloque
+    // que puede llegar a la ventana aunque antes haya uno mucho mas largo
+    private static class GanttRow {
+        private final List<GanttEntry> entries = new ArrayList<>();
+        private int[] maxEnd = new int[16];
+        private boolean sorted = true; // los eventos llegan en orden de tiempo
+
+        void add(GanttEntry entry) {
+            if (!entries.isEmpty() && entry.startTime < entries.get(entries.size() - 1).startTime) {
+                sorted = false;
+            }
+            entries.add(entry);
+            if (sorted) {
+                if (entries.size() > maxEnd.length) {
+                    maxEnd = Arrays.copyOf(maxEnd, maxEnd.length * 2);
+                }
+                updateMaxEnd(entries.size() - 1);
+            }
+        }
+
+        // Los bloques abiertos estan al final de la fila: se busca desde atras
+        void setEnd(GanttEntry entry, int endTime) {
+            entry.endTime = endTime;
+            if (sorted) {
+                int i = entries.size() - 1;
+                while (i >= 0 && entries.get(i) != entry) {
+                    i--;
+                }
+                if (i >= 0) {
+                    updateMaxEnd(i);
+                }
+            }
+        }
+
+        void clear() {
+            entries.clear();
+            sorted = true;
+        }
+
+        // Bloques que tocan [from, to]; sin orden se recorren todos
+        void forEachVisible(int from, int to, Consumer<GanttEntry> action) {
+            int i = sorted ? firstEndingAt(from - 1) : 0;
+            for (; i < entries.size(); i++) {
+                GanttEntry entry = entries.get(i);
+                if (entry.startTime > to) {
+                    if (sorted) {
+                        break;
+                    }
+                    continue;
+                }
+                if (entry.endTime + 1 >= from) {
+                    action.accept(entry);
+                }
+            }
+        }
+
+        // Recalcula desde i hasta que el maximo acumulado deja de cambiar
+        private void updateMaxEnd(int i) {
+            for (int j = i; j < entries.size(); j++) {
+                int max = Math.max(j > 0 ? maxEnd[j - 1] : Integer.MIN_VALUE, entries.get(j).endTime);
+                if (j > i && maxEnd[j] == max) {
+                    break;
+                }
+                maxEnd[j] = max;
+            }
+        }
+
+        private int firstEndingAt(int time) {
+            int lo = 0;
+            int hi = entries.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (maxEnd[mid] < time) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
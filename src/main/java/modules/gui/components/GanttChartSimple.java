@@ -32,6 +32,7 @@ public class GanttChartSimple extends Pane {
 
     private int maxTime = 50;
     private int currentTime = 0;
+    private int timeOrigin = 0; // primer instante dibujado
     
     private static final Color[] COLORS = {
         Color.web("#4CAF50"), Color.web("#2196F3"), Color.web("#FF9800"),
@@ -142,6 +143,15 @@ public class GanttChartSimple extends Pane {
         });
     }
     
+    // Dibuja desde 'origin' en lugar de 0 (la reproduccion de trazas muestra solo una ventana)
+    public void setTimeOrigin(int origin) {
+        Platform.runLater(() -> {
+            timeOrigin = origin;
+            maxTime = Math.max(maxTime, origin + 50);
+            draw();
+        });
+    }
+
     public void clear() {
         Platform.runLater(() -> {
             cpuEntries.clear();
@@ -152,6 +162,7 @@ public class GanttChartSimple extends Pane {
             contextSwitchEntries.clear();
             currentTime = 0;
             maxTime = 50;
+            timeOrigin = 0;
             draw();
         });
     }
@@ -169,11 +180,15 @@ public class GanttChartSimple extends Pane {
         });
     }
 
+    private double xOf(int time) {
+        return labelWidth + ((time - timeOrigin) * cellWidth);
+    }
+
     private void draw() {
         GraphicsContext gc = canvas.getGraphicsContext2D();
         
         // Ajustar tamaño del canvas (solo 2 filas: CPU y I/O)
-        double width = labelWidth + (maxTime * cellWidth) + 50;
+        double width = xOf(maxTime) + 50;
         double height = headerHeight + (2 * rowHeight) + 50;
         canvas.setWidth(width);
         canvas.setHeight(height);
@@ -199,8 +214,8 @@ public class GanttChartSimple extends Pane {
         gc.setFont(Font.font("Monospace", FontWeight.NORMAL, 11));
         gc.setFill(Color.web("#888"));
         
-        for (int t = 0; t <= maxTime; t += 5) {
-            double x = labelWidth + (t * cellWidth);
+        for (int t = timeOrigin; t <= maxTime; t += 5) {
+            double x = xOf(t);
             gc.fillText(String.valueOf(t), x, 20);
             
             // Línea vertical de grid
@@ -219,11 +234,11 @@ public class GanttChartSimple extends Pane {
         
         // Fondo de la fila
         gc.setFill(Color.web("#171025"));
-        gc.fillRect(labelWidth, y, maxTime * cellWidth, rowHeight - 5);
+        gc.fillRect(labelWidth, y, (maxTime - timeOrigin) * cellWidth, rowHeight - 5);
         
         // Grid horizontal
         gc.setStroke(Color.web("#555"));
-        gc.strokeLine(labelWidth, y + rowHeight - 5, labelWidth + (maxTime * cellWidth), y + rowHeight - 5);
+        gc.strokeLine(labelWidth, y + rowHeight - 5, xOf(maxTime), y + rowHeight - 5);
         
         // Dibujar bloques de ejecución CPU
         for (GanttEntry entry : cpuEntries) {
@@ -248,11 +263,11 @@ public class GanttChartSimple extends Pane {
         
         // Fondo
         gc.setFill(Color.web("#171025"));
-        gc.fillRect(labelWidth, y, maxTime * cellWidth, rowHeight - 5);
+        gc.fillRect(labelWidth, y, (maxTime - timeOrigin) * cellWidth, rowHeight - 5);
         
         // Grid horizontal
         gc.setStroke(Color.web("#555"));
-        gc.strokeLine(labelWidth, y + rowHeight - 5, labelWidth + (maxTime * cellWidth), y + rowHeight - 5);
+        gc.strokeLine(labelWidth, y + rowHeight - 5, xOf(maxTime), y + rowHeight - 5);
         
         // Dibujar bloques de I/O
         for (GanttEntry entry : ioEntries) {
@@ -262,7 +277,7 @@ public class GanttChartSimple extends Pane {
     }
     
     private void drawBlock(GraphicsContext gc, GanttEntry entry, double y, boolean isOpen, boolean isContextSwitch) {
-        double x = labelWidth + (entry.startTime * cellWidth);
+        double x = xOf(entry.startTime);
         double width = (entry.endTime - entry.startTime + 1) * cellWidth;
         
         if (width < 1) {
@@ -326,7 +341,7 @@ public class GanttChartSimple extends Pane {
     }
     
     private void drawCurrentTimeCursor(GraphicsContext gc) {
-        double x = labelWidth + (currentTime * cellWidth);
+        double x = xOf(currentTime);
         
         gc.setStroke(Color.web("#4CAF50"));
         gc.setLineWidth(2);
@@ -338,7 +353,7 @@ public class GanttChartSimple extends Pane {
     }
 
     private void drawContextSwitchBlock(GraphicsContext gc, GanttEntry entry, double y) {
-        double x = labelWidth + (entry.startTime * cellWidth);
+        double x = xOf(entry.startTime);
         double width = (entry.endTime - entry.startTime) * cellWidth;
         
         if (width < 1) {
@@ -376,7 +391,7 @@ public class GanttChartSimple extends Pane {
     
     // Métodos para autoscroll
     public double getCurrentCursorX() {
-        return labelWidth + (currentTime * cellWidth);
+        return xOf(currentTime);
     }
     
     public double getTotalWidth() {
@@ -87,6 +87,9 @@ public class ExePanel extends VBox implements Logger.PanelHighlightListener {
 
         // Asigna el contenedor al scrollpane 
         scrollPane.setContent(ganttContainer);
+        // El Gantt solo dibuja la ventana visible; viewportBounds cambia al hacer scroll
+        scrollPane.viewportBoundsProperty().addListener((obs, old, bounds) ->
+            ganttChart.setViewport(-bounds.getMinX(), -bounds.getMinY(), bounds.getWidth(), bounds.getHeight()));
         VBox.setVgrow(scrollPane, Priority.ALWAYS);
 
         // Panel de metricas
@@ -193,6 +196,15 @@ public class ExePanel extends VBox implements Logger.PanelHighlightListener {
         updateMetrics();
     }
 
+    // Fila por nucleo: solo la version completa del Gantt
+    public void addCoreExecutionStart(int core, String pid, int startTime) {
+        ganttChart.addCoreExecutionStart(core, pid, startTime);
+    }
+
+    public void addCoreExecutionEnd(int core, String pid, int endTime) {
+        ganttChart.addCoreExecutionEnd(core, pid, endTime);
+    }
+
     public void addIOStart(String pid, int startTime) {
         //System.out.println("[ExePanel] addIOStart: " + pid + " en t=" + startTime);
         ganttChart.addIOStart(pid, startTime);
@@ -296,6 +308,12 @@ public class ExePanel extends VBox implements Logger.PanelHighlightListener {
         updateMetrics();
     }
 
+    // Ventana de tiempo al reproducir una traza (ver GanttChart.setTimeOrigin)
+    public void setTimeOrigin(int origin) {
+        ganttChart.setTimeOrigin(origin);
+        ganttChartSimple.setTimeOrigin(origin);
+    }
+
     public void clearGantt() {
         ganttChart.clear();
         ganttChartSimple.clear();
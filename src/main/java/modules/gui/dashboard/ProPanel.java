@@ -106,15 +106,23 @@ public class ProPanel extends VBox implements Logger.PanelHighlightListener {
     }
 
     public void updateRunning(Process process) {
+        updateRunningProcesses(process == null ? List.of() : List.of(process));
+    }
+
+    // Varios nucleos: un badge por proceso en ejecucion
+    public void updateRunningProcesses(List<Process> processes) {
         Platform.runLater(() -> {
             runningContainer.getChildren().clear();
 
-            if (process == null || process.getState() != ProcessState.RUNNING) {
+            for (Process process : processes) {
+                if (process.getState() == ProcessState.RUNNING) {
+                    runningContainer.getChildren().add(createProcessBadge(process, "#2196F3"));
+                }
+            }
+            if (runningContainer.getChildren().isEmpty()) {
                 Label cpuIdle = new Label("— CPU Idle —");
                 cpuIdle.setStyle("-fx-text-fill: rgba(255, 255, 255, 0.3); -fx-font-size: 11px;");
                 runningContainer.getChildren().add(cpuIdle);
-            } else {
-                runningContainer.getChildren().add(createProcessBadge(process, "#2196F3"));
             }
         });
     }
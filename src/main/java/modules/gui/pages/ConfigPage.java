@@ -302,7 +302,7 @@ public class ConfigPage extends VBox {
         cpuTitle.getStyleClass().add("section-title");
         cpuTitle.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
 
-        schedulerCombo.getItems().addAll("FCFS", "SJF", "SRT", "RR", "PRIORITY", "PRIORITYPREEMPTIVE");
+        schedulerCombo.getItems().addAll("FCFS", "SJF", "SRT", "RR", "PRIORITY", "PRIORITYPREEMPTIVE", "MLFQ", "CFS");
         schedulerCombo.getSelectionModel().select("FCFS");
         schedulerCombo.setPrefWidth(120);
 
@@ -311,7 +311,9 @@ public class ConfigPage extends VBox {
         quantumSpinner.setDisable(true);
 
         schedulerCombo.setOnAction(e -> {
-            quantumSpinner.setDisable(!schedulerCombo.getValue().equals("RR"));
+            // MLFQ usa quantum, 2*quantum y 4*quantum por nivel
+            quantumSpinner.setDisable(!schedulerCombo.getValue().equals("RR")
+                    && !schedulerCombo.getValue().equals("MLFQ"));
         });
 
         rightSection.getChildren().addAll(
@@ -414,6 +416,8 @@ public class ConfigPage extends VBox {
             case "RR" -> Config.SchedulerType.ROUND_ROBIN;
             case "PRIORITY" -> Config.SchedulerType.PRIORITY;
             case "PRIORITYPREEMPTIVE" -> Config.SchedulerType.PRIORITYPREEMPTIVE;
+            case "MLFQ" -> Config.SchedulerType.MLFQ;
+            case "CFS" -> Config.SchedulerType.CFS;
             default -> Config.SchedulerType.FCFS;
         };
     }
@@ -6,9 +6,25 @@ import javafx.scene.control.Label;
 import javafx.scene.control.Button;
 import javafx.scene.layout.*;
 import javafx.scene.control.ToggleButton;
+import javafx.scene.control.Slider;
+import javafx.stage.FileChooser;
+import javafx.application.Platform;
+import modules.gui.SimulationRunner;
 import modules.gui.dashboard.*;
 
+import model.Config.ReplacementType;
 import modules.sync.SimulationEngine;
+import modules.trace.MappedTrace;
+import modules.trace.TraceReplayer;
+import utils.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /*
   Pagina: DashboardPage
@@ -30,6 +46,8 @@ import modules.sync.SimulationEngine;
   - Boton para iniciar la simulacion
   - Modo paso a paso con botones siguiente paso y continuar
   - Indicador de estado de la simulacion
+  - Reproducir traza: abre una traza binaria (Config 'trace') y muestra una
+    barra para moverse a cualquier instante sin volver a simular
 
   FUNCIONES CLAVE:
   - iniciarSimulacion(): valida la configuracion y conecta el engine
@@ -37,6 +55,13 @@ import modules.sync.SimulationEngine;
   - collapseExePanel(): restaura la vista normal
   - avanzarPaso(): ejecuta un paso en modo manual
   - continuarSimulacion(): reanuda el modo automatico
+  - cargarTraza(): elige un archivo y lo abre con abrirTraza(), que mapea la
+    traza y crea el TraceReplayer sobre los mismos listeners que usa la
+    simulacion en vivo
+  - mostrarDesdeCache(): la corrida salio de ResultCache; no hay engine que
+    esperar y, si se guardo la traza, queda abierta en la barra
+  - pedirSeek(): los movimientos de la barra se atienden en un solo thread y
+    solo el ultimo pendiente, para no encolar reconstrucciones viejas
 
   OBJETIVO:
   Servir como panel general de control y visualizacion de la simulacion.
@@ -64,6 +89,21 @@ public class DashboardPage extends VBox {
     private HBox topBar;
 
     private SimulationEngine currentEngine;
+    private volatile boolean servidaDesdeCache;
+
+    // reproduccion de trazas
+    private Button replayButton;
+    private HBox replayBar;
+    private Slider replaySlider;
+    private Label replayTimeLabel;
+    private MappedTrace replayTrace;
+    private volatile TraceReplayer replayer;
+    private final AtomicInteger pendingSeek = new AtomicInteger(-1);
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TraceReplay");
+        t.setDaemon(true);
+        return t;
+    });
 
     
     public DashboardPage() {
@@ -123,15 +163,37 @@ public class DashboardPage extends VBox {
         continueButtonExe.setOnAction(e -> continuarSimulacion());
 
 
+        replayButton = new Button("Reproducir Traza");
+        replayButton.getStyleClass().add("secondary-button");
+        replayButton.setOnAction(e -> cargarTraza());
+
         topBar.getChildren().addAll(
                 title,
                 spacer,
                 runButton,
                 toggleContainer,
                 stepButtonExe,
-                continueButtonExe
+                continueButtonExe,
+                replayButton
         );
 
+        // Barra de reproduccion (oculta hasta cargar una traza)
+        replaySlider = new Slider(0, 1, 0);
+        HBox.setHgrow(replaySlider, Priority.ALWAYS);
+        replaySlider.valueProperty().addListener((obs, old, value) -> pedirSeek(value.intValue()));
+
+        replayTimeLabel = new Label();
+        replayTimeLabel.setStyle("-fx-text-fill: white; -fx-font-size: 12px;");
+
+        Button closeReplayButton = new Button("Cerrar Traza");
+        closeReplayButton.getStyleClass().add("secondary-button");
+        closeReplayButton.setOnAction(e -> cerrarTraza());
+
+        replayBar = new HBox(10, replaySlider, replayTimeLabel, closeReplayButton);
+        replayBar.setAlignment(Pos.CENTER_LEFT);
+        replayBar.setVisible(false);
+        replayBar.setManaged(false);
+
         grid = new GridPane();
         grid.setHgap(14);
         grid.setVgap(14);
@@ -165,7 +227,7 @@ public class DashboardPage extends VBox {
         grid.add(memPanel, 0, 1);
         grid.add(logsPanel, 1, 1);
 
-        getChildren().addAll(topBar, grid);
+        getChildren().addAll(topBar, replayBar, grid);
     }
     
     private void expandExePanel() {
@@ -215,6 +277,7 @@ public class DashboardPage extends VBox {
           return;
       }
       
+      cerrarTraza();
       System.out.println("[DashboardPage] Iniciando simulación...");
       proPanel.clearAllQueues();
       
@@ -222,6 +285,7 @@ public class DashboardPage extends VBox {
       statusLabel.setStyle("-fx-text-fill: #4CAF50; -fx-font-size: 12px;");
       memPanel.setConfig(configPage.getCurrentConfig());
       runButton.setDisable(true);
+      servidaDesdeCache = false;
       
       configPage.setStepModeEnabled(isStepModeExe);
 
@@ -251,7 +315,7 @@ public class DashboardPage extends VBox {
                     }
                 });
                 
-                if (currentEngine != null) {
+                if (currentEngine != null || servidaDesdeCache) {
                     break; // Salir del loop si ya tenemos el engine
                 }
             } catch (InterruptedException e) {
@@ -260,7 +324,7 @@ public class DashboardPage extends VBox {
             }
         }
         
-        if (currentEngine == null) {
+        if (currentEngine == null && !servidaDesdeCache) {
             javafx.application.Platform.runLater(() -> {
                 statusLabel.setText("Error: No se pudo obtener el engine");
             });
@@ -284,6 +348,111 @@ public class DashboardPage extends VBox {
     }
   }
 
+  private void cargarTraza() {
+    FileChooser chooser = new FileChooser();
+    chooser.setTitle("Abrir traza de simulación");
+    chooser.getExtensionFilters().addAll(
+        new FileChooser.ExtensionFilter("Trazas", "*.trace", "*.bin"),
+        new FileChooser.ExtensionFilter("Todos", "*.*"));
+    File file = chooser.showOpenDialog(getScene().getWindow());
+    if (file == null) {
+      return;
+    }
+    abrirTraza(file.toPath());
+  }
+
+  // Resultado tomado de la cache: no se crea engine, se muestra la traza guardada
+  public void mostrarDesdeCache(Path trace) {
+    servidaDesdeCache = true;
+    runButton.setDisable(false);
+    statusLabel.setText("Resultado tomado de la cache");
+    if (trace != null) {
+      abrirTraza(trace);
+    }
+  }
+
+  public void abrirTraza(Path path) {
+    cerrarTraza();
+    statusLabel.setText("Indexando traza...");
+    replayButton.setDisable(true);
+
+    // El indice y los checkpoints se arman fuera del thread de JavaFX
+    replayExecutor.execute(() -> {
+      try {
+        MappedTrace trace = new MappedTrace(path);
+        TraceReplayer newReplayer = new TraceReplayer(trace,
+            SimulationRunner.createDashboardListener(this),
+            memPanel.getVisualizer(),
+            this::reiniciarVistas);
+        Platform.runLater(() -> {
+          replayTrace = trace;
+          replayer = newReplayer;
+          replaySlider.setMax(Math.max(1, trace.getEndTime()));
+          replaySlider.setValue(0);
+          replayBar.setVisible(true);
+          replayBar.setManaged(true);
+          replayButton.setDisable(false);
+          statusLabel.setText(path.getFileName() + ": " + trace.size() + " eventos, "
+              + trace.getEndTime() + " unidades");
+          pedirSeek(0);
+        });
+      } catch (IOException | RuntimeException e) {
+        Platform.runLater(() -> {
+          replayButton.setDisable(false);
+          statusLabel.setText("Error al abrir la traza: " + e.getMessage());
+          statusLabel.setStyle("-fx-text-fill: #ff5555; -fx-font-size: 12px;");
+        });
+      }
+    });
+  }
+
+  private void pedirSeek(int time) {
+    if (replayer == null) {
+      return;
+    }
+    TraceReplayer target = replayer;
+    if (pendingSeek.getAndSet(time) == -1) {
+      replayExecutor.execute(() -> {
+        int t = pendingSeek.getAndSet(-1);
+        if (t >= 0 && target == replayer) {
+          target.seek(t);
+        }
+      });
+    }
+  }
+
+  // Llamado por TraceReplayer antes de reconstruir el instante pedido
+  private void reiniciarVistas(int windowStart, int time, List<String> pids, int frames) {
+    exePanel.clearGantt();
+    exePanel.initializeProcesses(pids);
+    exePanel.setTimeOrigin(windowStart);
+    Platform.runLater(() -> {
+      if (memPanel.getVisualizer() != null) {
+        memPanel.getVisualizer().initialize(ReplacementType.FIFO, Math.max(1, frames));
+        memPanel.getVisualizer().setAlgorithm("Reproducción de traza");
+      }
+      replayTimeLabel.setText("T = " + time + " / " + (replayTrace != null ? replayTrace.getEndTime() : time));
+    });
+  }
+
+  private void cerrarTraza() {
+    if (replayTrace == null) {
+      return;
+    }
+    MappedTrace trace = replayTrace;
+    replayer = null;
+    replayTrace = null;
+    replayBar.setVisible(false);
+    replayBar.setManaged(false);
+    replayExecutor.execute(() -> {
+      try {
+        trace.close();
+      } catch (IOException e) {
+        Logger.error("[DashboardPage] No se pudo cerrar la traza: " + e.getMessage());
+      }
+    });
+  }
+
     // GETTERS PARA LOS PANELES
     public ProPanel getProPanel() {
         return proPanel;
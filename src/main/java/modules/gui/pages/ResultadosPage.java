@@ -78,6 +78,7 @@ public class ResultadosPage extends VBox {
     private final ProgressIndicator graficaCpu = new ProgressIndicator();
     private final Label porcentajeCpuLabel = new Label();
     private final Label estadoCpu = new Label();
+    private final Label estadoEspera = new Label();
     private final VBox contenedorBarras = new VBox(10);
     private final TableView<ResultadoProceso> tablaProcesos = new TableView<>();
 
@@ -222,7 +223,8 @@ public class ResultadosPage extends VBox {
 
         VBox graficaEspera = crearContenedorGrafica("Tiempo de espera por proceso");
         contenedorBarras.setFillWidth(true);
-        graficaEspera.getChildren().add(contenedorBarras);
+        estadoEspera.getStyleClass().add("chart-helper");
+        graficaEspera.getChildren().addAll(contenedorBarras, estadoEspera);
 
         graficas.getChildren().addAll(graficaCpuCard, graficaEspera);
 
@@ -295,6 +297,16 @@ public class ResultadosPage extends VBox {
         graficaCpu.setProgress(progresoCpu);
         porcentajeCpuLabel.setText(String.format("%.0f%%", datos.getUsoCpu()));
         estadoCpu.setText(String.format("Trabajo: %.1f%%  |  Ocioso: %.1f%%", datos.getUsoCpu(), datos.getOcioCpu()));
+        if (datos.getNucleos() > 1) {
+            StringBuilder porNucleo = new StringBuilder();
+            for (int i = 0; i < datos.getNucleos(); i++) {
+                porNucleo.append(String.format("  |  CPU %d: %.1f%%", i, datos.getUsoNucleos().get(i)));
+            }
+            estadoCpu.setText(estadoCpu.getText() + porNucleo);
+        }
+
+        estadoEspera.setText(String.format("Espera máxima: %d ms  |  P99: %d ms",
+                datos.getEsperaMaxima(), datos.getEsperaP99()));
 
         tablaProcesos.getItems().setAll(datos.getResumenProcesos());
         actualizarBarras(datos);
@@ -3,6 +3,7 @@ package modules.memory;
 import model.Process;
 import utils.Logger;
 
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.Queue;
 
@@ -11,10 +12,12 @@ public class FIFO extends MemoryManager {
 
 
     private final Queue<Integer> frameQueue;
+    private final BitSet queued; // marcos que ya estan en frameQueue
 
     public FIFO(int totalFrames) {
         super(totalFrames);
         this.frameQueue = new LinkedList<>();
+        this.queued = new BitSet(totalFrames);
     }
 
     @Override
@@ -38,7 +41,8 @@ public class FIFO extends MemoryManager {
     protected void loadPageToFrame(int frameIndex, String pid, int pageNumber) {
       super.loadPageToFrame(frameIndex, pid, pageNumber);
       
-      if (!frameQueue.contains(frameIndex)) {
+      if (!queued.get(frameIndex)) {
+          queued.set(frameIndex);
           frameQueue.offer(frameIndex);
           Logger.memLog("Marco " + frameIndex + " agregado a cola FIFO (nuevo)");
       }
@@ -65,6 +69,7 @@ public class FIFO extends MemoryManager {
     public synchronized void reset() {
         super.reset();
         frameQueue.clear();
+        queued.clear();
         Logger.memLog("Cola FIFO limpiada");
        
     }
@@ -81,7 +86,7 @@ public class FIFO extends MemoryManager {
 
 
     public boolean isInQueue(int frameIndex) {
-        return frameQueue.contains(frameIndex);
+        return queued.get(frameIndex);
     }
 
 
@@ -3,31 +3,114 @@ package modules.memory;
 import model.Process;
 import utils.Logger;
 
+import java.util.Arrays;
+
+/*
+LRU con lista de recencia intrusiva sobre los indices de marco.
+prev[]/next[] enlazan los marcos ocupados del menos al mas recientemente
+usado (head -> tail), sin objetos nodo.
+
+Cada carga, reemplazo o acceso mueve el marco al final (O(1)); la victima
+es siempre head (O(1)). A igual lastAccessTime queda primero el marco
+tocado antes.
+*/
 
 public class LRU extends MemoryManager {
 
+    private static final int NONE = -1;     // fin de lista
+    private static final int UNLINKED = -2; // marco fuera de la lista
+
+    private final int[] prev;
+    private final int[] next;
+    private int head = NONE; // menos reciente
+    private int tail = NONE; // mas reciente
+
     public LRU(int totalFrames) {
         super(totalFrames);
+        this.prev = new int[totalFrames];
+        this.next = new int[totalFrames];
+        Arrays.fill(prev, UNLINKED);
+        Arrays.fill(next, UNLINKED);
     }
 
     @Override
     protected int selectVictimFrame(Process requestingProcess, int requestedPage) {
-        int oldestAccess = Integer.MAX_VALUE;
-        int victimIndex = -1;
-
-        for (int i = 0; i < totalFrames; i++) {
-            Frame f = frames[i];
-            if (f.isOccupied() && f.getLastAccessTime() < oldestAccess) {
-                oldestAccess = f.getLastAccessTime();
-                victimIndex = i;
-            }
-        }
+        int victimIndex = head;
 
         Logger.memLog("[LRU] Selecciono marco " + victimIndex + " como victima por ser el mas viejo");
 
         return victimIndex;
     }
 
+    @Override
+    protected void loadPageToFrame(int frameIndex, String pid, int pageNumber) {
+        super.loadPageToFrame(frameIndex, pid, pageNumber);
+        touch(frameIndex);
+    }
+
+    @Override
+    protected void replacePage(int frameIndex, String newPid, int newPage) {
+        super.replacePage(frameIndex, newPid, newPage);
+        touch(frameIndex);
+    }
+
+    @Override
+    protected void accessPage(String pid, int pageNumber) {
+        super.accessPage(pid, pageNumber);
+        int frameIndex = findFrame(pid, pageNumber);
+        if (frameIndex != -1) {
+            touch(frameIndex);
+        }
+    }
+
+    @Override
+    protected void onFrameFreed(int frameIndex) {
+        unlink(frameIndex);
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        Arrays.fill(prev, UNLINKED);
+        Arrays.fill(next, UNLINKED);
+        head = NONE;
+        tail = NONE;
+    }
+
+    // Mueve el marco al final de la lista (mas reciente)
+    private void touch(int i) {
+        if (i == tail) {
+            return;
+        }
+        unlink(i);
+        prev[i] = tail;
+        next[i] = NONE;
+        if (tail != NONE) {
+            next[tail] = i;
+        } else {
+            head = i;
+        }
+        tail = i;
+    }
+
+    private void unlink(int i) {
+        if (prev[i] == UNLINKED) {
+            return;
+        }
+        if (prev[i] != NONE) {
+            next[prev[i]] = next[i];
+        } else {
+            head = next[i];
+        }
+        if (next[i] != NONE) {
+            prev[next[i]] = prev[i];
+        } else {
+            tail = prev[i];
+        }
+        prev[i] = UNLINKED;
+        next[i] = UNLINKED;
+    }
+
     @Override
     public String getAlgorithmName() {
         return "LRU (Least Recently Used)";
@@ -9,4 +9,9 @@ public interface MemoryEventListener {
     void onSnapshot(String snapshot);                              // snapshot textual opcional
     void onPageAccessed(int frameIndex, String pid, int page, long newAccessTime); // actualizar lastAccessTime durante
                                                                                    // ejecución 
+
+    // Si ningun listener lo quiere, no se arma el snapshot textual de la memoria
+    default boolean wantsSnapshots() {
+        return true;
+    }
 }
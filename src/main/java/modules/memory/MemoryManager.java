@@ -9,7 +9,15 @@ import utils.Logger;
 import modules.sync.SimulationController;
 
 
-/*Clase base para gestion de memoria virtual aca se maneja la logica y creacion de frames*/
+/*Clase base para gestion de memoria virtual aca se maneja la logica y creacion de frames
+
+INDICES:
+  pageTable: tabla de paginas invertida PID -> (pagina -> marco). La mantienen
+  loadPageToFrame, replacePage y freeProcessPages; hits, accesos y
+  liberaciones no recorren frames[].
+  freeFrames: bit por marco libre; findFreeFrame sigue devolviendo el de
+  menor indice.
+*/
 public abstract class MemoryManager {
 
     // FRAME
@@ -107,7 +115,8 @@ public abstract class MemoryManager {
     private List<MemoryEventListener> listeners = new ArrayList<>(); // para el visualizador
     protected final int totalFrames;
     protected final Frame[] frames;
-    protected final Map<String, Set<Integer>> processPageMap; // PID -> paginas cargadas
+    protected final Map<String, Map<Integer, Integer>> pageTable; // PID -> (pagina -> marco)
+    protected final BitSet freeFrames; // marcos libres
 
     protected int currentTime;
     protected int pageFaults;
@@ -122,7 +131,9 @@ public abstract class MemoryManager {
 
         this.totalFrames = totalFrames;
         this.frames = new Frame[totalFrames];
-        this.processPageMap = new ConcurrentHashMap<>();
+        this.pageTable = new ConcurrentHashMap<>();
+        this.freeFrames = new BitSet(totalFrames);
+        this.freeFrames.set(0, totalFrames);
 
         for (int i = 0; i < totalFrames; i++) {
             frames[i] = new Frame();
@@ -138,6 +149,10 @@ public abstract class MemoryManager {
         listeners.add(listener);
     }
 
+    public void removeListener(MemoryEventListener listener) {
+        listeners.remove(listener);
+    }
+
     // A continuacuon un metodo para poner espera o pare entre cada accion
     // importante en que se imprime informacion en el logger
     // NUEVO: ESPERA INDEPENDIENTE DE MEMORY MANUAL ________________________________
@@ -192,9 +207,16 @@ public abstract class MemoryManager {
         }
     }
 
-    private void notifySnapshot(String snapshot) {
-        for (MemoryEventListener l : listeners)
+    // El snapshot recorre todos los marcos: solo se arma si alguien lo va a ver
+    private void notifySnapshot() {
+        String snapshot = null;
+        for (MemoryEventListener l : listeners) {
+            if (!l.wantsSnapshots())
+                continue;
+            if (snapshot == null)
+                snapshot = getMemorySnapshotCompact();
             l.onSnapshot(snapshot);
+        }
     }
 
     private void notifyPageAccessed(int frameIndex, String pid, int page, long newAccessTime) {
@@ -217,7 +239,7 @@ public abstract class MemoryManager {
             notifyPageAccess(frameIndex, pid, pageNumber, true);
             accessPage(pid, pageNumber);
             
-            notifySnapshot(getMemorySnapshotCompact());
+            notifySnapshot();
             return true;
         }
 
@@ -234,13 +256,13 @@ public abstract class MemoryManager {
         if (freeFrame != -1) {
             loadPageToFrame(freeFrame, pid, pageNumber);
             notifyFrameLoaded(freeFrame, pid, pageNumber);
-            notifySnapshot(getMemorySnapshotCompact());
+            notifySnapshot();
             return true;
         }
 
         // Si no hay marcos libres → elegir víctima
         int victimFrame = selectVictimFrame(process, pageNumber);
-        notifySnapshot(getMemorySnapshotCompact());
+        notifySnapshot();
 
         if (victimFrame != -1) {
             // Guardar datos del frame que será reemplazado
@@ -254,7 +276,7 @@ public abstract class MemoryManager {
 
             replacePage(victimFrame, pid, pageNumber);
             notifyFrameLoaded(victimFrame, pid, pageNumber);
-            notifySnapshot(getMemorySnapshotCompact());
+            notifySnapshot();
 
             return true;
         }
@@ -264,64 +286,59 @@ public abstract class MemoryManager {
     }
 
     // Metodo añadido para obtener el frame real donde esta una pagina
-    private int findFrame(String pid, int page) {
-        for (int i = 0; i < totalFrames; i++) {
-            if (frames[i].isOccupied()
-                    && frames[i].getProcessId().equals(pid)
-                    && frames[i].getPageNumber() == page) {
-                return i;
-            }
+    protected int findFrame(String pid, int page) {
+        Map<Integer, Integer> pages = pageTable.get(pid);
+        if (pages == null) {
+            return -1;
         }
-        return -1;
+        Integer frameIndex = pages.get(page);
+        return frameIndex != null ? frameIndex : -1;
     }
 
     protected abstract int selectVictimFrame(Process requestingProcess, int requestedPage);
 
     // Metodo auxiliares para los de arriba
     protected void accessPage(String pid, int pageNumber) {
-        for (int i = 0; i < totalFrames; i++) {
-            Frame frame = frames[i];
-            if (frame.isOccupied()
-                    && frame.getProcessId().equals(pid)
-                    && frame.getPageNumber() == pageNumber) {
-                frame.access(currentTime);
-                // Notificar que se actualizó el lastAccessTime
-                notifyPageAccessed(i, pid, pageNumber, currentTime);
-                return;
-            }
+        int i = findFrame(pid, pageNumber);
+        if (i != -1) {
+            frames[i].access(currentTime);
+            // Notificar que se actualizó el lastAccessTime
+            notifyPageAccessed(i, pid, pageNumber, currentTime);
         }
     }
 
     protected int findFreeFrame() { // Auxiliar
-        for (int i = 0; i < totalFrames; i++) {
-            if (!frames[i].isOccupied()) {
-                return i;
-            }
-        }
-        return -1;
+        return freeFrames.nextSetBit(0);
     }
 
     protected void loadPageToFrame(int frameIndex, String pid, int pageNumber) {
         frames[frameIndex].load(pid, pageNumber, currentTime);
-        processPageMap.computeIfAbsent(pid, k -> new HashSet<>()).add(pageNumber);
+        pageTable.computeIfAbsent(pid, k -> new HashMap<>()).put(pageNumber, frameIndex);
+        freeFrames.clear(frameIndex);
         totalPageLoads++;
 
         Logger.memLoad(pid, pageNumber, frameIndex, currentTime);
         // Logger.memSnapshot(frames);
     }
 
+    // Para politicas con estructuras propias por marco (ej. lista de LRU);
+    // se llama antes de vaciar el marco
+    protected void onFrameFreed(int frameIndex) {
+    }
+
     protected void replacePage(int frameIndex, String newPid, int newPage) {
 
         Frame old = frames[frameIndex];
         String oldPid = old.getProcessId();
         int oldPage = old.getPageNumber();
 
-        if (processPageMap.containsKey(oldPid)) {
-            processPageMap.get(oldPid).remove(oldPage);
+        Map<Integer, Integer> oldPages = pageTable.get(oldPid);
+        if (oldPages != null) {
+            oldPages.remove(oldPage);
         }
 
         old.load(newPid, newPage, currentTime);
-        processPageMap.computeIfAbsent(newPid, k -> new HashSet<>()).add(newPage);
+        pageTable.computeIfAbsent(newPid, k -> new HashMap<>()).put(newPage, frameIndex);
 
         pageReplacements++;
         totalPageLoads++;
@@ -332,19 +349,35 @@ public abstract class MemoryManager {
     }
 
     public synchronized boolean isPageLoaded(String pid, int pageNumber) {
-        return processPageMap.containsKey(pid)
-                && processPageMap.get(pid).contains(pageNumber);
+        return findFrame(pid, pageNumber) != -1;
 
     }
 
     public synchronized Set<Integer> getLoadedPages(String pid) {
-        return new HashSet<>(processPageMap.getOrDefault(pid, new HashSet<>()));
+        Map<Integer, Integer> pages = pageTable.get(pid);
+        return pages != null ? new HashSet<>(pages.keySet()) : new HashSet<>();
+    }
+
+    // Una referencia de la cadena del proceso, hecha en el instante 'time'
+    public synchronized void referencePage(String pid, int pageNumber, int time) {
+        int now = currentTime;
+        currentTime = time;
+        accessPage(pid, pageNumber);
+        currentTime = now;
+    }
+
+    // Cadena de referencias completa de un proceso; solo la usan las politicas
+    // que miran el futuro (Optimal)
+    public void setFutureAccesses(String pid, int[] accesses) {
     }
 
      // NUEVO: Actualizar access time de todas las páginas de un proceso durante ejecución__________________
     public synchronized void updateProcessPagesAccessTime(String pid) {
-        Set<Integer> loadedPages = processPageMap.getOrDefault(pid, new HashSet<>());
-        for (Integer page : loadedPages) {
+        Map<Integer, Integer> pages = pageTable.get(pid);
+        if (pages == null) {
+            return;
+        }
+        for (Integer page : pages.keySet()) {
             accessPage(pid, page);
         }
     }
@@ -352,16 +385,18 @@ public abstract class MemoryManager {
 
     // Aca tmb se agrega este metodo se usa en la simulacion
     public synchronized void freeProcessPages(String pid) {
-        for (int i = 0; i < totalFrames; i++) {
-            if (frames[i].isOccupied()
-                    && frames[i].getProcessId().equals(pid)) {
+        Map<Integer, Integer> pages = pageTable.remove(pid);
+        if (pages != null) {
+            // En orden de marco, como se ven en el visualizador
+            for (int i : new TreeSet<>(pages.values())) {
                 int oldPage = frames[i].getPageNumber();
                 notifyFrameEvicted(i, pid, oldPage); // Notificar evicción visual
                 waitForVisualStep(); // ->Paso OJO
+                onFrameFreed(i);
                 frames[i].unload();
+                freeFrames.set(i);
             }
         }
-        processPageMap.remove(pid);
         Logger.memLog("[MEM] Paginas del proceso " + pid + " liberadas");
         // Logger.memSnapshot(frames);
     }
@@ -381,8 +416,8 @@ public abstract class MemoryManager {
         sb.append(
                 "=================================================================================================\n");
         sb.append("Paginas de Proceso: ");
-        for (Map.Entry<String, Set<Integer>> e : processPageMap.entrySet()) {
-            Set<Integer> pages = new TreeSet<>(e.getValue());
+        for (Map.Entry<String, Map<Integer, Integer>> e : pageTable.entrySet()) {
+            Set<Integer> pages = new TreeSet<>(e.getValue().keySet());
             sb.append(String.format("%s=%s; ", e.getKey(), pages));
         }
 
@@ -390,12 +425,7 @@ public abstract class MemoryManager {
     }
 
     public synchronized int getFreeFrames() {
-        int count = 0;
-        for (Frame frame : frames) {
-            if (!frame.isOccupied())
-                count++;
-        }
-        return count;
+        return freeFrames.cardinality();
     }
 
     // MeTRICAS
@@ -441,7 +471,8 @@ public abstract class MemoryManager {
         for (Frame frame : frames) {
             frame.unload();
         }
-        processPageMap.clear();
+        pageTable.clear();
+        freeFrames.set(0, totalFrames);
         currentTime = 0;
         pageFaults = 0;
         pageReplacements = 0;
@@ -11,8 +11,17 @@ import utils.Logger;
 
 public class NRU extends MemoryManager {
 
+    // Desempata dentro de una clase; sale de Config.getRandom() para que la
+    // misma semilla elija siempre las mismas victimas
+    private final Random random;
+
     public NRU(int totalFrames) {
+        this(totalFrames, new Random(1));
+    }
+
+    public NRU(int totalFrames, Random random) {
         super(totalFrames);
+        this.random = random;
         Logger.memLog("NRU MemoryManager inicializado con " + totalFrames + " marcos");
     }
 
@@ -36,20 +45,20 @@ public class NRU extends MemoryManager {
             }
         }
         
-        Random rand = new Random(); // Elegir victima de la clase más baja disponible
+        // Elegir victima de la clase más baja disponible
         String why = "";
         int victim = -1;
         if (!class0.isEmpty()) {
-            victim = class0.get(rand.nextInt(class0.size()));
+            victim = class0.get(random.nextInt(class0.size()));
             why = "no ser referenciada recientemente, no modificada (ideal para reemplazo)";
         } else if (!class1.isEmpty()) {
-            victim = class1.get(rand.nextInt(class1.size()));
+            victim = class1.get(random.nextInt(class1.size()));
             why = "solo ser modificado recientemente, no referenciado (clase 1)";
         } else if (!class2.isEmpty()) {
-            victim = class2.get(rand.nextInt(class2.size()));
+            victim = class2.get(random.nextInt(class2.size()));
             why = "ser referenciado recienteenete pero no modificado no existencias en anteriores categorias (clase 2)";
         } else if (!class3.isEmpty()) {
-            victim = class3.get(rand.nextInt(class3.size()));
+            victim = class3.get(random.nextInt(class3.size()));
             why = "ultimo, por no existencias en las anteriores categorias prioritarias...es elegido";
         }
 
@@ -68,9 +77,9 @@ public class NRU extends MemoryManager {
         for (int i = 0; i < totalFrames; i++) {
             Frame f = frames[i];
             if (f.isOccupied()) {
-                int simulatedClass = new Random().nextInt(4); // 0..3
+                int nruClass = (f.isReferenced() ? 2 : 0) + (f.isModified() ? 1 : 0); // 0..3
                 sb.append("Marco ").append(i).append(": ").append(f.toString())
-                  .append(" | Clase=").append(simulatedClass).append("\n");
+                  .append(" | Clase=").append(nruClass).append("\n");
             }
         }
         return sb.toString();
@@ -4,73 +4,357 @@ import model.Process;
 import utils.Logger;
 import java.util.*;
 
+/*
+Optimal (Belady): reemplaza la pagina cuyo proximo uso esta mas lejos.
+
+PREPROCESO (setFutureAccesses):
+  Por proceso se guarda su cadena de referencias y nextOcc[i], la siguiente
+  posicion con la misma pagina que refs[i]; ademas, por pagina, sus posiciones
+  en orden para ubicar el proximo uso al cargarla.
+
+ESTADO POR MARCO:
+  nextUse[marco] = posicion absoluta del proximo uso de su pagina en la cadena
+  de SU proceso dueño (NEVER si no se vuelve a usar). Cada acceso consume la
+  referencia refs[index] del proceso y solo cambia el marco que la tenia:
+  su proximo uso pasa a nextOcc[index].
+
+VICTIMA:
+  Cada proceso tiene un max-heap de sus marcos por nextUse. La distancia de un
+  marco es nextUse - index de su dueño, asi que dentro de un proceso el orden
+  no cambia al avanzar el index. Encima hay un heap global de los procesos con
+  marcos, ordenado por la distancia de su cima: solo cambia la clave del
+  proceso que accede o carga, asi que cada acceso o fallo es O(log marcos) y
+  la victima es la cima del heap global. Empates: menor indice de marco.
+*/
+
 public class Optimal extends MemoryManager {
 
-    private final Map<String, List<Integer>> futureAccesses = new HashMap<>();
-    private final Map<String, Integer> accessIndex = new HashMap<>(); // ❌ FALTABA ESTO
+    private static final int NEVER = Integer.MAX_VALUE;
+
+    // Cadena de referencias de un proceso y sus marcos ordenados por proximo uso
+    private final class Trace {
+        int[] refs = new int[0];
+        int[] nextOcc = new int[0];
+        Map<Integer, int[]> positions = new HashMap<>();
+        int index;
+
+        int[] heap = new int[8];
+        int size;
+        int slot = -1; // posicion en el heap global, -1 si no tiene marcos
+
+        // Primera posicion >= index donde se usa la pagina
+        int nextUseOf(int page) {
+            int[] pos = positions.get(page);
+            if (pos == null) {
+                return NEVER;
+            }
+            int i = Arrays.binarySearch(pos, index);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i < pos.length ? pos[i] : NEVER;
+        }
+
+        int distance(int frameIndex) {
+            int use = nextUse[frameIndex];
+            return use == NEVER ? NEVER : use - index;
+        }
+
+        boolean above(int a, int b) {
+            return nextUse[a] > nextUse[b] || (nextUse[a] == nextUse[b] && a < b);
+        }
+
+        void add(int frameIndex) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heapSlot[frameIndex] = size;
+            heap[size++] = frameIndex;
+            siftUp(size - 1);
+        }
+
+        void remove(int frameIndex) {
+            int i = heapSlot[frameIndex];
+            heapSlot[frameIndex] = -1;
+            size--;
+            if (i != size) {
+                place(heap[size], i);
+                if (!siftUp(i)) {
+                    siftDown(i);
+                }
+            }
+        }
+
+        void changed(int frameIndex) {
+            int i = heapSlot[frameIndex];
+            if (!siftUp(i)) {
+                siftDown(i);
+            }
+        }
+
+        private void place(int frameIndex, int i) {
+            heap[i] = frameIndex;
+            heapSlot[frameIndex] = i;
+        }
+
+        private boolean siftUp(int i) {
+            int f = heap[i];
+            int start = i;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!above(f, heap[parent])) {
+                    break;
+                }
+                place(heap[parent], i);
+                i = parent;
+            }
+            place(f, i);
+            return i != start;
+        }
+
+        private void siftDown(int i) {
+            int f = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < size && above(heap[right], heap[child])) {
+                    child = right;
+                }
+                if (!above(heap[child], f)) {
+                    break;
+                }
+                place(heap[child], i);
+                i = child;
+            }
+            place(f, i);
+        }
+    }
+
+    private final Map<String, Trace> traces = new HashMap<>();
+    private Trace[] owners = new Trace[8]; // heap global por distancia de la cima
+    private int ownerCount;
+    private final int[] nextUse;
+    private final int[] heapSlot; // posicion del marco en el heap de su dueño, -1 si libre
 
     public Optimal(int totalFrames) {
         super(totalFrames);
+        this.nextUse = new int[totalFrames];
+        this.heapSlot = new int[totalFrames];
+        Arrays.fill(heapSlot, -1);
         Logger.memLog("Optimal MemoryManager inicializado con " + totalFrames + " marcos");
     }
 
     public void setFutureAccesses(String pid, List<Integer> accesses) {
-        futureAccesses.put(pid, new ArrayList<>(accesses));
-        accessIndex.put(pid, 0); 
+        int[] refs = new int[accesses.size()];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = accesses.get(i);
+        }
+        setFutureAccesses(pid, refs);
     }
 
     @Override
-    protected int selectVictimFrame(Process requestingProcess, int requestedPage) {
-        String pid = requestingProcess.getPid();
-        List<Integer> future = futureAccesses.getOrDefault(pid, Collections.emptyList());
-        int currentIndex = accessIndex.getOrDefault(pid, 0); // ❌ FALTABA
-
-        int farthest = -1;
-        int victim = -1;
-
-        for (int i = 0; i < totalFrames; i++) {
-            Frame f = frames[i];
-            if (!f.isOccupied()) continue;
-
-            int page = f.getPageNumber();
-            String framePid = f.getProcessId();
-            
-            // desde current Index
-            int nextUse = findNextUse(framePid, page, currentIndex);
-
-            if (nextUse > farthest) {
-                farthest = nextUse;
-                victim = i;
+    public synchronized void setFutureAccesses(String pid, int[] accesses) {
+        Trace t = trace(pid);
+        t.refs = accesses.clone();
+        t.index = 0;
+
+        // nextOcc de atras hacia adelante; posiciones por pagina en orden
+        t.nextOcc = new int[t.refs.length];
+        Map<Integer, Integer> last = new HashMap<>();
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int i = t.refs.length - 1; i >= 0; i--) {
+            Integer next = last.put(t.refs[i], i);
+            t.nextOcc[i] = next != null ? next : NEVER;
+            counts.merge(t.refs[i], 1, Integer::sum);
+        }
+        t.positions = new HashMap<>();
+        for (Map.Entry<Integer, Integer> e : last.entrySet()) {
+            int[] pos = new int[counts.get(e.getKey())];
+            int k = 0;
+            for (int i = e.getValue(); i != NEVER; i = t.nextOcc[i]) {
+                pos[k++] = i;
             }
+            t.positions.put(e.getKey(), pos);
+        }
+
+        // Marcos que ya tenia cargados el proceso
+        for (int i = 0; i < t.size; i++) {
+            int f = t.heap[i];
+            nextUse[f] = t.nextUseOf(frames[f].getPageNumber());
+        }
+        for (int i = (t.size >>> 1) - 1; i >= 0; i--) {
+            t.siftDown(i);
         }
+        reposition(t);
+    }
+
+    @Override
+    protected int selectVictimFrame(Process requestingProcess, int requestedPage) {
+        if (ownerCount == 0) {
+            return -1;
+        }
+        Trace t = owners[0];
+        int victim = t.heap[0];
+        int farthest = t.distance(victim);
 
         Logger.memLog("Optimal seleccionó marco " + victim + " (distancia: " + farthest + ")");
         return victim;
     }
 
-    //Metodo para buscar próximo uso
-    private int findNextUse(String pid, int page, int fromIndex) {
-        List<Integer> future = futureAccesses.getOrDefault(pid, Collections.emptyList());
-        
-        for (int i = fromIndex; i < future.size(); i++) {
-            if (future.get(i) == page) {
-                return i - fromIndex; // distancia relativa
-            }
-        }
-        return Integer.MAX_VALUE; // nunca se usará
+    @Override
+    protected void loadPageToFrame(int frameIndex, String pid, int pageNumber) {
+        super.loadPageToFrame(frameIndex, pid, pageNumber);
+        track(frameIndex, pid, pageNumber);
+    }
+
+    @Override
+    protected void replacePage(int frameIndex, String newPid, int newPage) {
+        untrack(frameIndex);
+        super.replacePage(frameIndex, newPid, newPage);
+        track(frameIndex, newPid, newPage);
+    }
+
+    @Override
+    protected void onFrameFreed(int frameIndex) {
+        untrack(frameIndex);
     }
 
     //actualizar índice cuando accedes una página
     @Override
     protected void accessPage(String pid, int pageNumber) {
         super.accessPage(pid, pageNumber);
-        // Avanzar el índice de accesos futuros
-        int idx = accessIndex.getOrDefault(pid, 0);
-        accessIndex.put(pid, idx + 1);
+        Trace t = trace(pid);
+        if (t.index >= t.refs.length) {
+            t.index++;
+            return; // sin referencias pendientes todas las distancias son NEVER
+        }
+        // Se consume refs[index]: solo cambia el marco que la tenia como proximo uso
+        int k = t.index++;
+        int frameIndex = findFrame(pid, t.refs[k]);
+        if (frameIndex != -1 && nextUse[frameIndex] == k) {
+            nextUse[frameIndex] = t.nextOcc[k];
+            t.changed(frameIndex);
+        }
+        reposition(t);
+    }
+
+    // El proceso termino: su cadena de referencias ya no sirve
+    @Override
+    public synchronized void freeProcessPages(String pid) {
+        super.freeProcessPages(pid);
+        traces.remove(pid);
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        for (Trace t : traces.values()) {
+            t.index = 0;
+            t.size = 0;
+            t.slot = -1;
+        }
+        Arrays.fill(heapSlot, -1);
+        Arrays.fill(owners, null);
+        ownerCount = 0;
+    }
+
+    private Trace trace(String pid) {
+        return traces.computeIfAbsent(pid, k -> new Trace());
+    }
+
+    private void track(int frameIndex, String pid, int page) {
+        Trace t = trace(pid);
+        nextUse[frameIndex] = t.nextUseOf(page);
+        t.add(frameIndex);
+        reposition(t);
+    }
+
+    private void untrack(int frameIndex) {
+        if (heapSlot[frameIndex] == -1) {
+            return;
+        }
+        Trace t = trace(frames[frameIndex].getProcessId());
+        t.remove(frameIndex);
+        reposition(t);
+    }
+
+    // HEAP GLOBAL: procesos con marcos, el de la cima mas lejana primero
+
+    private boolean ahead(Trace a, Trace b) {
+        int da = a.distance(a.heap[0]);
+        int db = b.distance(b.heap[0]);
+        return da > db || (da == db && a.heap[0] < b.heap[0]);
+    }
+
+    // La cima o el index de 't' cambio: entra, sale o se reubica
+    private void reposition(Trace t) {
+        if (t.size == 0) {
+            if (t.slot != -1) {
+                int i = t.slot;
+                t.slot = -1;
+                ownerCount--;
+                if (i != ownerCount) {
+                    placeOwner(owners[ownerCount], i);
+                    if (!siftOwnerUp(i)) {
+                        siftOwnerDown(i);
+                    }
+                }
+                owners[ownerCount] = null;
+            }
+            return;
+        }
+        if (t.slot == -1) {
+            if (ownerCount == owners.length) {
+                owners = Arrays.copyOf(owners, ownerCount * 2);
+            }
+            placeOwner(t, ownerCount++);
+        }
+        if (!siftOwnerUp(t.slot)) {
+            siftOwnerDown(t.slot);
+        }
+    }
+
+    private void placeOwner(Trace t, int i) {
+        owners[i] = t;
+        t.slot = i;
+    }
+
+    private boolean siftOwnerUp(int i) {
+        Trace t = owners[i];
+        int start = i;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ahead(t, owners[parent])) {
+                break;
+            }
+            placeOwner(owners[parent], i);
+            i = parent;
+        }
+        placeOwner(t, i);
+        return i != start;
+    }
+
+    private void siftOwnerDown(int i) {
+        Trace t = owners[i];
+        int half = ownerCount >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < ownerCount && ahead(owners[right], owners[child])) {
+                child = right;
+            }
+            if (!ahead(owners[child], t)) {
+                break;
+            }
+            placeOwner(owners[child], i);
+            i = child;
+        }
+        placeOwner(t, i);
     }
 
     @Override
     public String getAlgorithmName() {
         return "Optimal";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package modules.scheduler;
+
+import model.Process;
+import model.ProcessState;
+import utils.Logger;
+
+/*
+CFS (Completely Fair Scheduler)
+Reparte la CPU en proporcion al peso de cada proceso: siempre corre el que
+menos tiempo virtual de ejecucion (vruntime) acumulo.
+
+PESO:
+ - Sale de la prioridad con la tabla de Linux (sched_prio_to_weight): la
+   prioridad 1 equivale a nice 0 (peso 1024) y cada nivel mas pide ~25% menos
+   de CPU (2 -> 820, 3 -> 655, ...). Prioridades fuera de rango se recortan
+   a nice -20..19.
+
+VRUNTIME:
+ - Se guarda en el Process (vruntime) en unidades de 1/1024: una unidad de CPU
+   suma 1024 * 1024 / peso (accountExecution), asi los pesados avanzan mas lento.
+   Se redondea por unidad: da lo mismo contar de a una (SimulationEngine) que
+   por tramos (DiscreteEventEngine).
+ - minVruntime: minimo de la cola y del que corre, nunca retrocede.
+ - Al encolarse, un proceso nuevo recibe al menos minVruntime (no se adelanta
+   a los que ya esperan) y uno que vuelve de E/S al menos minVruntime -
+   latencia/2: no acumula credito mientras no esta listo.
+
+PORCION (getTimeSlice):
+ - periodo = max(targetLatency, n * minGranularity), n = listos + el que corre
+ - porcion = max(minGranularity, periodo * peso / peso total)
+ - La cuenta usa TimelineReadyQueue.totalWeight(), mantenida al encolar y sacar.
+
+EXPROPIACION:
+ - Un proceso que se encola expropia al que corre si su vruntime es menor por
+   mas de minGranularity (evita cambios de contexto por diferencias minimas).
+
+COSTO:
+ - selectNextProcess: O(log n); addProcess, confirmProcessSelection: O(log n)
+   (TimelineReadyQueue, TreeMap ordenado por vruntime).
+*/
+
+public class CFS extends Scheduler {
+
+    public static final int NICE_0_WEIGHT = 1024;
+
+    // Peso de nice -20 .. 19 (kernel/sched/core.c)
+    private static final int[] WEIGHTS = {
+        88761, 71755, 56483, 46273, 36291,
+        29154, 23254, 18705, 14949, 11916,
+        9548, 7620, 6100, 4904, 3906,
+        3121, 2501, 1991, 1586, 1277,
+        1024, 820, 655, 526, 423,
+        335, 272, 215, 172, 137,
+        110, 87, 70, 56, 45,
+        36, 29, 23, 18, 15
+    };
+
+    private final int targetLatency;
+    private final int minGranularity;
+    private final TimelineReadyQueue timeline;
+    private long minVruntime;
+
+    public CFS(int targetLatency, int minGranularity) {
+        this(targetLatency, minGranularity, new TimelineReadyQueue(Process::getVruntime, CFS::weightOf));
+    }
+
+    private CFS(int targetLatency, int minGranularity, TimelineReadyQueue timeline) {
+        super(timeline);
+        if (minGranularity <= 0 || targetLatency < minGranularity) {
+            throw new IllegalArgumentException(
+                    "CFS necesita 0 < granularidad minima <= latencia objetivo");
+        }
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+        this.timeline = timeline;
+
+        Logger.exeLog("Planificador CFS inicializado (latencia=" + targetLatency
+                + ", granularidad=" + minGranularity + ")");
+    }
+
+    public static int weightOf(Process process) {
+        int nice = Math.max(-20, Math.min(19, process.getPriority() - 1));
+        return WEIGHTS[nice + 20];
+    }
+
+    // Ubica al proceso en la linea de tiempo antes de encolarlo
+    @Override
+    public synchronized void addProcess(Process process) {
+        if (!readyQueue.contains(process)
+                && process.getState() != ProcessState.RUNNING
+                && process.getState() != ProcessState.TERMINATED) {
+            long floor = process.getStartTime() < 0
+                    ? minVruntime
+                    : minVruntime - (long) targetLatency * NICE_0_WEIGHT / 2;
+            if (process.getVruntime() < floor) {
+                process.setVruntime(floor);
+            }
+        }
+        super.addProcess(process);
+    }
+
+    @Override
+    public synchronized Process selectNextProcess() {
+        return readyQueue.peek();
+    }
+
+    @Override
+    public boolean shouldPreempt(Process current, Process candidate) {
+        if (current == null || candidate == null) {
+            return false;
+        }
+        return current.getVruntime() - candidate.getVruntime() > (long) minGranularity * NICE_0_WEIGHT;
+    }
+
+    @Override
+    public synchronized int getTimeSlice(Process process) {
+        int weight = weightOf(process);
+        long total = timeline.totalWeight();
+        int running = readyQueue.size();
+        if (!readyQueue.contains(process)) {
+            total += weight;
+            running++;
+        }
+        long period = Math.max(targetLatency, (long) running * minGranularity);
+        return (int) Math.max(minGranularity, period * weight / total);
+    }
+
+    @Override
+    public synchronized void accountExecution(Process process, int units) {
+        process.setVruntime(process.getVruntime() + (long) units * (NICE_0_WEIGHT * NICE_0_WEIGHT / weightOf(process)));
+
+        long candidate = process.getVruntime();
+        Process leftmost = readyQueue.peek();
+        if (leftmost != null) {
+            candidate = Math.min(candidate, leftmost.getVruntime());
+        }
+        minVruntime = Math.max(minVruntime, candidate);
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        minVruntime = 0;
+    }
+
+    public long getMinVruntime() {
+        return minVruntime;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "CFS (latencia=" + targetLatency + ", granularidad=" + minGranularity + ")";
+    }
+}
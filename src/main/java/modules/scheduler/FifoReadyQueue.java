@@ -0,0 +1,60 @@
+package modules.scheduler;
+
+import model.Process;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/*
+FifoReadyQueue
+Cola READY en orden de llegada (FCFS, Round Robin).
+LinkedHashSet: offer, peek, contains y remove en O(1), incluso para sacar
+un proceso del medio de la cola.
+*/
+
+public class FifoReadyQueue implements ReadyQueue {
+
+  private final LinkedHashSet<Process> queue = new LinkedHashSet<>();
+
+  @Override
+  public boolean offer(Process process) {
+    return queue.add(process);
+  }
+
+  @Override
+  public Process peek() {
+    return queue.isEmpty() ? null : queue.iterator().next();
+  }
+
+  @Override
+  public boolean remove(Process process) {
+    return queue.remove(process);
+  }
+
+  @Override
+  public boolean contains(Process process) {
+    return queue.contains(process);
+  }
+
+  @Override
+  public int size() {
+    return queue.size();
+  }
+
+  @Override
+  public void clear() {
+    queue.clear();
+  }
+
+  @Override
+  public List<Process> snapshot() {
+    return new ArrayList<>(queue);
+  }
+
+  @Override
+  public Iterator<Process> iterator() {
+    return queue.iterator();
+  }
+}
@@ -0,0 +1,224 @@
+package modules.scheduler;
+
+import model.Burst;
+import model.Process;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/*
+IndexedHeapReadyQueue
+Cola READY ordenada por una clave numerica (menor clave = sale primero).
+Heap binario en arreglo + indice proceso -> posicion en el heap.
+
+CLAVE:
+  Se calcula al encolar y queda guardada en la entrada, asi el heap nunca
+  se desordena aunque el proceso cambie por fuera. Si la clave de un proceso
+  encolado cambia (ej. prioridad), update() la recalcula y lo reubica
+  (decrease-key / increase-key).
+  Empates: gana el que entro antes a la cola, igual que el recorrido lineal
+  que hacian SJF, SRT y Priority.
+  byRemainingCpuTime(): clave de SJF y SRT.
+  byPriority(): clave de Priority y PriorityPreemptive.
+  byAgedPriority(): la misma con envejecimiento; depende de readySince, que
+  no cambia mientras el proceso esta en la cola.
+
+COSTO:
+  offer, remove, update: O(log n)
+  peek, contains: O(1)
+*/
+
+public class IndexedHeapReadyQueue implements ReadyQueue {
+
+  private static final class Entry {
+    final Process process;
+    final long seq;
+    long key;
+    int index;
+
+    Entry(Process process, long key, long seq) {
+      this.process = process;
+      this.key = key;
+      this.seq = seq;
+    }
+  }
+
+  private final ToLongFunction<Process> keyFunction;
+  private final Map<Process, Entry> entries = new HashMap<>();
+  private Entry[] heap = new Entry[16];
+  private int size;
+  private long seq;
+
+  public IndexedHeapReadyQueue(ToLongFunction<Process> keyFunction) {
+    this.keyFunction = keyFunction;
+  }
+
+  // SJF / SRT: menor tiempo restante de la rafaga de CPU actual; sin rafaga de CPU al final
+  public static IndexedHeapReadyQueue byRemainingCpuTime() {
+    return new IndexedHeapReadyQueue(p -> {
+      Burst burst = p.getCurrentBurst();
+      return burst != null && burst.isCPU() ? burst.getRemainingTime() : Long.MAX_VALUE;
+    });
+  }
+
+  // Priority: menor numero de prioridad y, a igual prioridad, menor tiempo de llegada
+  public static IndexedHeapReadyQueue byPriority() {
+    return new IndexedHeapReadyQueue(p -> ((long) p.getPriority() << 32) + p.getArrivalTime());
+  }
+
+  // Priority con envejecimiento: prioridad - espera / agingInterval, sin el 'ahora' comun a todos
+  public static IndexedHeapReadyQueue byAgedPriority(int agingInterval) {
+    return new IndexedHeapReadyQueue(p -> (long) p.getPriority() * agingInterval + p.getReadySince());
+  }
+
+  @Override
+  public boolean offer(Process process) {
+    if (entries.containsKey(process)) {
+      return false;
+    }
+    Entry e = new Entry(process, keyFunction.applyAsLong(process), seq++);
+    if (size == heap.length) {
+      heap = Arrays.copyOf(heap, size * 2);
+    }
+    e.index = size;
+    heap[size++] = e;
+    entries.put(process, e);
+    siftUp(e.index);
+    return true;
+  }
+
+  @Override
+  public Process peek() {
+    return size == 0 ? null : heap[0].process;
+  }
+
+  @Override
+  public boolean remove(Process process) {
+    Entry e = entries.remove(process);
+    if (e == null) {
+      return false;
+    }
+    int i = e.index;
+    size--;
+    if (i != size) {
+      move(heap[size], i);
+      heap[size] = null;
+      if (!siftUp(i)) {
+        siftDown(i);
+      }
+    } else {
+      heap[size] = null;
+    }
+    return true;
+  }
+
+  @Override
+  public void update(Process process) {
+    Entry e = entries.get(process);
+    if (e == null) {
+      return;
+    }
+    long key = keyFunction.applyAsLong(process);
+    if (key == e.key) {
+      return;
+    }
+    e.key = key;
+    if (!siftUp(e.index)) {
+      siftDown(e.index);
+    }
+  }
+
+  @Override
+  public boolean contains(Process process) {
+    return entries.containsKey(process);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(heap, 0, size, null);
+    size = 0;
+    entries.clear();
+  }
+
+  @Override
+  public List<Process> snapshot() {
+    List<Entry> ordered = new ArrayList<>(entries.values());
+    ordered.sort(Comparator.comparingLong(e -> e.seq));
+    List<Process> result = new ArrayList<>(ordered.size());
+    for (Entry e : ordered) {
+      result.add(e.process);
+    }
+    return result;
+  }
+
+  // Recorre en el orden interno del heap (solo el primero esta garantizado)
+  @Override
+  public Iterator<Process> iterator() {
+    return new Iterator<>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < size;
+      }
+
+      @Override
+      public Process next() {
+        return heap[next++].process;
+      }
+    };
+  }
+
+  private boolean less(Entry a, Entry b) {
+    return a.key < b.key || (a.key == b.key && a.seq < b.seq);
+  }
+
+  private void move(Entry e, int index) {
+    heap[index] = e;
+    e.index = index;
+  }
+
+  private boolean siftUp(int i) {
+    Entry e = heap[i];
+    int start = i;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (!less(e, heap[parent])) {
+        break;
+      }
+      move(heap[parent], i);
+      i = parent;
+    }
+    move(e, i);
+    return i != start;
+  }
+
+  private void siftDown(int i) {
+    Entry e = heap[i];
+    int half = size >>> 1;
+    while (i < half) {
+      int child = 2 * i + 1;
+      int right = child + 1;
+      if (right < size && less(heap[right], heap[child])) {
+        child = right;
+      }
+      if (!less(heap[child], e)) {
+        break;
+      }
+      move(heap[child], i);
+      i = child;
+    }
+    move(e, i);
+  }
+}
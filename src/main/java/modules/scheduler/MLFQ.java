@@ -0,0 +1,143 @@
+package modules.scheduler;
+
+import model.Process;
+import utils.Logger;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/*
+MLFQ (Multilevel Feedback Queue)
+Varias colas de prioridad decreciente (nivel 0 = la mas alta), cada una con
+su quantum. Dentro de un nivel es Round Robin; entre niveles es apropiativo.
+
+REGLAS:
+ - Un proceso nuevo entra al nivel 0.
+ - Si agota su quantum baja un nivel (onQuantumExpired); en el ultimo se queda.
+ - Al terminar una E/S sube un nivel (onIOComplete): los procesos interactivos
+   se mantienen arriba y los de CPU intensiva bajan.
+ - Cada boostInterval unidades todos vuelven al nivel 0, asi los de abajo no
+   sufren inanicion (0 = sin boost).
+
+NIVEL DE CADA PROCESO:
+ - Se guarda en el Process (queueLevel) junto con el periodo de boost en que
+   se fijo (tiempo / boostInterval). Un nivel de un periodo anterior vale 0,
+   asi el boost no recorre a los procesos que estan en E/S o ejecutando.
+ - Los que estan en cola se suben juntos (mergeIntoTop) cuando el reloj entra
+   a un periodo nuevo (setCurrentTime).
+
+COSTO:
+ - selectNextProcess, addProcess, confirmProcessSelection: O(1)
+   (MultilevelReadyQueue, una cola por nivel y mascara de niveles no vacios).
+
+MOTORES:
+ - DiscreteEventEngine usa getTimeSlice() y onQuantumExpired().
+ - SimulationEngine descuenta una unidad por tick con consumeTimeSlice().
+*/
+
+public class MLFQ extends Scheduler {
+
+    // Nivel efectivo de un proceso; la cola lo consulta al encolar
+    private static final class Levels implements ToIntFunction<Process> {
+        final int count;
+        int boostPeriod;
+
+        Levels(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public int applyAsInt(Process process) {
+            if (process.getQueueLevelPeriod() < boostPeriod) {
+                return 0;
+            }
+            return Math.min(process.getQueueLevel(), count - 1);
+        }
+    }
+
+    private final int[] quanta;
+    private final int boostInterval;
+    private final Levels levels;
+
+    public MLFQ(int[] quanta, int boostInterval) {
+        this(quanta.clone(), boostInterval, new Levels(quanta.length));
+    }
+
+    private MLFQ(int[] quanta, int boostInterval, Levels levels) {
+        super(new MultilevelReadyQueue(quanta.length, levels));
+        for (int q : quanta) {
+            if (q <= 0) {
+                throw new IllegalArgumentException("Cada quantum de MLFQ debe ser mayor a 0");
+            }
+        }
+        if (boostInterval < 0) {
+            throw new IllegalArgumentException("El intervalo de boost no puede ser negativo");
+        }
+        this.quanta = quanta;
+        this.boostInterval = boostInterval;
+        this.levels = levels;
+
+        Logger.exeLog("Planificador MLFQ inicializado (quantums=" + Arrays.toString(quanta)
+                + ", boost=" + boostInterval + ")");
+    }
+
+    @Override
+    public synchronized Process selectNextProcess() {
+        return readyQueue.peek();
+    }
+
+    // Solo expropia un proceso de un nivel mas alto
+    @Override
+    public boolean shouldPreempt(Process current, Process candidate) {
+        if (current == null || candidate == null) {
+            return false;
+        }
+        return levelOf(candidate) < levelOf(current);
+    }
+
+    @Override
+    public int getTimeSlice(Process process) {
+        return quanta[levelOf(process)];
+    }
+
+    @Override
+    public void onQuantumExpired(Process process) {
+        int level = levelOf(process);
+        if (level < quanta.length - 1) {
+            process.setQueueLevel(level + 1, levels.boostPeriod);
+            Logger.exeLog(String.format("MLFQ: %s baja al nivel %d", process.getPid(), level + 1));
+        }
+    }
+
+    @Override
+    public void onIOComplete(Process process) {
+        int level = levelOf(process);
+        if (level > 0) {
+            process.setQueueLevel(level - 1, levels.boostPeriod);
+            Logger.exeLog(String.format("MLFQ: %s sube al nivel %d", process.getPid(), level - 1));
+        }
+    }
+
+    @Override
+    public synchronized void setCurrentTime(int time) {
+        super.setCurrentTime(time);
+        if (boostInterval > 0 && time / boostInterval > levels.boostPeriod) {
+            levels.boostPeriod = time / boostInterval;
+            ((MultilevelReadyQueue) readyQueue).mergeIntoTop();
+            Logger.exeLog(String.format("[T=%d] MLFQ: boost, todos los procesos al nivel 0", time));
+        }
+    }
+
+    public int getLevel(Process process) {
+        return levelOf(process);
+    }
+
+    private int levelOf(Process process) {
+        return levels.applyAsInt(process);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "MLFQ (quantums=" + Arrays.toString(quanta) + ", boost=" + boostInterval + ")";
+    }
+}
@@ -0,0 +1,133 @@
+package modules.scheduler;
+
+import model.Process;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/*
+MultilevelReadyQueue
+Cola READY de MLFQ: una cola FIFO por nivel (nivel 0 = sale primero).
+Cada nivel es un LinkedHashSet como FifoReadyQueue, asi sacar un proceso del
+medio tambien es O(1). El nivel de cada proceso lo da 'levelFunction' al
+encolarlo y queda guardado hasta que sale o update() lo reubica.
+
+nonEmpty es una mascara con un bit por nivel con procesos: peek() busca el
+primer bit encendido, O(1) sin recorrer niveles vacios (hasta 64 niveles).
+
+mergeIntoTop(): pasa todos los procesos al nivel 0 conservando el orden
+(boost de MLFQ); cuesta O(procesos en cola) pero ocurre una vez por periodo.
+*/
+
+public class MultilevelReadyQueue implements ReadyQueue {
+
+  private final LinkedHashSet<Process>[] levels;
+  private final Map<Process, Integer> levelOf = new HashMap<>();
+  private final ToIntFunction<Process> levelFunction;
+  private long nonEmpty;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public MultilevelReadyQueue(int levels, ToIntFunction<Process> levelFunction) {
+    if (levels <= 0 || levels > Long.SIZE) {
+      throw new IllegalArgumentException("Niveles de MLFQ entre 1 y " + Long.SIZE + ": " + levels);
+    }
+    this.levels = new LinkedHashSet[levels];
+    for (int i = 0; i < levels; i++) {
+      this.levels[i] = new LinkedHashSet<>();
+    }
+    this.levelFunction = levelFunction;
+  }
+
+  @Override
+  public boolean offer(Process process) {
+    if (levelOf.containsKey(process)) {
+      return false;
+    }
+    int level = Math.max(0, Math.min(levels.length - 1, levelFunction.applyAsInt(process)));
+    levels[level].add(process);
+    levelOf.put(process, level);
+    nonEmpty |= 1L << level;
+    return true;
+  }
+
+  @Override
+  public Process peek() {
+    if (nonEmpty == 0) {
+      return null;
+    }
+    return levels[Long.numberOfTrailingZeros(nonEmpty)].iterator().next();
+  }
+
+  @Override
+  public boolean remove(Process process) {
+    Integer level = levelOf.remove(process);
+    if (level == null) {
+      return false;
+    }
+    levels[level].remove(process);
+    if (levels[level].isEmpty()) {
+      nonEmpty &= ~(1L << level);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean contains(Process process) {
+    return levelOf.containsKey(process);
+  }
+
+  // El nivel cambio estando en cola: va al final del nivel nuevo
+  @Override
+  public void update(Process process) {
+    Integer level = levelOf.get(process);
+    if (level != null && level != levelFunction.applyAsInt(process)) {
+      remove(process);
+      offer(process);
+    }
+  }
+
+  public void mergeIntoTop() {
+    for (int level = 1; level < levels.length; level++) {
+      for (Process p : levels[level]) {
+        levels[0].add(p);
+        levelOf.put(p, 0);
+      }
+      levels[level].clear();
+    }
+    nonEmpty = levels[0].isEmpty() ? 0 : 1L;
+  }
+
+  @Override
+  public int size() {
+    return levelOf.size();
+  }
+
+  @Override
+  public void clear() {
+    for (LinkedHashSet<Process> level : levels) {
+      level.clear();
+    }
+    levelOf.clear();
+    nonEmpty = 0;
+  }
+
+  // Por nivel y dentro de cada nivel en orden de llegada
+  @Override
+  public List<Process> snapshot() {
+    List<Process> all = new ArrayList<>(levelOf.size());
+    for (LinkedHashSet<Process> level : levels) {
+      all.addAll(level);
+    }
+    return all;
+  }
+
+  @Override
+  public Iterator<Process> iterator() {
+    return snapshot().iterator();
+  }
+}
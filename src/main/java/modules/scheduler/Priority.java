@@ -10,7 +10,7 @@ Implementacion del algoritmo de planificacion por Prioridad.
 Permite modo expropiativo o no expropiativo segun el valor recibido en el constructor.
 
 selectNextProcess():
- - Busca en la cola el proceso con mayor prioridad (numero mas pequeño).
+ - Toma el proceso con mayor prioridad (numero mas pequeño) del heap de la cola.
  - En caso de empate, elige el que llego primero.
  - Devuelve el proceso con mejor prioridad sin removerlo de la cola.
 
@@ -18,6 +18,15 @@ shouldPreempt():
  - Solo funciona en modo expropiativo.
  - Expropia si el proceso candidato tiene mayor prioridad que el actual.
 
+Envejecimiento (agingInterval > 0):
+ - Cada agingInterval unidades en READY la prioridad efectiva mejora en 1:
+   efectiva = prioridad - (ahora - readySince) / agingInterval.
+ - Como 'ahora' es igual para todos, ordenar por la efectiva es ordenar por
+   prioridad * agingInterval + readySince: la clave del heap no cambia
+   mientras el proceso espera y nunca hay que recorrer la cola.
+ - El que ejecuta conserva la prioridad efectiva con la que fue elegido, asi
+   el que lo expropio no lo vuelve a expropiar apenas vuelve a la cola.
+
 getAlgorithmName():
  - Retorna el nombre del algoritmo indicando si es preemptive o non-preemptive.
 */
@@ -26,6 +35,8 @@ getAlgorithmName():
 public class Priority extends Scheduler {
     
     private final boolean isPreemptive;
+    private final int agingInterval;
+    private int runningPriority;
 
     public Priority() {
         this(false);
@@ -33,10 +44,22 @@ public class Priority extends Scheduler {
     
     //true para modo expropiativo, false para no expropiativo
     public Priority(boolean preemptive) {
-        super();
+        this(preemptive, 0);
+    }
+
+    //agingInterval: unidades en READY por cada nivel de prioridad ganado (0 = sin envejecimiento)
+    public Priority(boolean preemptive, int agingInterval) {
+        super(agingInterval > 0
+                ? IndexedHeapReadyQueue.byAgedPriority(agingInterval)
+                : IndexedHeapReadyQueue.byPriority());
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("El intervalo de envejecimiento no puede ser negativo");
+        }
         this.isPreemptive = preemptive;
+        this.agingInterval = agingInterval;
         Logger.exeLog("Planificador Priority inicializado " + 
-                  (preemptive ? "(expropiativo)" : "(no expropiativo)"));
+                  (preemptive ? "(expropiativo)" : "(no expropiativo)")
+                  + (agingInterval > 0 ? ", envejecimiento cada " + agingInterval : ""));
     }
     
     @Override
@@ -45,29 +68,12 @@ public class Priority extends Scheduler {
             return null;
         }
         
-        Process highestPriority = null;
-        int bestPriority = Integer.MAX_VALUE; // menor numero = mayor prioridad
-        
-        // Buscar el proceso con la mayor prioridad (menor número)
-        for (Process p : readyQueue) {
-            int priority = p.getPriority();
-            
-            // Desempate por orden de llegada (FCFS)
-            if (priority < bestPriority || 
-                (priority == bestPriority && 
-                 highestPriority != null && 
-                 p.getArrivalTime() < highestPriority.getArrivalTime())) {
-                bestPriority = priority;
-                highestPriority = p;
-            }
-        }
-        
-        if (highestPriority != null) {
-            //readyQueue.remove(highestPriority);
-            //contextSwitch(highestPriority);
-            Logger.exeLog("Priority seleccionó: " + highestPriority.getPid() + 
-                        " con prioridad " + bestPriority);
-        }
+        // La cola ya esta ordenada por prioridad y luego por llegada (heap)
+        Process highestPriority = readyQueue.peek();
+        //readyQueue.remove(highestPriority);
+        //contextSwitch(highestPriority);
+        Logger.exeLog("Priority seleccionó: " + highestPriority.getPid() + 
+                    " con prioridad " + highestPriority.getPriority());
         
         return highestPriority;
     }
@@ -81,19 +87,42 @@ public class Priority extends Scheduler {
         }
         
         // Expropiar si el candidato tiene MAYOR prioridad (menor número)
-        if (candidate.getPriority() < current.getPriority()) {
+        int currentPriority = agingInterval > 0 ? runningPriority : current.getPriority();
+        int candidatePriority = getEffectivePriority(candidate);
+        if (candidatePriority < currentPriority) {
             Logger.exeLog("Priority: Expropiando " + current.getPid() + 
-                        " (prioridad=" + current.getPriority() + ") por " + 
-                        candidate.getPid() + " (prioridad=" + candidate.getPriority() + ")");
+                        " (prioridad=" + currentPriority + ") por " + 
+                        candidate.getPid() + " (prioridad=" + candidatePriority + ")");
             return true;
         }
         
         return false;
     }
+
+    @Override
+    public synchronized void confirmProcessSelection(Process process) {
+        if (process != null && agingInterval > 0 && readyQueue.contains(process)) {
+            runningPriority = getEffectivePriority(process);
+        }
+        super.confirmProcessSelection(process);
+    }
+
+    //Prioridad con el envejecimiento acumulado en READY (sin envejecimiento es la estatica)
+    public synchronized int getEffectivePriority(Process process) {
+        if (agingInterval <= 0 || !readyQueue.contains(process)) {
+            return process.getPriority();
+        }
+        return process.getPriority() - (currentTime - process.getReadySince()) / agingInterval;
+    }
+
+    public int getAgingInterval() {
+        return agingInterval;
+    }
     
     @Override
     public String getAlgorithmName() {
-        return "Priority " + (isPreemptive ? "(Preemptive)" : "(Non-Preemptive)");
+        return "Priority " + (isPreemptive ? "(Preemptive)" : "(Non-Preemptive)")
+                + (agingInterval > 0 ? " + aging " + agingInterval : "");
     }
     
     public boolean isPreemptive() {
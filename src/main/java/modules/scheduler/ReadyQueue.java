@@ -0,0 +1,45 @@
+package modules.scheduler;
+
+import model.Process;
+
+import java.util.List;
+
+/*
+ReadyQueue
+Cola READY intercambiable del Scheduler. Cada algoritmo elige la que le
+conviene en su constructor; por defecto FifoReadyQueue.
+
+No es thread-safe: Scheduler la usa siempre dentro de sus metodos synchronized.
+
+METODOS:
+  offer(): agrega un proceso (se ignora si ya esta).
+  peek(): el siguiente segun el orden de la cola, sin sacarlo.
+  remove(): saca un proceso en cualquier posicion.
+  update(): reordena un proceso cuya clave cambio estando en la cola.
+  snapshot(): copia en orden de llegada a la cola, para la GUI.
+*/
+
+public interface ReadyQueue extends Iterable<Process> {
+
+  boolean offer(Process process);
+
+  Process peek();
+
+  boolean remove(Process process);
+
+  boolean contains(Process process);
+
+  // Por defecto el orden no depende del proceso
+  default void update(Process process) {
+  }
+
+  int size();
+
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  void clear();
+
+  List<Process> snapshot();
+}
@@ -24,6 +24,9 @@ resetQuantum():
 confirmProcessSelection():
  - Remueve el proceso de la cola, reinicia su quantum y realiza el cambio de contexto.
 
+getTimeSlice():
+ - El quantum, para que el motor por eventos programe la porcion de CPU.
+
 getAlgorithmName():
  - Retorna el nombre del algoritmo con su quantum configurado.
 
@@ -125,6 +128,11 @@ public class RoundRobin extends Scheduler {
 
     
     
+    @Override
+    public int getTimeSlice(Process process) {
+        return quantum;
+    }
+
     @Override
     public String getAlgorithmName() {
         return "Round Robin (quantum=" + quantum + ")";
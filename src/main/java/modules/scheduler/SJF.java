@@ -9,7 +9,8 @@ Implementacion del algoritmo SJF (Shortest Job First).
 Selecciona el proceso con la rafaga de CPU mas corta y no es apropiativo.
 
 selectNextProcess():
- - Recorre la cola READY y elige el proceso con menor tiempo de CPU restante.
+ - Toma de la cola READY (heap por rafaga restante) el proceso con menor
+   tiempo de CPU restante, en O(1); encolar y sacar cuesta O(log n).
 
 shouldPreempt():
  - Siempre retorna false porque SJF no interrumpe procesos.
@@ -21,7 +22,7 @@ getAlgorithmName():
 public class SJF extends Scheduler {
     
     public SJF() {
-        super();
+        super(IndexedHeapReadyQueue.byRemainingCpuTime());
         Logger.exeLog("Planificador SJF inicializado");
     }
     
@@ -31,28 +32,16 @@ public class SJF extends Scheduler {
             return null;
         }
         
-        Process shortest = null;
-        int shortestBurstTime = Integer.MAX_VALUE;
-        
-        // Buscar en la cola el proceso con menor tiempo de CPU restante
-        for (Process p : readyQueue) {
-            Burst currentBurst = p.getCurrentBurst();
-
-            if(currentBurst!=null &&currentBurst.isCPU()){
-                int burstTime = currentBurst.getRemainingTime();
-                if(burstTime< shortestBurstTime){
-                    shortestBurstTime = burstTime;
-                    shortest = p;
-                }
-            }
-            
+        // La cola ya esta ordenada por tiempo de CPU restante
+        Process shortest = readyQueue.peek();
+        Burst currentBurst = shortest.getCurrentBurst();
+        if (currentBurst == null || !currentBurst.isCPU()) {
+            return null;
         }
 
-        if(shortest != null){
-            //readyQueue.remove(shortest);
-            //contextSwitch(shortest);
-            Logger.procLog("SJF seleccionó: " + shortest.getPid() + " con ráfaga restante " + shortestBurstTime);
-        }
+        //readyQueue.remove(shortest);
+        //contextSwitch(shortest);
+        Logger.procLog("SJF seleccionó: " + shortest.getPid() + " con ráfaga restante " + currentBurst.getRemainingTime());
         
         
         return shortest;
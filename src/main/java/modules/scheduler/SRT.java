@@ -13,6 +13,8 @@ se vuelve a evaluar cual proceso debe ejecutarse usando la logica de SJF.
 Caracteristicas:
 - Selecciona el proceso con el menor tiempo de CPU restante.
 - Es apropiativo: puede interrumpir al proceso actual si llega uno mas corto.
+- La cola READY es un heap por tiempo restante: elegir cuesta O(1) y
+  encolar/sacar O(log n).
 
 Comparacion:
 - SJF: Optimo solo si todos los procesos llegan al mismo tiempo.
@@ -25,7 +27,7 @@ Trade-off:
 public class SRT extends Scheduler {
     
     public SRT() {
-        super();
+        super(IndexedHeapReadyQueue.byRemainingCpuTime());
         Logger.exeLog("Planificador SRT inicializado (SJF expropiativo)");
     }
     
@@ -35,29 +37,17 @@ public class SRT extends Scheduler {
             return null;
         }
         
-        Process shortest = null;
-        int shortestRemainingTime = Integer.MAX_VALUE;
-        
-        // Buscar el proceso con el menor tiempo de CPU restante
-        for (Process p : readyQueue) {
-            Burst currentBurst = p.getCurrentBurst();
-            
-            if (currentBurst != null && currentBurst.isCPU()) {
-                int remainingTime = currentBurst.getRemainingTime();
-                
-                if (remainingTime < shortestRemainingTime) {
-                    shortestRemainingTime = remainingTime;
-                    shortest = p;
-                }
-            }
+        // La cola ya esta ordenada por tiempo de CPU restante (heap)
+        Process shortest = readyQueue.peek();
+        Burst currentBurst = shortest.getCurrentBurst();
+        if (currentBurst == null || !currentBurst.isCPU()) {
+            return null;
         }
         
-        if (shortest != null) {
-            //readyQueue.remove(shortest);
-            //contextSwitch(shortest);
-            Logger.procLog("SRTF seleccionó: " + shortest.getPid() + 
-                        " con tiempo restante " + shortestRemainingTime);
-        }
+        //readyQueue.remove(shortest);
+        //contextSwitch(shortest);
+        Logger.procLog("SRTF seleccionó: " + shortest.getPid() + 
+                    " con tiempo restante " + currentBurst.getRemainingTime());
         
         return shortest;
     }
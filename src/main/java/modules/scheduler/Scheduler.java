@@ -4,18 +4,23 @@ import model.Process;
 import model.ProcessState;
 import utils.Logger;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 
 /*
 Clase base para todos los algoritmos de planificacion.
 Administra la cola READY, el proceso actual y todas las metricas generales.
 
+Cola READY:
+ - ReadyQueue intercambiable. Por defecto FifoReadyQueue (orden de llegada);
+   SJF, SRT y Priority usan IndexedHeapReadyQueue para elegir en O(log n).
+
 addProcess():
- - Agrega un proceso a la cola READY si esta en un estado valido.
+ - Agrega un proceso a la cola READY si esta en un estado valido y anota
+   cuando entro (readySince, para el envejecimiento de Priority).
+
+updateProcess():
+ - Reubica un proceso encolado cuya clave (prioridad, rafaga) cambio.
 
 selectNextProcess():
  - Metodo abstracto que cada algoritmo implementa para decidir el siguiente proceso.
@@ -23,6 +28,13 @@ selectNextProcess():
 shouldPreempt():
  - Indica si el algoritmo debe reemplazar el proceso en ejecucion.
 
+getTimeSlice(), onQuantumExpired(), onIOComplete(), accountExecution():
+ - Ganchos para los algoritmos con quantum o que miden lo que corrio cada
+   proceso (Round Robin, MLFQ, CFS). Por defecto no hay quantum y no hacen nada.
+
+consumeTimeSlice():
+ - Motor con threads: descuenta una unidad de la porcion fijada al confirmar.
+
 confirmProcessSelection():
  - Remueve el proceso elegido y ejecuta el cambio de contexto.
 
@@ -44,7 +56,7 @@ Incluye getters para acceder al estado del planificador y sus metricas.
 
 public abstract class Scheduler {
     
-    protected final Queue<Process> readyQueue;
+    protected final ReadyQueue readyQueue;
     protected Process currentProcess;
     protected int currentTime;
     protected int contextSwitches;
@@ -55,9 +67,15 @@ public abstract class Scheduler {
     protected int completedProcesses;
     protected int totalCPUTime;
     protected int idleTime;
+    protected int sliceRemaining;   // porcion que le queda al proceso en CPU (motor con threads)
+    protected long readyAdditions;  // encolados desde el inicio (motor con threads: cambios en READY)
     
     public Scheduler() {
-        this.readyQueue = new ConcurrentLinkedQueue<>();
+        this(new FifoReadyQueue());
+    }
+
+    protected Scheduler(ReadyQueue readyQueue) {
+        this.readyQueue = readyQueue;
         this.currentProcess = null;
         this.currentTime = 0;
         this.contextSwitches = 0;
@@ -83,7 +101,9 @@ public abstract class Scheduler {
           return;
       }
       
+      process.setReadySince(currentTime);
       readyQueue.offer(process);
+      readyAdditions++;
       Logger.procLog("[SCHEDULER] " + process.getPid() + " agregado (cola: " + readyQueue.size() + ")");
       
       notifyAll();
@@ -92,10 +112,21 @@ public abstract class Scheduler {
     public synchronized void confirmProcessSelection(Process process) {
       // Remover el proceso de la cola sin importar su posición
       if (process != null && readyQueue.remove(process)) {
+        sliceRemaining = getTimeSlice(process);
         contextSwitch(process);
       }
     }
 
+    // Un proceso encolado cambio su clave de orden (ej. prioridad)
+    public synchronized void updateProcess(Process process) {
+      readyQueue.update(process);
+    }
+
+    // Saca un proceso de la cola sin darle la CPU (ej. bloqueado por fallo de pagina)
+    public synchronized boolean removeProcess(Process process) {
+      return process != null && readyQueue.remove(process);
+    }
+
     //Selecciona el siguiente proceso a ejecutar
     //DEBE ser implementado por cada algoritmo
     
@@ -106,6 +137,39 @@ public abstract class Scheduler {
      
     public abstract boolean shouldPreempt(Process current, Process candidate);
     
+    //Porcion de CPU que recibe el proceso al despacharse (0 = sin quantum:
+    //corre hasta terminar la rafaga o ser expropiado)
+    public int getTimeSlice(Process process) {
+        return 0;
+    }
+
+    //El proceso consumio toda su porcion de CPU (todavia no volvio a la cola)
+    public void onQuantumExpired(Process process) {
+    }
+
+    //El proceso termino una rafaga de E/S (todavia no volvio a la cola)
+    public void onIOComplete(Process process) {
+    }
+
+    //El proceso ejecuto 'units' unidades de CPU
+    public void accountExecution(Process process, int units) {
+    }
+
+    //Motor con threads: una unidad ejecutada; true si agoto su porcion
+    //(ya se llamo a onQuantumExpired)
+    public synchronized boolean consumeTimeSlice(Process process) {
+        if (sliceRemaining <= 0 || --sliceRemaining > 0) {
+            return false;
+        }
+        onQuantumExpired(process);
+        return true;
+    }
+
+    //Motor con threads: agoto su porcion pero nadie espera, sigue con otra
+    public synchronized void renewTimeSlice(Process process) {
+        sliceRemaining = getTimeSlice(process);
+    }
+
     //Obtiene el nombre del algoritmo
     
     public abstract String getAlgorithmName();
@@ -231,9 +295,9 @@ public abstract class Scheduler {
     }
     
     public synchronized List<Process> getReadyQueueSnapshot() {
-        return new ArrayList<>(readyQueue);
+        return readyQueue.snapshot();
     }
-    public Process peekNextProcess() {
+    public synchronized Process peekNextProcess() {
         return readyQueue.peek();
     }
 
@@ -245,6 +309,10 @@ public abstract class Scheduler {
         return !readyQueue.isEmpty();
     }
 
+    public synchronized long getReadyAdditions() {
+        return readyAdditions;
+    }
+
     public void forceContextSwitch() {
       currentProcess = null;
     }
@@ -0,0 +1,145 @@
+package modules.scheduler;
+
+import model.Process;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/*
+TimelineReadyQueue
+Cola READY de CFS: arbol rojo-negro (TreeMap) ordenado por tiempo virtual de
+ejecucion (vruntime), menor vruntime = sale primero.
+
+CLAVE Y PESO:
+  Se calculan al encolar y quedan en la entrada, como en IndexedHeapReadyQueue:
+  el vruntime solo avanza mientras el proceso esta en CPU (fuera de la cola).
+  update() los recalcula si cambia la prioridad de un proceso encolado.
+  Empates: gana el que entro antes a la cola.
+  totalWeight(): suma de los pesos encolados, mantenida al encolar y sacar
+  (CFS la usa para repartir la latencia objetivo).
+
+COSTO:
+  offer, remove, update, peek: O(log n)
+  contains, totalWeight: O(1)
+*/
+
+public class TimelineReadyQueue implements ReadyQueue {
+
+  private static final class Entry {
+    final Process process;
+    final long seq;
+    long key;
+    int weight;
+
+    Entry(Process process, long key, int weight, long seq) {
+      this.process = process;
+      this.key = key;
+      this.weight = weight;
+      this.seq = seq;
+    }
+  }
+
+  private static final Comparator<Entry> ORDER =
+      Comparator.<Entry>comparingLong(e -> e.key).thenComparingLong(e -> e.seq);
+
+  private final ToLongFunction<Process> keyFunction;
+  private final ToIntFunction<Process> weightFunction;
+  private final TreeMap<Entry, Process> timeline = new TreeMap<>(ORDER);
+  private final Map<Process, Entry> entries = new HashMap<>();
+  private long totalWeight;
+  private long seq;
+
+  public TimelineReadyQueue(ToLongFunction<Process> keyFunction, ToIntFunction<Process> weightFunction) {
+    this.keyFunction = keyFunction;
+    this.weightFunction = weightFunction;
+  }
+
+  @Override
+  public boolean offer(Process process) {
+    if (entries.containsKey(process)) {
+      return false;
+    }
+    Entry e = new Entry(process, keyFunction.applyAsLong(process), weightFunction.applyAsInt(process), seq++);
+    timeline.put(e, process);
+    entries.put(process, e);
+    totalWeight += e.weight;
+    return true;
+  }
+
+  @Override
+  public Process peek() {
+    Map.Entry<Entry, Process> first = timeline.firstEntry();
+    return first == null ? null : first.getValue();
+  }
+
+  @Override
+  public boolean remove(Process process) {
+    Entry e = entries.remove(process);
+    if (e == null) {
+      return false;
+    }
+    timeline.remove(e);
+    totalWeight -= e.weight;
+    return true;
+  }
+
+  @Override
+  public void update(Process process) {
+    Entry e = entries.get(process);
+    if (e == null) {
+      return;
+    }
+    timeline.remove(e);
+    totalWeight -= e.weight;
+    e.key = keyFunction.applyAsLong(process);
+    e.weight = weightFunction.applyAsInt(process);
+    timeline.put(e, process);
+    totalWeight += e.weight;
+  }
+
+  public long totalWeight() {
+    return totalWeight;
+  }
+
+  @Override
+  public boolean contains(Process process) {
+    return entries.containsKey(process);
+  }
+
+  @Override
+  public int size() {
+    return entries.size();
+  }
+
+  @Override
+  public void clear() {
+    timeline.clear();
+    entries.clear();
+    totalWeight = 0;
+  }
+
+  @Override
+  public List<Process> snapshot() {
+    List<Entry> ordered = new ArrayList<>(entries.values());
+    ordered.sort(Comparator.comparingLong(e -> e.seq));
+    List<Process> result = new ArrayList<>(ordered.size());
+    for (Entry e : ordered) {
+      result.add(e.process);
+    }
+    return result;
+  }
+
+  // Recorre en orden de vruntime
+  @Override
+  public Iterator<Process> iterator() {
+    return Collections.unmodifiableCollection(timeline.values()).iterator();
+  }
+}
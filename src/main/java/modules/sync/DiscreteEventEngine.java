@@ -0,0 +1,944 @@
+package modules.sync;
+
+import model.Burst;
+import model.Config;
+import model.DatosResultados;
+import model.Process;
+import model.ProcessState;
+import modules.memory.MemoryManager;
+import modules.scheduler.RoundRobin;
+import modules.scheduler.Scheduler;
+import modules.trace.TraceRecorder;
+import modules.trace.TraceWriter;
+import utils.Logger;
+import utils.SimulationFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/*
+DiscreteEventEngine
+Motor de simulacion por eventos discretos. Corre en un solo thread, sin
+ProcessThread ni sleep: el reloj salta directamente al tiempo del siguiente
+evento pendiente.
+
+EVENTOS (en orden de atencion dentro del mismo instante):
+  CPU_COMPLETE: termina la porcion de CPU programada (rafaga o quantum).
+  CONTEXT_SWITCH_END: termina el overhead de cambio de contexto.
+  IO_COMPLETE: termina la rafaga de E/S en el dispositivo.
+  PAGE_FAULT_END: termina la penalizacion por fallo de pagina.
+  ARRIVAL: llegada de un proceso al sistema.
+  BALANCE: balanceo periodico de colas entre nucleos (LoadBalancing.PERIODIC).
+  Dentro del mismo tipo se respeta el orden en que fueron programados.
+
+MODELO:
+  - Config.cores nucleos y los dispositivos de E/S de Config (IODevice), cada
+    uno con su cola, disciplina y canales, igual que IOManager.
+  - Al quitarle la CPU a un proceso que no termino (E/S, quantum, expropiacion)
+    el proceso pasa por CONTEXT_SWITCHING durante contextSwitchOverhead; mientras
+    tanto la CPU cuenta como ociosa, igual que en SimulationEngine.
+  - El tiempo de espera se acumula por intervalos en READY en lugar de tick a tick.
+
+MULTINUCLEO (Config.cores > 1):
+  Cada nucleo (Core) tiene su propio Scheduler del mismo algoritmo, con su cola
+  READY, su proceso en ejecucion y sus metricas; el nucleo 0 usa el Scheduler
+  recibido y los demas salen de SimulationFactory. La memoria y la E/S son
+  compartidas.
+  - Un proceso que pasa a READY entra a la cola del ultimo nucleo donde estuvo
+    si Config.affinity, o a la del nucleo menos cargado (cola + ejecutando).
+  - STEALING: un nucleo sin trabajo toma el siguiente proceso de la cola mas
+    larga. PERIODIC: cada balanceInterval se mueven procesos de la cola mas
+    cargada a la menos cargada hasta que difieran en uno como mucho.
+  - Los totales de DatosResultados son sumas de los nucleos y usoNucleos trae
+    el uso de cada uno. El listener recibe ademas onCoreExecutionStarted/Ended
+    (una fila por nucleo en el Gantt).
+  Con un nucleo el comportamiento es exactamente el de una sola CPU.
+
+PARIDAD CON SimulationEngine (lo comprueba TestMotores sobre data/caso*.txt):
+  Con un nucleo da los mismos DatosResultados, tiempos por proceso y callbacks
+  de SimulationStateListener, por lo que puede usarse para corridas grandes sin
+  interfaz. Los dos motores aplican las mismas reglas:
+  - Cambio de contexto solo al quitarle la CPU a un proceso que no termino; la
+    porcion que se le cobra al planificador (CFS) se descuenta antes de encolar.
+  - Expropiacion solo cuando la cola READY recibio a alguien (nunca en Round Robin).
+  - Un proceso que termina con CPU completa al final de su ultima unidad; una
+    E/S de d unidades que empieza en t termina en t + d.
+  - Fallo de pagina al despachar: el proceso no sale de la cola READY y la CPU
+    queda ociosa durante la penalizacion; al volver, lo que perdio se carga sin
+    otra penalizacion. Sin cadena de referencias no se revisan las paginas
+    durante la rafaga.
+  Lo que no tiene el motor con threads: varios nucleos (corre una sola CPU y
+  avisa), balanceo, afinidad y el modo streaming. Con Config.timeUnit > 0 el
+  resultado es el mismo, solo cambia el ritmo.
+
+MODO STREAMING (constructor con Iterator<Process>, ej. utils.ProcessStream):
+  Los procesos se piden de a uno: al llegar un proceso recien se lee el
+  siguiente y se programa su ARRIVAL, asi que deben venir ordenados por
+  llegada. Los terminados no se guardan; las metricas por proceso se acumulan
+  en sumas y DatosResultados sale sin resumen por proceso. La memoria queda
+  acotada por los procesos vivos, no por el tamaño del archivo.
+*/
+
+public class DiscreteEventEngine {
+
+  enum EventType {
+    CPU_COMPLETE,
+    CONTEXT_SWITCH_END,
+    IO_COMPLETE,
+    PAGE_FAULT_END,
+    ARRIVAL,
+    BALANCE
+  }
+
+  static final class SimEvent implements Comparable<SimEvent> {
+    final int time;
+    final EventType type;
+    final Process process;
+    final long seq;
+    boolean cancelled;
+
+    SimEvent(int time, EventType type, Process process, long seq) {
+      this.time = time;
+      this.type = type;
+      this.process = process;
+      this.seq = seq;
+    }
+
+    @Override
+    public int compareTo(SimEvent o) {
+      if (time != o.time) return Integer.compare(time, o.time);
+      if (type != o.type) return type.compareTo(o.type);
+      return Long.compare(seq, o.seq);
+    }
+  }
+
+  // Un nucleo: su cola READY (Scheduler propio) y lo que esta ejecutando
+  static final class Core {
+    final int id;
+    final Scheduler scheduler;
+    Process running;          // proceso ejecutando
+    Process switching;        // proceso en cambio de contexto (nucleo ocioso)
+    SimEvent cpuEvent;        // fin de la porcion actual (cancelable)
+    int sliceStart;
+    int quantumUsed;
+    boolean readyChanged;
+
+    Core(int id, Scheduler scheduler) {
+      this.id = id;
+      this.scheduler = scheduler;
+    }
+
+    boolean isBusy() {
+      return running != null || switching != null;
+    }
+
+    int load() {
+      return scheduler.getReadyQueueSize() + (isBusy() ? 1 : 0);
+    }
+  }
+
+  private final Scheduler scheduler;   // el del nucleo 0
+  private final Core[] cores;
+  private final Map<String, Core> coreOf = new HashMap<>();   // nucleo actual o ultimo (varios nucleos)
+  private final MemoryManager memoryManager;
+  private final SyncController syncController;
+  private final List<Process> allProcesses;   // null en modo streaming
+  private final Config config;
+
+  // Modo streaming: fuente de procesos, vivos y metricas acumuladas
+  private final Iterator<Process> arrivals;
+  private final Set<Process> liveProcesses = new LinkedHashSet<>();
+  private int admittedProcesses;
+  private long sumWaiting;
+  private long sumTurnaround;
+  private long sumResponse;
+  private final WaitHistogram waits = new WaitHistogram();
+
+  private final PriorityQueue<SimEvent> events = new PriorityQueue<>();
+  private long eventSeq;
+
+  private DatosResultados datosFinales;
+  private SimulationStateListener stateListener;
+  private TraceRecorder traceRecorder;
+
+  private int currentTime;
+  private volatile boolean running;
+  private int completedProcesses;
+
+  // Dispositivos de E/S
+  private final Map<String, IODevice> devices = new LinkedHashMap<>();
+  private final IODevice defaultDevice;
+
+  private final Map<String, Integer> readySince = new HashMap<>();
+  private final Map<String, Integer> executionStartTimes = new HashMap<>();
+  private final Set<Process> blockedIO = new LinkedHashSet<>();
+  private final Set<Process> blockedMemory = new LinkedHashSet<>();
+  // Fallos del despacho: el proceso atiende la penalizacion sin salir de la cola READY
+  private final Set<Process> faultingReady = new HashSet<>();
+
+  public DiscreteEventEngine(Scheduler scheduler, MemoryManager memoryManager,
+      List<Process> processes, Config config) {
+    this(scheduler, memoryManager, processes, null, config);
+  }
+
+  // Modo streaming: 'arrivals' en orden de llegada, se consume durante run()
+  public DiscreteEventEngine(Scheduler scheduler, MemoryManager memoryManager,
+      Iterator<Process> arrivals, Config config) {
+    this(scheduler, memoryManager, null, arrivals, config);
+  }
+
+  private DiscreteEventEngine(Scheduler scheduler, MemoryManager memoryManager,
+      List<Process> processes, Iterator<Process> arrivals, Config config) {
+    this.scheduler = scheduler;
+    this.memoryManager = memoryManager;
+    this.syncController = new SyncController(scheduler, memoryManager, config);
+    this.allProcesses = processes;
+    this.arrivals = arrivals;
+    this.config = config;
+    this.currentTime = 0;
+    this.running = false;
+
+    this.cores = new Core[config.getCores()];
+    cores[0] = new Core(0, scheduler);
+    for (int i = 1; i < cores.length; i++) {
+      cores[i] = new Core(i, SimulationFactory.createScheduler(config));
+    }
+
+    for (Config.DeviceConfig deviceConfig : config.getIODevices()) {
+      devices.put(deviceConfig.getName(), new IODevice(deviceConfig));
+    }
+    this.defaultDevice = devices.get(config.getDefaultIODevice().getName());
+  }
+
+  public void setStateListener(SimulationStateListener listener) {
+    this.stateListener = listener;
+  }
+
+  public void run() {
+    running = true;
+    syncController.start();
+    startTrace();
+
+    if (allProcesses != null) {
+      for (Process p : allProcesses) {
+        schedule(p.getArrivalTime(), EventType.ARRIVAL, p);
+      }
+      admittedProcesses = allProcesses.size();
+    } else {
+      admitNext();
+    }
+    if (cores.length > 1 && config.getLoadBalancing() == Config.LoadBalancing.PERIODIC) {
+      schedule(config.getBalanceInterval(), EventType.BALANCE, null);
+    }
+
+    notifyUIUpdate();
+    while (running && completedProcesses < admittedProcesses) {
+      SimEvent event = events.poll();
+      if (event == null) {
+        Logger.warning("[DES] Sin eventos pendientes con procesos sin terminar");
+        break;
+      }
+      if (event.cancelled) {
+        continue;
+      }
+
+      advanceTo(event.time);
+      handleEvent(event);
+
+      // Atender todo lo que ocurre en el mismo instante antes de planificar
+      while (!events.isEmpty() && events.peek().time == currentTime) {
+        SimEvent next = events.poll();
+        if (!next.cancelled) {
+          handleEvent(next);
+        }
+      }
+
+      dispatch();
+      notifyUIUpdate();
+    }
+
+    finishOpenExecutions();
+    finishTrace();
+    syncController.stop();
+    running = false;
+
+    showResults();
+    datosFinales = allProcesses != null
+        ? SimulationEngine.construirResultados(allProcesses, coreSchedulers(), memoryManager)
+        : streamingResults();
+  }
+
+  // Streaming: programa la llegada del siguiente proceso de la fuente
+  private void admitNext() {
+    if (!arrivals.hasNext()) {
+      return;
+    }
+    Process p = arrivals.next();
+    if (p.getArrivalTime() < currentTime) {
+      throw new IllegalStateException("Procesos fuera de orden de llegada: " + p.getPid()
+          + " llega en " + p.getArrivalTime() + " y el reloj ya esta en " + currentTime);
+    }
+    schedule(p.getArrivalTime(), EventType.ARRIVAL, p);
+    admittedProcesses++;
+  }
+
+  // Mismas metricas que construirResultados, a partir de las sumas
+  private DatosResultados streamingResults() {
+    for (Process p : liveProcesses) {
+      accumulate(p);
+    }
+    int total = admittedProcesses;
+    int tiempoCpu = 0;
+    int tiempoOcioso = 0;
+    int cambiosContexto = 0;
+    List<Double> usoNucleos = new ArrayList<>();
+    for (Core core : cores) {
+      tiempoCpu += core.scheduler.getTiempoCpuTotal();
+      tiempoOcioso += core.scheduler.getTiempoOcioso();
+      cambiosContexto += core.scheduler.getCambiosContexto();
+      usoNucleos.add(core.scheduler.getCPUTimePercent());
+    }
+    return new DatosResultados(
+        total > 0 ? (double) sumWaiting / total : 0,
+        total > 0 ? (double) sumTurnaround / total : 0,
+        total > 0 ? (double) sumResponse / total : 0,
+        tiempoCpu + tiempoOcioso > 0 ? (tiempoCpu * 100.0) / (tiempoCpu + tiempoOcioso) : 0,
+        completedProcesses,
+        total,
+        cambiosContexto,
+        tiempoCpu,
+        tiempoOcioso,
+        memoryManager.getTotalPageLoads(),
+        memoryManager.getPageFaults(),
+        memoryManager.getPageReplacements(),
+        memoryManager.getTotalFrames(),
+        memoryManager.getFreeFrames(),
+        new ArrayList<>(),
+        scheduler.getAlgorithmName(),
+        memoryManager.getAlgorithmName(),
+        usoNucleos,
+        waits.max(),
+        waits.percentile(99));
+  }
+
+  private List<Scheduler> coreSchedulers() {
+    List<Scheduler> schedulers = new ArrayList<>(cores.length);
+    for (Core core : cores) {
+      schedulers.add(core.scheduler);
+    }
+    return schedulers;
+  }
+
+  private void accumulate(Process p) {
+    sumWaiting += p.getWaitingTime();
+    sumTurnaround += p.getTurnaroundTime();
+    sumResponse += p.getResponseTime();
+    waits.add(p.getWaitingTime());
+  }
+
+  private SimEvent schedule(int time, EventType type, Process process) {
+    SimEvent event = new SimEvent(time, type, process, eventSeq++);
+    events.add(event);
+    return event;
+  }
+
+  // Avanza el reloj contabilizando el tiempo ocioso de cada nucleo
+  private void advanceTo(int time) {
+    int delta = time - currentTime;
+    if (delta > 0) {
+      for (Core core : cores) {
+        if (core.running == null) {
+          core.scheduler.recordIdleTime(delta);
+        }
+      }
+    }
+    currentTime = time;
+    syncController.synchronizeTime(time);
+    for (int i = 1; i < cores.length; i++) {
+      cores[i].scheduler.setCurrentTime(time);
+    }
+  }
+
+  // Nucleo donde esta (o estuvo por ultima vez) el proceso
+  private Core coreOf(Process p) {
+    return cores.length == 1 ? cores[0] : coreOf.get(p.getPid());
+  }
+
+  private void handleEvent(SimEvent event) {
+    Process p = event.process;
+    switch (event.type) {
+      case ARRIVAL -> handleArrival(p);
+      case CPU_COMPLETE -> handleCPUComplete(p);
+      case CONTEXT_SWITCH_END -> handleContextSwitchEnd(p);
+      case IO_COMPLETE -> handleIOComplete(p);
+      case PAGE_FAULT_END -> handlePageFaultEnd(p);
+      case BALANCE -> handleBalance();
+    }
+  }
+
+  private void handleArrival(Process p) {
+    if (arrivals != null) {
+      liveProcesses.add(p);
+      if (traceRecorder != null) {
+        p.setStateListener(traceRecorder);
+      }
+      admitNext();
+    }
+    Logger.syncLog(String.format("[T=%d] [ARRIVAL] %s llega al sistema", currentTime, p.getPid()));
+    syncController.registerProcess(p);
+
+    Burst first = p.getCurrentBurst();
+    if (first == null) {
+      terminate(p);
+    } else if (first.isIO()) {
+      startIO(p);
+    } else {
+      makeReady(p);
+    }
+  }
+
+  private void handleCPUComplete(Process p) {
+    Core core = coreOf(p);
+    core.cpuEvent = null;
+    settleRunning(core);
+
+    Burst burst = p.getCurrentBurst();
+    if (!burst.isCompleted() && burst.hasReferences() && !syncController.hasAllRequiredPages(p)) {
+      handlePageMiss(core, p);
+      return;
+    }
+    if (!burst.isCompleted()) {
+      endSlice(core, p);
+      return;
+    }
+
+    Logger.exeLog(String.format("[T=%d] [%s] Rafaga CPU completada (%d unidades)",
+        currentTime, p.getPid(), burst.getDuration()));
+
+    releaseCPU(core, p);
+    p.advanceBurst();
+    Burst next = p.getCurrentBurst();
+
+    if (next == null) {
+      terminate(p);
+    } else if (next.isIO()) {
+      beginContextSwitch(core, p);
+    } else {
+      makeReady(p);
+    }
+  }
+
+  // Porcion terminada sin terminar la rafaga: quantum agotado
+  private void endSlice(Core core, Process p) {
+    int slice = core.scheduler.getTimeSlice(p);
+    if (slice > 0 && core.quantumUsed >= slice) {
+      core.scheduler.onQuantumExpired(p);
+    }
+    if (!core.scheduler.hasReadyProcesses()) {
+      core.quantumUsed = 0;
+      scheduleSlice(core);
+      return;
+    }
+    Logger.exeLog(String.format("[T=%d] [DES] Quantum agotado: %s", currentTime, p.getPid()));
+    releaseCPU(core, p);
+    beginContextSwitch(core, p);
+  }
+
+  // La proxima unidad usa una pagina que no esta cargada (cadena de referencias)
+  private void handlePageMiss(Core core, Process p) {
+    if (syncController.prepareProcessForExecution(p)) {
+      // Sin penalizacion: carga la pagina y sigue. Con el quantum agotado se
+      // resuelve aca mismo y no con una porcion vacia: ese CPU_COMPLETE en el
+      // mismo instante dejaba que otro nucleo desalojara la pagina antes, y
+      // los dos nucleos se la quitaban sin avanzar el reloj
+      int slice = core.scheduler.getTimeSlice(p);
+      if (slice > 0 && core.quantumUsed >= slice) {
+        endSlice(core, p);
+      } else {
+        scheduleSlice(core);
+      }
+      return;
+    }
+    releaseCPU(core, p);
+    blockedMemory.add(p);
+    schedule(p.getPageFaultEndTime(), EventType.PAGE_FAULT_END, p);
+  }
+
+  private void handleContextSwitchEnd(Process p) {
+    coreOf(p).switching = null;
+    p.clearContextSwitch();
+
+    Burst next = p.getCurrentBurst();
+    if (next != null && next.isIO()) {
+      startIO(p);
+    } else {
+      makeReady(p);
+    }
+  }
+
+  private void handleIOComplete(Process p) {
+    Burst burst = p.getCurrentBurst();
+    IODevice device = deviceFor(burst);
+    burst.execute(burst.getDuration());
+    p.advanceBurst();
+    device.finish(burst.getDuration());
+    blockedIO.remove(p);
+    scheduler.onIOComplete(p); // MLFQ: el nivel va en el Process, sirve cualquier nucleo
+
+    Logger.procLog(String.format("[T=%d] [I/O] I/O completada para %s (duración: %d unidades)",
+        currentTime, p.getPid(), burst.getDuration()));
+    if (stateListener != null) {
+      stateListener.onIOEnded(p.getPid(), currentTime, device.getName());
+    }
+
+    Burst next = p.getCurrentBurst();
+    if (next == null) {
+      terminate(p);
+    } else if (next.isIO()) {
+      startIO(p);
+    } else {
+      makeReady(p);
+    }
+
+    startPendingIO(device);
+    notifyBlockedIOChanged();
+  }
+
+  private void handlePageFaultEnd(Process p) {
+    Logger.memLog(String.format("[T=%d] [PAGE FAULT] %s completó penalty", currentTime, p.getPid()));
+    if (p.getCurrentReference() < 0) {
+      p.clearPageFault(); // con cadena de referencias lo limpia el despacho (ver SyncController)
+    }
+    blockedMemory.remove(p);
+    if (faultingReady.remove(p)) {
+      return; // sigue en la cola: el proximo despacho lo encuentra con sus paginas
+    }
+    makeReady(p);
+  }
+
+  // Balanceo periodico; se reprograma mientras quede algo pendiente
+  private void handleBalance() {
+    rebalance();
+    if (!events.isEmpty()) {
+      schedule(currentTime + config.getBalanceInterval(), EventType.BALANCE, null);
+    }
+  }
+
+  // Decision de planificacion al final de cada instante
+  private void dispatch() {
+    for (Core core : cores) {
+      dispatch(core);
+    }
+    if (cores.length > 1 && config.getLoadBalancing() == Config.LoadBalancing.STEALING) {
+      for (Core core : cores) {
+        while (!core.isBusy() && !core.scheduler.hasReadyProcesses() && steal(core)) {
+          dispatch(core);
+        }
+      }
+    }
+  }
+
+  private void dispatch(Core core) {
+    if (core.switching != null) {
+      return;
+    }
+
+    if (core.running != null) {
+      checkPreemption(core);
+      return;
+    }
+
+    Process next = core.scheduler.selectNextProcess();
+    if (next == null || faultingReady.contains(next) && next.isWaitingForPageFault()) {
+      return;
+    }
+
+    if (syncController.prepareProcessForExecution(next)) {
+      leaveReady(next);
+      core.scheduler.confirmProcessSelection(next);
+      startRunning(core, next);
+      return;
+    }
+
+    // Fallo de pagina con penalizacion: como en SimulationEngine, el nucleo
+    // queda ocioso mientras se atiende y el proceso no sale de la cola. Si se
+    // probara con el siguiente, cada uno desalojaria las paginas del anterior
+    // y con pocos marcos ninguno llegaria a correr
+    leaveReady(next);
+    faultingReady.add(next);
+    blockedMemory.add(next);
+    schedule(next.getPageFaultEndTime(), EventType.PAGE_FAULT_END, next);
+  }
+
+  // Solo se re-evalua cuando la cola READY del nucleo cambio en este instante
+  private void checkPreemption(Core core) {
+    if (!core.readyChanged || core.scheduler instanceof RoundRobin) {
+      core.readyChanged = false;
+      return;
+    }
+    core.readyChanged = false;
+
+    settleRunning(core);
+    Process candidate = core.scheduler.selectNextProcess();
+    if (candidate == null || candidate == core.running) {
+      return;
+    }
+    if (core.scheduler.shouldPreempt(core.running, candidate)) {
+      Process preempted = core.running;
+      core.cpuEvent.cancelled = true;
+      core.cpuEvent = null;
+      releaseCPU(core, preempted);
+      beginContextSwitch(core, preempted);
+    }
+  }
+
+  // Robo de trabajo: el siguiente proceso de la cola mas larga pasa a 'thief'
+  private boolean steal(Core thief) {
+    Core victim = null;
+    for (Core core : cores) {
+      if (core != thief && core.scheduler.hasReadyProcesses()
+          && (victim == null || core.scheduler.getReadyQueueSize() > victim.scheduler.getReadyQueueSize())) {
+        victim = core;
+      }
+    }
+    if (victim == null) {
+      return false;
+    }
+    migrate(victim.scheduler.peekNextProcess(), victim, thief);
+    return true;
+  }
+
+  // Mueve procesos de la cola mas cargada a la menos cargada hasta emparejarlas
+  private void rebalance() {
+    while (true) {
+      Core busiest = cores[0];
+      Core idlest = cores[0];
+      for (Core core : cores) {
+        if (core.load() > busiest.load()) {
+          busiest = core;
+        }
+        if (core.load() < idlest.load()) {
+          idlest = core;
+        }
+      }
+      if (busiest.load() - idlest.load() <= 1 || !busiest.scheduler.hasReadyProcesses()) {
+        return;
+      }
+      migrate(busiest.scheduler.peekNextProcess(), busiest, idlest);
+    }
+  }
+
+  private void migrate(Process p, Core from, Core to) {
+    from.scheduler.removeProcess(p);
+    to.scheduler.addProcess(p);
+    to.readyChanged = true;
+    coreOf.put(p.getPid(), to);
+    Logger.exeLog(String.format("[T=%d] [DES] %s pasa del nucleo %d al %d",
+        currentTime, p.getPid(), from.id, to.id));
+  }
+
+  private void startRunning(Core core, Process p) {
+    p.setState(ProcessState.RUNNING);
+    p.markFirstExecution(currentTime);
+    core.running = p;
+    core.sliceStart = currentTime;
+    core.quantumUsed = 0;
+
+    if (stateListener != null) {
+      stateListener.onProcessExecutionStarted(p.getPid(), currentTime);
+      if (cores.length > 1) {
+        stateListener.onCoreExecutionStarted(core.id, p.getPid(), currentTime);
+      }
+    }
+    executionStartTimes.put(p.getPid(), currentTime);
+
+    scheduleSlice(core);
+  }
+
+  private void scheduleSlice(Core core) {
+    Process p = core.running;
+    int length = p.getCurrentBurst().getRemainingTime();
+    int slice = core.scheduler.getTimeSlice(p);
+    if (slice > 0) {
+      // la porcion puede achicarse mientras corre (CFS): si ya la consumio, vence ahora
+      length = Math.min(length, Math.max(0, slice - core.quantumUsed));
+    }
+    length = residentRun(p, length);
+    core.cpuEvent = schedule(currentTime + length, EventType.CPU_COMPLETE, p);
+  }
+
+  // Unidades (hasta 'limit') que corre antes de tocar una pagina que no esta
+  // cargada; sin cadena de referencias no se corta
+  private int residentRun(Process p, int limit) {
+    Burst burst = p.getCurrentBurst();
+    if (!burst.hasReferences()) {
+      return limit;
+    }
+    int first = burst.getExecutedTime();
+    for (int i = 0; i < limit; i++) {
+      if (!memoryManager.isPageLoaded(p.getPid(), burst.getReference(first + i))) {
+        return i;
+      }
+    }
+    return limit;
+  }
+
+  // Aplica a la rafaga el tiempo de CPU consumido desde el ultimo ajuste
+  private void settleRunning(Core core) {
+    Process p = core.running;
+    if (p == null) {
+      return;
+    }
+    int executed = currentTime - core.sliceStart;
+    if (executed > 0) {
+      Burst burst = p.getCurrentBurst();
+      int firstUnit = burst.getExecutedTime();
+      burst.execute(executed);
+      core.scheduler.recordCPUTime(executed);
+      core.scheduler.accountExecution(p, executed);
+      core.quantumUsed += executed;
+      syncController.recordExecution(p, burst, firstUnit, executed, core.sliceStart);
+    }
+    core.sliceStart = currentTime;
+  }
+
+  private void releaseCPU(Core core, Process p) {
+    notifyExecutionEnded(core, p);
+    core.running = null;
+    core.scheduler.setCurrentProcess(null);
+  }
+
+  private void beginContextSwitch(Core core, Process p) {
+    int overhead = config.getContextSwitchOverhead();
+    int endTime = currentTime + overhead;
+
+    p.setState(ProcessState.CONTEXT_SWITCHING);
+    p.setContextSwitchEndTime(endTime);
+    core.scheduler.incrementContextSwitch();
+    core.switching = p;
+
+    if (stateListener != null) {
+      stateListener.onContextSwitch(p.getPid(), currentTime, overhead);
+    }
+    schedule(endTime, EventType.CONTEXT_SWITCH_END, p);
+  }
+
+  private void startIO(Process p) {
+    p.setState(ProcessState.BLOCKED_IO);
+    blockedIO.add(p);
+
+    IODevice device = deviceFor(p.getCurrentBurst());
+    device.enqueue(p);
+    startPendingIO(device);
+    notifyBlockedIOChanged();
+  }
+
+  // Ocupa los canales libres del dispositivo con lo que tenga en cola
+  private void startPendingIO(IODevice device) {
+    Process next;
+    while ((next = device.startNext()) != null) {
+      beginIO(device, next);
+    }
+  }
+
+  private IODevice deviceFor(Burst burst) {
+    String tag = burst.getDevice();
+    IODevice device = tag != null ? devices.get(tag) : null;
+    return device != null ? device : defaultDevice;
+  }
+
+  private void beginIO(IODevice device, Process p) {
+    int duration = p.getCurrentBurst().getRemainingTime();
+
+    Logger.procLog(String.format("[T=%d] [I/O] Procesando I/O en %s para %s (duración: %d, fin: t=%d)",
+        currentTime, device.getName(), p.getPid(), duration, currentTime + duration));
+    if (stateListener != null) {
+      stateListener.onIOStarted(p.getPid(), currentTime, device.getName());
+    }
+    schedule(currentTime + duration, EventType.IO_COMPLETE, p);
+  }
+
+  private void makeReady(Process p) {
+    p.setState(ProcessState.READY);
+    readySince.put(p.getPid(), currentTime);
+    Core core = placeReady(p);
+    // Lo que ya corrio el del nucleo cuenta antes de encolar (CFS ubica al
+    // nuevo segun el vruntime minimo), igual que en SimulationEngine
+    settleRunning(core);
+    core.scheduler.addProcess(p);
+    core.readyChanged = true;
+  }
+
+  // Con afinidad vuelve al ultimo nucleo; si no, a la cola menos cargada
+  private Core placeReady(Process p) {
+    if (cores.length == 1) {
+      return cores[0];
+    }
+    Core last = coreOf.get(p.getPid());
+    if (config.isAffinity() && last != null) {
+      return last;
+    }
+    Core best = cores[0];
+    for (Core core : cores) {
+      if (core.load() < best.load()) {
+        best = core;
+      }
+    }
+    coreOf.put(p.getPid(), best);
+    return best;
+  }
+
+  private void leaveReady(Process p) {
+    Integer since = readySince.remove(p.getPid());
+    if (since != null) {
+      p.addWaitingTime(currentTime - since);
+    }
+  }
+
+  private void terminate(Process p) {
+    p.setCompletionTime(currentTime);
+    syncController.releaseProcessResources(p);
+    coreOf.remove(p.getPid());
+    completedProcesses++;
+    if (arrivals != null) {
+      accumulate(p);
+      liveProcesses.remove(p);
+      p.setStateListener(null);
+    }
+  }
+
+  private void notifyExecutionEnded(Core core, Process p) {
+    Integer start = executionStartTimes.remove(p.getPid());
+    if (start != null && stateListener != null) {
+      stateListener.onProcessExecutionEnded(p.getPid(), currentTime);
+      if (cores.length > 1) {
+        stateListener.onCoreExecutionEnded(core.id, p.getPid(), currentTime);
+      }
+    }
+  }
+
+  private void finishOpenExecutions() {
+    if (stateListener != null) {
+      for (String pid : executionStartTimes.keySet()) {
+        stateListener.onProcessExecutionEnded(pid, currentTime);
+      }
+      for (Core core : cores) {
+        if (cores.length > 1 && core.running != null) {
+          stateListener.onCoreExecutionEnded(core.id, core.running.getPid(), currentTime);
+        }
+      }
+    }
+    executionStartTimes.clear();
+  }
+
+  private void notifyUIUpdate() {
+    if (stateListener == null) {
+      return;
+    }
+    if (!stateListener.wantsQueueSnapshots()) {
+      stateListener.onTimeChanged(currentTime);
+      return;
+    }
+    stateListener.onReadyQueueChanged(readySnapshot());
+    stateListener.onBlockedMemoryChanged(new ArrayList<>(blockedMemory));
+    stateListener.onRunningProcessesChanged(runningSnapshot());
+    stateListener.onTimeChanged(currentTime);
+  }
+
+  // Colas de todos los nucleos, en orden de nucleo
+  private List<Process> readySnapshot() {
+    if (cores.length == 1) {
+      return scheduler.getReadyQueueSnapshot();
+    }
+    List<Process> ready = new ArrayList<>();
+    for (Core core : cores) {
+      ready.addAll(core.scheduler.getReadyQueueSnapshot());
+    }
+    return ready;
+  }
+
+  // Los procesos en ejecucion, en orden de nucleo
+  private List<Process> runningSnapshot() {
+    List<Process> running = new ArrayList<>(cores.length);
+    for (Core core : cores) {
+      if (core.running != null) {
+        running.add(core.running);
+      }
+    }
+    return running;
+  }
+
+  // Traza binaria opcional (Config.traceFile): envuelve al listener actual
+  private void startTrace() {
+    if (config.getTraceFile() == null) {
+      return;
+    }
+    try {
+      TraceWriter writer = new TraceWriter(Paths.get(config.getTraceFile()));
+      traceRecorder = new TraceRecorder(writer, scheduler::getCurrentTime, stateListener);
+    } catch (IOException e) {
+      Logger.error("No se pudo abrir la traza " + config.getTraceFile() + ": " + e.getMessage());
+      return;
+    }
+    traceRecorder.attach(memoryManager, knownProcesses());
+    setStateListener(traceRecorder);
+  }
+
+  private void finishTrace() {
+    if (traceRecorder == null) {
+      return;
+    }
+    traceRecorder.detach(memoryManager, knownProcesses());
+    setStateListener(traceRecorder.getDelegate());
+    try {
+      traceRecorder.close();
+      Logger.log("Traza grabada en " + config.getTraceFile() + " (" + traceRecorder.getRecordCount() + " registros)");
+    } catch (IOException e) {
+      Logger.error("No se pudo cerrar la traza " + config.getTraceFile() + ": " + e.getMessage());
+    }
+    traceRecorder = null;
+  }
+
+  private List<Process> knownProcesses() {
+    return allProcesses != null ? allProcesses : new ArrayList<>(liveProcesses);
+  }
+
+  private void notifyBlockedIOChanged() {
+    if (stateListener != null) {
+      stateListener.onBlockedIOChanged(new ArrayList<>(blockedIO));
+    }
+  }
+
+  private void showResults() {
+    for (Core core : cores) {
+      core.scheduler.printMetrics();
+    }
+    memoryManager.printMetrics();
+  }
+
+  public void stop() {
+    running = false;
+  }
+
+  public DatosResultados getDatosFinales() {
+    return datosFinales;
+  }
+
+  public int getCurrentTime() {
+    return currentTime;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+}
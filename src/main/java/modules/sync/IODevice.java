@@ -0,0 +1,119 @@
+package modules.sync;
+
+import model.Burst;
+import model.Config;
+import model.Process;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/*
+IODevice
+Estado de un dispositivo de E/S simulado: su cola de espera y sus canales.
+Lo usan IOManager (un thread por canal) y DiscreteEventEngine (por eventos).
+No es thread-safe: IOManager sincroniza sobre la instancia.
+
+DISCIPLINAS:
+  FIFO: atiende en orden de llegada.
+  SSTF: atiende primero la rafaga con menor tiempo restante;
+        los empates se resuelven por orden de llegada.
+
+METODOS:
+  enqueue(): agrega un proceso a la cola del dispositivo.
+  startNext(): ocupa un canal libre con el siguiente proceso de la cola.
+  finish(): libera el canal y acumula las estadisticas.
+*/
+
+public class IODevice {
+
+  private static final class Entry {
+    final Process process;
+    final int remaining;
+    final long seq;
+
+    Entry(Process process, long seq) {
+      this.process = process;
+      Burst burst = process.getCurrentBurst();
+      this.remaining = burst != null ? burst.getRemainingTime() : 0;
+      this.seq = seq;
+    }
+  }
+
+  private final String name;
+  private final int channels;
+  private final Config.IODiscipline discipline;
+  private final Queue<Entry> queue;
+  private long seq;
+
+  private int busyChannels;
+  private int completedOperations;
+  private int busyTime;
+
+  public IODevice(Config.DeviceConfig config) {
+    this.name = config.getName();
+    this.channels = config.getChannels();
+    this.discipline = config.getDiscipline();
+    this.queue = discipline == Config.IODiscipline.SSTF
+        ? new PriorityQueue<>(Comparator.<Entry>comparingInt(e -> e.remaining).thenComparingLong(e -> e.seq))
+        : new ArrayDeque<>();
+  }
+
+  public void enqueue(Process process) {
+    queue.offer(new Entry(process, seq++));
+  }
+
+  public boolean hasFreeChannel() {
+    return busyChannels < channels;
+  }
+
+  // Ocupa un canal con el siguiente proceso, o null si no hay cola o canal libre
+  public Process startNext() {
+    if (!hasFreeChannel() || queue.isEmpty()) {
+      return null;
+    }
+    busyChannels++;
+    return queue.poll().process;
+  }
+
+  public void finish(int duration) {
+    busyChannels--;
+    completedOperations++;
+    busyTime += duration;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getChannels() {
+    return channels;
+  }
+
+  public Config.IODiscipline getDiscipline() {
+    return discipline;
+  }
+
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  public int getBusyChannels() {
+    return busyChannels;
+  }
+
+  public int getCompletedOperations() {
+    return completedOperations;
+  }
+
+  public int getBusyTime() {
+    return busyTime;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[canales=%d/%d, cola=%d, %s]",
+        name, busyChannels, channels, queue.size(), discipline);
+  }
+}
@@ -6,33 +6,48 @@ import model.ProcessState;
 import utils.Logger;
 import model.Config;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-public class IOManager implements Runnable {
-  
-  private static class IORequest {
-    final Process process;
-    final Burst ioBurst;
-    
-
-    IORequest(Process process, Burst ioBurst, int requestTime) {
-      this.process = process;
-      this.ioBurst = ioBurst;
-    }
-  }
-
-  private final BlockingQueue<IORequest> ioQueue;
+/*
+IOManager
+Atiende las rafagas de E/S en varios dispositivos simulados (Config.getIODevices()).
+Cada dispositivo tiene su propia cola, disciplina (FIFO o SSTF) y un thread por
+canal, asi las E/S de distintos dispositivos, o de un mismo dispositivo con
+varios canales, avanzan en paralelo.
+
+Las rafagas IO con etiqueta (IO(3:net)) van a ese dispositivo; las que no la
+tienen, o tienen una desconocida, van al dispositivo por defecto.
+
+SINCRONIZACION:
+ - Cada espera de tiempo simulado tiene su propia alarma, que dispara solo su
+   timer (no se despierta a todos los canales en cada fin de E/S).
+ - El fin de cada E/S se entrega al engine con SyncController.post(): el
+   engine lo aplica en su tick y los canales no toman coordinationMonitor.
+ - Cada canal cuenta como thread activo (SyncController.workerIdle) salvo
+   mientras espera una solicitud o su alarma; quien lo despierta lo vuelve
+   a contar, asi el engine no avanza el reloj con un canal a medio camino.
+*/
+
+public class IOManager {
+
+  private final Map<String, IODevice> devices = new LinkedHashMap<>();
+  private final IODevice defaultDevice;
+  private final List<Thread> channelThreads = new ArrayList<>();
+  // Canales que esperan solicitud y avisos pendientes, por dispositivo (lock: el dispositivo)
+  private final Map<IODevice, int[]> idleChannels = new LinkedHashMap<>();
+
+  // Fin de cada I/O en curso, actualizado dentro del lock de su dispositivo
+  private final Map<Process, Integer> inFlightEndTimes = new ConcurrentHashMap<>();
   
   private final SyncController syncController;
   
   private final AtomicBoolean running;
-  private Thread ioThread;
-  
-  private final Object ioMonitor = new Object();
   
   private final AtomicInteger totalIOOperations;
   private final AtomicInteger completedIOOperations;
@@ -45,13 +60,19 @@ public class IOManager implements Runnable {
 
   public IOManager(SyncController syncController, Config config,List<Process> allProcesses) {
     this.syncController = syncController;
-    this.ioQueue = new LinkedBlockingQueue<>();
     this.running = new AtomicBoolean(false);
     this.totalIOOperations = new AtomicInteger(0);
     this.completedIOOperations = new AtomicInteger(0);
     this.totalIOTime = new AtomicInteger(0);
     this.config = config;
     this.allProcesses = allProcesses;
+
+    for (Config.DeviceConfig deviceConfig : config.getIODevices()) {
+      IODevice device = new IODevice(deviceConfig);
+      devices.put(deviceConfig.getName(), device);
+      idleChannels.put(device, new int[2]); // {esperando, despertados}
+    }
+    this.defaultDevice = devices.get(config.getDefaultIODevice().getName());
   }
 
   // metodo para establecer el listener
@@ -65,24 +86,60 @@ public class IOManager implements Runnable {
       return;
     }
     
-    ioThread = new Thread(this, "IOManager-Thread");
-    ioThread.setDaemon(true);
-    ioThread.start();
+    for (IODevice device : devices.values()) {
+      for (int channel = 0; channel < device.getChannels(); channel++) {
+        Thread thread = new Thread(() -> channelLoop(device),
+            "IOManager-" + device.getName() + "-" + channel);
+        thread.setDaemon(true);
+        channelThreads.add(thread);
+        syncController.workerStarted();
+        thread.start();
+      }
+    }
     
-    Logger.syncLog("[IOMANAGER] Iniciado correctamente");
+    Logger.syncLog("[IOMANAGER] Iniciado correctamente: " + devices.values());
   }
 
-  @Override 
-  public void run() {
-    Logger.syncLog("[IOMANAGER] Thread I/O iniciado");
+  // Cada canal toma la siguiente solicitud de su dispositivo y la atiende
+  private void channelLoop(IODevice device) {
+    Logger.syncLog("[IOMANAGER] Canal " + Thread.currentThread().getName() + " iniciado");
     
+    int[] idle = idleChannels.get(device);
     while(isRunning()) {
       try {
-        // BlockingQueue.take() es thread-safe, espera indefinidamente
-        IORequest request = ioQueue.take();
-        
-        // Procesar la solicitud
-        processIORequest(request);
+        Process process = null;
+        synchronized(device) {
+          while(isRunning() && (process = device.startNext()) == null) {
+            idle[0]++;
+            syncController.workerIdle();
+            try {
+              while(isRunning() && idle[1] == 0) {
+                device.wait();
+              }
+            } finally {
+              if (idle[1] == 0) {
+                idle[0]--;
+                syncController.workerWoken(); // lo saco stop(), no un aviso
+              } else {
+                idle[1]--;
+              }
+            }
+          }
+        }
+        if (process == null) {
+          break;
+        }
+
+        int duration = 0;
+        try {
+          duration = processIORequest(device, process);
+        } finally {
+          synchronized(device) {
+            inFlightEndTimes.remove(process);
+            device.finish(duration);
+            device.notifyAll();
+          }
+        }
         
       } catch (InterruptedException e) {
         if (isRunning()) {
@@ -97,7 +154,8 @@ public class IOManager implements Runnable {
       }
     }
     
-    Logger.syncLog("[IOMANAGER] Thread I/O detenido");
+    syncController.workerIdle();
+    Logger.syncLog("[IOMANAGER] Canal " + Thread.currentThread().getName() + " detenido");
   }
 
   public void stop() {
@@ -107,18 +165,24 @@ public class IOManager implements Runnable {
     
     Logger.syncLog("[IOMANAGER] Deteniendo...");
     
-    synchronized(ioMonitor) {
-      ioMonitor.notifyAll();
+    // Los canales que esperan tiempo simulado salen con el interrupt de abajo
+    for (IODevice device : devices.values()) {
+      synchronized(device) {
+        device.notifyAll();
+      }
     }
     
-    if (ioThread != null && ioThread.isAlive()) {
-      ioThread.interrupt();
+    for (Thread thread : channelThreads) {
+      if (!thread.isAlive()) {
+        continue;
+      }
+      thread.interrupt();
       
       try {
-        ioThread.join(2000);
+        thread.join(2000);
         
-        if (ioThread.isAlive()) {
-          Logger.warning("[IOMANAGER] Thread no terminó después del timeout");
+        if (thread.isAlive()) {
+          Logger.warning("[IOMANAGER] " + thread.getName() + " no terminó después del timeout");
         }
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
@@ -126,12 +190,16 @@ public class IOManager implements Runnable {
       }
     }
     
-    int pending = ioQueue.size();
+    int pending = getPendingRequests();
     if (pending > 0) {
       Logger.warning("[IOMANAGER] Detenido con " + pending + " solicitudes pendientes");
     } else {
       Logger.syncLog("[IOMANAGER] Detenido correctamente");
     }
+    for (IODevice device : devices.values()) {
+      Logger.syncLog(String.format("[IOMANAGER] %s: %d operaciones, %d unidades ocupado",
+          device.getName(), device.getCompletedOperations(), device.getBusyTime()));
+    }
   }
 
   public void requestIO(Process process, Burst ioBurst) {
@@ -145,11 +213,7 @@ public class IOManager implements Runnable {
       return;
     }
 
-    int currentTime;
-    synchronized(syncController.getCoordinationMonitor()) {
-      currentTime = syncController.getCurrentTime();
-    }
-
+    int currentTime = syncController.getCurrentTime();
     
     int systemCallOverhead = 0;
     int endTime = currentTime + systemCallOverhead;
@@ -159,91 +223,123 @@ public class IOManager implements Runnable {
       process.setSystemCallEndTime(endTime);
     }
     
-    IORequest request = new IORequest(process, ioBurst, currentTime);
+    IODevice device = deviceFor(ioBurst);
+    int queued;
+    synchronized(device) {
+      device.enqueue(process);
+      queued = device.getQueueSize();
+      wakeIdleChannel(device);
+    }
+    totalIOOperations.incrementAndGet();
     
-    try {
-      
-      // BlockingQueue.put() es thread-safe
-      ioQueue.put(request);
-      totalIOOperations.incrementAndGet();
-      
-      Logger.procLog(String.format("[T=%d] [%s] I/O encolada (pendientes: %d)", 
-        currentTime, process.getPid(), ioQueue.size()));
-      // Notificar con la cola COMPLETA de procesos en BLOCKED_IO
-      notifyBlockedIOQueueChanged();
-        
-        
-    } catch (InterruptedException e) {
-      Logger.error("[IOMANAGER] Error encolando solicitud: " + e.getMessage());
-      Thread.currentThread().interrupt();
+    Logger.procLog(String.format("[T=%d] [%s] I/O encolada en %s (pendientes: %d)", 
+      currentTime, process.getPid(), device.getName(), queued));
+    // Notificar con la cola COMPLETA de procesos en BLOCKED_IO
+    notifyBlockedIOQueueChanged();
+  }
+
+  // Con el lock del dispositivo: despierta (y cuenta como activo) a un canal
+  // que espera solicitud. Si ninguno espera, la toma un canal al terminar la suya
+  private void wakeIdleChannel(IODevice device) {
+    int[] idle = idleChannels.get(device);
+    if (idle[0] > 0) {
+      idle[0]--;
+      idle[1]++;
+      syncController.workerWoken();
+      device.notifyAll();
     }
   }
 
-  private void processIORequest(IORequest request) throws InterruptedException {
-    Process process = request.process;
-    Burst ioBurst = request.ioBurst;
-    int duration = ioBurst.getDuration();
+  private IODevice deviceFor(Burst ioBurst) {
+    String tag = ioBurst.getDevice();
+    if (tag == null) {
+      return defaultDevice;
+    }
+    IODevice device = devices.get(tag);
+    if (device == null) {
+      Logger.warning("[IOMANAGER] Dispositivo desconocido '" + tag + "', se usa " + defaultDevice.getName());
+      return defaultDevice;
+    }
+    return device;
+  }
+
+  // Devuelve las unidades de E/S atendidas (0 si el proceso ya no la necesitaba)
+  private int processIORequest(IODevice device, Process process) throws InterruptedException {
+    Burst ioBurst;
 
     synchronized(syncController.getCoordinationMonitor()) {
       if (process.getState() == ProcessState.TERMINATED) {
       
         Logger.warning("[IOMANAGER] Proceso " + process.getPid() + " ya terminó");
-        return;
+        return 0;
       }
+      ioBurst = process.getCurrentBurst();
     }
+    int duration = ioBurst.getDuration();
 
 
     // Esperar que system call complete
     waitForSystemCallCompletion(process);
 
-    int startTime;
-    synchronized(syncController.getCoordinationMonitor()) {
-      startTime = syncController.getCurrentTime();
+    int startTime = syncController.getCurrentTime();
+    int endTime = startTime + duration;
+    synchronized(device) {
+      inFlightEndTimes.put(process, endTime);
     }
-    int endTime = startTime + duration -1;
 
-    Logger.procLog(String.format("[T=%d] [I/O] Procesando I/O para %s (duración: %d, fin: t=%d)", 
-      startTime, process.getPid(), duration, endTime));
+    Logger.procLog(String.format("[T=%d] [I/O] Procesando I/O en %s para %s (duración: %d, fin: t=%d)", 
+      startTime, device.getName(), process.getPid(), duration, endTime));
     
     //INICIO para gant
     // Notificar inicio de I/O
     if (stateListener != null) {
-        stateListener.onIOStarted(process.getPid(), startTime);
+        stateListener.onIOStarted(process.getPid(), startTime, device.getName());
     }
     //FIN
 
 
     // Esperar hasta que el tiempo simulado alcance endTime
-    waitUntilIOCompletes(process, endTime);
+    waitForSimTime(endTime);
 
 
-    // Completar la operación
-    completeIOOperation(process, ioBurst, duration);
+    if (!isRunning() || process.getState() == ProcessState.TERMINATED) {
+      return 0;
+    }
+    // Completar la operación: la aplica el engine al comienzo de su tick
+    syncController.post(() -> completeIOOperation(process, ioBurst, duration, device));
+    return duration;
   }
 
-  private void waitUntilIOCompletes(Process process, int endTime) throws InterruptedException {
-    while(isRunning()) {
-      int currentSimTime;
-      ProcessState processState;
-      
-      synchronized(syncController.getCoordinationMonitor()) {
-        currentSimTime = syncController.getCurrentTime();
-        processState = process.getState();
+  // Espera sin polling: el engine dispara el timer al avanzar el reloj a time.
+  // La alarma es de esta espera, el timer despierta solo a este canal
+  // La alarma cuenta al canal como activo al dispararse; si ya vencio se
+  // dispara dentro de schedule y el canal nunca deja de estar activo
+  private void waitForSimTime(int time) throws InterruptedException {
+    boolean[] fired = new boolean[1];
+    syncController.getTimerWheel().schedule(time, () -> {
+      synchronized(fired) {
+        fired[0] = true;
+        syncController.workerWoken();
+        fired.notify();
       }
-      
-      // Si el proceso fue terminado o el tiempo ya pasó
-      if (processState == ProcessState.TERMINATED || currentSimTime >= endTime) {
-        break;
-      }
-      
-      // Esperar un poco (polling aceptable en simulación)
-      synchronized(ioMonitor) {
-        ioMonitor.wait(50);
+    });
+
+    synchronized(fired) {
+      syncController.workerIdle();
+      try {
+        while(isRunning() && !fired[0]) {
+          fired.wait();
+        }
+      } finally {
+        if (!fired[0]) {
+          syncController.workerWoken(); // lo saco stop(), no la alarma
+        }
       }
     }
   }
 
-  private void completeIOOperation(Process process, Burst ioBurst, int duration) {
+  // Lo ejecuta el engine (SyncController.drainCommands)
+  private void completeIOOperation(Process process, Burst ioBurst, int duration, IODevice device) {
 
 
     synchronized(syncController.getCoordinationMonitor()) {
@@ -266,7 +362,7 @@ public class IOManager implements Runnable {
       //INICIO para gant
       //notifica fin de I/O
       if (stateListener != null) {
-        stateListener.onIOEnded(process.getPid(), completionTime);
+        stateListener.onIOEnded(process.getPid(), completionTime, device.getName());
       }
       //FIN
 
@@ -279,46 +375,28 @@ public class IOManager implements Runnable {
     syncController.notifyProcessReady(process, "completó I/O");
     // Notificar con la cola COMPLETA de procesos en BLOCKED_IO
     notifyBlockedIOQueueChanged();
-    
   }
 
   private void waitForSystemCallCompletion(Process process) throws InterruptedException {
-    while(isRunning()) {
-      boolean inSystemCall;
-      int endTime;
-      int currentSimTime;
-      ProcessState processState;
-      
-      synchronized(syncController.getCoordinationMonitor()) {
-        inSystemCall = process.isInSystemCall();
-        endTime = process.getSystemCallEndTime();
-        currentSimTime = syncController.getCurrentTime();
-        processState = process.getState();
-      }
+    boolean inSystemCall;
+    int endTime;
+    ProcessState processState;
 
-      
-      // Si no hay system call pendiente, salir
-      if (!inSystemCall) {
-        break;
-      }
-      
-      // Si el proceso fue terminado
-      if (processState == ProcessState.TERMINATED) {
-        break;
-      }
-      
-      // Si el system call ya completó
-      if (currentSimTime >= endTime) {
-        synchronized(syncController.getCoordinationMonitor()) {
-          process.clearSystemCall();
-        }
-        break;
-      }
-      
-      // Esperar un poco
-      synchronized(ioMonitor) {
-        ioMonitor.wait(50);
-      }
+    synchronized(syncController.getCoordinationMonitor()) {
+      inSystemCall = process.isInSystemCall();
+      endTime = process.getSystemCallEndTime();
+      processState = process.getState();
+    }
+
+    // Si no hay system call pendiente o el proceso fue terminado, salir
+    if (!inSystemCall || processState == ProcessState.TERMINATED) {
+      return;
+    }
+
+    waitForSimTime(endTime);
+
+    synchronized(syncController.getCoordinationMonitor()) {
+      process.clearSystemCall();
     }
   }
 
@@ -327,7 +405,53 @@ public class IOManager implements Runnable {
   }
 
   public int getPendingRequests() {
-    return ioQueue.size();
+    int pending = 0;
+    for (IODevice device : devices.values()) {
+      synchronized(device) {
+        pending += device.getQueueSize();
+      }
+    }
+    return pending;
+  }
+
+  // Solicitudes que el IOManager conoce: en cola o en algun canal
+  public int getTrackedRequests() {
+    int tracked = 0;
+    for (IODevice device : devices.values()) {
+      synchronized(device) {
+        tracked += device.getQueueSize() + device.getBusyChannels();
+      }
+    }
+    return tracked;
+  }
+
+  // Proximo tiempo en que algun canal libera un proceso, o -1 si no se conoce:
+  // ningun canal ocupado, un canal que aun no fija su fin, o una solicitud
+  // en cola con un canal libre (esta por empezar)
+  public int getNextCompletionTime() {
+    int busy = 0;
+    for (IODevice device : devices.values()) {
+      synchronized(device) {
+        if (device.getQueueSize() > 0 && device.hasFreeChannel()) {
+          return -1;
+        }
+        busy += device.getBusyChannels();
+      }
+    }
+
+    if (busy == 0 || inFlightEndTimes.size() != busy) {
+      return -1;
+    }
+
+    int next = Integer.MAX_VALUE;
+    for (int endTime : inFlightEndTimes.values()) {
+      next = Math.min(next, endTime);
+    }
+    return next;
+  }
+
+  public List<IODevice> getDevices() {
+    return new ArrayList<>(devices.values());
   }
 
   public IOStatistics getStatistics() {
@@ -335,7 +459,7 @@ public class IOManager implements Runnable {
       totalIOOperations.get(), 
       completedIOOperations.get(), 
       totalIOTime.get(), 
-      ioQueue.size()
+      getPendingRequests()
     );
   }
   // Método para notificar cambios en la cola de BLOCKED_IO
@@ -356,10 +480,7 @@ public class IOManager implements Runnable {
     // Notificar a la UI con la cola completa
     stateListener.onBlockedIOChanged(blockedIO);
     
-    int currentTime;
-    synchronized(syncController.getCoordinationMonitor()) {
-      currentTime = syncController.getCurrentTime();
-    }
+    int currentTime = syncController.getCurrentTime();
     
     Logger.syncLog(String.format("[T=%d] [IOMANAGER] UI notificada: %d proceso(s) en BLOCKED_IO (cola completa)", 
       currentTime, blockedIO.size()));
@@ -1,6 +1,11 @@
 package modules.sync;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import model.Burst;
 import model.Process;
@@ -8,16 +13,56 @@ import model.ProcessState;
 import utils.Logger;
 import model.Config;
 
-public class ProcessThread extends Thread {
+/*
+ProcessThread
+Ciclo de vida de un proceso en el motor con threads. Es un Runnable: el
+engine elige con que thread correrlo (threadFactory), de plataforma o
+virtual (Config.virtualThreads, Java 21+).
+
+ESPERAS:
+  El proceso duerme en su propio lock/condicion (awaitWakeUp) y el engine lo
+  despierta con wakeUp(). Se usa ReentrantLock/Condition y no
+  synchronized/wait: un thread virtual que espera en un monitor queda fijo a
+  su carrier, con Condition lo libera. Los bloques sobre coordinationMonitor
+  son cortos y nunca esperan adentro.
+
+coordinationMonitor:
+  Solo se toma en las transiciones (llegada, fin de rafaga, E/S, falta de
+  memoria, fin). Ejecutar una unidad de CPU y revisar el estado al despertar
+  no lo toman: el estado es volatile y lo que se decide al despertar se
+  vuelve a validar con el monitor en mainExecutionLoop. Asi el thread que
+  corre no compite con el tick del engine, que recorre todos los procesos.
+
+ARRANQUE:
+  Cada thread baja el latch de arranque antes de esperar su llegada, el
+  engine no necesita pausas fijas entre un start y otro. La llegada la
+  registra el engine (admitArrivals) en su tick y despierta al thread.
+
+TICK:
+  Cuenta como activo para SyncController desde el wakeUp() hasta que vuelve
+  a dormir (parked), asi el engine no pasa al tick siguiente mientras el
+  proceso ejecuta su unidad o cambia de estado.
+*/
+
+public class ProcessThread implements Runnable {
 
   private final Process process;
   private final SyncController syncController;
   private final IOManager ioManager;
   private final Config config;
+  private final String name;
 
-  // Monitor local para sincronización interna del thread
-  private final Object threadMonitor = new Object();
+  // Lock local para sincronización interna del thread
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition wakeUpSignal = lock.newCondition();
   private volatile boolean running;
+  private boolean wakeUpPending; // protegido por lock
+  private boolean parked;        // protegido por lock: descontado de los activos
+  private boolean exited;        // protegido por lock
+
+  private Thread thread;
+  private CountDownLatch started;
+  private boolean startSignaled;
   
   //Listener y mapa de tiempos
   private SimulationStateListener stateListener;
@@ -25,7 +70,7 @@ public class ProcessThread extends Thread {
 
   public ProcessThread(Process process, SyncController syncController, 
                        IOManager ioManager, Config config) {
-    super("Thread-" + process.getPid());
+    this.name = "Thread-" + process.getPid();
     this.process = process;
     this.syncController = syncController;
     this.ioManager = ioManager;
@@ -39,52 +84,89 @@ public class ProcessThread extends Thread {
     this.executionStartTimes = startTimes;
   }
 
+  // Java 21+: Thread.ofVirtual().factory(). El proyecto compila con release 17,
+  // por eso se busca por reflexion; en un JDK anterior quedan los de plataforma
+  public static ThreadFactory threadFactory(boolean virtual) {
+    if (virtual) {
+      try {
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+            .getMethod("factory").invoke(builder);
+      } catch (ReflectiveOperationException e) {
+        Logger.warning("[ENGINE] Threads virtuales no disponibles en Java "
+            + Runtime.version().feature() + ", se usan threads de plataforma");
+      }
+    }
+    return Thread::new;
+  }
+
+  public void start(ThreadFactory factory, CountDownLatch started) {
+    this.started = started;
+    thread = factory.newThread(this);
+    thread.setName(name);
+    syncController.workerStarted();
+    thread.start();
+  }
+
+  public void join() throws InterruptedException {
+    thread.join();
+  }
+
+  public String getName() {
+    return name;
+  }
+
   @Override 
   public void run() {
     try {
       waitForArrival();
-      arriveAtSystem();
+      signalStarted();
       mainExecutionLoop();
       
     } catch (InterruptedException e) {
       Logger.warning("[THREAD-" + process.getPid() + "] Interrumpido");
       Thread.currentThread().interrupt();
     } finally {
+      signalStarted();
       synchronized(syncController.getCoordinationMonitor()) {
         if (process.getState() != ProcessState.TERMINATED) {
           terminateProcess();
         }
       }
+      lock.lock();
+      try {
+        exited = true;
+        park();
+      } finally {
+        lock.unlock();
+      }
     }
   }
 
   private void waitForArrival() throws InterruptedException {
     int arrivalTime = process.getArrivalTime();
-    
-    while(running) {
-      synchronized(syncController.getCoordinationMonitor()) {
-        int currentTime = syncController.getCurrentTime();
-        
-        if (currentTime >= arrivalTime) {
-          break;
-        }
-      }
-      
-      synchronized(threadMonitor) {
-        threadMonitor.wait(50); // Polling cada 50ms es aceptable en simulación
+
+    // El engine lo pasa a READY en el tick de su llegada (admitArrivals) y lo despierta
+    signalStarted();
+
+    lock.lock();
+    try {
+      while(running && process.getState() == ProcessState.NEW) {
+        park();
+        wakeUpSignal.await();
       }
+    } finally {
+      lock.unlock();
     }
     
     Logger.procLog(String.format("[T=%d] [%s] Proceso llegó al sistema", 
       arrivalTime, process.getPid()));
   }
 
-  private void arriveAtSystem() {
-    synchronized(syncController.getCoordinationMonitor()) {
-      if (process.getState() != ProcessState.TERMINATED) {
-        process.setState(ProcessState.READY);
-        syncController.notifyProcessReady(process, "llegada al sistema");
-      }
+  private void signalStarted() {
+    if (!startSignaled && started != null) {
+      startSignaled = true;
+      started.countDown();
     }
   }
 
@@ -132,10 +214,10 @@ public class ProcessThread extends Thread {
       // Ejecutar según tipo
       if (currentBurst.isCPU()) {
         executeCPUBurst(currentBurst);
-        syncController.getMemoryManager().updateProcessPagesAccessTime(process.getPid()); // Actualizar acceso a páginas CUIDADO
+        syncController.recordExecution(process, currentBurst, 0, 0, syncController.getCurrentTime()); // Actualizar acceso a páginas CUIDADO
       } else {
         executeIOBurst(currentBurst);
-        syncController.getMemoryManager().updateProcessPagesAccessTime(process.getPid()); // Actualizar acceso a páginas CUIDADO
+        syncController.recordExecution(process, currentBurst, 0, 0, syncController.getCurrentTime()); // Actualizar acceso a páginas CUIDADO
       }
       
       handleBurstCompletion(currentBurst);
@@ -145,63 +227,97 @@ public class ProcessThread extends Thread {
     terminateProcess();
   }
 
+  // No se toma coordinationMonitor dentro de lock: el engine hace lo
+  // inverso (wakeUp con coordinationMonitor tomado) y se bloquearian mutuamente.
+  // Tampoco hace falta para leer: mainExecutionLoop revalida con el monitor
   private void waitForRunningState() throws InterruptedException {
-    synchronized(threadMonitor) {
-      while(running) {
-        ProcessState state;
-        synchronized(syncController.getCoordinationMonitor()) {
-          state = process.getState();
-          
-          Burst currentBurst = process.getCurrentBurst();
-          if (currentBurst != null && !currentBurst.isCPU() && 
-              state != ProcessState.CONTEXT_SWITCHING && 
-              state != ProcessState.BLOCKED_IO) {
-            break; // Puede ejecutar I/O
-          }
-        
-        }
-        
-        if (state == ProcessState.RUNNING || state == ProcessState.TERMINATED) {
-          break;
-        }
-        
-        threadMonitor.wait(); // Esperar sin timeout
+    while(running) {
+      ProcessState state = process.getState();
+      Burst currentBurst = process.getCurrentBurst();
+      boolean canDoIO = currentBurst != null && !currentBurst.isCPU() && 
+          state != ProcessState.CONTEXT_SWITCHING && 
+          state != ProcessState.BLOCKED_IO;
+
+      if (canDoIO || state == ProcessState.RUNNING || state == ProcessState.TERMINATED) {
+        // El engine no cambia de tick mientras este thread este activo: un aviso
+        // pendiente es de este mismo tick y ya queda atendido
+        clearWakeUp();
+        break;
       }
+      
+      awaitWakeUp();
     }
   }
 
+  private void clearWakeUp() {
+    lock.lock();
+    try {
+      wakeUpPending = false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Espera un wakeUp(); si llego antes de empezar a esperar no se pierde
+  private void awaitWakeUp() throws InterruptedException {
+    lock.lock();
+    try {
+      while(running && !wakeUpPending) {
+        park();
+        wakeUpSignal.await();
+      }
+      wakeUpPending = false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Con lock: se descuenta de los activos antes de dormir (una sola vez)
+  private void park() {
+    if (!parked) {
+      parked = true;
+      syncController.workerIdle();
+    }
+  }
+
+  // Con lock: lo cuenta quien lo despierta, antes de que el thread corra
+  private void unpark() {
+    if (parked && !exited) {
+      parked = false;
+      syncController.workerWoken();
+    }
+  }
+
+  // Por unidad no se toma coordinationMonitor (ver arriba): solo el estado
+  // volatile y las paginas, que MemoryManager sincroniza por su cuenta
   private void executeCPUBurst(Burst burst) throws InterruptedException {
     while (!burst.isCompleted() && running) {
-      ProcessState state;
-      synchronized(syncController.getCoordinationMonitor()) {
-        state = process.getState();
-        
-        if (state != ProcessState.RUNNING) {
-          break;
-        }
-        
-        if (!syncController.hasAllRequiredPages(process)) {
-          handleMemoryLack();
-          return;
-        }
+      if (process.getState() != ProcessState.RUNNING) {
+        break;
+      }
+
+      // Como DiscreteEventEngine: sin referencias las paginas se cargan al
+      // despachar y lo que se desalojo al cargarlas no interrumpe la rafaga
+      if (burst.hasReferences() && !syncController.hasAllRequiredPages(process)) {
+        handleMemoryLack();
+        return;
       }
       
       // Ejecutar una unidad de CPU
       executeOneCPUUnit(burst);
-      syncController.getMemoryManager().updateProcessPagesAccessTime(process.getPid()); // Actualizar acceso a páginas CUIDADO
+      syncController.recordExecution(process, burst, burst.getExecutedTime() - 1, 1, syncController.getCurrentTime()); // Actualizar acceso a páginas CUIDADO
       // CRÍTICO: Verificar si completó DENTRO del loop
       if (burst.isCompleted()) {
-        int currentTime;
-        synchronized(syncController.getCoordinationMonitor()) {
-          currentTime = syncController.getCurrentTime();
-        }
-
+        int currentTime = syncController.getCurrentTime();
 
         Logger.exeLog(String.format("[T=%d] [%s] Rafaga CPU completada (%d unidades), se libera CPU voluntariamente", 
           currentTime, process.getPid(), burst.getDuration()));
 
         synchronized(syncController.getCoordinationMonitor()) {
-          if (!process.isCompleted()) {
+          // Solo si la CPU sigue siendo suya: si el engine ya lo expropio y
+          // despacho a otro, ponerla en null dejaria huerfano al nuevo
+          if (!process.isCompleted()
+              && syncController.getScheduler().getCurrentProcess() == process) {
             // Notificar que este proceso liberó la CPU voluntariamente
             syncController.getScheduler().setCurrentProcess(null);
             //Logger.exeLog(String.format("[T=%d] [%s] Libera CPU (ráfaga completada)", 
@@ -212,41 +328,41 @@ public class ProcessThread extends Thread {
         break; // Salir del loop inmediatamente sin wait
       }
       
-      // Solo esperar si la ráfaga NO se completó
-      synchronized(threadMonitor) {
-        threadMonitor.wait();
-      }
+      // Solo esperar si la ráfaga NO se completó. Con awaitWakeUp el aviso del
+      // siguiente tick no se pierde si llega mientras ejecuta esta unidad
+      awaitWakeUp();
     }
   }
 
+  // Solo este thread escribe startTime, no hace falta el monitor
   private void executeOneCPUUnit(Burst burst) {
-    int currentTime;
-    synchronized(syncController.getCoordinationMonitor()) {
-      currentTime = syncController.getCurrentTime();
-      process.markFirstExecution(currentTime);
-    }
+    int currentTime = syncController.getCurrentTime();
+    process.markFirstExecution(currentTime);
 
     burst.execute(1);
     
     int progress = burst.getDuration() - burst.getRemainingTime();
     int remaining = burst.getRemainingTime();
     
-    Logger.exeLog(String.format("[T=%d] [%s] Ejecutando CPU: %d/%d unidades (restante: %d)", 
+    // Se llama en cada unidad de CPU: el mensaje solo se arma si EXE esta activo
+    Logger.log(Logger.LogLevel.EXE, () -> String.format("[T=%d] [%s] Ejecutando CPU: %d/%d unidades (restante: %d)", 
       currentTime, process.getPid(), progress, burst.getDuration(), remaining));
   }
 
 
+  // La revision por unidad fue sin monitor: se confirma aca antes de soltar la CPU
   private void handleMemoryLack() {
     synchronized(syncController.getCoordinationMonitor()) {
+      if (!syncController.requeueForMemory(process)) {
+        return;
+      }
       int currentTime = syncController.getCurrentTime();
-      Logger.syncLog(String.format("[T=%d] [%s] Falta memoria BLOCKED_MEMORY", 
+      Logger.syncLog(String.format("[T=%d] [%s] Falta memoria, vuelve a READY", 
         currentTime, process.getPid()));
   
       //para gant
-      notifyExecutionEnd("bloqueado memoria");
+      notifyExecutionEnd("perdió páginas");
       //fin
-  
-      syncController.blockProcessForMemory(process);
     }
   }
 
@@ -268,16 +384,15 @@ public class ProcessThread extends Thread {
       }
     }
 
-    // Notificar cambio de contexto
-    syncController.triggerReschedule();
-    
+    // El engine ve BLOCKED_IO en su proximo tick y elige otro proceso
     ioManager.requestIO(process, burst);
 
   }
 
   private void handleBurstCompletion(Burst currentBurst) {
     synchronized(syncController.getCoordinationMonitor()) {
-      if (!currentBurst.isCompleted()) {
+      // Una E/S que termino antes de llegar aca ya la avanzo IOManager
+      if (!currentBurst.isCompleted() || process.getCurrentBurst() != currentBurst) {
         return;
       }
 
@@ -287,6 +402,11 @@ public class ProcessThread extends Thread {
         return;
       }
       
+      // La ultima unidad corrio mientras el engine agotaba el quantum y ya
+      // lo devolvio a la cola: esa entrada es de esta rafaga, no de la siguiente
+      if (state == ProcessState.READY) {
+        syncController.getScheduler().removeProcess(process);
+      }
 
       process.advanceBurst();
       Burst nextBurst = process.getCurrentBurst();
@@ -321,9 +441,8 @@ public class ProcessThread extends Thread {
         process.setContextSwitchEndTime(endTime);
 
 
-        // El scheduler debe seleccionar otro proceso
+        // El scheduler debe seleccionar otro proceso (en el proximo tick del engine)
         syncController.getScheduler().incrementContextSwitch();
-        syncController.triggerReschedule();
       }
 
     }
@@ -339,7 +458,12 @@ public class ProcessThread extends Thread {
       notifyExecutionEnd("terminado");
       //fin
       
-      process.setCompletionTime(currentTime);
+      // Si la ultima rafaga es de CPU su ultima unidad corrio en este tick y
+      // termina al final de el, como en DiscreteEventEngine
+      List<Burst> bursts = process.getBursts();
+      boolean endsOnCPU = process.isCompleted() && !bursts.isEmpty()
+          && bursts.get(bursts.size() - 1).isCPU();
+      process.setCompletionTime(endsOnCPU ? currentTime + 1 : currentTime);
       process.setState(ProcessState.TERMINATED);
       
       syncController.releaseProcessResources(process);
@@ -382,15 +506,24 @@ public class ProcessThread extends Thread {
 
 
   public void wakeUp() {
-    synchronized(threadMonitor) {
-      threadMonitor.notifyAll();
+    lock.lock();
+    try {
+      wakeUpPending = true;
+      unpark();
+      wakeUpSignal.signal();
+    } finally {
+      lock.unlock();
     }
   }
 
   public void stopThread() {
-    synchronized(threadMonitor) {
+    lock.lock();
+    try {
       running = false;
-      threadMonitor.notifyAll();
+      unpark();
+      wakeUpSignal.signal();
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -6,14 +6,24 @@ import model.ResultadoProceso;
 import model.DatosResultados;
 import modules.memory.MemoryManager;
 import modules.scheduler.Scheduler;
+import modules.trace.TraceRecorder;
+import modules.trace.TraceWriter;
 import utils.Logger;
 import model.ProcessState;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Map;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
 import model.Burst;
 
+// Con una CPU da los mismos resultados que DiscreteEventEngine: las reglas
+// comunes estan en su encabezado (PARIDAD) y las comprueba TestMotores
 public class SimulationEngine {
 
   private final Scheduler scheduler;
@@ -23,6 +33,11 @@ public class SimulationEngine {
 
   private final List<Process> allProcesses;
   private final List<ProcessThread> processThreads;
+  private final Map<Process, ProcessThread> threadOf = new IdentityHashMap<>();
+  // Llegadas que disparo la TimerWheel, en el orden de la lista; las admite el tick
+  private final ArrayDeque<ProcessThread> arrivals = new ArrayDeque<>();
+  // Encolados en READY que ya vio la expropiacion (Scheduler.getReadyAdditions)
+  private long readyAdditionsSeen;
 
   private final Config config;
   // Objeto que contendra los resultados finales
@@ -34,6 +49,7 @@ public class SimulationEngine {
   private volatile boolean running;
 
   private SimulationStateListener stateListener;
+  private TraceRecorder traceRecorder;
   // para gant chart
   private final Map<String, Integer> executionStartTimes = new HashMap<>();
 
@@ -52,13 +68,20 @@ public class SimulationEngine {
     this.currentTime = 0;
     this.running = false;
 
+    if (config.getCores() > 1) {
+      Logger.warning("[ENGINE] El motor con threads simula una sola CPU; para " + config.getCores()
+          + " nucleos usar DiscreteEventEngine (BatchRunner con trace=) y abrir la traza en la GUI");
+    }
+
     this.simulationController = new SimulationController();
     memoryManager.setSimulationController(this.simulationController); // COnecto el Simulation Controller del memrmoy
     // Crear un thread independiente por cada proceso
     this.processThreads = new ArrayList<>();
     for (Process process : processes) {
+      syncController.registerProcess(process);
       ProcessThread thread = new ProcessThread(process, syncController, ioManager, config);
       processThreads.add(thread);
+      threadOf.put(process, thread);
     }
   }
 
@@ -76,6 +99,10 @@ public class SimulationEngine {
 
   // Notificar cambios a la UI
   private void notifyUIUpdate() {
+    if (stateListener != null && !stateListener.wantsQueueSnapshots()) {
+      stateListener.onTimeChanged(currentTime);
+      return;
+    }
     if (stateListener != null) {
       List<Process> readyQueue = scheduler.getReadyQueueSnapshot();
       Process runningProcess = scheduler.getCurrentProcess();
@@ -104,10 +131,14 @@ public class SimulationEngine {
 
   public void run() {
     running = true;
+    startTrace();
 
     syncController.start();
     ioManager.start();
 
+    for (ProcessThread thread : processThreads) {
+      syncController.getTimerWheel().schedule(thread.getProcess().getArrivalTime(), () -> arrivals.add(thread));
+    }
     startAllThreads();
 
     coordinationLoop();
@@ -116,26 +147,78 @@ public class SimulationEngine {
 
     ioManager.stop();
     syncController.stop();
+    finishTrace();
     showResults();
 
-    datosFinales = construirResultados();
+    datosFinales = construirResultados(allProcesses, scheduler, memoryManager);
+
+  }
+
+  // Traza binaria opcional (Config.traceFile): envuelve al listener actual
+  private void startTrace() {
+    if (config.getTraceFile() == null) {
+      return;
+    }
+    try {
+      TraceWriter writer = new TraceWriter(Paths.get(config.getTraceFile()));
+      traceRecorder = new TraceRecorder(writer, scheduler::getCurrentTime, stateListener);
+    } catch (IOException e) {
+      Logger.error("No se pudo abrir la traza " + config.getTraceFile() + ": " + e.getMessage());
+      return;
+    }
+    traceRecorder.attach(memoryManager, allProcesses);
+    setStateListener(traceRecorder);
+  }
 
+  private void finishTrace() {
+    if (traceRecorder == null) {
+      return;
+    }
+    traceRecorder.detach(memoryManager, allProcesses);
+    setStateListener(traceRecorder.getDelegate());
+    try {
+      traceRecorder.close();
+      Logger.log("Traza grabada en " + config.getTraceFile() + " (" + traceRecorder.getRecordCount() + " registros)");
+    } catch (IOException e) {
+      Logger.error("No se pudo cerrar la traza " + config.getTraceFile() + ": " + e.getMessage());
+    }
+    traceRecorder = null;
   }
 
   public DatosResultados getDatosFinales() {
     return datosFinales;
   }
 
-  private DatosResultados construirResultados() {
+  // Compartido con DiscreteEventEngine para que ambos motores reporten igual
+  static DatosResultados construirResultados(List<Process> allProcesses, Scheduler scheduler,
+      MemoryManager memoryManager) {
+    return construirResultados(allProcesses, List.of(scheduler), memoryManager);
+  }
+
+  // Varios nucleos (un Scheduler por nucleo): tiempos y cambios de contexto sumados
+  static DatosResultados construirResultados(List<Process> allProcesses, List<Scheduler> cores,
+      MemoryManager memoryManager) {
     double esperaProm = allProcesses.stream().mapToDouble(Process::getWaitingTime).average().orElse(0);
     double retornoProm = allProcesses.stream().mapToDouble(Process::getTurnaroundTime).average().orElse(0);
     double respuestaProm = allProcesses.stream().mapToDouble(Process::getResponseTime).average().orElse(0);
 
     int completados = (int) allProcesses.stream().filter(p -> p.getState() == ProcessState.TERMINATED).count();
-    double usoCpu = scheduler.getCPUTimePercent();
+    int tiempoCpu = 0;
+    int tiempoOcioso = 0;
+    int cambiosContexto = 0;
+    List<Double> usoNucleos = new ArrayList<>();
+    for (Scheduler core : cores) {
+      tiempoCpu += core.getTiempoCpuTotal();
+      tiempoOcioso += core.getTiempoOcioso();
+      cambiosContexto += core.getCambiosContexto();
+      usoNucleos.add(core.getCPUTimePercent());
+    }
+    double usoCpu = tiempoCpu + tiempoOcioso > 0 ? (tiempoCpu * 100.0) / (tiempoCpu + tiempoOcioso) : 0;
 
+    WaitHistogram esperas = new WaitHistogram();
     List<ResultadoProceso> resumen = new ArrayList<>();
     for (Process p : allProcesses) {
+      esperas.add(p.getWaitingTime());
       resumen.add(new ResultadoProceso(
           p.getPid(),
           p.getWaitingTime(),
@@ -151,25 +234,36 @@ public class SimulationEngine {
         usoCpu,
         completados,
         allProcesses.size(),
-        scheduler.getCambiosContexto(),
-        scheduler.getTiempoCpuTotal(),
-        scheduler.getTiempoOcioso(),
+        cambiosContexto,
+        tiempoCpu,
+        tiempoOcioso,
         memoryManager.getTotalPageLoads(),
         memoryManager.getPageFaults(),
         memoryManager.getPageReplacements(),
         memoryManager.getTotalFrames(),
         memoryManager.getFreeFrames(),
         resumen,
-        scheduler.getAlgorithmName(),
-        memoryManager.getAlgorithmName());
+        cores.get(0).getAlgorithmName(),
+        memoryManager.getAlgorithmName(),
+        usoNucleos,
+        esperas.max(),
+        esperas.percentile(99));
   }
 
+  // Sin pausa entre arranques: el reloj no avanza hasta que cada thread
+  // registro su llegada (latch), asi nadie se pierde el tick en que llega
   private synchronized void startAllThreads() {
+    ThreadFactory factory = ProcessThread.threadFactory(config.isVirtualThreads());
+    CountDownLatch started = new CountDownLatch(processThreads.size());
     for (ProcessThread thread : processThreads) {
-      thread.start();
-      Logger.syncLog("  Thread creado: " + thread.getName());
-      sleep(10);
+      thread.start(factory, started);
+    }
+    try {
+      started.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     }
+    Logger.syncLog("  Threads creados: " + processThreads.size());
   }
 
   private void coordinationLoop() { 
@@ -178,28 +272,37 @@ public class SimulationEngine {
       
       try {
         simulationController.waitForNextStep();
+        // Lo que desperto advanceTime (llegadas, alarmas de E/S) termina su tick
+        syncController.awaitIdleWorkers();
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
         break;
       }
 
+      int nextTime;
       synchronized (syncController.getCoordinationMonitor()) {
         int t = getCurrentTime();
 
         // Actualizar tiempo en SyncController
         syncController.synchronizeTime(t);
 
-
-        // Notificar procesos en tiempo de llegada
-        notifyProcessArrivals(t);
+        // Lo que ocurre en el tick, en el orden de los eventos de
+        // DiscreteEventEngine en un mismo instante
+        endSlice();
 
         handleContextSwitchCompletion(t);
 
-        countContextSwitchingCycles();
+        // Fines de E/S que dejaron los canales desde el tick anterior
+        syncController.drainCommands();
+
+        admitArrivals();
 
         // Coordinar ejecución
         coordinateScheduler();
 
+        // Despues de coordinar: cuenta tambien el cambio de contexto que empieza en este tick
+        countContextSwitchingCycles();
+
         // Actualizar tiempos de espera
         updateWaitingTimes();
 
@@ -208,12 +311,34 @@ public class SimulationEngine {
 
         // Notificar UI
         notifyUIUpdate();
+
+        // Si nadie puede avanzar, saltar directo al siguiente evento
+        nextTime = computeNextTickTime(t);
+      }
+
+      // Los threads despertados en este tick terminan antes de mover el reloj
+      try {
+        syncController.awaitIdleWorkers();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
       }
 
       sleep(config.getTimeUnit());
 
-      advanceTime();
+      advanceTime(nextTime);
+
+    }
+  }
 
+  // Las llegadas van despues de los fines de E/S, en el orden de la lista
+  private void admitArrivals() {
+    ProcessThread thread;
+    while ((thread = arrivals.poll()) != null) {
+      Process p = thread.getProcess();
+      Logger.syncLog(String.format("[T=%d] [ARRIVAL] %s llega al sistema", currentTime, p.getPid()));
+      syncController.notifyProcessReady(p, "llegada al sistema");
+      thread.wakeUp();
     }
   }
 
@@ -271,24 +396,6 @@ public class SimulationEngine {
     }
   }
 
-  private void notifyProcessArrivals(int t) {
-    // Ya estamos dentro de coordinationMonitor en coordinationLoop()
-
-    // Despertar todos los threads para que verifiquen si llegaron
-    for (ProcessThread thread : processThreads) {
-      Process process = thread.getProcess();
-      int arrivalTime = process.getArrivalTime();
-
-      // Si es el momento exacto de llegada o ya pasó
-      if (t == arrivalTime && process.getState() == ProcessState.NEW) {
-        Logger.syncLog(String.format("[T=%d] [ARRIVAL] %s llega al sistema",
-            t, process.getPid()));
-        // El thread se encargará de cambiar a READY
-        thread.wakeUp();
-      }
-    }
-  }
-
   private void updateWaitingTimes() {
     synchronized (engineMonitor) {
       for (Process p : allProcesses) {
@@ -332,9 +439,83 @@ public class SimulationEngine {
     }
   }
 
-  private synchronized void advanceTime() {
-    currentTime++;
+  private synchronized void advanceTime(int nextTime) {
+    currentTime = nextTime;
     scheduler.setCurrentTime(currentTime);
+    syncController.advanceClock(currentTime);
+    // Despierta a quien espera este tick (fin de I/O, llegadas)
+    syncController.getTimerWheel().advanceTo(currentTime);
+  }
+
+  // Calcula el siguiente tick en el que algo puede ocurrir. Si la CPU esta libre y
+  // todos los procesos esperan (llegada, I/O, cambio de contexto o fallo de pagina)
+  // devuelve el tiempo del evento mas cercano y contabiliza los ticks saltados
+  // como tiempo ocioso, igual que si se hubieran ejecutado uno por uno.
+  private int computeNextTickTime(int t) {
+    if (!config.isSkipIdleTime()) {
+      return t + 1;
+    }
+
+    if (scheduler.getCurrentProcess() != null || scheduler.hasReadyProcesses()
+        || syncController.hasPendingCommands()) {
+      return t + 1;
+    }
+
+    int next = Integer.MAX_VALUE;
+    int inContextSwitch = 0;
+    int blockedIO = 0;
+
+    for (Process p : allProcesses) {
+      switch (p.getState()) {
+        case NEW -> {
+          // Todavia no lo admitio admitArrivals
+          if (p.getArrivalTime() <= t) {
+            return t + 1;
+          }
+          next = Math.min(next, p.getArrivalTime());
+        }
+        case CONTEXT_SWITCHING -> {
+          // handleContextSwitchCompletion lo libera cuando currentTime > endTime
+          inContextSwitch++;
+          next = Math.min(next, p.getContextSwitchEndTime() + 1);
+        }
+        case BLOCKED_MEMORY -> {
+          if (p.isWaitingForPageFault()) {
+            next = Math.min(next, p.getPageFaultEndTime());
+          }
+        }
+        case BLOCKED_IO -> blockedIO++;
+        case TERMINATED -> {
+        }
+        default -> {
+          return t + 1;
+        }
+      }
+    }
+
+    if (blockedIO > 0) {
+      // Si alguna solicitud aun no llega a su dispositivo no se conoce su fin
+      if (ioManager.getTrackedRequests() < blockedIO) {
+        return t + 1;
+      }
+      int ioEnd = ioManager.getNextCompletionTime();
+      if (ioEnd < 0) {
+        return t + 1;
+      }
+      next = Math.min(next, ioEnd);
+    }
+
+    if (next == Integer.MAX_VALUE || next <= t + 1) {
+      return t + 1;
+    }
+
+    // Cada tick saltado habria contado 1 de ocio, o 1 por proceso en CONTEXT_SWITCHING
+    int skipped = next - t - 1;
+    scheduler.recordIdleTime(skipped * Math.max(1, inContextSwitch));
+
+    Logger.syncLog(String.format("[T=%d] [ENGINE] CPU ociosa, avanzando a t=%d (%d ticks saltados)",
+        t, next, skipped));
+    return next;
   }
 
   private void coordinateScheduler() {
@@ -362,8 +543,8 @@ public class SimulationEngine {
       return;
     }
 
-    // Verificar memoria durante ejecución
-    if (!syncController.hasAllRequiredPages(current)) {
+    // Verificar memoria durante ejecución (solo rafagas con referencias, ver ProcessThread)
+    if (lacksPages(current)) {
       Logger.syncLog("[ENGINE] " + current.getPid() + " perdió páginas");
       current.setState(ProcessState.READY);
       scheduler.addProcess(current);
@@ -375,20 +556,58 @@ public class SimulationEngine {
       return;
     }
 
-    // Manejar expropiación por quantum (Round Robin)
-    handleQuantumExpropriation(current);
+    checkPreemption(current);
 
     // Si sigue siendo RUNNING, permite continuar
     if (current.getState() == ProcessState.RUNNING) {
       wakeUpProcessThread(current);
       scheduler.recordCPUTime(1);
+      scheduler.accountExecution(current, 1);
     } else {
-      notifyProcessExecutionEnded(current, currentTime - 1 , "quantum agotado");
+      notifyProcessExecutionEnded(current, currentTime - 1 , "expropiado");
 
       selectNextProcess();
     }
   }
 
+  // Fin de porcion del que corre (CPU_COMPLETE): antes que los fines de cambio
+  // de contexto, de E/S y las llegadas del tick, que no lo pueden desplazar
+  private void endSlice() {
+    Process current = scheduler.getCurrentProcess();
+    if (current == null || current.getState() != ProcessState.RUNNING
+        || lacksPages(current)) {
+      return;
+    }
+    handleQuantumExpropriation(current);
+    if (current.getState() != ProcessState.RUNNING) {
+      notifyProcessExecutionEnded(current, currentTime - 1, "quantum agotado");
+    }
+  }
+
+  private boolean lacksPages(Process current) {
+    Burst burst = current.getCurrentBurst();
+    return burst != null && burst.hasReferences() && !syncController.hasAllRequiredPages(current);
+  }
+
+  // Como DiscreteEventEngine.checkPreemption: solo si la cola READY recibio
+  // a alguien desde que se despacho o se reviso por ultima vez
+  private void checkPreemption(Process current) {
+    long additions = scheduler.getReadyAdditions();
+    if (additions == readyAdditionsSeen || scheduler instanceof modules.scheduler.RoundRobin) {
+      readyAdditionsSeen = additions;
+      return;
+    }
+    readyAdditionsSeen = additions;
+
+    Process candidate = scheduler.selectNextProcess();
+    if (candidate == null || candidate == current || !scheduler.shouldPreempt(current, candidate)) {
+      return;
+    }
+    Logger.exeLog(String.format("[T=%d] [ENGINE] %s expropiado por %s",
+        currentTime, current.getPid(), candidate.getPid()));
+    releaseWithContextSwitch(current);
+  }
+
   private void handleQuantumExpropriation(Process current) {
     if (scheduler instanceof modules.scheduler.RoundRobin) {
       modules.scheduler.RoundRobin rr = (modules.scheduler.RoundRobin) scheduler;
@@ -397,21 +616,44 @@ public class SimulationEngine {
 
 
       if (rr.isQuantumAgotado()) {
-        int currentTime = getCurrentTime();
-        int overhead = config.getContextSwitchOverhead();
-        int endTime = currentTime;
-
-        Logger.exeLog(String.format(
-            "[T=%d] [ENGINE] Quantum agotado: %s  CONTEXT_SWITCHING (hasta t=%d)",
-            currentTime, current.getPid(), endTime));
-
-        current.setState(ProcessState.CONTEXT_SWITCHING);
-        current.setContextSwitchEndTime(endTime);
-        scheduler.setCurrentProcess(null);
+        expireQuantum(current);
 
         rr.resetQuantum();
       }
+    } else if (scheduler.consumeTimeSlice(current)) {
+      // MLFQ, CFS: la porcion se fijo al despacharlo (getTimeSlice)
+      expireQuantum(current);
+    }
+  }
+
+  // Mismas reglas que DiscreteEventEngine.endSlice: si nadie espera sigue con
+  // una porcion nueva; si no, deja la CPU con cambio de contexto
+  private void expireQuantum(Process current) {
+    if (!scheduler.hasReadyProcesses()) {
+      scheduler.renewTimeSlice(current);
+      return;
     }
+    Logger.exeLog(String.format("[T=%d] [ENGINE] Quantum agotado: %s", currentTime, current.getPid()));
+    releaseWithContextSwitch(current);
+  }
+
+  // Quitarle la CPU sin que termine (quantum, expropiacion): el cambio de
+  // contexto ocupa la CPU 'overhead' ticks desde este (ociosos, los cuenta
+  // countContextSwitchingCycles) y suma uno a cambiosContexto, igual que CPU→I/O
+  private void releaseWithContextSwitch(Process current) {
+    int overhead = config.getContextSwitchOverhead();
+    scheduler.setCurrentProcess(null);
+    scheduler.incrementContextSwitch();
+    if (overhead == 0) {
+      current.setState(ProcessState.READY);
+      scheduler.addProcess(current);
+      return;
+    }
+    if (stateListener != null) {
+      stateListener.onContextSwitch(current.getPid(), currentTime, overhead);
+    }
+    current.setState(ProcessState.CONTEXT_SWITCHING);
+    current.setContextSwitchEndTime(currentTime + overhead - 1);
   }
 
   private void selectNextProcess() {
@@ -462,8 +704,10 @@ public class SimulationEngine {
       // fin
 
       scheduler.confirmProcessSelection(nextProcess);
+      readyAdditionsSeen = scheduler.getReadyAdditions();
       wakeUpProcessThread(nextProcess);
       scheduler.recordCPUTime(1);
+      scheduler.accountExecution(nextProcess, 1);
 
     } else {
       // Vuelve a la cola
@@ -472,11 +716,9 @@ public class SimulationEngine {
   }
 
   private void wakeUpProcessThread(Process process) {
-    for (ProcessThread thread : processThreads) {
-      if (thread.getProcess() == process) {
-        thread.wakeUp();
-        break;
-      }
+    ProcessThread thread = threadOf.get(process);
+    if (thread != null) {
+      thread.wakeUp();
     }
   }
 
@@ -534,6 +776,7 @@ public class SimulationEngine {
     for (ProcessThread thread : processThreads) {
       thread.stopThread();
     }
+    syncController.stop();
   }
 
   private void sleep(int ms) {
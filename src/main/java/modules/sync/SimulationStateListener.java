@@ -8,6 +8,11 @@ public interface SimulationStateListener {
     void onBlockedIOChanged(List<Process> blockedIO);
     void onBlockedMemoryChanged(List<Process> blockedMemory);
     void onRunningChanged(Process runningProcess); 
+    //con varios nucleos: todos los RUNNING, en orden de nucleo; quien muestra
+    //uno solo recibe el primero
+    default void onRunningProcessesChanged(List<Process> running) {
+        onRunningChanged(running.isEmpty() ? null : running.get(0));
+    }
     void onProcessStateChanged(Process process);
     void onTimeChanged(int currentTime);
 
@@ -16,8 +21,31 @@ public interface SimulationStateListener {
     void onProcessExecutionEnded(String pid, int endTime);
     void onContextSwitch(String pid, int startTime, int duration);
 
+    //para varios nucleos (DiscreteEventEngine con Config.cores > 1): ademas de
+    //los de arriba, en que nucleo corrio cada tramo
+    default void onCoreExecutionStarted(int core, String pid, int startTime) {
+    }
+
+    default void onCoreExecutionEnded(int core, String pid, int endTime) {
+    }
+
     //para I/O
     void onIOStarted(String pid, int startTime);
     void onIOEnded(String pid, int endTime);
+
+    //los engines avisan con el dispositivo (nombre de IODevice); quien no lo
+    //necesita recibe las de arriba
+    default void onIOStarted(String pid, int startTime, String device) {
+        onIOStarted(pid, startTime);
+    }
+
+    default void onIOEnded(String pid, int endTime, String device) {
+        onIOEnded(pid, endTime);
+    }
+
+    // Si es false el engine no arma las copias de colas en cada paso
+    default boolean wantsQueueSnapshots() {
+        return true;
+    }
     
 }
\ No newline at end of file
@@ -1,18 +1,60 @@
 package modules.sync;
+import model.Burst;
 import model.Config;
 //NUEVO CAMBIO DE PARTE DE BRANCH MEM_MOD CAMBIOS DE DEFINICION DE PASO ACA TAMBIEN EN EVENTOS DE MEMORIA EN SINCRONIZACION
 import model.Process;
 import model.ProcessState;
 import modules.memory.MemoryManager;
 import modules.scheduler.Scheduler;
+import modules.workload.ReferenceModel;
 import utils.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/*
+SyncController
+Coordina el estado compartido de procesos, Scheduler y MemoryManager.
+
+coordinationMonitor:
+  Protege las transiciones de estado. Nadie espera sobre el: cada thread de
+  proceso duerme en su propio monitor (ProcessThread.wakeUp) y cada espera
+  de E/S en su propia alarma (IOManager), asi un cambio de estado despierta
+  solo a quien corresponde y no a todos.
+
+Reloj:
+  Lo publica el engine (unico escritor) en synchronizeTime/advanceClock; se
+  lee sin lock con getCurrentTime().
+
+Threads activos (workerStarted / workerWoken / workerIdle):
+  Cuenta los threads del motor (procesos y canales de E/S) que estan
+  reaccionando al tick. Quien despierta a un thread dormido lo cuenta y el
+  thread se descuenta antes de volver a dormir. El engine espera que llegue
+  a 0 (awaitIdleWorkers) antes de cada tick y antes de mover el reloj: cada
+  unidad de CPU, llegada o fin de E/S se aplica en su tick y no cuando el
+  sistema operativo le da turno al thread, asi el resultado no depende de
+  timeUnit.
+
+Comandos (post / drainCommands):
+  Cola sin locks de varios productores y un consumidor. Los canales de E/S
+  dejan ahi el fin de cada operacion y el engine la aplica al comienzo de su
+  tick, asi las transiciones de esos procesos las escribe un solo thread y
+  los canales no compiten por coordinationMonitor.
+*/
+
 public class SyncController {
   
   private final Scheduler scheduler;
   private final MemoryManager memoryManager;
   private final Object coordinationMonitor = new Object();
+  private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+  private volatile int clock;
+  // Despertadores por tiempo simulado (I/O, llegadas); los dispara el engine
+  private final TimerWheel timerWheel = new TimerWheel();
   private volatile boolean running;
   private final Config config;
+  private final Object workersMonitor = new Object();
+  private int activeWorkers; // protegido por workersMonitor
 
   public SyncController(Scheduler scheduler, MemoryManager memoryManager, Config config) {
     this.scheduler = scheduler;
@@ -21,8 +63,33 @@ public class SyncController {
     this.config = config;
   }
   
+  // Al llegar: completa la cadena de referencias (Config.referenceModel) y se
+  // la pasa a la memoria
+  public void registerProcess(Process process) {
+    if (config.getReferenceModel() != null) {
+      ReferenceModel.apply(config.getReferenceModel(), process, config.getSeed());
+    }
+    if (process.hasReferences()) {
+      memoryManager.setFutureAccesses(process.getPid(), process.getReferenceString());
+    }
+  }
+
+  // Accesos de 'units' unidades de la rafaga desde 'firstUnit' (la primera en
+  // 'startTime'). Sin cadena de referencias se tocan todas las paginas.
+  public void recordExecution(Process process, Burst burst, int firstUnit, int units, int startTime) {
+    if (burst == null || !burst.hasReferences()) {
+      memoryManager.updateProcessPagesAccessTime(process.getPid());
+      return;
+    }
+    for (int i = 0; i < units; i++) {
+      memoryManager.referencePage(process.getPid(), burst.getReference(firstUnit + i), startTime + i);
+    }
+  }
+
   public boolean prepareProcessForExecution(Process process) {
     synchronized(coordinationMonitor) {
+      // BLOCKED_MEMORY sin fallo pendiente: el engine ya dio por cumplida la penalizacion
+      boolean faultServed = process.getState() == ProcessState.BLOCKED_MEMORY;
       if (process.isWaitingForPageFault()) {
         int currentTime = scheduler.getCurrentTime();
         int endTime = process.getPageFaultEndTime();
@@ -33,6 +100,7 @@ public class SyncController {
           Logger.memLog(String.format("[T=%d] [PAGE FAULT] %s completó page fault handling", 
             currentTime, process.getPid()));
           process.clearPageFault();
+          faultServed = true;
           memoryManager.waitForVisualStep();
         }
       } 
@@ -50,6 +118,12 @@ public class SyncController {
       
       if (hadPageFaults) {
         int pageFaultPenalty = config.getPageFaultPenalty();
+        // Lo que se perdio despues de un fallo ya atendido (esperando la CPU,
+        // o al cargar el resto de sus paginas sin referencias) se trae sin otra
+        // penalizacion, asi el proceso avanza al menos una unidad (si no, hay livelock)
+        if (faultServed) {
+          pageFaultPenalty = 0;
+        }
         
         if (pageFaultPenalty > 0) {
           int endTime = currentTime + pageFaultPenalty;
@@ -87,34 +161,47 @@ public class SyncController {
     }
   }
   
+  // Si la rafaga tiene cadena de referencias solo hace falta la pagina de la
+  // proxima unidad. Sin coordinationMonitor: el thread del proceso la llama en
+  // cada unidad y MemoryManager ya sincroniza cada consulta
   public boolean hasAllRequiredPages(Process process) {
-    synchronized(coordinationMonitor) {
-      int requiredPages = process.getRequiredPages();
-      String pid = process.getPid();
-      
-      for (int page = 0; page < requiredPages; page++) {
-        if (!memoryManager.isPageLoaded(pid, page)) {
-          return false;
-        }
+    int requiredPages = process.getRequiredPages();
+    String pid = process.getPid();
+    int reference = process.getCurrentReference();
+    if (reference >= 0) {
+      return memoryManager.isPageLoaded(pid, reference);
+    }
+
+    for (int page = 0; page < requiredPages; page++) {
+      if (!memoryManager.isPageLoaded(pid, page)) {
+        return false;
       }
-      
-      return true;
     }
+
+    return true;
   }
   
-  public void blockProcessForMemory(Process process) {
+  // El proceso perdio una pagina mientras corria: vuelve a la cola como en
+  // el "perdio paginas" del engine y al despacharlo prepareProcessForExecution
+  // la trae. Antes quedaba en BLOCKED_MEMORY sin fallo pendiente y nadie lo
+  // despertaba. Devuelve false si el engine ya lo saco de la CPU
+  public boolean requeueForMemory(Process process) {
     synchronized(coordinationMonitor) {
-      ProcessState currentState = process.getState();
-      if (currentState != ProcessState.TERMINATED) {
-        process.setState(ProcessState.BLOCKED_MEMORY);
-        
-        int currentTime = scheduler.getCurrentTime();
-        Logger.procLog(String.format("[T=%d] [%s] BLOCKED_MEMORY (memoria insuficiente)", 
-          currentTime, process.getPid()));
-        
-        scheduler.forceContextSwitch();
-        coordinationMonitor.notifyAll();
+      if (process.getState() != ProcessState.RUNNING || hasAllRequiredPages(process)) {
+        return false;
+      }
+      process.setState(ProcessState.READY);
+      scheduler.addProcess(process);
+
+      int currentTime = scheduler.getCurrentTime();
+      Logger.procLog(String.format("[T=%d] [%s] READY (perdio paginas)", 
+        currentTime, process.getPid()));
+
+      // Solo si la CPU sigue siendo suya, como al terminar la rafaga
+      if (scheduler.getCurrentProcess() == process) {
+        scheduler.setCurrentProcess(null);
       }
+      return true;
     }
   }
   
@@ -126,6 +213,9 @@ public class SyncController {
         return;
       }
       
+      if (previousState == ProcessState.BLOCKED_IO) {
+        scheduler.onIOComplete(process);
+      }
       process.setState(ProcessState.READY);
       scheduler.addProcess(process);
       
@@ -136,14 +226,15 @@ public class SyncController {
           currentTime, process.getPid(), previousState, reason
         ));
       }
-      
-      coordinationMonitor.notifyAll();
     }
   }
   
   public void releaseProcessResources(Process process) {
     synchronized(coordinationMonitor) {
       process.setState(ProcessState.TERMINATED);
+      // Pudo quedar encolado si el engine cerro su cambio de contexto mientras
+      // terminaba la ultima rafaga: si sigue en la cola se volveria a despachar
+      scheduler.removeProcess(process);
       
       int currentTime = scheduler.getCurrentTime();
       Logger.procLog(String.format("[T=%d] [%s] TERMINATED", 
@@ -152,8 +243,6 @@ public class SyncController {
       memoryManager.freeProcessPages(process.getPid());
       
       scheduler.onProcessComplete(process);
-      
-      coordinationMonitor.notifyAll();
     }
   }
   
@@ -161,44 +250,79 @@ public class SyncController {
     synchronized(coordinationMonitor) {
       scheduler.setCurrentTime(time);
       memoryManager.setCurrentTime(time);
+      clock = time;
     }
   }
 
-  public synchronized int getCurrentTime() {
-    return scheduler.getCurrentTime();
+  // Solo el engine: publica el reloj antes de disparar los timers del tick
+  public void advanceClock(int time) {
+    clock = time;
   }
-  
 
-  public synchronized void start() {
-    running = true;
+  public int getCurrentTime() {
+    return clock;
   }
-  
-  public synchronized void stop() {
-    running = false;
+
+  // Cualquier thread: la accion la ejecuta el engine en drainCommands()
+  public void post(Runnable command) {
+    commands.add(command);
+  }
+
+  // Solo el engine, una vez por tick: aplica en orden los comandos recibidos
+  public void drainCommands() {
     synchronized(coordinationMonitor) {
-      coordinationMonitor.notifyAll();
+      Runnable command;
+      while ((command = commands.poll()) != null) {
+        command.run();
+      }
     }
   }
-  
-  public void waitForReadyProcess() throws InterruptedException {
-    synchronized (coordinationMonitor) {
-      while (running && !hasReadyProcesses()) {
-        coordinationMonitor.wait();
+
+  public boolean hasPendingCommands() {
+    return !commands.isEmpty();
+  }
+
+  // Un thread del motor que arranca cuenta como activo hasta su primer workerIdle
+  public void workerStarted() {
+    workerWoken();
+  }
+
+  public void workerWoken() {
+    synchronized(workersMonitor) {
+      activeWorkers++;
+    }
+  }
+
+  public void workerIdle() {
+    synchronized(workersMonitor) {
+      if (--activeWorkers == 0) {
+        workersMonitor.notifyAll();
       }
     }
   }
-  
-  public void triggerReschedule() {
-    synchronized(coordinationMonitor) {
-      coordinationMonitor.notifyAll();
+
+  // Solo el engine, sin coordinationMonitor: los threads lo pueden necesitar
+  // para terminar lo que hacen. Vuelve enseguida si se detiene la simulacion
+  public void awaitIdleWorkers() throws InterruptedException {
+    synchronized(workersMonitor) {
+      while (running && activeWorkers > 0) {
+        workersMonitor.wait();
+      }
     }
   }
 
-  private boolean hasReadyProcesses() {
-    return scheduler.hasReadyProcesses();
+  public void start() {
+    running = true;
+  }
+  
+  public void stop() {
+    running = false;
+    synchronized(workersMonitor) {
+      workersMonitor.notifyAll();
+    }
   }
   
-  public synchronized boolean isRunning() {
+  public boolean isRunning() {
     return running;
   }
 
@@ -208,6 +332,14 @@ public class SyncController {
       String pid = process.getPid();
       boolean hadPageFault = false;
 
+      int reference = process.getCurrentReference();
+      if (reference >= 0) {
+        if (memoryManager.isPageLoaded(pid, reference)) {
+          return false;
+        }
+        return memoryManager.loadPage(process, reference);
+      }
+
       for (int pageNum = 0; pageNum < numPages; pageNum++) { // Carga la pagina si no esta cargada
         if (!memoryManager.isPageLoaded(pid, pageNum)) {
           hadPageFault = true;
@@ -228,4 +360,5 @@ public class SyncController {
   public Scheduler getScheduler() { return scheduler; }
   public MemoryManager getMemoryManager() { return memoryManager; }
   public Object getCoordinationMonitor() { return coordinationMonitor; }
+  public TimerWheel getTimerWheel() { return timerWheel; }
 }
\ No newline at end of file
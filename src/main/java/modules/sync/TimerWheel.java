@@ -0,0 +1,180 @@
+package modules.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+TimerWheel
+Rueda de temporizadores jerarquica indexada por tiempo simulado. Reemplaza
+el polling (wait(50)) de IOManager y ProcessThread: cada quien registra la
+accion a ejecutar en el tick que le interesa y el engine dispara la rueda
+cada vez que avanza el reloj.
+
+ESTRUCTURA:
+  LEVELS niveles de SLOTS casillas cada uno. El nivel l agrupa los timers por
+  bloques de SLOTS^l ticks; el nivel 0 tiene un tick por casilla.
+  Un timer se guarda en el nivel mas bajo cuyo bloque comparte con el tiempo
+  actual todos los bits superiores. Cuando el reloj entra a un bloque nuevo,
+  la casilla correspondiente del nivel superior se redistribuye (cascada)
+  hacia los niveles inferiores.
+  Los timers mas alla del ultimo nivel esperan en overflow.
+
+METODOS:
+  schedule(time, action): registra una accion. Si time ya paso, la ejecuta.
+  advanceTo(time): avanza el reloj y ejecuta en orden todo lo vencido.
+  Las acciones se ejecutan fuera del lock de la rueda.
+
+COSTO:
+  schedule O(1); advanceTo O(1) amortizado por tick y por timer, y salta
+  bloques enteros de nivel 0 cuando no tienen timers.
+*/
+
+public class TimerWheel {
+
+  private static final int BITS = 6;
+  private static final int SLOTS = 1 << BITS;
+  private static final int MASK = SLOTS - 1;
+  private static final int LEVELS = 4;
+
+  private static final class Timer {
+    final int time;
+    final Runnable action;
+
+    Timer(int time, Runnable action) {
+      this.time = time;
+      this.action = action;
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private final List<Timer>[][] wheels = new List[LEVELS][SLOTS];
+  private final int[] levelCount = new int[LEVELS];
+  private final List<Timer> overflow = new ArrayList<>();
+
+  private int currentTime;
+  private int pending;
+
+  public TimerWheel() {
+    this(0);
+  }
+
+  public TimerWheel(int startTime) {
+    this.currentTime = startTime;
+    for (int l = 0; l < LEVELS; l++) {
+      for (int s = 0; s < SLOTS; s++) {
+        wheels[l][s] = new ArrayList<>();
+      }
+    }
+  }
+
+  public void schedule(int time, Runnable action) {
+    synchronized (this) {
+      if (time > currentTime) {
+        insert(new Timer(time, action));
+        pending++;
+        return;
+      }
+    }
+    // Ya vencio: se ejecuta de inmediato, sin el lock
+    action.run();
+  }
+
+  public void advanceTo(int time) {
+    List<Runnable> due = new ArrayList<>();
+
+    synchronized (this) {
+      while (currentTime < time) {
+        if (pending == 0) {
+          currentTime = time;
+          break;
+        }
+
+        // Sin timers en nivel 0: saltar al ultimo tick del bloque actual
+        if (levelCount[0] == 0) {
+          int blockEnd = currentTime | MASK;
+          if (blockEnd >= time) {
+            currentTime = time;
+            break;
+          }
+          currentTime = blockEnd;
+        }
+
+        tick(due);
+      }
+    }
+
+    for (Runnable action : due) {
+      action.run();
+    }
+  }
+
+  public synchronized int getCurrentTime() {
+    return currentTime;
+  }
+
+  public synchronized int getPendingTimers() {
+    return pending;
+  }
+
+  private void tick(List<Runnable> due) {
+    currentTime++;
+
+    // Cascada de mayor a menor nivel al entrar a un bloque nuevo
+    if ((currentTime & ((1 << (BITS * LEVELS)) - 1)) == 0 && !overflow.isEmpty()) {
+      List<Timer> moved = new ArrayList<>(overflow);
+      overflow.clear();
+      for (Timer t : moved) {
+        reinsert(t, due);
+      }
+    }
+    for (int l = LEVELS - 1; l > 0; l--) {
+      if ((currentTime & ((1 << (BITS * l)) - 1)) == 0) {
+        cascade(l, (currentTime >>> (BITS * l)) & MASK, due);
+      }
+    }
+
+    List<Timer> slot = wheels[0][currentTime & MASK];
+    if (!slot.isEmpty()) {
+      for (Timer t : slot) {
+        due.add(t.action);
+      }
+      levelCount[0] -= slot.size();
+      pending -= slot.size();
+      slot.clear();
+    }
+  }
+
+  private void cascade(int level, int index, List<Runnable> due) {
+    List<Timer> slot = wheels[level][index];
+    if (slot.isEmpty()) {
+      return;
+    }
+    List<Timer> moved = new ArrayList<>(slot);
+    levelCount[level] -= slot.size();
+    slot.clear();
+    for (Timer t : moved) {
+      reinsert(t, due);
+    }
+  }
+
+  private void reinsert(Timer t, List<Runnable> due) {
+    if (t.time <= currentTime) {
+      due.add(t.action);
+      pending--;
+    } else {
+      insert(t);
+    }
+  }
+
+  private void insert(Timer t) {
+    for (int l = 0; l < LEVELS; l++) {
+      int shift = BITS * (l + 1);
+      if ((t.time >>> shift) == (currentTime >>> shift)) {
+        wheels[l][(t.time >>> (BITS * l)) & MASK].add(t);
+        levelCount[l]++;
+        return;
+      }
+    }
+    overflow.add(t);
+  }
+}
@@ -0,0 +1,68 @@
+package modules.sync;
+
+/*
+WaitHistogram
+Distribucion de los tiempos de espera para las metricas de inanicion
+(espera maxima y percentil 99) sin guardar un valor por proceso: sirve igual
+con la lista completa que en modo streaming con millones de procesos.
+
+CUBETAS (log-lineal, ~1700 contadores):
+  0..127 exactos; de ahi en adelante 64 cubetas por potencia de 2, asi el
+  error relativo es menor a 1/64 (~1.6%).
+  percentile() devuelve el limite superior de la cubeta (nunca subestima) y
+  nunca mas que el maximo, que se guarda exacto.
+*/
+
+final class WaitHistogram {
+
+  private static final int EXACT = 128;
+  private static final int SUB_BITS = 6;   // 64 cubetas por potencia de 2
+
+  private final long[] counts = new long[EXACT + (31 - SUB_BITS) * (1 << SUB_BITS)];
+  private long total;
+  private int max;
+
+  void add(int value) {
+    int v = Math.max(0, value);
+    counts[index(v)]++;
+    total++;
+    max = Math.max(max, v);
+  }
+
+  int max() {
+    return max;
+  }
+
+  // Menor valor v tal que al menos 'percent'% de las esperas es <= v
+  int percentile(double percent) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(total * percent / 100.0);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= Math.max(1, rank)) {
+        return Math.min(max, upperBound(i));
+      }
+    }
+    return max;
+  }
+
+  private static int index(int v) {
+    if (v < EXACT) {
+      return v;
+    }
+    int shift = 31 - Integer.numberOfLeadingZeros(v) - SUB_BITS;
+    return (shift << SUB_BITS) + (v >>> shift);
+  }
+
+  private static int upperBound(int index) {
+    if (index < EXACT) {
+      return index;
+    }
+    int shift = (index >>> SUB_BITS) - 1;
+    int mantissa = (index & ((1 << SUB_BITS) - 1)) | (1 << SUB_BITS);
+    return (int) Math.min(Integer.MAX_VALUE, (((long) mantissa + 1) << shift) - 1);
+  }
+}
@@ -0,0 +1,217 @@
+package modules.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+
+/*
+MappedTrace
+Traza binaria (formato de TraceWriter) mapeada en memoria para acceso
+aleatorio por indice de registro, sin leerla entera.
+
+MAPEO:
+  Un MappedByteBuffer no pasa de 2 GB, asi que los registros se mapean en
+  segmentos de SEGMENT_RECORDS registros.
+
+INDICE DISPERSO (un valor por bloque de INDEX_STRIDE registros):
+  Los registros estan en orden de emision. Con un solo thread (DES) eso es
+  orden de tiempo, pero el engine con threads puede intercalar registros de
+  distintos threads con tiempos un poco desordenados, asi que no se asume y
+  se guardan dos cotas monotonas por bloque:
+    endBefore[k]: mayor instante de fin de los registros anteriores al bloque k
+                  (fin = time + a para CPU y CONTEXT_SWITCH, time para el resto).
+    minFrom[k]:   menor time desde el bloque k hasta el final.
+  firstAfter(t) da desde donde pueden aparecer eventos que sigan activos en t
+  y scanEnd(t) hasta donde puede haber registros con time <= t; ambas son una
+  busqueda binaria sobre el indice.
+*/
+
+public class MappedTrace implements Closeable {
+
+  public static final int INDEX_STRIDE = 1024;
+
+  private static final int SEGMENT_RECORDS = 1 << 24;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] segments;
+  private final long size;
+  private final List<String> names;
+
+  private final int[] endBefore;
+  private final int[] minFrom;
+  private final int endTime;
+  private final int frameCount;
+  private final int pidCount;
+  private final BitSet pidIds = new BitSet(); // ids usados como pid (no dispositivos)
+
+  public MappedTrace(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      long tableOffset = TraceFile.readTableOffset(channel, path);
+      this.size = TraceFile.recordCount(channel, tableOffset);
+
+      int segmentCount = (int) ((size + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS);
+      this.segments = new MappedByteBuffer[segmentCount];
+      for (int s = 0; s < segmentCount; s++) {
+        long first = (long) s * SEGMENT_RECORDS;
+        long count = Math.min(SEGMENT_RECORDS, size - first);
+        segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+            TraceWriter.HEADER_SIZE + first * TraceWriter.RECORD_SIZE, count * TraceWriter.RECORD_SIZE);
+      }
+      this.names = TraceFile.readNames(channel, tableOffset);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+
+    // Una pasada para el indice disperso
+    int blocks = (int) ((size + INDEX_STRIDE - 1) / INDEX_STRIDE);
+    this.endBefore = new int[blocks + 1];
+    this.minFrom = new int[blocks + 1];
+    int maxEnd = 0;
+    int maxFrame = -1;
+    int maxPid = names.size() - 1;
+    int[] blockMin = new int[blocks];
+    for (int k = 0; k < blocks; k++) {
+      endBefore[k] = maxEnd;
+      int min = Integer.MAX_VALUE;
+      long last = Math.min(size, (long) (k + 1) * INDEX_STRIDE);
+      for (long i = (long) k * INDEX_STRIDE; i < last; i++) {
+        int time = time(i);
+        min = Math.min(min, time);
+        maxEnd = Math.max(maxEnd, endOf(i));
+        int pid = pidId(i);
+        if (pid >= 0) {
+          maxPid = Math.max(maxPid, pid);
+          pidIds.set(pid);
+        }
+        TraceEventType type = type(i);
+        if (type == TraceEventType.PAGE_LOAD || type == TraceEventType.EVICTION) {
+          maxFrame = Math.max(maxFrame, b(i));
+        }
+      }
+      blockMin[k] = min;
+    }
+    endBefore[blocks] = maxEnd;
+    minFrom[blocks] = Integer.MAX_VALUE;
+    for (int k = blocks - 1; k >= 0; k--) {
+      minFrom[k] = Math.min(blockMin[k], minFrom[k + 1]);
+    }
+    this.endTime = maxEnd;
+    this.frameCount = maxFrame + 1;
+    this.pidCount = maxPid + 1;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public TraceEventType type(long i) {
+    return TraceEventType.fromCode(segment(i).get(offset(i)));
+  }
+
+  public int time(long i) {
+    return segment(i).getInt(offset(i) + 4);
+  }
+
+  public int pidId(long i) {
+    return segment(i).getInt(offset(i) + 8);
+  }
+
+  public String pid(long i) {
+    return name(pidId(i));
+  }
+
+  public int a(long i) {
+    return segment(i).getInt(offset(i) + 12);
+  }
+
+  public int b(long i) {
+    return segment(i).getInt(offset(i) + 16);
+  }
+
+  // Instante en que termina lo que describe el registro
+  public int endOf(long i) {
+    TraceEventType type = type(i);
+    int time = time(i);
+    return type == TraceEventType.CPU || type == TraceEventType.CONTEXT_SWITCH ? time + Math.max(0, a(i)) : time;
+  }
+
+  public String name(int id) {
+    if (id < 0) {
+      return null;
+    }
+    return id < names.size() ? names.get(id) : "#" + id;
+  }
+
+  // Pids (y nombres) de la tabla; vacia si la traza no se cerro
+  public List<String> getNames() {
+    return names;
+  }
+
+  public int getEndTime() {
+    return endTime;
+  }
+
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  // Ids validos (pids y dispositivos comparten la tabla): 0..getPidCount()-1
+  public int getPidCount() {
+    return pidCount;
+  }
+
+  // true si el id aparece como pid en algun registro
+  public boolean isPid(int id) {
+    return pidIds.get(id);
+  }
+
+  // Primer indice de bloque tal que todo lo anterior termino antes de 'time'
+  public long firstAfter(int time) {
+    int lo = 0;
+    int hi = endBefore.length - 1;
+    while (lo < hi) {
+      int mid = (lo + hi + 1) >>> 1;
+      if (endBefore[mid] < time) {
+        lo = mid;
+      } else {
+        hi = mid - 1;
+      }
+    }
+    return Math.min(size, (long) lo * INDEX_STRIDE);
+  }
+
+  // Indice desde el cual todos los registros tienen time > 'time'
+  public long scanEnd(int time) {
+    int lo = 0;
+    int hi = minFrom.length - 1;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (minFrom[mid] > time) {
+        hi = mid;
+      } else {
+        lo = mid + 1;
+      }
+    }
+    return Math.min(size, (long) lo * INDEX_STRIDE);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private MappedByteBuffer segment(long i) {
+    return segments[(int) (i / SEGMENT_RECORDS)];
+  }
+
+  private int offset(long i) {
+    return (int) (i % SEGMENT_RECORDS) * TraceWriter.RECORD_SIZE;
+  }
+}
@@ -0,0 +1,57 @@
+package modules.trace;
+
+/*
+TraceEventType
+Tipos de registro de la traza binaria. El codigo es el byte que se graba;
+no cambiar los existentes para que las trazas viejas se sigan leyendo.
+
+Campos a y b de cada tipo:
+  STATE:          a = estado anterior, b = estado nuevo (ordinal de ProcessState)
+  CPU:            a = unidades ejecutadas desde 'time'. Se graba al empezar la
+                  porcion y a se completa al terminar: -1 si la traza se corto
+                  con la porcion abierta, 0 si no llego a ejecutar.
+                  b = nucleo + 1 con varios nucleos, 0 si no se sabe
+  IO_START:       a = dispositivo (indice en la tabla de nombres, -1 si no se sabe)
+  IO_END:         a = dispositivo
+  PAGE_FAULT:     a = pagina
+  PAGE_LOAD:      a = pagina, b = marco
+  EVICTION:       a = pagina, b = marco (pid = dueño anterior)
+  CONTEXT_SWITCH: a = duracion
+*/
+
+public enum TraceEventType {
+  STATE(1),
+  CPU(2),
+  IO_START(3),
+  IO_END(4),
+  PAGE_FAULT(5),
+  PAGE_LOAD(6),
+  EVICTION(7),
+  CONTEXT_SWITCH(8);
+
+  private static final TraceEventType[] BY_CODE = new TraceEventType[16];
+
+  static {
+    for (TraceEventType type : values()) {
+      BY_CODE[type.code] = type;
+    }
+  }
+
+  private final byte code;
+
+  TraceEventType(int code) {
+    this.code = (byte) code;
+  }
+
+  public byte getCode() {
+    return code;
+  }
+
+  public static TraceEventType fromCode(byte code) {
+    TraceEventType type = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    if (type == null) {
+      throw new IllegalArgumentException("Tipo de registro desconocido: " + code);
+    }
+    return type;
+  }
+}
@@ -0,0 +1,78 @@
+package modules.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+TraceFile
+Lectura de la cabecera y de la tabla de nombres de una traza (formato de
+TraceWriter), comun a TraceReader y MappedTrace.
+
+Un FileChannel.read puede devolver menos bytes de los pedidos, asi que todo
+se lee con readFully, que repite hasta llenar el buffer.
+*/
+
+final class TraceFile {
+
+  private TraceFile() {
+  }
+
+  // Valida la cabecera y devuelve el offset de la tabla de nombres (0 si la traza no se cerro)
+  static long readTableOffset(FileChannel channel, Path path) throws IOException {
+    if (channel.size() < TraceWriter.HEADER_SIZE) {
+      throw new IOException("No es una traza de simulacion: " + path);
+    }
+    ByteBuffer header = ByteBuffer.allocate(TraceWriter.HEADER_SIZE);
+    readFully(channel, header, 0);
+    header.flip();
+    if (header.getInt() != TraceWriter.MAGIC) {
+      throw new IOException("No es una traza de simulacion: " + path);
+    }
+    short version = header.getShort();
+    short recordSize = header.getShort();
+    if (version != TraceWriter.VERSION || recordSize != TraceWriter.RECORD_SIZE) {
+      throw new IOException("Version de traza no soportada: " + version);
+    }
+    return header.getLong();
+  }
+
+  // Registros completos: hasta la tabla o, sin ella, hasta el final del archivo
+  static long recordCount(FileChannel channel, long tableOffset) throws IOException {
+    long end = tableOffset > 0 ? tableOffset : channel.size();
+    return (end - TraceWriter.HEADER_SIZE) / TraceWriter.RECORD_SIZE;
+  }
+
+  static List<String> readNames(FileChannel channel, long tableOffset) throws IOException {
+    if (tableOffset <= 0) {
+      return Collections.emptyList();
+    }
+    ByteBuffer table = ByteBuffer.allocate((int) (channel.size() - tableOffset));
+    readFully(channel, table, tableOffset);
+    table.flip();
+    int count = table.getInt();
+    List<String> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      byte[] bytes = new byte[table.getShort()];
+      table.get(bytes);
+      result.add(new String(bytes, StandardCharsets.UTF_8));
+    }
+    return result;
+  }
+
+  static void readFully(FileChannel channel, ByteBuffer target, long offset) throws IOException {
+    long at = offset;
+    while (target.hasRemaining()) {
+      int read = channel.read(target, at);
+      if (read < 0) {
+        throw new IOException("Traza truncada");
+      }
+      at += read;
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package modules.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+TraceReader
+Lee de a poco una traza grabada por TraceWriter (formato descrito alli),
+sin cargarla entera en memoria.
+
+USO:
+  try (TraceReader reader = new TraceReader(path)) {
+    TraceRecord r;
+    while ((r = reader.next()) != null) { ... }
+  }
+  o reader.stream() para recorrerla con streams.
+
+Si la traza no se cerro (simulacion cortada) se leen los registros completos
+que haya y los pids quedan como "#<id>".
+
+Desde consola imprime un resumen y, con --todo, cada registro:
+  java -cp target/classes modules.trace.TraceReader archivo.trace [--todo]
+*/
+
+public class TraceReader implements Closeable {
+
+  private static final int BUFFER_RECORDS = 4096;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(TraceWriter.RECORD_SIZE * BUFFER_RECORDS);
+  private final List<String> names;
+  private final long recordsEnd;
+  private long position;
+
+  public TraceReader(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      long tableOffset = TraceFile.readTableOffset(channel, path);
+      this.recordsEnd = TraceWriter.HEADER_SIZE + TraceFile.recordCount(channel, tableOffset) * TraceWriter.RECORD_SIZE;
+      this.names = TraceFile.readNames(channel, tableOffset);
+      this.position = TraceWriter.HEADER_SIZE;
+      buffer.limit(0);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  // Siguiente registro, o null al final de la traza
+  public TraceRecord next() throws IOException {
+    if (!buffer.hasRemaining()) {
+      if (position >= recordsEnd) {
+        return null;
+      }
+      buffer.clear();
+      buffer.limit((int) Math.min(buffer.capacity(), recordsEnd - position));
+      TraceFile.readFully(channel, buffer, position);
+      position += buffer.position();
+      buffer.flip();
+    }
+    TraceEventType type = TraceEventType.fromCode(buffer.get());
+    buffer.get();
+    buffer.getShort();
+    int time = buffer.getInt();
+    String pid = name(buffer.getInt());
+    int a = buffer.getInt();
+    int b = buffer.getInt();
+    return new TraceRecord(type, time, pid, a, b);
+  }
+
+  public Stream<TraceRecord> stream() {
+    Iterator<TraceRecord> it = new Iterator<>() {
+      private TraceRecord pending;
+
+      @Override
+      public boolean hasNext() {
+        if (pending == null) {
+          try {
+            pending = TraceReader.this.next();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+        return pending != null;
+      }
+
+      @Override
+      public TraceRecord next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        TraceRecord r = pending;
+        pending = null;
+        return r;
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED), false);
+  }
+
+  // Nombre de un indice de la tabla (pid o dispositivo)
+  public String name(int id) {
+    if (id < 0) {
+      return null;
+    }
+    return id < names.size() ? names.get(id) : "#" + id;
+  }
+
+  public long getRecordCount() {
+    return (recordsEnd - TraceWriter.HEADER_SIZE) / TraceWriter.RECORD_SIZE;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Uso: TraceReader <archivo.trace> [--todo]");
+      System.exit(1);
+    }
+    boolean all = args.length > 1 && args[1].equals("--todo");
+    Map<TraceEventType, Long> counts = new EnumMap<>(TraceEventType.class);
+    int lastTime = 0;
+
+    try (TraceReader reader = new TraceReader(Paths.get(args[0]))) {
+      TraceRecord r;
+      while ((r = reader.next()) != null) {
+        counts.merge(r.getType(), 1L, Long::sum);
+        lastTime = Math.max(lastTime, r.getTime());
+        if (all) {
+          System.out.println(r);
+        }
+      }
+      System.out.printf("Registros: %d, ultimo tiempo: %d%n", reader.getRecordCount(), lastTime);
+    }
+    counts.forEach((type, n) -> System.out.printf("  %-15s %d%n", type, n));
+  }
+}
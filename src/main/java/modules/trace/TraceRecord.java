@@ -0,0 +1,48 @@
+package modules.trace;
+
+/*
+TraceRecord
+Un registro leido de la traza. pid ya viene resuelto con la tabla de nombres.
+*/
+
+public class TraceRecord {
+
+  private final TraceEventType type;
+  private final int time;
+  private final String pid;
+  private final int a;
+  private final int b;
+
+  public TraceRecord(TraceEventType type, int time, String pid, int a, int b) {
+    this.type = type;
+    this.time = time;
+    this.pid = pid;
+    this.a = a;
+    this.b = b;
+  }
+
+  public TraceEventType getType() {
+    return type;
+  }
+
+  public int getTime() {
+    return time;
+  }
+
+  public String getPid() {
+    return pid;
+  }
+
+  public int getA() {
+    return a;
+  }
+
+  public int getB() {
+    return b;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("[T=%d] %s %s a=%d b=%d", time, type, pid, a, b);
+  }
+}
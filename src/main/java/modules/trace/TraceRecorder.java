@@ -0,0 +1,251 @@
+package modules.trace;
+
+import model.Process;
+import model.ProcessState;
+import modules.memory.MemoryEventListener;
+import modules.memory.MemoryManager;
+import modules.sync.SimulationStateListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/*
+TraceRecorder
+Pasa los eventos de la simulacion a un TraceWriter. Se engancha en los tres
+puntos que ya existen: SimulationStateListener (CPU, E/S, cambios de
+contexto), MemoryEventListener (fallos, cargas, desalojos) y
+Process.StateListener (transiciones de estado).
+
+Si hay un listener previo (la GUI) se le reenvia todo, asi la traza no
+cambia lo que se ve en pantalla. Sin listener previo pide al engine y a la
+memoria que no armen copias de colas ni snapshots de texto.
+
+El tiempo de los eventos que no lo traen (estado, memoria) sale de 'clock'.
+Cada porcion de CPU se graba al empezar (a = -1) y se completa al terminar
+con TraceWriter.update, asi los registros quedan en orden de tiempo. Con
+varios nucleos onCoreExecutionStarted llega despues y anota el nucleo en b.
+
+USO (desde el engine):
+  recorder.attach(memoryManager, procesos); ... recorder.detach(...); recorder.close();
+*/
+
+public class TraceRecorder implements SimulationStateListener, MemoryEventListener, Process.StateListener,
+    Closeable {
+
+  private final TraceWriter writer;
+  private final IntSupplier clock;
+  private final SimulationStateListener delegate;
+  private final Map<String, long[]> openSlices = new ConcurrentHashMap<>(); // pid -> {registro, inicio, b}
+
+  public TraceRecorder(TraceWriter writer, IntSupplier clock, SimulationStateListener delegate) {
+    this.writer = writer;
+    this.clock = clock;
+    this.delegate = delegate;
+  }
+
+  public void attach(MemoryManager memoryManager, List<Process> processes) {
+    memoryManager.addListener(this);
+    for (Process p : processes) {
+      p.setStateListener(this);
+    }
+  }
+
+  public void detach(MemoryManager memoryManager, List<Process> processes) {
+    memoryManager.removeListener(this);
+    for (Process p : processes) {
+      p.setStateListener(null);
+    }
+  }
+
+  public SimulationStateListener getDelegate() {
+    return delegate;
+  }
+
+  public long getRecordCount() {
+    return writer.getRecordCount();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+  // Process.StateListener
+
+  @Override
+  public void onStateChanged(Process process, ProcessState from, ProcessState to) {
+    writer.write(TraceEventType.STATE, clock.getAsInt(), process.getPid(),
+        from != null ? from.ordinal() : -1, to.ordinal());
+  }
+
+  // SimulationStateListener
+
+  @Override
+  public void onProcessExecutionStarted(String pid, int startTime) {
+    long record = writer.write(TraceEventType.CPU, startTime, pid, -1, 0);
+    openSlices.put(pid, new long[] {record, startTime, 0});
+    if (delegate != null) {
+      delegate.onProcessExecutionStarted(pid, startTime);
+    }
+  }
+
+  @Override
+  public void onProcessExecutionEnded(String pid, int endTime) {
+    long[] slice = openSlices.remove(pid);
+    if (slice != null) {
+      writer.update(slice[0], Math.max(0, endTime - (int) slice[1]), (int) slice[2]);
+    }
+    if (delegate != null) {
+      delegate.onProcessExecutionEnded(pid, endTime);
+    }
+  }
+
+  @Override
+  public void onCoreExecutionStarted(int core, String pid, int startTime) {
+    long[] slice = openSlices.get(pid);
+    if (slice != null && slice[1] == startTime) {
+      slice[2] = core + 1;
+      writer.update(slice[0], -1, core + 1);
+    }
+    if (delegate != null) {
+      delegate.onCoreExecutionStarted(core, pid, startTime);
+    }
+  }
+
+  @Override
+  public void onCoreExecutionEnded(int core, String pid, int endTime) {
+    if (delegate != null) {
+      delegate.onCoreExecutionEnded(core, pid, endTime);
+    }
+  }
+
+  @Override
+  public void onContextSwitch(String pid, int startTime, int duration) {
+    writer.write(TraceEventType.CONTEXT_SWITCH, startTime, pid, duration, 0);
+    if (delegate != null) {
+      delegate.onContextSwitch(pid, startTime, duration);
+    }
+  }
+
+  @Override
+  public void onIOStarted(String pid, int startTime) {
+    onIOStarted(pid, startTime, null);
+  }
+
+  @Override
+  public void onIOStarted(String pid, int startTime, String device) {
+    writer.write(TraceEventType.IO_START, startTime, pid, writer.nameId(device), 0);
+    if (delegate != null) {
+      delegate.onIOStarted(pid, startTime, device);
+    }
+  }
+
+  @Override
+  public void onIOEnded(String pid, int endTime) {
+    onIOEnded(pid, endTime, null);
+  }
+
+  @Override
+  public void onIOEnded(String pid, int endTime, String device) {
+    writer.write(TraceEventType.IO_END, endTime, pid, writer.nameId(device), 0);
+    if (delegate != null) {
+      delegate.onIOEnded(pid, endTime, device);
+    }
+  }
+
+  @Override
+  public void onReadyQueueChanged(List<Process> readyQueue) {
+    if (delegate != null) {
+      delegate.onReadyQueueChanged(readyQueue);
+    }
+  }
+
+  @Override
+  public void onBlockedIOChanged(List<Process> blockedIO) {
+    if (delegate != null) {
+      delegate.onBlockedIOChanged(blockedIO);
+    }
+  }
+
+  @Override
+  public void onBlockedMemoryChanged(List<Process> blockedMemory) {
+    if (delegate != null) {
+      delegate.onBlockedMemoryChanged(blockedMemory);
+    }
+  }
+
+  @Override
+  public void onRunningChanged(Process runningProcess) {
+    if (delegate != null) {
+      delegate.onRunningChanged(runningProcess);
+    }
+  }
+
+  @Override
+  public void onRunningProcessesChanged(List<Process> running) {
+    if (delegate != null) {
+      delegate.onRunningProcessesChanged(running);
+    }
+  }
+
+  @Override
+  public void onProcessStateChanged(Process process) {
+    if (delegate != null) {
+      delegate.onProcessStateChanged(process);
+    }
+  }
+
+  @Override
+  public void onTimeChanged(int currentTime) {
+    if (delegate != null) {
+      delegate.onTimeChanged(currentTime);
+    }
+  }
+
+  @Override
+  public boolean wantsQueueSnapshots() {
+    return delegate != null && delegate.wantsQueueSnapshots();
+  }
+
+  // MemoryEventListener
+
+  @Override
+  public void onPageFault(String pid, int page) {
+    writer.write(TraceEventType.PAGE_FAULT, clock.getAsInt(), pid, page, 0);
+  }
+
+  @Override
+  public void onFrameLoaded(int frameIndex, String pid, int page, long lastAccessTime) {
+    writer.write(TraceEventType.PAGE_LOAD, clock.getAsInt(), pid, page, frameIndex);
+  }
+
+  @Override
+  public void onFrameEvicted(int frameIndex, String oldPid, int oldPage) {
+    writer.write(TraceEventType.EVICTION, clock.getAsInt(), oldPid, oldPage, frameIndex);
+  }
+
+  @Override
+  public void onPageAccess(int frameIndex, String pid, int page, boolean hit) {
+  }
+
+  @Override
+  public void onVictimChosen(int frameIndex, String reason, long lastAccessTime) {
+  }
+
+  @Override
+  public void onSnapshot(String snapshot) {
+  }
+
+  @Override
+  public void onPageAccessed(int frameIndex, String pid, int page, long newAccessTime) {
+  }
+
+  @Override
+  public boolean wantsSnapshots() {
+    return false;
+  }
+}
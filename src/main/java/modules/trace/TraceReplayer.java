@@ -0,0 +1,313 @@
+package modules.trace;
+
+import model.Process;
+import model.ProcessState;
+import modules.memory.MemoryEventListener;
+import modules.sync.SimulationStateListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/*
+TraceReplayer
+Reproduce una traza grabada (MappedTrace) sobre los mismos listeners que usa
+una simulacion en vivo: SimulationStateListener (Gantt, colas) y
+MemoryEventListener (marcos). No vuelve a simular nada.
+
+seek(t):
+  Deja las vistas como estaban en el instante t:
+    - estado de cada proceso y contenido de los marcos en t,
+    - Gantt solo de la ventana [t - window, t] (una corrida de un millon de
+      ticks no entra en pantalla ni en memoria de la GUI).
+  Para no recorrer la traza desde el principio se parte de un checkpoint:
+  cada checkpointStride registros se guarda el modelo (estados, marcos y
+  E/S abiertas) en la pasada inicial. Desde el checkpoint anterior a la
+  ventana se aplican los registros hasta scanEnd(t) del indice disperso.
+  Las porciones de CPU con nucleo (b > 0) se reemiten tambien como
+  onCoreExecutionStarted/Ended: una fila por nucleo en el Gantt.
+  Los checkpoints entran en CHECKPOINT_BUDGET bytes: el paso arranca en
+  CHECKPOINT_RECORDS y se agranda cuando la traza (o el modelo) no entra, asi
+  una traza larga cuesta seeks mas lentos y no mas memoria.
+
+Los procesos que se pasan a las colas se crean una vez por pid y se reusan;
+las colas se reemiten solo si cambio el estado de algun proceso desde el
+seek anterior. Con varios nucleos hay varios RUNNING a la vez: van todos en
+onRunningProcessesChanged.
+
+Antes de reemitir se llama a ResetListener.onReset para que la GUI limpie
+el Gantt y los marcos. Los listeners de la GUI ya pasan todo por
+Platform.runLater, asi que seek se puede llamar desde cualquier thread (uno
+a la vez: esta clase no es thread-safe).
+*/
+
+public class TraceReplayer {
+
+  public static final int DEFAULT_WINDOW = 200;
+
+  private static final int CHECKPOINT_RECORDS = MappedTrace.INDEX_STRIDE * 16;
+  private static final long CHECKPOINT_BUDGET = 64L << 20;
+  private static final ProcessState[] STATES = ProcessState.values();
+
+  // Aviso previo a cada reconstruccion
+  public interface ResetListener {
+    void onReset(int windowStart, int time, List<String> pids, int frames);
+  }
+
+  // Estado reconstruido en un punto de la traza
+  private static final class Model {
+    final byte[] state;
+    final int[] ioStart;
+    final int[] framePid;
+    final int[] framePage;
+
+    Model(int pids, int frames) {
+      state = new byte[pids];
+      Arrays.fill(state, (byte) ProcessState.NEW.ordinal());
+      ioStart = new int[pids];
+      Arrays.fill(ioStart, -1);
+      framePid = new int[frames];
+      Arrays.fill(framePid, -1);
+      framePage = new int[frames];
+    }
+
+    long bytes() {
+      return state.length * 5L + framePid.length * 8L + 64;
+    }
+
+    Model(Model other) {
+      state = other.state.clone();
+      ioStart = other.ioStart.clone();
+      framePid = other.framePid.clone();
+      framePage = other.framePage.clone();
+    }
+
+    void apply(MappedTrace trace, long i) {
+      int pid = trace.pidId(i);
+      if (pid < 0) {
+        return;
+      }
+      switch (trace.type(i)) {
+        case STATE -> state[pid] = (byte) trace.b(i);
+        case IO_START -> ioStart[pid] = trace.time(i);
+        case IO_END -> ioStart[pid] = -1;
+        case PAGE_LOAD -> {
+          framePid[trace.b(i)] = pid;
+          framePage[trace.b(i)] = trace.a(i);
+        }
+        case EVICTION -> framePid[trace.b(i)] = -1;
+        default -> {
+        }
+      }
+    }
+  }
+
+  private final MappedTrace trace;
+  private final SimulationStateListener stateListener;
+  private final MemoryEventListener memoryListener;
+  private final ResetListener resetListener;
+  private final List<Model> checkpoints = new ArrayList<>();
+  private final List<String> names; // por id: pids y dispositivos
+  private final List<String> pids;
+  private final long checkpointStride;
+  private final Process[] processes; // por id, creados al primer uso
+  private byte[] emittedStates; // estados de la ultima emision de colas
+  private int window = DEFAULT_WINDOW;
+  private int currentTime = -1;
+
+  public TraceReplayer(MappedTrace trace, SimulationStateListener stateListener,
+      MemoryEventListener memoryListener, ResetListener resetListener) {
+    this.trace = trace;
+    this.stateListener = stateListener;
+    this.memoryListener = memoryListener;
+    this.resetListener = resetListener;
+
+    List<String> ids = new ArrayList<>(trace.getPidCount());
+    for (int id = 0; id < trace.getPidCount(); id++) {
+      ids.add(trace.name(id));
+    }
+    this.names = Collections.unmodifiableList(ids);
+    List<String> onlyPids = new ArrayList<>();
+    for (int id = 0; id < ids.size(); id++) {
+      if (trace.isPid(id)) {
+        onlyPids.add(ids.get(id));
+      }
+    }
+    this.pids = Collections.unmodifiableList(onlyPids);
+
+    this.processes = new Process[names.size()];
+
+    // Pasada inicial: un checkpoint cada checkpointStride registros
+    Model model = new Model(names.size(), trace.getFrameCount());
+    long maxCheckpoints = Math.max(1, CHECKPOINT_BUDGET / model.bytes());
+    long stride = Math.max(CHECKPOINT_RECORDS, (trace.size() + maxCheckpoints - 1) / maxCheckpoints);
+    stride += (MappedTrace.INDEX_STRIDE - stride % MappedTrace.INDEX_STRIDE) % MappedTrace.INDEX_STRIDE;
+    this.checkpointStride = stride;
+    for (long i = 0; i < trace.size(); i++) {
+      if (i % checkpointStride == 0) {
+        checkpoints.add(new Model(model));
+      }
+      model.apply(trace, i);
+    }
+  }
+
+  public void setWindow(int window) {
+    this.window = Math.max(1, window);
+  }
+
+  public int getWindow() {
+    return window;
+  }
+
+  public int getEndTime() {
+    return trace.getEndTime();
+  }
+
+  public int getCurrentTime() {
+    return currentTime;
+  }
+
+  public List<String> getPids() {
+    return pids;
+  }
+
+  public void seek(int time) {
+    time = Math.max(0, Math.min(time, trace.getEndTime()));
+    int windowStart = Math.max(0, time - window);
+    windowStart -= windowStart % 5; // alineado con las marcas del Gantt
+
+    long from = trace.firstAfter(windowStart);
+    int checkpoint = (int) Math.min(from / checkpointStride, Math.max(0, checkpoints.size() - 1));
+    Model model = new Model(checkpoints.isEmpty()
+        ? new Model(names.size(), trace.getFrameCount()) : checkpoints.get(checkpoint));
+    long start = checkpoint * checkpointStride;
+    long end = trace.scanEnd(time);
+
+    // E/S abierta al comienzo de la ventana: arranca recortada en windowStart
+    int[] openAtWindow = model.ioStart.clone();
+    List<Long> ganttRecords = new ArrayList<>();
+
+    for (long i = start; i < end; i++) {
+      int t = trace.time(i);
+      if (t > time) {
+        continue;
+      }
+      model.apply(trace, i);
+      TraceEventType type = trace.type(i);
+      switch (type) {
+        case IO_START, IO_END -> {
+          if (t < windowStart) {
+            openAtWindow[trace.pidId(i)] = type == TraceEventType.IO_START ? t : -1;
+          } else {
+            ganttRecords.add(i);
+          }
+        }
+        case CPU, CONTEXT_SWITCH -> {
+          if (trace.endOf(i) > windowStart) {
+            ganttRecords.add(i);
+          }
+        }
+        default -> {
+        }
+      }
+    }
+
+    resetListener.onReset(windowStart, time, pids, trace.getFrameCount());
+    emitMemory(model);
+    if (stateListener != null) {
+      emitGantt(ganttRecords, openAtWindow, windowStart, time);
+      emitQueues(model);
+      stateListener.onTimeChanged(time);
+    }
+    currentTime = time;
+  }
+
+  private void emitMemory(Model model) {
+    if (memoryListener == null) {
+      return;
+    }
+    for (int f = 0; f < model.framePid.length; f++) {
+      if (model.framePid[f] >= 0) {
+        memoryListener.onFrameLoaded(f, names.get(model.framePid[f]), model.framePage[f], 0);
+      }
+    }
+  }
+
+  private void emitGantt(List<Long> records, int[] openAtWindow, int windowStart, int time) {
+    for (int id = 0; id < openAtWindow.length; id++) {
+      if (openAtWindow[id] >= 0) {
+        stateListener.onIOStarted(names.get(id), windowStart);
+      }
+    }
+    for (long i : records) {
+      String pid = trace.pid(i);
+      int t = trace.time(i);
+      switch (trace.type(i)) {
+        case CPU -> {
+          if (trace.a(i) <= 0) {
+            continue; // porcion vacia o cortada sin terminar
+          }
+          int core = trace.b(i) - 1;
+          stateListener.onProcessExecutionStarted(pid, Math.max(t, windowStart));
+          if (core >= 0) {
+            stateListener.onCoreExecutionStarted(core, pid, Math.max(t, windowStart));
+          }
+          // La porcion en curso queda abierta y el Gantt la estira hasta 'time'
+          if (t + trace.a(i) <= time) {
+            stateListener.onProcessExecutionEnded(pid, t + trace.a(i));
+            if (core >= 0) {
+              stateListener.onCoreExecutionEnded(core, pid, t + trace.a(i));
+            }
+          }
+        }
+        case CONTEXT_SWITCH -> {
+          int csStart = Math.max(t, windowStart);
+          int csEnd = Math.min(t + trace.a(i), time);
+          stateListener.onContextSwitch(pid, csStart, csEnd - csStart);
+        }
+        case IO_START -> stateListener.onIOStarted(pid, t);
+        case IO_END -> stateListener.onIOEnded(pid, t);
+        default -> {
+        }
+      }
+    }
+  }
+
+  // Los Process se reusan entre seeks. Un setState posterior solo llega junto
+  // con una emision nueva, que la GUI procesa despues (runLater en orden)
+  private void emitQueues(Model model) {
+    if (emittedStates != null && Arrays.equals(emittedStates, model.state)) {
+      return;
+    }
+    emittedStates = model.state.clone();
+    List<Process> ready = new ArrayList<>();
+    List<Process> blockedIO = new ArrayList<>();
+    List<Process> blockedMemory = new ArrayList<>();
+    List<Process> running = new ArrayList<>();
+    for (int id = 0; id < names.size(); id++) {
+      if (!trace.isPid(id)) {
+        continue;
+      }
+      ProcessState state = STATES[model.state[id]];
+      Process p = processes[id];
+      if (p == null) {
+        p = new Process(names.get(id), 0, Collections.emptyList(), 0, 0);
+        processes[id] = p;
+      }
+      p.setState(state);
+      switch (state) {
+        case READY -> ready.add(p);
+        case BLOCKED_IO -> blockedIO.add(p);
+        case BLOCKED_MEMORY -> blockedMemory.add(p);
+        case RUNNING -> running.add(p);
+        default -> {
+        }
+      }
+    }
+    stateListener.onReadyQueueChanged(ready);
+    stateListener.onBlockedIOChanged(blockedIO);
+    stateListener.onBlockedMemoryChanged(blockedMemory);
+    stateListener.onRunningProcessesChanged(running);
+  }
+}
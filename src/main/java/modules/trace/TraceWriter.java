@@ -0,0 +1,174 @@
+package modules.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+TraceWriter
+Graba la traza binaria de una simulacion por un FileChannel con un buffer
+directo; solo toca el disco cuando el buffer se llena.
+
+FORMATO (big-endian):
+  Cabecera (HEADER_SIZE bytes):
+    magic "OSTR", version (short), tamano de registro (short),
+    offset de la tabla de nombres (long, 0 si no se cerro), cantidad de registros (long)
+  Registros de RECORD_SIZE bytes:
+    tipo (byte) + 3 de relleno, time (int), pid (int), a (int), b (int)
+  Tabla de nombres (al final): cantidad (int) y por cada uno largo (short) + UTF-8.
+    pids y dispositivos se graban como indice en esta tabla.
+
+Los registros quedan en el orden en que se emiten. Lo que dura (una porcion
+de CPU) se graba al empezar y update() completa a y b al terminar, asi el
+orden de los registros sigue el del tiempo.
+
+Es thread-safe: el engine con un thread por proceso escribe desde varios threads.
+*/
+
+public class TraceWriter implements Closeable {
+
+  public static final int MAGIC = 0x4F535452; // "OSTR"
+  public static final short VERSION = 1;
+  public static final int HEADER_SIZE = 32;
+  public static final int RECORD_SIZE = 20;
+
+  private static final int BUFFER_SIZE = RECORD_SIZE * 4096;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private final Map<String, Integer> nameIds = new HashMap<>();
+  private final List<String> names = new ArrayList<>();
+  private long recordCount;
+  private boolean closed;
+
+  public TraceWriter(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    writeHeader(0);
+    channel.position(HEADER_SIZE);
+  }
+
+  // Devuelve el numero de registro (para update); -1 si ya se cerro
+  public synchronized long write(TraceEventType type, int time, String pid, int a, int b) {
+    if (closed) {
+      return -1;
+    }
+    if (buffer.remaining() < RECORD_SIZE) {
+      drain();
+    }
+    buffer.put(type.getCode()).put((byte) 0).putShort((short) 0)
+        .putInt(time)
+        .putInt(nameId(pid))
+        .putInt(a)
+        .putInt(b);
+    return recordCount++;
+  }
+
+  // Reescribe a y b de un registro ya grabado: en el buffer si sigue ahi, si
+  // no en su posicion del archivo
+  public synchronized void update(long record, int a, int b) {
+    if (closed || record < 0 || record >= recordCount) {
+      return;
+    }
+    long buffered = recordCount - buffer.position() / RECORD_SIZE;
+    if (record >= buffered) {
+      int at = (int) (record - buffered) * RECORD_SIZE + 12;
+      buffer.putInt(at, a).putInt(at + 4, b);
+      return;
+    }
+    ByteBuffer fields = ByteBuffer.allocate(8).putInt(a).putInt(b);
+    fields.flip();
+    long position = HEADER_SIZE + record * RECORD_SIZE + 12;
+    try {
+      while (fields.hasRemaining()) {
+        position += channel.write(fields, position);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error escribiendo la traza", e);
+    }
+  }
+
+  // Indice de un nombre (pid o dispositivo) en la tabla; -1 para null
+  public synchronized int nameId(String name) {
+    if (name == null) {
+      return -1;
+    }
+    Integer id = nameIds.get(name);
+    if (id == null) {
+      id = names.size();
+      nameIds.put(name, id);
+      names.add(name);
+    }
+    return id;
+  }
+
+  public synchronized long getRecordCount() {
+    return recordCount;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      drain();
+      long tableOffset = channel.position();
+
+      int size = 4;
+      List<byte[]> encoded = new ArrayList<>(names.size());
+      for (String name : names) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        encoded.add(bytes);
+        size += 2 + bytes.length;
+      }
+      ByteBuffer table = ByteBuffer.allocate(size);
+      table.putInt(encoded.size());
+      for (byte[] bytes : encoded) {
+        table.putShort((short) bytes.length).put(bytes);
+      }
+      table.flip();
+      while (table.hasRemaining()) {
+        channel.write(table);
+      }
+
+      writeHeader(tableOffset);
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void writeHeader(long tableOffset) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE)
+        .putLong(tableOffset).putLong(recordCount);
+    header.rewind();
+    long position = 0;
+    while (header.hasRemaining()) {
+      position += channel.write(header, position);
+    }
+  }
+
+  private void drain() {
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error escribiendo la traza", e);
+    } finally {
+      buffer.clear();
+    }
+  }
+}
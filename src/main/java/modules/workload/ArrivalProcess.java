@@ -0,0 +1,70 @@
+package modules.workload;
+
+import java.util.Random;
+
+/*
+ArrivalProcess
+Tiempo entre llegadas consecutivas. Puede tener estado (rafagas), por eso
+cada WorkloadGenerator crea el suyo con parse().
+
+FORMATO (parse):
+  poisson:4              llegadas de Poisson, media de 4 entre llegadas
+  fijo:2                 una llegada cada 2 unidades
+  rafagas:20,1,400       rafagas de ~20 llegadas (geometrica) separadas en
+                         promedio 1 unidad, con ~400 unidades de silencio
+                         entre rafagas (proceso on/off)
+  cualquier Distribution el tiempo entre llegadas sale de esa distribucion
+*/
+
+public interface ArrivalProcess {
+
+  // Unidades desde la llegada anterior (>= 0)
+  double nextGap(Random random);
+
+  static ArrivalProcess poisson(double meanGap) {
+    return random -> -meanGap * Math.log(1 - random.nextDouble());
+  }
+
+  static ArrivalProcess bursty(double meanBurstSize, double meanGap, double meanIdle) {
+    return new ArrivalProcess() {
+      private boolean inBurst;
+
+      @Override
+      public double nextGap(Random random) {
+        if (inBurst && random.nextDouble() >= 1 / Math.max(1, meanBurstSize)) {
+          return -meanGap * Math.log(1 - random.nextDouble());
+        }
+        inBurst = true;
+        return -meanIdle * Math.log(1 - random.nextDouble());
+      }
+    };
+  }
+
+  static ArrivalProcess parse(String spec) {
+    String text = spec.trim();
+    int colon = text.indexOf(':');
+    String kind = colon < 0 ? "" : text.substring(0, colon).toLowerCase();
+    String[] parts = colon < 0 ? new String[0] : text.substring(colon + 1).split(",");
+    try {
+      switch (kind) {
+        case "poisson" -> {
+          return poisson(Double.parseDouble(parts[0]));
+        }
+        case "fijo", "fixed" -> {
+          double gap = Double.parseDouble(parts[0]);
+          return random -> gap;
+        }
+        case "rafagas", "bursty" -> {
+          return bursty(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+              Double.parseDouble(parts[2]));
+        }
+        default -> {
+          Distribution gaps = Distribution.parse(text, 0);
+          return gaps::sample;
+        }
+      }
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Proceso de llegadas invalido: " + spec);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package modules.workload;
+
+import java.util.Random;
+
+/*
+Distribution
+Distribucion de enteros para el generador de cargas. Se muestrea siempre con
+el Random del generador, asi que la misma semilla da la misma carga.
+
+FORMATO (parse):
+  5                      constante
+  uniforme:2-20          entera uniforme en [2, 20]
+  exp:8                  exponencial de media 8 (redondeada, minimo 'min')
+  normal:10,3            normal de media 10 y desvio 3
+  pareto:2,1.5           Pareto de minimo 2 y alfa 1.5 (cola pesada:
+                         pocas rafagas muy largas)
+  pesos:1=50,2=30,3=20   valores discretos con pesos relativos
+
+Todas se recortan a un minimo (1 para duraciones, 0 para llegadas).
+*/
+
+public interface Distribution {
+
+  int sample(Random random);
+
+  static Distribution constant(int value) {
+    return random -> value;
+  }
+
+  static Distribution uniform(int min, int max) {
+    if (max < min) {
+      throw new IllegalArgumentException("Rango invalido: " + min + "-" + max);
+    }
+    return random -> min + random.nextInt(max - min + 1);
+  }
+
+  static Distribution exponential(double mean, int min) {
+    return random -> Math.max(min, (int) Math.round(-mean * Math.log(1 - random.nextDouble())));
+  }
+
+  static Distribution normal(double mean, double deviation, int min) {
+    return random -> Math.max(min, (int) Math.round(mean + deviation * random.nextGaussian()));
+  }
+
+  static Distribution pareto(double scale, double alpha, int min) {
+    return random -> {
+      double value = scale / Math.pow(1 - random.nextDouble(), 1 / alpha);
+      return (int) Math.max(min, Math.min(Integer.MAX_VALUE / 2, Math.round(value)));
+    };
+  }
+
+  static Distribution weighted(int[] values, double[] weights) {
+    double[] cumulative = new double[weights.length];
+    double total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      total += weights[i];
+      cumulative[i] = total;
+    }
+    double sum = total;
+    return random -> {
+      double r = random.nextDouble() * sum;
+      for (int i = 0; i < cumulative.length - 1; i++) {
+        if (r < cumulative[i]) {
+          return values[i];
+        }
+      }
+      return values[values.length - 1];
+    };
+  }
+
+  static Distribution parse(String spec, int min) {
+    String text = spec.trim();
+    int colon = text.indexOf(':');
+    if (colon < 0) {
+      return constant(Math.max(min, parseInt(text)));
+    }
+    String kind = text.substring(0, colon).toLowerCase();
+    String args = text.substring(colon + 1);
+    String[] parts = args.split(",");
+    try {
+      switch (kind) {
+        case "uniforme", "uniform" -> {
+          int dash = args.indexOf('-', 1);
+          if (dash < 0) {
+            throw new IllegalArgumentException("Se esperaba desde-hasta");
+          }
+          return uniform(Math.max(min, parseInt(args.substring(0, dash))), parseInt(args.substring(dash + 1)));
+        }
+        case "exp" -> {
+          return exponential(Double.parseDouble(parts[0]), min);
+        }
+        case "normal" -> {
+          return normal(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]), min);
+        }
+        case "pareto" -> {
+          return pareto(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]), min);
+        }
+        case "pesos", "weights" -> {
+          int[] values = new int[parts.length];
+          double[] weights = new double[parts.length];
+          for (int i = 0; i < parts.length; i++) {
+            String[] pair = parts[i].split("=");
+            values[i] = parseInt(pair[0]);
+            weights[i] = pair.length > 1 ? Double.parseDouble(pair[1].trim()) : 1;
+          }
+          return weighted(values, weights);
+        }
+        default -> throw new IllegalArgumentException("Distribucion desconocida: " + kind);
+      }
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Distribucion invalida: " + spec);
+    }
+  }
+
+  private static int parseInt(String value) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Numero invalido: " + value);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package modules.workload;
+
+import model.Burst;
+import model.Process;
+
+import java.util.Random;
+
+/*
+ReferenceModel
+Genera la cadena de referencias de una rafaga CPU (una pagina por unidad)
+para procesos que no la traen en el archivo.
+
+FORMATO (parse):
+  localidad:4,0.9   conjunto de trabajo de 4 paginas contiguas; en cada unidad
+                    sigue en el mismo conjunto con probabilidad 0.9, si no
+                    salta a otro lugar del espacio del proceso (cambio de fase)
+  bucle             recorre 0, 1, ..., paginas-1 y vuelve a empezar
+  salto:3           acceso con paso 3 (0, 3, 6, ... modulo paginas)
+  uniforme          cualquier pagina con igual probabilidad
+
+apply(spec, process, seed) completa las rafagas CPU sin referencias. El
+Random sale de la semilla de la corrida (Config.seed) y del pid: con la misma
+semilla el mismo proceso recibe la misma cadena, con otra semilla otra.
+*/
+
+public interface ReferenceModel {
+
+  // Paginas de la unidad 'start' en adelante: refs[i] en [0, pages)
+  void fill(int[] refs, int start, int pages, Random random);
+
+  static ReferenceModel locality(int workingSet, double stay) {
+    return new ReferenceModel() {
+      private int base;
+
+      @Override
+      public void fill(int[] refs, int start, int pages, Random random) {
+        int window = Math.max(1, Math.min(workingSet, pages));
+        for (int i = 0; i < refs.length; i++) {
+          if (pages > window && (start + i == 0 || random.nextDouble() >= stay)) {
+            base = random.nextInt(pages - window + 1);
+          }
+          refs[i] = base + random.nextInt(window);
+        }
+      }
+    };
+  }
+
+  static ReferenceModel loop() {
+    return (refs, start, pages, random) -> {
+      for (int i = 0; i < refs.length; i++) {
+        refs[i] = (start + i) % pages;
+      }
+    };
+  }
+
+  static ReferenceModel strided(int stride) {
+    return (refs, start, pages, random) -> {
+      for (int i = 0; i < refs.length; i++) {
+        refs[i] = (int) ((long) (start + i) * stride % pages);
+      }
+    };
+  }
+
+  static ReferenceModel uniform() {
+    return (refs, start, pages, random) -> {
+      for (int i = 0; i < refs.length; i++) {
+        refs[i] = random.nextInt(pages);
+      }
+    };
+  }
+
+  static ReferenceModel parse(String spec) {
+    String text = spec.trim();
+    int colon = text.indexOf(':');
+    String kind = (colon < 0 ? text : text.substring(0, colon)).toLowerCase();
+    String[] parts = colon < 0 ? new String[0] : text.substring(colon + 1).split(",");
+    try {
+      switch (kind) {
+        case "localidad", "locality" -> {
+          int workingSet = parts.length > 0 ? Integer.parseInt(parts[0].trim()) : 4;
+          double stay = parts.length > 1 ? Double.parseDouble(parts[1].trim()) : 0.9;
+          return locality(workingSet, stay);
+        }
+        case "bucle", "loop" -> {
+          return loop();
+        }
+        case "salto", "stride" -> {
+          return strided(parts.length > 0 ? Integer.parseInt(parts[0].trim()) : 2);
+        }
+        case "uniforme", "uniform" -> {
+          return uniform();
+        }
+        default -> throw new IllegalArgumentException("Modelo de referencias desconocido: " + kind);
+      }
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Modelo de referencias invalido: " + spec);
+    }
+  }
+
+  // Los modelos con estado (localidad) siguen de una rafaga a la siguiente
+  static void apply(String spec, Process process, long seed) {
+    ReferenceModel model = parse(spec);
+    Random random = new Random(seed ^ process.getPid().hashCode());
+    int pages = Math.max(1, process.getRequiredPages());
+    int unit = 0;
+    for (Burst burst : process.getBursts()) {
+      if (!burst.isCPU()) {
+        continue;
+      }
+      if (!burst.hasReferences()) {
+        int[] refs = new int[burst.getDuration()];
+        model.fill(refs, unit, pages, random);
+        burst.setReferences(refs);
+      }
+      unit += burst.getDuration();
+    }
+  }
+}
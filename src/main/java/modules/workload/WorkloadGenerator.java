@@ -0,0 +1,275 @@
+package modules.workload;
+
+import model.Burst;
+import model.Process;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/*
+WorkloadGenerator
+Genera cargas sinteticas reproducibles: 'count' procesos en orden de llegada,
+creados de a uno (memoria constante aunque sean millones).
+
+CADA PROCESO:
+  llegada:    anterior + ArrivalProcess.nextGap (el primero llega en 0)
+  rafagas:    'bursts' rafagas de CPU con una de IO entre cada par:
+              CPU, IO, CPU, ..., CPU
+  duraciones: 'cpu' e 'io' (Distribution, minimo 1)
+  dispositivo de cada IO: uno de 'devices' al azar (sin etiqueta si no hay)
+  prioridad y paginas: 'priority' y 'pages'
+  referencias: si hay 'references' (ReferenceModel), cada rafaga CPU lleva
+              su cadena de referencias: CPU(n:p0,p1,...)
+
+La misma semilla y los mismos parametros dan la misma carga, proceso por
+proceso. Los setters se usan antes de pedir el primer proceso.
+
+USO:
+  Como Iterator<Process> va directo a DiscreteEventEngine en modo streaming:
+    new DiscreteEventEngine(scheduler, memory, new WorkloadGenerator(1_000_000, 7), config)
+  O se escribe en el formato de FileParser:
+    java -cp target/classes modules.workload.WorkloadGenerator --procesos 100000 --semilla 7 \
+        --llegadas poisson:3 --cpu pareto:2,1.5 --salida carga.txt
+
+OPCIONES (main):
+  --procesos <n>           cantidad de procesos (obligatorio)
+  --semilla <n>            semilla del Random (por defecto 1)
+  --llegadas <spec>        ArrivalProcess (por defecto poisson:4)
+  --cpu <spec>             duracion de rafagas CPU (por defecto exp:6)
+  --io <spec>              duracion de rafagas IO (por defecto exp:10)
+  --rafagas <spec>         rafagas de CPU por proceso (por defecto uniforme:1-4)
+  --prioridad <spec>       por defecto uniforme:1-5
+  --paginas <spec>         por defecto uniforme:1-6
+  --dispositivos <lista>   ej. disk,network (por defecto sin etiqueta)
+  --referencias <modelo>   ReferenceModel, ej. localidad:4,0.9 (por defecto ninguna)
+  --salida <archivo>       por defecto la salida estandar
+*/
+
+public class WorkloadGenerator implements Iterator<Process> {
+
+  private final long count;
+  private final Random random;
+  private final long seed;
+
+  private ArrivalProcess arrivals = ArrivalProcess.poisson(4);
+  private Distribution cpu = Distribution.exponential(6, 1);
+  private Distribution io = Distribution.exponential(10, 1);
+  private Distribution bursts = Distribution.uniform(1, 4);
+  private Distribution priority = Distribution.uniform(1, 5);
+  private Distribution pages = Distribution.uniform(1, 6);
+  private String[] devices = new String[0];
+  private String references;
+
+  private long generated;
+  private double clock;
+
+  public WorkloadGenerator(long count, long seed) {
+    this.count = count;
+    this.seed = seed;
+    this.random = new Random(seed);
+  }
+
+  public void setArrivals(ArrivalProcess arrivals) {
+    this.arrivals = arrivals;
+  }
+
+  public void setCpu(Distribution cpu) {
+    this.cpu = cpu;
+  }
+
+  public void setIo(Distribution io) {
+    this.io = io;
+  }
+
+  public void setBursts(Distribution bursts) {
+    this.bursts = bursts;
+  }
+
+  public void setPriority(Distribution priority) {
+    this.priority = priority;
+  }
+
+  public void setPages(Distribution pages) {
+    this.pages = pages;
+  }
+
+  public void setDevices(List<String> devices) {
+    this.devices = devices.toArray(new String[0]);
+  }
+
+  public void setReferences(String referenceModel) {
+    ReferenceModel.parse(referenceModel); // valida el formato
+    this.references = referenceModel;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return generated < count;
+  }
+
+  @Override
+  public Process next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    if (generated > 0) {
+      clock += arrivals.nextGap(random);
+    }
+    generated++;
+    if (clock > Integer.MAX_VALUE) {
+      throw new IllegalStateException("La carga excede el rango de tiempo (" + generated + " procesos)");
+    }
+
+    int cpuBursts = Math.max(1, bursts.sample(random));
+    List<Burst> list = new ArrayList<>(2 * cpuBursts - 1);
+    for (int i = 0; i < cpuBursts; i++) {
+      if (i > 0) {
+        String device = devices.length > 0 ? devices[random.nextInt(devices.length)] : null;
+        list.add(new Burst(Burst.BurstType.IO, Math.max(1, io.sample(random)), device));
+      }
+      list.add(new Burst(Burst.BurstType.CPU, Math.max(1, cpu.sample(random))));
+    }
+    int prio = priority.sample(random);
+    int footprint = Math.max(1, pages.sample(random));
+    Process process = new Process("P" + generated, (int) clock, list, prio, footprint);
+    if (references != null) {
+      ReferenceModel.apply(references, process, seed);
+    }
+    return process;
+  }
+
+  // Una linea por proceso en el formato de FileParser
+  public static long write(Iterator<Process> processes, Writer out) throws IOException {
+    StringBuilder line = new StringBuilder(256);
+    long written = 0;
+    while (processes.hasNext()) {
+      Process p = processes.next();
+      line.setLength(0);
+      line.append(p.getPid()).append(' ').append(p.getArrivalTime()).append(' ');
+      List<Burst> list = p.getBursts();
+      for (int i = 0; i < list.size(); i++) {
+        Burst b = list.get(i);
+        if (i > 0) {
+          line.append(',');
+        }
+        line.append(b.isCPU() ? "CPU(" : "IO(").append(b.getDuration());
+        if (b.getDevice() != null) {
+          line.append(':').append(b.getDevice());
+        }
+        if (b.hasReferences()) {
+          char separator = ':';
+          for (int page : b.getReferences()) {
+            line.append(separator).append(page);
+            separator = ',';
+          }
+        }
+        line.append(')');
+      }
+      line.append(' ').append(p.getPriority()).append(' ').append(p.getRequiredPages()).append('\n');
+      out.append(line);
+      written++;
+    }
+    out.flush();
+    return written;
+  }
+
+  public static void main(String[] args) {
+    try {
+      run(args);
+    } catch (IllegalArgumentException | IOException e) {
+      System.err.println("[WORKLOAD] " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private static void run(String[] args) throws IOException {
+    Long count = null;
+    long seed = 1;
+    String output = null;
+    ArrivalProcess arrivals = null;
+    Distribution cpu = null;
+    Distribution io = null;
+    Distribution bursts = null;
+    Distribution priority = null;
+    Distribution pages = null;
+    List<String> devices = null;
+    String references = null;
+
+    for (int i = 0; i < args.length; i++) {
+      String value = i + 1 < args.length ? args[i + 1] : null;
+      if (value == null) {
+        throw new IllegalArgumentException("Falta el valor de " + args[i]);
+      }
+      switch (args[i]) {
+        case "--procesos" -> count = Long.parseLong(value);
+        case "--semilla" -> seed = Long.parseLong(value);
+        case "--salida" -> output = value;
+        case "--llegadas" -> arrivals = ArrivalProcess.parse(value);
+        case "--cpu" -> cpu = Distribution.parse(value, 1);
+        case "--io" -> io = Distribution.parse(value, 1);
+        case "--rafagas" -> bursts = Distribution.parse(value, 1);
+        case "--prioridad" -> priority = Distribution.parse(value, 0);
+        case "--paginas" -> pages = Distribution.parse(value, 1);
+        case "--dispositivos" -> devices = List.of(value.split(","));
+        case "--referencias" -> references = value;
+        default -> throw new IllegalArgumentException("Opcion desconocida: " + args[i]);
+      }
+      i++;
+    }
+    if (count == null) {
+      throw new IllegalArgumentException("Uso: WorkloadGenerator --procesos <n> [--semilla n] "
+          + "[--llegadas poisson:4] [--cpu exp:6] [--io exp:10] [--salida carga.txt]");
+    }
+
+    WorkloadGenerator generator = new WorkloadGenerator(count, seed);
+    if (arrivals != null) {
+      generator.setArrivals(arrivals);
+    }
+    if (cpu != null) {
+      generator.setCpu(cpu);
+    }
+    if (io != null) {
+      generator.setIo(io);
+    }
+    if (bursts != null) {
+      generator.setBursts(bursts);
+    }
+    if (priority != null) {
+      generator.setPriority(priority);
+    }
+    if (pages != null) {
+      generator.setPages(pages);
+    }
+    if (devices != null) {
+      generator.setDevices(devices);
+    }
+    if (references != null) {
+      generator.setReferences(references);
+    }
+
+    long start = System.currentTimeMillis();
+    Writer out = output != null
+        ? Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)
+        : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+    long written;
+    try {
+      written = write(generator, out);
+    } finally {
+      if (output != null) {
+        out.close();
+      }
+    }
+    System.err.printf("[WORKLOAD] %d procesos generados (semilla %d, %d ms)%n",
+        written, seed, System.currentTimeMillis() - start);
+  }
+}
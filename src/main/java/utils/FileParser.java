@@ -1,20 +1,17 @@
 package utils;
 
-import model.Burst;
 import model.Config;
 import model.Process;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class FileParser {
-  private static final Pattern BURST_PATTERN = Pattern.compile("(CPU|IO)\\((\\d+)\\)");
-  
   public static Config parseConfig(String filepath) throws IOException {
         Config config = new Config();
         
@@ -46,97 +43,114 @@ public class FileParser {
                         config.setSchedulerType(parseSchedulerType(value));
                     case "quantum" -> 
                         config.setQuantum(Integer.parseInt(value));
+                    case "mlfq", "mlfqquantum", "mlfq_quantum" -> 
+                        config.setMlfqQuanta(parseIntList(value));
+                    case "mlfqboost", "mlfq_boost" -> 
+                        config.setMlfqBoostInterval(Integer.parseInt(value));
+                    case "cfslatency", "cfs_latency" -> 
+                        config.setCfsTargetLatency(Integer.parseInt(value));
+                    case "cfsgranularity", "cfs_granularity" -> 
+                        config.setCfsMinGranularity(Integer.parseInt(value));
+                    case "aging", "envejecimiento" -> 
+                        config.setAgingInterval(Integer.parseInt(value));
                     case "replacement", "memory" -> 
                         config.setReplacementType(parseReplacementType(value));
                     case "timeunit" -> 
                         config.setTimeUnit(Integer.parseInt(value));
+                    case "skipidle", "skipidletime" -> 
+                        config.setSkipIdleTime(Boolean.parseBoolean(value));
                     case "enableio", "io" -> {
                     }
+                    case "device" -> 
+                        config.setIODevice(parseDeviceConfig(value));
+                    case "trace", "tracefile" -> 
+                        config.setTraceFile(value.isEmpty() ? null : value);
+                    case "references", "referencias" -> 
+                        config.setReferenceModel(value.isEmpty() ? null : value);
+                    case "cores", "nucleos" -> 
+                        config.setCores(Integer.parseInt(value));
+                    case "balance", "balanceo" -> 
+                        parseLoadBalancing(config, value);
+                    case "affinity", "afinidad" -> 
+                        config.setAffinity(Boolean.parseBoolean(value));
+                    case "virtualthreads", "hilosvirtuales" -> 
+                        config.setVirtualThreads(Boolean.parseBoolean(value));
+                    case "seed", "semilla" -> 
+                        config.setSeed(Long.parseLong(value));
+                    case "cache", "cachedir" -> 
+                        config.setCacheDir(value.isEmpty() ? null : value);
+                    case "cachemb", "cache_mb" -> 
+                        config.setCacheMaxMb(Integer.parseInt(value));
                 }
             }
         }
         return config;
     }
 
+  // Lista completa en el orden del archivo; para archivos enormes usar ProcessStream
   public static List<Process> parseProcesses(String filepath) throws IOException {
     List<Process> processes = new ArrayList<>();
-    
-    try (BufferedReader reader = new BufferedReader(new FileReader(filepath))) {
-      String line;
-      int lineNumber = 0;
-      
-      while ((line = reader.readLine()) != null) {
-        lineNumber++;
-        line = line.trim();
-          
-          if (line.isEmpty() || line.startsWith("#") || line.startsWith("//")) {
-            continue;
-          }
-          try {
-            Process process = parseProcessLine(line);
-            processes.add(process);
-          } catch (Exception e) {
-            Logger.error("Error en línea " + lineNumber + ": " + e.getMessage());
-            throw new IOException("Error parseando línea " + lineNumber + ": " + line, e);
-          }
+    try (ProcessStream stream = ProcessStream.open(Paths.get(filepath), false)) {
+      while (stream.hasNext()) {
+        processes.add(stream.next());
       }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
     }
     return processes;
   }
-    
 
-  private static Process parseProcessLine(String line) {
-    String[] parts = line.split("\\s+");
-    
-    if (parts.length < 5) {
-      throw new IllegalArgumentException(
-        "Formato inválido. Se esperan 5 campos: PID ARRIVAL BURSTS PRIORITY PAGES"
-      );
-    }
-    
-    String pid = parts[0];
-    int arrivalTime = Integer.parseInt(parts[1]);
-    List<Burst> bursts = parseBursts(parts[2]);
-    int priority = Integer.parseInt(parts[3]);
-    int requiredPages = Integer.parseInt(parts[4]);
-    
-    return new Process(pid, arrivalTime, bursts, priority, requiredPages);
+  // Formato: nombre[:canales[:disciplina]]  ej. disk:2:SSTF
+  private static Config.DeviceConfig parseDeviceConfig(String value) {
+    String[] parts = value.split(":");
+    String name = parts[0].trim();
+    int channels = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+    Config.IODiscipline discipline = parts.length > 2
+        ? Config.IODiscipline.valueOf(parts[2].trim().toUpperCase())
+        : Config.IODiscipline.FIFO;
+    return new Config.DeviceConfig(name, channels, discipline);
   }
-    
 
-  private static List<Burst> parseBursts(String burstsString) {
-    List<Burst> bursts = new ArrayList<>();
-    Matcher matcher = BURST_PATTERN.matcher(burstsString);
-    
-    while (matcher.find()) {
-      String type = matcher.group(1);
-      int duration = Integer.parseInt(matcher.group(2));
-      
-      Burst.BurstType burstType = type.equalsIgnoreCase("CPU") 
-          ? Burst.BurstType.CPU 
-          : Burst.BurstType.IO;
-      
-      bursts.add(new Burst(burstType, duration));
+  // Formato: 2,4,8
+  private static int[] parseIntList(String value) {
+    String[] parts = value.split(",");
+    int[] values = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      values[i] = Integer.parseInt(parts[i].trim());
     }
-    
-    if (bursts.isEmpty()) {
-      throw new IllegalArgumentException("No se encontraron ráfagas válidas en: " + burstsString);
+    return values;
+  }
+
+  // Formato: none | stealing | periodic[:intervalo]  ej. periodic:20
+  private static void parseLoadBalancing(Config config, String value) {
+    String[] parts = value.split(":");
+    Config.LoadBalancing mode = switch (parts[0].trim().toUpperCase()) {
+      case "NONE", "NINGUNO" -> Config.LoadBalancing.NONE;
+      case "STEALING", "ROBO" -> Config.LoadBalancing.STEALING;
+      case "PERIODIC", "PERIODICO" -> Config.LoadBalancing.PERIODIC;
+      default -> throw new IllegalArgumentException("Balanceo desconocido: " + value);
+    };
+    config.setLoadBalancing(mode);
+    if (parts.length > 1) {
+      config.setBalanceInterval(Integer.parseInt(parts[1].trim()));
     }
-    return bursts;
   }
-    
 
-  private static Config.SchedulerType parseSchedulerType(String value) {
+  public static Config.SchedulerType parseSchedulerType(String value) {
     return switch (value.toUpperCase()) {
       case "FCFS", "FIFO" -> Config.SchedulerType.FCFS;
       case "SJF" -> Config.SchedulerType.SJF;
+      case "SRT", "SRTF" -> Config.SchedulerType.SRT;
       case "RR", "ROUNDROBIN", "ROUND_ROBIN" -> Config.SchedulerType.ROUND_ROBIN;
       case "PRIORITY" -> Config.SchedulerType.PRIORITY;
+      case "PRIORITYPREEMPTIVE", "PRIORITY_PREEMPTIVE" -> Config.SchedulerType.PRIORITYPREEMPTIVE;
+      case "MLFQ" -> Config.SchedulerType.MLFQ;
+      case "CFS" -> Config.SchedulerType.CFS;
       default -> throw new IllegalArgumentException("Scheduler desconocido: " + value);
     };
   }
     
-  private static Config.ReplacementType parseReplacementType(String value) {
+  public static Config.ReplacementType parseReplacementType(String value) {
     return switch (value.toUpperCase()) {
       case "FIFO" -> Config.ReplacementType.FIFO;
       case "LRU" -> Config.ReplacementType.LRU;
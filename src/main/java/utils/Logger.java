@@ -2,15 +2,40 @@ package utils;
 
 import model.ProcessState;
 import modules.memory.MemoryManager.Frame;
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Consumer;
-/* Aca esta la descripción explicativa de cada comportamiento y esta subcategorizada por de cual modulo es */
+import java.util.function.Supplier;
+/* Aca esta la descripción explicativa de cada comportamiento y esta subcategorizada por de cual modulo es
+
+ESCRITURA ASINCRONA:
+  log() solo arma la entrada y la deja en un buffer circular acotado
+  (ArrayBlockingQueue preasignado). Un thread de fondo (Logger-writer) la
+  saca y hace todo lo lento: consola, archivo, listeners de la GUI y la
+  ventana de retencion. Si el buffer se llena, quien loguea espera.
+  El archivo se abre una sola vez con un BufferedWriter y se vacia por lotes.
+
+NIVELES:
+  setLevelEnabled() apaga niveles sueltos; isEnabled(level) permite saltarse
+  el armado del mensaje. log(level, () -> ...) arma el texto solo si el
+  nivel esta activo.
+
+RETENCION:
+  getAllLogs() devuelve como maximo las ultimas 'retention' entradas
+  (setRetention). Los contadores del resumen cuentan todo lo emitido.
+
+flush(): espera a que el writer procese todo lo logueado hasta ese momento.
+*/
 public class Logger {
 
     // Interfaz para que los paneles se iluminen cuando se emita un log
@@ -18,12 +43,36 @@ public class Logger {
         void onLogEmitted(LogLevel level);
     }
 
-    private static final List<LogEntry> logs = new ArrayList<>();
-    private static boolean enableConsoleOutput = true;
-    private static boolean enableFileOutput = false;
-    private static String logFilePath = "simulation.log";
-    private static final List<Consumer<LogEntry>> listeners = new ArrayList<>();
-    private static final List<PanelHighlightListener> panelListeners = new ArrayList<>();
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final int DEFAULT_RETENTION = 10_000;
+
+    private static final BlockingQueue<LogEntry> buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+    private static final Object flushLock = new Object();
+    private static long published; // entradas encoladas (bajo flushLock)
+    private static long processed; // entradas procesadas por el writer (bajo flushLock)
+    private static Thread writerThread;
+
+    // Ventana de retencion: buffer circular con las ultimas entradas
+    private static LogEntry[] retained = new LogEntry[DEFAULT_RETENTION];
+    private static int retainedStart;
+    private static int retainedSize;
+    private static final AtomicLongArray levelCounts = new AtomicLongArray(LogLevel.values().length);
+
+    // Apagado global: el modo batch corre simulaciones en paralelo y no registra logs
+    private static volatile boolean enabled = true;
+    // Se lee desde cualquier thread: cada cambio publica una copia nueva
+    private static volatile boolean[] levelEnabled = new boolean[LogLevel.values().length];
+    private static volatile boolean enableConsoleOutput = true;
+    private static volatile boolean enableFileOutput = false;
+    private static volatile String logFilePath = "simulation.log";
+    private static BufferedWriter fileWriter; // solo lo usa el writer
+    private static String openFilePath;
+    private static final List<Consumer<LogEntry>> listeners = new CopyOnWriteArrayList<>();
+    private static final List<PanelHighlightListener> panelListeners = new CopyOnWriteArrayList<>();
+
+    static {
+        Arrays.fill(levelEnabled, true);
+    }
 
     public static class LogEntry {
         private final String message;
@@ -95,24 +144,144 @@ public class Logger {
 
     // Log de un nivel
     public static void log(String message, LogLevel level) {
-        LogEntry entry = new LogEntry(message, level);
-        logs.add(entry);
+        if (!isEnabled(level)) {
+            return;
+        }
+        publish(new LogEntry(message, level));
+    }
 
-        if (enableConsoleOutput) {
-            System.out.println(entry);
+    // Mensaje perezoso: solo se arma si el nivel esta activo
+    public static void log(LogLevel level, Supplier<String> message) {
+        if (!isEnabled(level)) {
+            return;
         }
+        publish(new LogEntry(message.get(), level));
+    }
 
-        if (enableFileOutput) {
-            appendToFile(entry);
+    private static void publish(LogEntry entry) {
+        startWriter();
+        synchronized (flushLock) {
+            published++;
         }
+        try {
+            buffer.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entryDone(1);
+        }
+    }
 
-        notifyListeners(entry);
-        notifyPanelListeners(level); // Notificar a los paneles para que se iluminen
+    private static synchronized void startWriter() {
+        if (writerThread != null) {
+            return;
+        }
+        writerThread = new Thread(Logger::writerLoop, "Logger-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Logger::flush, "Logger-flush"));
+    }
+
+    // Thread de fondo: saca entradas por lotes y hace la E/S
+    private static void writerLoop() {
+        List<LogEntry> batch = new ArrayList<>(BUFFER_CAPACITY);
+        StringBuilder console = new StringBuilder();
+        while (true) {
+            try {
+                batch.add(buffer.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            buffer.drainTo(batch);
+
+            boolean toConsole = enableConsoleOutput;
+            boolean toFile = enableFileOutput;
+            for (LogEntry entry : batch) {
+                retain(entry);
+                if (toConsole || toFile) {
+                    console.append(entry).append(System.lineSeparator());
+                }
+                notifyListeners(entry);
+                notifyPanelListeners(entry.getLevel()); // Notificar a los paneles para que se iluminen
+            }
+            if (toConsole) {
+                System.out.print(console);
+            }
+            if (toFile) {
+                appendToFile(console);
+            }
+            console.setLength(0);
+
+            int count = batch.size();
+            batch.clear();
+            entryDone(count);
+        }
+    }
+
+    private static void entryDone(int count) {
+        synchronized (flushLock) {
+            processed += count;
+            flushLock.notifyAll();
+        }
+    }
+
+    // Espera a que el writer procese todo lo logueado hasta ahora
+    public static void flush() {
+        synchronized (flushLock) {
+            long target = published;
+            while (processed < target && writerThread != null && writerThread.isAlive()) {
+                try {
+                    flushLock.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static synchronized void retain(LogEntry entry) {
+        levelCounts.incrementAndGet(entry.getLevel().ordinal());
+        if (retained.length == 0) {
+            return;
+        }
+        int end = (retainedStart + retainedSize) % retained.length;
+        retained[end] = entry;
+        if (retainedSize < retained.length) {
+            retainedSize++;
+        } else {
+            retainedStart = (retainedStart + 1) % retained.length;
+        }
+    }
+
+    private static synchronized List<LogEntry> retainedEntries() {
+        List<LogEntry> result = new ArrayList<>(retainedSize);
+        for (int i = 0; i < retainedSize; i++) {
+            result.add(retained[(retainedStart + i) % retained.length]);
+        }
+        return result;
+    }
+
+    // Cuantas entradas recientes se guardan para getAllLogs/exportToFile
+    public static synchronized void setRetention(int entries) {
+        List<LogEntry> kept = retainedEntries();
+        retained = new LogEntry[Math.max(0, entries)];
+        retainedStart = 0;
+        retainedSize = 0;
+        for (int i = Math.max(0, kept.size() - retained.length); i < kept.size(); i++) {
+            retained[retainedSize++] = kept.get(i);
+        }
+    }
+
+    public static synchronized int getRetention() {
+        return retained.length;
     }
 
     // Log para cambio de estado de un proceso sergio
     public static void logStateChange(String pid, ProcessState oldState,
             ProcessState newState, int time) {
+        if (!isEnabled(LogLevel.PROC)) {
+            return;
+        }
         String message = String.format(
                 "[T=%d] Proceso %s: %s → %s",
                 time, pid, oldState, newState);
@@ -122,6 +291,9 @@ public class Logger {
     // Log de ejecucion de una rafaga
     public static void logBurstExecution(String pid, String burstType,
             int duration, int time) {
+        if (!isEnabled(LogLevel.EXE)) {
+            return;
+        }
         String message = String.format(
                 "[T=%d] Proceso %s ejecutando rafaga %s por %d unidades",
                 time, pid, burstType, duration);
@@ -158,21 +330,31 @@ public class Logger {
     }
 
     public static List<LogEntry> getAllLogs() {
-        return new ArrayList<>(logs);
+        flush();
+        return retainedEntries();
     }
 
     public static List<LogEntry> getLogsByLevel(LogLevel level) {
-        return logs.stream()
+        return getAllLogs().stream()
                 .filter(entry -> entry.getLevel() == level)
                 .toList();
     }
 
     public static void clear() {
-        logs.clear();
+        flush();
+        synchronized (Logger.class) {
+            Arrays.fill(retained, null);
+            retainedStart = 0;
+            retainedSize = 0;
+            for (int i = 0; i < levelCounts.length(); i++) {
+                levelCounts.set(i, 0);
+            }
+        }
         log("Log limpiado");
     }
 
     public static void exportToFile(String filepath) throws IOException {
+        List<LogEntry> logs = getAllLogs();
         try (PrintWriter writer = new PrintWriter(new FileWriter(filepath))) {
             writer.println("Generado: " + LocalDateTime.now());
             writer.println("Total de entradas: " + logs.size());
@@ -187,21 +369,42 @@ public class Logger {
         log("Logs exportados a: " + filepath);
     }
 
-    private static void appendToFile(LogEntry entry) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(logFilePath, true))) {
-            writer.println(entry);
+    // Solo desde el writer: un BufferedWriter abierto, se reabre si cambia la ruta
+    private static void appendToFile(CharSequence text) {
+        try {
+            String path = logFilePath;
+            if (fileWriter == null || !path.equals(openFilePath)) {
+                closeFile();
+                fileWriter = new BufferedWriter(new FileWriter(path, true));
+                openFilePath = path;
+            }
+            fileWriter.append(text);
+            fileWriter.flush();
         } catch (IOException e) {
             System.err.println("Error escribiendo log: " + e.getMessage());
         }
     }
 
+    private static void closeFile() throws IOException {
+        if (fileWriter != null) {
+            fileWriter.close();
+            fileWriter = null;
+            openFilePath = null;
+        }
+    }
+
     // Resumen de logs
     public static String getSummary() {
-        long infoCount = logs.stream().filter(e -> e.level == LogLevel.INFO).count();
-        long warningCount = logs.stream().filter(e -> e.level == LogLevel.WARNING).count();
-        long errorCount = logs.stream().filter(e -> e.level == LogLevel.ERROR).count();
-        long debugCount = logs.stream().filter(e -> e.level == LogLevel.DEBUG).count();
-        long eventCount = logs.stream().filter(e -> e.level == LogLevel.EVENT).count();
+        flush();
+        long total = 0;
+        for (int i = 0; i < levelCounts.length(); i++) {
+            total += levelCounts.get(i);
+        }
+        long infoCount = levelCounts.get(LogLevel.INFO.ordinal());
+        long warningCount = levelCounts.get(LogLevel.WARNING.ordinal());
+        long errorCount = levelCounts.get(LogLevel.ERROR.ordinal());
+        long debugCount = levelCounts.get(LogLevel.DEBUG.ordinal());
+        long eventCount = levelCounts.get(LogLevel.EVENT.ordinal());
 
         return String.format(
                 "Resumen de Logs:\n" +
@@ -211,13 +414,32 @@ public class Logger {
                         "  ERROR: %d\n" +
                         "  DEBUG: %d\n" +
                         "  EVENT: %d",
-                logs.size(), infoCount, warningCount, errorCount, debugCount, eventCount);
+                total, infoCount, warningCount, errorCount, debugCount, eventCount);
     }
 
     public static void printSummary() {
         System.out.println(getSummary());
     }
 
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static synchronized void setLevelEnabled(LogLevel level, boolean enable) {
+        boolean[] copy = levelEnabled.clone();
+        copy[level.ordinal()] = enable;
+        levelEnabled = copy;
+    }
+
+    // Para saltarse el armado de mensajes caros
+    public static boolean isEnabled(LogLevel level) {
+        return enabled && levelEnabled[level.ordinal()];
+    }
+
     public static void setEnableConsoleOutput(boolean enable) {
         enableConsoleOutput = enable;
     }
@@ -232,24 +454,36 @@ public class Logger {
 
     /// memoria
     public static void memLoad(String pid, int page, int frame, int time) {
+        if (!isEnabled(LogLevel.MEM)) {
+            return;
+        }
         log(String.format(
                 "[LOAD] Se carga la pagina %d del proceso %s en el marco %d",
                 page, pid, frame), LogLevel.MEM);
     }
 
     public static void memHit(String pid, int page, int frame, int time) {
+        if (!isEnabled(LogLevel.MEM)) {
+            return;
+        }
         log(String.format(
                 "[HIT] La pagina %d del proceso %s ya estaba cargada (marco %d)",
                 page, pid, frame), LogLevel.MEM);
     }
 
     public static void memFault(String pid, int page, int time) {
+        if (!isEnabled(LogLevel.MEM)) {
+            return;
+        }
         log(String.format(
                 "[PAGE FAULT] El proceso %s pidio la pagina %d, pero NO estaba en memoria",
                 pid, page), LogLevel.MEM);
     }
 
     public static void memReplace(String oldPid, int oldPage, String newPid, int newPage, int frame, String reason, int time) {
+        if (!isEnabled(LogLevel.MEM)) {
+            return;
+        }
         log(String.format(
                 "[REPLACE] Se reemplazo %s:P%d por %s:P%d en el marco %d | Motivo: %s",
                 oldPid, oldPage, newPid, newPage, frame, reason), LogLevel.MEM);
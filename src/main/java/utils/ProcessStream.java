@@ -0,0 +1,354 @@
+package utils;
+
+import model.Burst;
+import model.Process;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/*
+ProcessStream
+Lee un archivo de procesos de a un proceso por vez, directo sobre los bytes:
+sin readLine, sin split ni regex y sin Strings intermedios (solo el pid y el
+nombre de dispositivo, que el Process necesita).
+
+FORMATO (el mismo de FileParser):
+  PID LLEGADA RAFAGAS PRIORIDAD PAGINAS
+  RAFAGAS: CPU(n) o IO(n) / IO(n:dispositivo), separadas por coma
+           CPU(n:p0,p1,...) lleva la cadena de referencias de la rafaga:
+           la pagina que usa cada unidad (se repite si es mas corta)
+  Lineas vacias o que empiezan con # o // se ignoran.
+
+USO:
+  try (ProcessStream in = ProcessStream.open(path, true)) {
+    while (in.hasNext()) { Process p = in.next(); ... }
+  }
+
+ordered = true exige que el archivo venga ordenado por tiempo de llegada
+(lo necesita DiscreteEventEngine para admitir procesos a medida que llegan);
+si no lo esta, next() falla indicando la linea.
+
+Los errores de formato salen como UncheckedIOException con el numero de linea.
+*/
+
+public class ProcessStream implements Iterator<Process>, Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int EOF = -1;
+
+  private final InputStream in;
+  private final boolean ordered;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private int position;
+  private int limit;
+
+  private final byte[] token = new byte[256];
+  private int[] references = new int[64];
+  private final Map<String, String> devices = new HashMap<>();
+
+  private int lineNumber = 1;
+  private int lastArrival = Integer.MIN_VALUE;
+  private Process next;
+  private boolean finished;
+
+  public ProcessStream(InputStream in, boolean ordered) {
+    this.in = in;
+    this.ordered = ordered;
+  }
+
+  public static ProcessStream open(Path path, boolean ordered) throws IOException {
+    return new ProcessStream(Files.newInputStream(path), ordered);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !finished) {
+      try {
+        next = readProcess();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      finished = next == null;
+    }
+    return next != null;
+  }
+
+  @Override
+  public Process next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Process p = next;
+    next = null;
+    return p;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private Process readProcess() throws IOException {
+    while (true) {
+      int c = skipSpaces();
+      if (c == EOF) {
+        return null;
+      }
+      if (c == '\n') {
+        read();
+        lineNumber++;
+        continue;
+      }
+      if (c == '#' || (c == '/' && peekSecond() == '/')) {
+        skipLine();
+        continue;
+      }
+
+      int line = lineNumber;
+      try {
+        String pid = readWord();
+        int arrival = readInt();
+        List<Burst> bursts = readBursts();
+        int priority = readInt();
+        int pages = readInt();
+        skipLine();
+        checkReferences(bursts, pages);
+
+        if (ordered && arrival < lastArrival) {
+          throw new IllegalArgumentException("El archivo debe estar ordenado por tiempo de llegada ("
+              + pid + " llega en " + arrival + ", antes que el proceso anterior)");
+        }
+        lastArrival = arrival;
+        return new Process(pid, arrival, bursts, priority, pages);
+      } catch (IllegalArgumentException e) {
+        Logger.error("Error en línea " + line + ": " + e.getMessage());
+        throw new IOException("Error parseando línea " + line + ": " + e.getMessage(), e);
+      }
+    }
+  }
+
+  private List<Burst> readBursts() throws IOException {
+    List<Burst> bursts = new ArrayList<>();
+    skipSpaces();
+    while (true) {
+      Burst.BurstType type;
+      if (accept('C') && expect('P') && expect('U')) {
+        type = Burst.BurstType.CPU;
+      } else if (accept('I') && expect('O')) {
+        type = Burst.BurstType.IO;
+      } else {
+        throw new IllegalArgumentException("Se esperaba CPU(n) o IO(n)");
+      }
+      expect('(');
+      int duration = readDigits();
+      String device = null;
+      int[] refs = null;
+      if (accept(':')) {
+        if (type == Burst.BurstType.CPU) {
+          refs = readReferences();
+        } else {
+          device = readDevice();
+        }
+      }
+      expect(')');
+      Burst burst = new Burst(type, duration, device);
+      burst.setReferences(refs);
+      bursts.add(burst);
+
+      if (!accept(',')) {
+        break;
+      }
+    }
+    return bursts;
+  }
+
+  // Paginas separadas por coma hasta el ')'
+  private int[] readReferences() throws IOException {
+    int count = 0;
+    do {
+      if (count == references.length) {
+        references = Arrays.copyOf(references, count * 2);
+      }
+      references[count++] = readDigits();
+    } while (accept(','));
+    return Arrays.copyOf(references, count);
+  }
+
+  private static void checkReferences(List<Burst> bursts, int pages) {
+    for (Burst b : bursts) {
+      if (b.hasReferences()) {
+        for (int page : b.getReferences()) {
+          if (page >= pages) {
+            throw new IllegalArgumentException("La pagina " + page + " no existe (el proceso tiene "
+                + pages + " paginas)");
+          }
+        }
+      }
+    }
+  }
+
+  // Palabra hasta el siguiente espacio (pid)
+  private String readWord() throws IOException {
+    int c = skipSpaces();
+    int len = 0;
+    while (c != EOF && !isSpace(c)) {
+      if (len == token.length) {
+        throw new IllegalArgumentException("Campo demasiado largo");
+      }
+      token[len++] = (byte) read();
+      c = peek();
+    }
+    if (len == 0) {
+      throw missingFields();
+    }
+    return new String(token, 0, len, StandardCharsets.UTF_8);
+  }
+
+  // Nombre de dispositivo (\w+); se reutiliza el mismo String por nombre
+  private String readDevice() throws IOException {
+    int len = 0;
+    int c = peek();
+    while (isWordChar(c)) {
+      if (len == token.length) {
+        throw new IllegalArgumentException("Nombre de dispositivo demasiado largo");
+      }
+      token[len++] = (byte) read();
+      c = peek();
+    }
+    if (len == 0) {
+      throw new IllegalArgumentException("Falta el nombre del dispositivo");
+    }
+    String name = new String(token, 0, len, StandardCharsets.UTF_8);
+    return devices.computeIfAbsent(name, k -> k);
+  }
+
+  private int readInt() throws IOException {
+    int c = skipSpaces();
+    if (c == EOF || c == '\n') {
+      throw missingFields();
+    }
+    boolean negative = c == '-';
+    if (negative) {
+      read();
+    }
+    int value = readDigits();
+    if (!isSpace(peek()) && peek() != EOF) {
+      throw new IllegalArgumentException("Numero invalido");
+    }
+    return negative ? -value : value;
+  }
+
+  private int readDigits() throws IOException {
+    int c = peek();
+    if (c < '0' || c > '9') {
+      throw new IllegalArgumentException("Se esperaba un numero");
+    }
+    long value = 0;
+    while (c >= '0' && c <= '9') {
+      value = value * 10 + (c - '0');
+      if (value > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Numero fuera de rango");
+      }
+      read();
+      c = peek();
+    }
+    return (int) value;
+  }
+
+  private boolean accept(int expected) throws IOException {
+    if (peek() == expected) {
+      read();
+      return true;
+    }
+    return false;
+  }
+
+  private boolean expect(int expected) throws IOException {
+    if (!accept(expected)) {
+      throw new IllegalArgumentException("Se esperaba '" + (char) expected + "'");
+    }
+    return true;
+  }
+
+  private IllegalArgumentException missingFields() {
+    return new IllegalArgumentException("Formato inválido. Se esperan 5 campos: PID ARRIVAL BURSTS PRIORITY PAGES");
+  }
+
+  // Salta espacios sin pasar de linea; devuelve el byte siguiente
+  private int skipSpaces() throws IOException {
+    int c = peek();
+    while (c == ' ' || c == '\t' || c == '\r') {
+      read();
+      c = peek();
+    }
+    return c;
+  }
+
+  private void skipLine() throws IOException {
+    int c;
+    while ((c = read()) != EOF) {
+      if (c == '\n') {
+        lineNumber++;
+        return;
+      }
+    }
+  }
+
+  private static boolean isWordChar(int c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+  }
+
+  private static boolean isSpace(int c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private int peek() throws IOException {
+    if (position == limit && !fill()) {
+      return EOF;
+    }
+    return buffer[position] & 0xFF;
+  }
+
+  // Segundo byte sin consumir el primero (para distinguir "//")
+  private int peekSecond() throws IOException {
+    if (position + 1 >= limit) {
+      System.arraycopy(buffer, position, buffer, 0, limit - position);
+      limit -= position;
+      position = 0;
+      int n = in.read(buffer, limit, buffer.length - limit);
+      if (n > 0) {
+        limit += n;
+      }
+    }
+    return position + 1 < limit ? buffer[position + 1] & 0xFF : EOF;
+  }
+
+  private int read() throws IOException {
+    if (position == limit && !fill()) {
+      return EOF;
+    }
+    return buffer[position++] & 0xFF;
+  }
+
+  private boolean fill() throws IOException {
+    int n = in.read(buffer, 0, buffer.length);
+    if (n <= 0) {
+      return false;
+    }
+    position = 0;
+    limit = n;
+    return true;
+  }
+}
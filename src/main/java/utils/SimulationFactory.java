@@ -12,8 +12,10 @@ public class SimulationFactory {
       case SJF -> new modules.scheduler.SJF();
       case SRT -> new modules.scheduler.SRT();
       case ROUND_ROBIN -> new modules.scheduler.RoundRobin(config.getQuantum());
-      case PRIORITY -> new modules.scheduler.Priority();
-      case PRIORITYPREEMPTIVE -> new modules.scheduler.PriorityPreemptive();
+      case PRIORITY -> new modules.scheduler.Priority(false, config.getAgingInterval());
+      case PRIORITYPREEMPTIVE -> new modules.scheduler.PriorityPreemptive(config.getAgingInterval());
+      case MLFQ -> new modules.scheduler.MLFQ(config.getMlfqQuanta(), config.getMlfqBoostInterval());
+      case CFS -> new modules.scheduler.CFS(config.getCfsTargetLatency(), config.getCfsMinGranularity());
     };
   }
   
@@ -24,7 +26,7 @@ public class SimulationFactory {
       case FIFO -> new modules.memory.FIFO(frames);
       case LRU -> new modules.memory.LRU(frames);
       case OPTIMAL -> new modules.memory.Optimal(frames);
-      case NRU -> new modules.memory.NRU(frames);
+      case NRU -> new modules.memory.NRU(frames, config.getRandom());
     };
   }
 }
\ No newline at end of file